@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the moments of paired values {@code (x, y)}: the first moment and the sum of
+ * squared deviations from the mean of each variable; and the sum of the products of the
+ * deviations from the mean of both variables (the co-moment).
+ *
+ * <p>The moments of each variable are computed using {@link SumOfSquaredDeviations}.
+ * The co-moment uses the half-deviations of the first moment to avoid overflow
+ * for all finite input. The following recursive updating formula is used:
+ * <p>Let
+ * <ul>
+ *  <li> dx = (current x - previous mean of x) </li>
+ *  <li> dy = (current y - previous mean of y) </li>
+ *  <li> n = number of observations (including current obs) </li>
+ * </ul>
+ * <p>Then
+ * <p>new value = old value + dx * dy * (n - 1) / n
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a></li>
+ * </ul>
+ *
+ * @since 1.4
+ */
+final class BivariateMoments {
+    /** Moments of the x values. */
+    private final SumOfSquaredDeviations x;
+    /** Moments of the y values. */
+    private final SumOfSquaredDeviations y;
+    /** Sum of the products of the deviations from the mean. */
+    private double sumProductDev;
+
+    /**
+     * Create an instance.
+     */
+    BivariateMoments() {
+        this(new SumOfSquaredDeviations(), new SumOfSquaredDeviations(), 0);
+    }
+
+    /**
+     * Create an instance.
+     *
+     * @param x Moments of the x values.
+     * @param y Moments of the y values.
+     * @param sumProductDev Sum of the products of the deviations from the mean.
+     */
+    private BivariateMoments(SumOfSquaredDeviations x, SumOfSquaredDeviations y, double sumProductDev) {
+        this.x = x;
+        this.y = y;
+        this.sumProductDev = sumProductDev;
+    }
+
+    /**
+     * Returns an instance populated using the specified range of the paired values.
+     *
+     * <p>Note: {@code BivariateMoments} computed using {@link #accept(double, double) accept}
+     * may be different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code BivariateMoments} instance.
+     */
+    static BivariateMoments ofRange(double[] x, double[] y, int from, int to) {
+        if (from == to) {
+            return new BivariateMoments();
+        }
+        final SumOfSquaredDeviations mx = SumOfSquaredDeviations.ofRange(x, from, to);
+        final SumOfSquaredDeviations my = SumOfSquaredDeviations.ofRange(y, from, to);
+
+        // "Corrected two-pass algorithm"
+        // See: Chan et al (1983) Equation 1.7 (modified for the co-moment)
+
+        final double xbar = mx.getFirstMoment();
+        final double ybar = my.getFirstMoment();
+        if (!Double.isFinite(xbar) || !Double.isFinite(ybar)) {
+            return new BivariateMoments(mx, my, Double.NaN);
+        }
+        double sx = 0;
+        double sy = 0;
+        double sxy = 0;
+        for (int i = from; i < to; i++) {
+            final double dx = x[i] - xbar;
+            final double dy = y[i] - ybar;
+            sx += dx;
+            sy += dy;
+            sxy += dx * dy;
+        }
+        // The sum of products of deviations is sxy - (sx * sy / n).
+        // The second term ideally should be zero; in practice it is a good approximation
+        // of the error in the first term.
+        return new BivariateMoments(mx, my, sxy - (sx * sy / (to - from)));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the paired values.
+     *
+     * @param a Value of the first variable.
+     * @param b Value of the second variable.
+     */
+    void accept(double a, double b) {
+        x.accept(a);
+        y.accept(b);
+        // Note: account for the half-deviation representation by scaling by 4=2^2
+        sumProductDev += (x.n - 1) * x.dev * y.nDev * 4;
+    }
+
+    /**
+     * Gets the number of paired values.
+     *
+     * @return the count
+     */
+    long getN() {
+        return x.n;
+    }
+
+    /**
+     * Gets the sum of the products of the deviations from the mean of all paired values.
+     *
+     * @return sum of the products of the deviations; or {@code NaN} if the mean of either
+     * variable is not finite
+     */
+    double getSumOfProductsOfDeviations() {
+        return Double.isFinite(x.getFirstMoment()) && Double.isFinite(y.getFirstMoment()) ?
+            sumProductDev : Double.NaN;
+    }
+
+    /**
+     * Gets the sum of the squared deviations from the mean of the first variable.
+     *
+     * @return sum of squared deviations of x
+     */
+    double getSumOfSquaredDeviationsX() {
+        return x.getSumOfSquaredDeviations();
+    }
+
+    /**
+     * Gets the sum of the squared deviations from the mean of the second variable.
+     *
+     * @return sum of squared deviations of y
+     */
+    double getSumOfSquaredDeviationsY() {
+        return y.getSumOfSquaredDeviations();
+    }
+
+    /**
+     * Combines the state of another {@code BivariateMoments} into this one.
+     *
+     * @param other Another {@code BivariateMoments} to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     */
+    BivariateMoments combine(BivariateMoments other) {
+        final long n = x.n;
+        final long m = other.x.n;
+        if (n == 0) {
+            sumProductDev = other.sumProductDev;
+        } else if (m != 0) {
+            // "Updating one-pass algorithm"
+            // See: Chan et al (1983) Equation 1.5b (modified for the co-moment)
+            final double dx = x.getFirstMomentDifference(other.x);
+            final double dy = y.getFirstMomentDifference(other.y);
+            // Enforce symmetry
+            sumProductDev = (sumProductDev + other.sumProductDev) +
+                dx * dy * (((double) n * m) / ((double) n + m));
+        }
+        x.combine(other.x);
+        y.combine(other.y);
+        return this;
+    }
+}
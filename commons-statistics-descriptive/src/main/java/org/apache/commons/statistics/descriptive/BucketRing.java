@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A ring of buckets that each hold an accumulator for a consecutive epoch.
+ *
+ * <p>An epoch is a non-decreasing bucket number, for example derived from a time or count
+ * of values. The ring retains the accumulators for the most recent epochs. A bucket is
+ * reused when a new epoch maps to the same position in the ring. This expires the data
+ * of the oldest epoch at a cost of creating a new empty accumulator.
+ *
+ * @param <T> the type of the accumulator
+ */
+final class BucketRing<T> {
+    /** Epoch of an empty bucket. This is not supported as an epoch value. */
+    private static final long NO_EPOCH = Long.MIN_VALUE;
+
+    /** Factory for new accumulators. */
+    private final Supplier<T> factory;
+    /** The buckets. */
+    private final Object[] buckets;
+    /** The epoch of each bucket. */
+    private final long[] epochs;
+
+    /**
+     * Create an instance.
+     *
+     * @param size Number of buckets.
+     * @param factory Factory for new accumulators.
+     */
+    BucketRing(int size, Supplier<T> factory) {
+        this.factory = factory;
+        buckets = new Object[size];
+        epochs = new long[size];
+        Arrays.fill(epochs, NO_EPOCH);
+    }
+
+    /**
+     * Check the number of buckets is strictly positive.
+     *
+     * @param size Number of buckets.
+     * @return the size
+     * @throws IllegalArgumentException if the size is not strictly positive
+     */
+    static int checkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid number of buckets: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Check the size of a bucket is strictly positive.
+     *
+     * @param size Size of a bucket.
+     * @return the size
+     * @throws IllegalArgumentException if the size is not strictly positive
+     */
+    static long checkBucketSize(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid bucket size: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Gets the accumulator for the epoch. A new accumulator is created if the epoch
+     * is more recent than the epoch stored in the bucket.
+     *
+     * <p>Returns {@code null} if the epoch has expired, i.e. the bucket is used by a
+     * more recent epoch.
+     *
+     * @param epoch Epoch.
+     * @return the accumulator (or null)
+     */
+    @SuppressWarnings("unchecked")
+    T get(long epoch) {
+        final int i = index(epoch);
+        final long e = epochs[i];
+        if (e == epoch) {
+            return (T) buckets[i];
+        }
+        if (e > epoch) {
+            return null;
+        }
+        final T t = factory.get();
+        buckets[i] = t;
+        epochs[i] = epoch;
+        return t;
+    }
+
+    /**
+     * Perform the action on the accumulator of each bucket within the window of
+     * epochs ending at the specified epoch (inclusive). The window size is
+     * the number of buckets. Buckets are processed in order of the epoch.
+     *
+     * @param epoch Most recent epoch in the window.
+     * @param action Action.
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(long epoch, Consumer<T> action) {
+        // Window is (epoch - size, epoch]
+        for (int j = buckets.length - 1; j >= 0; j--) {
+            final long e = epoch - j;
+            final int i = index(e);
+            if (epochs[i] == e) {
+                action.accept((T) buckets[i]);
+            }
+        }
+    }
+
+    /**
+     * Compute the bucket index for the epoch.
+     *
+     * @param epoch Epoch.
+     * @return the index
+     */
+    private int index(long epoch) {
+        return (int) Math.floorMod(epoch, (long) buckets.length);
+    }
+}
@@ -0,0 +1,870 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Partition primitive buffers in-place so that selected indices are in their
+ * sorted position.
+ *
+ * <p>Selection uses absolute {@code get} and {@code put} operations. The position
+ * and limit of the buffer are not modified. This supports partitioning of buffers
+ * that are not backed by an accessible array, for example direct and memory-mapped
+ * buffers, without a copy to the heap.
+ *
+ * <p>Partitioning uses an introselect: a quickselect using a median-of-3 pivot
+ * and a 3-way partition to efficiently handle repeated values. If the recursion
+ * exceeds a depth proportional to the logarithm of the length then the remaining
+ * range is sorted using a heapsort to ensure {@code O(n log n)} worst-case performance.
+ *
+ * <p>Floating-point data is ordered using {@link Double#compare(double, double)}.
+ *
+ * @since 1.4
+ */
+final class BufferSelection {
+    /** Length at which a range is sorted using an insertion sort. */
+    private static final int INSERTION_SORT_SIZE = 16;
+
+    /** No instances. */
+    private BufferSelection() {}
+
+    /**
+     * Copy the remaining elements of the buffer to a new array.
+     * The position of the buffer is not modified.
+     *
+     * @param b Buffer.
+     * @return the elements
+     */
+    static double[] toArray(DoubleBuffer b) {
+        final double[] x = new double[b.remaining()];
+        b.duplicate().get(x);
+        return x;
+    }
+
+    /**
+     * Copy the remaining elements of the buffer to a new array.
+     * The position of the buffer is not modified.
+     *
+     * @param b Buffer.
+     * @return the elements
+     */
+    static int[] toArray(IntBuffer b) {
+        final int[] x = new int[b.remaining()];
+        b.duplicate().get(x);
+        return x;
+    }
+
+    /**
+     * Copy the remaining elements of the buffer to a new array.
+     * The position of the buffer is not modified.
+     *
+     * @param b Buffer.
+     * @return the elements
+     */
+    static long[] toArray(LongBuffer b) {
+        final long[] x = new long[b.remaining()];
+        b.duplicate().get(x);
+        return x;
+    }
+
+    /**
+     * Apply the {@link NaNPolicy} to the range {@code [from, to)}. Any {@code NaN} values
+     * are moved to the end of the range. The returned index is the exclusive end of the
+     * non-{@code NaN} values.
+     *
+     * <p>If the policy is {@link NaNPolicy#ERROR} the data is checked for {@code NaN}
+     * and is not modified.
+     *
+     * @param b Buffer.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param nanPolicy NaN policy.
+     * @return the end of the non-NaN values
+     * @throws IllegalArgumentException if the values contain NaN and the policy is {@link NaNPolicy#ERROR}
+     */
+    static int moveNaN(DoubleBuffer b, int from, int to, NaNPolicy nanPolicy) {
+        if (nanPolicy == NaNPolicy.ERROR) {
+            for (int i = to; --i >= from;) {
+                final double v = b.get(i);
+                if (v != v) {
+                    throw new IllegalArgumentException("NaN at " + i);
+                }
+            }
+            return to;
+        }
+        int end = to;
+        for (int i = to; --i >= from;) {
+            final double v = b.get(i);
+            if (v != v) {
+                b.put(i, b.get(--end));
+                b.put(end, v);
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Partition the values so that each index {@code k} in the range is in its sorted position.
+     * Indices outside the range {@code [from, to)} are ignored.
+     *
+     * @param b Buffer.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param k Indices.
+     */
+    static void select(DoubleBuffer b, int from, int to, int... k) {
+        final int[] indices = k.clone();
+        final int n = sortIndices(indices, from, to);
+        if (n != 0) {
+            selectIndices(b, from, to - 1, indices, 0, n - 1, depthLimit(to - from));
+        }
+    }
+
+    /**
+     * Partition the values so that each index {@code k} in the range is in its sorted position.
+     * Indices outside the range {@code [from, to)} are ignored.
+     *
+     * @param b Buffer.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param k Indices.
+     */
+    static void select(IntBuffer b, int from, int to, int... k) {
+        final int[] indices = k.clone();
+        final int n = sortIndices(indices, from, to);
+        if (n != 0) {
+            selectIndices(b, from, to - 1, indices, 0, n - 1, depthLimit(to - from));
+        }
+    }
+
+    /**
+     * Partition the values so that each index {@code k} in the range is in its sorted position.
+     * Indices outside the range {@code [from, to)} are ignored.
+     *
+     * @param b Buffer.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param k Indices.
+     */
+    static void select(LongBuffer b, int from, int to, int... k) {
+        final int[] indices = k.clone();
+        final int n = sortIndices(indices, from, to);
+        if (n != 0) {
+            selectIndices(b, from, to - 1, indices, 0, n - 1, depthLimit(to - from));
+        }
+    }
+
+    /**
+     * Sort the indices and remove duplicates and indices outside the range
+     * {@code [from, to)}. The retained indices are moved to the start of the array.
+     *
+     * @param k Indices.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the number of retained indices
+     */
+    private static int sortIndices(int[] k, int from, int to) {
+        Arrays.sort(k);
+        int n = 0;
+        for (final int i : k) {
+            if (i >= to) {
+                break;
+            }
+            if (i >= from && (n == 0 || i != k[n - 1])) {
+                k[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Partition the values so that each index {@code k[ka]} to {@code k[kb]} is in its
+     * sorted position. The indices must be sorted, unique and within {@code [left, right]}.
+     *
+     * <p>Each partition step recurses only into the segments that contain indices;
+     * indices within the pivot range are already in their sorted position.
+     *
+     * @param b Buffer.
+     * @param left Inclusive start of the range.
+     * @param right Inclusive end of the range.
+     * @param k Indices.
+     * @param ka Inclusive start of the indices.
+     * @param kb Inclusive end of the indices.
+     * @param depth Limit on the number of partition steps.
+     */
+    private static void selectIndices(DoubleBuffer b, int left, int right, int[] k, int ka, int kb, int depth) {
+        int l = left;
+        int r = right;
+        int a = ka;
+        int budget = depth;
+        while (r - l > INSERTION_SORT_SIZE) {
+            if (a == kb) {
+                selectIndex(b, l, r, k[a]);
+                return;
+            }
+            if (--budget < 0) {
+                heapSort(b, l, r);
+                return;
+            }
+            final int m = (l + r) >>> 1;
+            sort3(b, l, m, r);
+            final double pivot = b.get(m);
+            int lt = l;
+            int gt = r;
+            int i = l;
+            while (i <= gt) {
+                final double v = b.get(i);
+                final int c = Double.compare(v, pivot);
+                if (c < 0) {
+                    b.put(i++, b.get(lt));
+                    b.put(lt++, v);
+                } else if (c > 0) {
+                    b.put(i, b.get(gt));
+                    b.put(gt--, v);
+                } else {
+                    i++;
+                }
+            }
+            // Indices below the pivot range
+            int j = a;
+            while (j <= kb && k[j] < lt) {
+                j++;
+            }
+            if (j > a) {
+                selectIndices(b, l, lt - 1, k, a, j - 1, budget);
+            }
+            // Indices above the pivot range
+            while (j <= kb && k[j] <= gt) {
+                j++;
+            }
+            if (j > kb) {
+                return;
+            }
+            a = j;
+            l = gt + 1;
+        }
+        insertionSort(b, l, r);
+    }
+
+    /**
+     * Partition the values so that each index {@code k[ka]} to {@code k[kb]} is in its
+     * sorted position. The indices must be sorted, unique and within {@code [left, right]}.
+     *
+     * <p>Each partition step recurses only into the segments that contain indices;
+     * indices within the pivot range are already in their sorted position.
+     *
+     * @param b Buffer.
+     * @param left Inclusive start of the range.
+     * @param right Inclusive end of the range.
+     * @param k Indices.
+     * @param ka Inclusive start of the indices.
+     * @param kb Inclusive end of the indices.
+     * @param depth Limit on the number of partition steps.
+     */
+    private static void selectIndices(IntBuffer b, int left, int right, int[] k, int ka, int kb, int depth) {
+        int l = left;
+        int r = right;
+        int a = ka;
+        int budget = depth;
+        while (r - l > INSERTION_SORT_SIZE) {
+            if (a == kb) {
+                selectIndex(b, l, r, k[a]);
+                return;
+            }
+            if (--budget < 0) {
+                heapSort(b, l, r);
+                return;
+            }
+            final int m = (l + r) >>> 1;
+            sort3(b, l, m, r);
+            final int pivot = b.get(m);
+            int lt = l;
+            int gt = r;
+            int i = l;
+            while (i <= gt) {
+                final int v = b.get(i);
+                if (v < pivot) {
+                    b.put(i++, b.get(lt));
+                    b.put(lt++, v);
+                } else if (v > pivot) {
+                    b.put(i, b.get(gt));
+                    b.put(gt--, v);
+                } else {
+                    i++;
+                }
+            }
+            // Indices below the pivot range
+            int j = a;
+            while (j <= kb && k[j] < lt) {
+                j++;
+            }
+            if (j > a) {
+                selectIndices(b, l, lt - 1, k, a, j - 1, budget);
+            }
+            // Indices above the pivot range
+            while (j <= kb && k[j] <= gt) {
+                j++;
+            }
+            if (j > kb) {
+                return;
+            }
+            a = j;
+            l = gt + 1;
+        }
+        insertionSort(b, l, r);
+    }
+
+    /**
+     * Partition the values so that each index {@code k[ka]} to {@code k[kb]} is in its
+     * sorted position. The indices must be sorted, unique and within {@code [left, right]}.
+     *
+     * <p>Each partition step recurses only into the segments that contain indices;
+     * indices within the pivot range are already in their sorted position.
+     *
+     * @param b Buffer.
+     * @param left Inclusive start of the range.
+     * @param right Inclusive end of the range.
+     * @param k Indices.
+     * @param ka Inclusive start of the indices.
+     * @param kb Inclusive end of the indices.
+     * @param depth Limit on the number of partition steps.
+     */
+    private static void selectIndices(LongBuffer b, int left, int right, int[] k, int ka, int kb, int depth) {
+        int l = left;
+        int r = right;
+        int a = ka;
+        int budget = depth;
+        while (r - l > INSERTION_SORT_SIZE) {
+            if (a == kb) {
+                selectIndex(b, l, r, k[a]);
+                return;
+            }
+            if (--budget < 0) {
+                heapSort(b, l, r);
+                return;
+            }
+            final int m = (l + r) >>> 1;
+            sort3(b, l, m, r);
+            final long pivot = b.get(m);
+            int lt = l;
+            int gt = r;
+            int i = l;
+            while (i <= gt) {
+                final long v = b.get(i);
+                if (v < pivot) {
+                    b.put(i++, b.get(lt));
+                    b.put(lt++, v);
+                } else if (v > pivot) {
+                    b.put(i, b.get(gt));
+                    b.put(gt--, v);
+                } else {
+                    i++;
+                }
+            }
+            // Indices below the pivot range
+            int j = a;
+            while (j <= kb && k[j] < lt) {
+                j++;
+            }
+            if (j > a) {
+                selectIndices(b, l, lt - 1, k, a, j - 1, budget);
+            }
+            // Indices above the pivot range
+            while (j <= kb && k[j] <= gt) {
+                j++;
+            }
+            if (j > kb) {
+                return;
+            }
+            a = j;
+            l = gt + 1;
+        }
+        insertionSort(b, l, r);
+    }
+
+    /**
+     * Partition the values so that index {@code k} is in its sorted position.
+     *
+     * @param b Buffer.
+     * @param left Inclusive start of the range.
+     * @param right Inclusive end of the range.
+     * @param k Index.
+     */
+    private static void selectIndex(DoubleBuffer b, int left, int right, int k) {
+        int l = left;
+        int r = right;
+        int budget = depthLimit(r - l + 1);
+        while (r - l > INSERTION_SORT_SIZE) {
+            if (--budget < 0) {
+                heapSort(b, l, r);
+                return;
+            }
+            // Median-of-3 pivot moved to the centre
+            final int m = (l + r) >>> 1;
+            sort3(b, l, m, r);
+            final double pivot = b.get(m);
+            // 3-way partition:
+            // [l, lt) < pivot; [lt, gt] == pivot; (gt, r] > pivot
+            int lt = l;
+            int gt = r;
+            int i = l;
+            while (i <= gt) {
+                final double v = b.get(i);
+                final int c = Double.compare(v, pivot);
+                if (c < 0) {
+                    b.put(i++, b.get(lt));
+                    b.put(lt++, v);
+                } else if (c > 0) {
+                    b.put(i, b.get(gt));
+                    b.put(gt--, v);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                r = lt - 1;
+            } else if (k > gt) {
+                l = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertionSort(b, l, r);
+    }
+
+    /**
+     * Partition the values so that index {@code k} is in its sorted position.
+     *
+     * @param b Buffer.
+     * @param left Inclusive start of the range.
+     * @param right Inclusive end of the range.
+     * @param k Index.
+     */
+    private static void selectIndex(IntBuffer b, int left, int right, int k) {
+        int l = left;
+        int r = right;
+        int budget = depthLimit(r - l + 1);
+        while (r - l > INSERTION_SORT_SIZE) {
+            if (--budget < 0) {
+                heapSort(b, l, r);
+                return;
+            }
+            final int m = (l + r) >>> 1;
+            sort3(b, l, m, r);
+            final int pivot = b.get(m);
+            int lt = l;
+            int gt = r;
+            int i = l;
+            while (i <= gt) {
+                final int v = b.get(i);
+                if (v < pivot) {
+                    b.put(i++, b.get(lt));
+                    b.put(lt++, v);
+                } else if (v > pivot) {
+                    b.put(i, b.get(gt));
+                    b.put(gt--, v);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                r = lt - 1;
+            } else if (k > gt) {
+                l = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertionSort(b, l, r);
+    }
+
+    /**
+     * Partition the values so that index {@code k} is in its sorted position.
+     *
+     * @param b Buffer.
+     * @param left Inclusive start of the range.
+     * @param right Inclusive end of the range.
+     * @param k Index.
+     */
+    private static void selectIndex(LongBuffer b, int left, int right, int k) {
+        int l = left;
+        int r = right;
+        int budget = depthLimit(r - l + 1);
+        while (r - l > INSERTION_SORT_SIZE) {
+            if (--budget < 0) {
+                heapSort(b, l, r);
+                return;
+            }
+            final int m = (l + r) >>> 1;
+            sort3(b, l, m, r);
+            final long pivot = b.get(m);
+            int lt = l;
+            int gt = r;
+            int i = l;
+            while (i <= gt) {
+                final long v = b.get(i);
+                if (v < pivot) {
+                    b.put(i++, b.get(lt));
+                    b.put(lt++, v);
+                } else if (v > pivot) {
+                    b.put(i, b.get(gt));
+                    b.put(gt--, v);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                r = lt - 1;
+            } else if (k > gt) {
+                l = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertionSort(b, l, r);
+    }
+
+    /**
+     * Compute the limit on the number of partition steps before switching
+     * to a heapsort. This is {@code 2 * floor(log2(n))}.
+     *
+     * @param n Length of the range.
+     * @return the limit
+     */
+    private static int depthLimit(int n) {
+        return (31 - Integer.numberOfLeadingZeros(n)) << 1;
+    }
+
+    /**
+     * Sort the values at the three indices {@code i < j < k}.
+     *
+     * @param b Buffer.
+     * @param i Index.
+     * @param j Index.
+     * @param k Index.
+     */
+    private static void sort3(DoubleBuffer b, int i, int j, int k) {
+        double u = b.get(i);
+        double v = b.get(j);
+        double w = b.get(k);
+        if (Double.compare(v, u) < 0) {
+            final double t = u;
+            u = v;
+            v = t;
+        }
+        if (Double.compare(w, v) < 0) {
+            final double t = v;
+            v = w;
+            w = t;
+            if (Double.compare(v, u) < 0) {
+                final double s = u;
+                u = v;
+                v = s;
+            }
+        }
+        b.put(i, u);
+        b.put(j, v);
+        b.put(k, w);
+    }
+
+    /**
+     * Sort the range {@code [l, r]} using an insertion sort.
+     *
+     * @param b Buffer.
+     * @param l Inclusive start of the range.
+     * @param r Inclusive end of the range.
+     */
+    private static void insertionSort(DoubleBuffer b, int l, int r) {
+        for (int i = l; ++i <= r;) {
+            final double v = b.get(i);
+            int j = i;
+            while (--j >= l) {
+                final double u = b.get(j);
+                if (Double.compare(v, u) >= 0) {
+                    break;
+                }
+                b.put(j + 1, u);
+            }
+            b.put(j + 1, v);
+        }
+    }
+
+    /**
+     * Sort the range {@code [l, r]} using a heapsort.
+     *
+     * @param b Buffer.
+     * @param l Inclusive start of the range.
+     * @param r Inclusive end of the range.
+     */
+    private static void heapSort(DoubleBuffer b, int l, int r) {
+        final int n = r - l + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(b, l, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            final double t = b.get(l);
+            b.put(l, b.get(l + end));
+            b.put(l + end, t);
+            siftDown(b, l, 0, end);
+        }
+    }
+
+    /**
+     * Restore the max-heap property of the heap at offset {@code l} for the node {@code i}.
+     *
+     * @param b Buffer.
+     * @param l Offset of the heap.
+     * @param i Index of the node in the heap.
+     * @param n Size of the heap.
+     */
+    private static void siftDown(DoubleBuffer b, int l, int i, int n) {
+        final double v = b.get(l + i);
+        int p = i;
+        int c = (p << 1) + 1;
+        while (c < n) {
+            double u = b.get(l + c);
+            if (c + 1 < n) {
+                final double u2 = b.get(l + c + 1);
+                if (Double.compare(u, u2) < 0) {
+                    c++;
+                    u = u2;
+                }
+            }
+            if (Double.compare(v, u) >= 0) {
+                break;
+            }
+            b.put(l + p, u);
+            p = c;
+            c = (p << 1) + 1;
+        }
+        b.put(l + p, v);
+    }
+
+    /**
+     * Sort the values at the three indices {@code i < j < k}.
+     *
+     * @param b Buffer.
+     * @param i Index.
+     * @param j Index.
+     * @param k Index.
+     */
+    private static void sort3(IntBuffer b, int i, int j, int k) {
+        int u = b.get(i);
+        int v = b.get(j);
+        int w = b.get(k);
+        if (v < u) {
+            final int t = u;
+            u = v;
+            v = t;
+        }
+        if (w < v) {
+            final int t = v;
+            v = w;
+            w = t;
+            if (v < u) {
+                final int s = u;
+                u = v;
+                v = s;
+            }
+        }
+        b.put(i, u);
+        b.put(j, v);
+        b.put(k, w);
+    }
+
+    /**
+     * Sort the range {@code [l, r]} using an insertion sort.
+     *
+     * @param b Buffer.
+     * @param l Inclusive start of the range.
+     * @param r Inclusive end of the range.
+     */
+    private static void insertionSort(IntBuffer b, int l, int r) {
+        for (int i = l; ++i <= r;) {
+            final int v = b.get(i);
+            int j = i;
+            while (--j >= l) {
+                final int u = b.get(j);
+                if (v >= u) {
+                    break;
+                }
+                b.put(j + 1, u);
+            }
+            b.put(j + 1, v);
+        }
+    }
+
+    /**
+     * Sort the range {@code [l, r]} using a heapsort.
+     *
+     * @param b Buffer.
+     * @param l Inclusive start of the range.
+     * @param r Inclusive end of the range.
+     */
+    private static void heapSort(IntBuffer b, int l, int r) {
+        final int n = r - l + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(b, l, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            final int t = b.get(l);
+            b.put(l, b.get(l + end));
+            b.put(l + end, t);
+            siftDown(b, l, 0, end);
+        }
+    }
+
+    /**
+     * Restore the max-heap property of the heap at offset {@code l} for the node {@code i}.
+     *
+     * @param b Buffer.
+     * @param l Offset of the heap.
+     * @param i Index of the node in the heap.
+     * @param n Size of the heap.
+     */
+    private static void siftDown(IntBuffer b, int l, int i, int n) {
+        final int v = b.get(l + i);
+        int p = i;
+        int c = (p << 1) + 1;
+        while (c < n) {
+            int u = b.get(l + c);
+            if (c + 1 < n) {
+                final int u2 = b.get(l + c + 1);
+                if (u < u2) {
+                    c++;
+                    u = u2;
+                }
+            }
+            if (v >= u) {
+                break;
+            }
+            b.put(l + p, u);
+            p = c;
+            c = (p << 1) + 1;
+        }
+        b.put(l + p, v);
+    }
+
+    /**
+     * Sort the values at the three indices {@code i < j < k}.
+     *
+     * @param b Buffer.
+     * @param i Index.
+     * @param j Index.
+     * @param k Index.
+     */
+    private static void sort3(LongBuffer b, int i, int j, int k) {
+        long u = b.get(i);
+        long v = b.get(j);
+        long w = b.get(k);
+        if (v < u) {
+            final long t = u;
+            u = v;
+            v = t;
+        }
+        if (w < v) {
+            final long t = v;
+            v = w;
+            w = t;
+            if (v < u) {
+                final long s = u;
+                u = v;
+                v = s;
+            }
+        }
+        b.put(i, u);
+        b.put(j, v);
+        b.put(k, w);
+    }
+
+    /**
+     * Sort the range {@code [l, r]} using an insertion sort.
+     *
+     * @param b Buffer.
+     * @param l Inclusive start of the range.
+     * @param r Inclusive end of the range.
+     */
+    private static void insertionSort(LongBuffer b, int l, int r) {
+        for (int i = l; ++i <= r;) {
+            final long v = b.get(i);
+            int j = i;
+            while (--j >= l) {
+                final long u = b.get(j);
+                if (v >= u) {
+                    break;
+                }
+                b.put(j + 1, u);
+            }
+            b.put(j + 1, v);
+        }
+    }
+
+    /**
+     * Sort the range {@code [l, r]} using a heapsort.
+     *
+     * @param b Buffer.
+     * @param l Inclusive start of the range.
+     * @param r Inclusive end of the range.
+     */
+    private static void heapSort(LongBuffer b, int l, int r) {
+        final int n = r - l + 1;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(b, l, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            final long t = b.get(l);
+            b.put(l, b.get(l + end));
+            b.put(l + end, t);
+            siftDown(b, l, 0, end);
+        }
+    }
+
+    /**
+     * Restore the max-heap property of the heap at offset {@code l} for the node {@code i}.
+     *
+     * @param b Buffer.
+     * @param l Offset of the heap.
+     * @param i Index of the node in the heap.
+     * @param n Size of the heap.
+     */
+    private static void siftDown(LongBuffer b, int l, int i, int n) {
+        final long v = b.get(l + i);
+        int p = i;
+        int c = (p << 1) + 1;
+        while (c < n) {
+            long u = b.get(l + c);
+            if (c + 1 < n) {
+                final long u2 = b.get(l + c + 1);
+                if (u < u2) {
+                    c++;
+                    u = u2;
+                }
+            }
+            if (v >= u) {
+                break;
+            }
+            b.put(l + p, u);
+            p = c;
+            c = (p << 1) + 1;
+        }
+        b.put(l + p, v);
+    }
+}
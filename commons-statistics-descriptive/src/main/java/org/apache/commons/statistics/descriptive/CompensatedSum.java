@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.nio.ByteBuffer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A mutable extended precision sum of {@code double} values.
+ *
+ * <p>This is a specialised class to implement an accumulator of {@code double} values.
+ * It uses the same compensated summation as {@link org.apache.commons.numbers.core.Sum}:
+ * the standard sum is accumulated with a compensation term for the round-off of each
+ * addition. Unlike that class both terms are accessible so the state can be written and
+ * restored exactly.
+ *
+ * @since 1.4
+ */
+final class CompensatedSum implements DoubleSupplier, DoubleConsumer {
+    /** Standard sum. */
+    private double sum;
+    /** Compensation value. */
+    private double comp;
+
+    /**
+     * Create an instance.
+     */
+    private CompensatedSum() {
+        // No-op
+    }
+
+    /**
+     * Create an instance. The initial value is zero.
+     *
+     * @return the instance
+     */
+    static CompensatedSum create() {
+        return new CompensatedSum();
+    }
+
+    /**
+     * Create an instance of the sum of the {@code values}.
+     *
+     * @param values Values.
+     * @return the instance
+     */
+    static CompensatedSum of(double... values) {
+        final CompensatedSum s = new CompensatedSum();
+        for (final double x : values) {
+            s.add(x);
+        }
+        return s;
+    }
+
+    /**
+     * Adds the value.
+     *
+     * @param t Value.
+     * @return this instance
+     */
+    CompensatedSum add(double t) {
+        final double newSum = sum + t;
+        comp += twoSumLow(sum, t, newSum);
+        sum = newSum;
+        return this;
+    }
+
+    /**
+     * Adds the sum.
+     *
+     * @param other Sum.
+     * @return this instance
+     */
+    CompensatedSum add(CompensatedSum other) {
+        // Avoid issues adding to itself
+        final double s = other.sum;
+        final double c = other.comp;
+        add(s);
+        return add(c);
+    }
+
+    @Override
+    public void accept(double value) {
+        add(value);
+    }
+
+    /**
+     * Gets the sum. This is the high-precision sum if it is finite; otherwise the
+     * standard sum.
+     *
+     * @return the sum
+     */
+    @Override
+    public double getAsDouble() {
+        final double hpsum = sum + comp;
+        return Double.isFinite(hpsum) ? hpsum : sum;
+    }
+
+    /**
+     * Compute the low part of the double length number {@code (z,zz)} for the exact
+     * addition of two numbers {@code a} and {@code b} where {@code z = a + b}
+     * (the round-off of the sum).
+     *
+     * @param a First part of sum.
+     * @param b Second part of sum.
+     * @param sum Sum of the parts (a + b).
+     * @return the low part of the sum
+     */
+    private static double twoSumLow(double a, double b, double sum) {
+        final double bVirtual = sum - a;
+        // sum - bVirtual == aVirtual.
+        // a - aVirtual == a round-off
+        // b - bVirtual == b round-off
+        return (a - (sum - bVirtual)) + (b - bVirtual);
+    }
+
+    /**
+     * Write the state of the sum to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        buffer.putDouble(sum).putDouble(comp);
+    }
+
+    /**
+     * Read the state of the sum from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        sum = buffer.getDouble();
+        comp = buffer.getDouble();
+    }
+}
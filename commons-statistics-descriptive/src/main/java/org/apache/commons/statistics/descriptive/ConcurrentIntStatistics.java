@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * A thread-safe recorder of statistics for {@code int} values.
+ *
+ * <p>Values are recorded into a table of {@link IntStatistics} cells. Each cell is
+ * guarded by a lock. Concurrent threads are spread across the cells to reduce contention,
+ * in the manner of {@link java.util.concurrent.atomic.LongAdder LongAdder}. Recording is
+ * effectively uncontended when the number of cells is larger than the number of
+ * recording threads.
+ *
+ * <p>The statistics are obtained using a {@link #snapshot() snapshot} that combines the
+ * cells. The snapshot is not an atomic view of the recorder: values recorded concurrently
+ * with the creation of the snapshot may or may not be included. The snapshot is a new
+ * instance that is independent of the recorder.
+ *
+ * <p>This class is designed for use when values are recorded concurrently by many
+ * threads and the statistics are read infrequently. When values are recorded by a
+ * single thread it is more efficient to use {@link IntStatistics}.
+ *
+ * <p>The result of the snapshot may be different from recording the same values
+ * sequentially into a single {@link IntStatistics} due to the alternative
+ * summation order of the values.
+ *
+ * @see IntStatistics
+ * @since 1.4
+ */
+public final class ConcurrentIntStatistics implements IntConsumer {
+    /** The builder for the cells. */
+    private final IntStatistics.Builder builder;
+    /** The cells. */
+    private final Striped<IntStatistics> cells;
+    /** Configuration options for computation of statistics. */
+    private volatile StatisticsConfiguration config = StatisticsConfiguration.withDefaults();
+
+    /**
+     * Create an instance.
+     *
+     * @param builder Builder for the cells.
+     */
+    private ConcurrentIntStatistics(IntStatistics.Builder builder) {
+        this.builder = builder;
+        cells = new Striped<>(builder::build);
+    }
+
+    /**
+     * Returns a new instance configured to record the specified {@code statistics}.
+     *
+     * @param statistics Statistics to compute.
+     * @return the instance
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     */
+    public static ConcurrentIntStatistics of(Statistic... statistics) {
+        return new ConcurrentIntStatistics(IntStatistics.builder(statistics));
+    }
+
+    /**
+     * Updates the state of the statistics to reflect the addition of {@code value}.
+     *
+     * <p>This method is thread-safe.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(int value) {
+        final Striped.Cell<IntStatistics> c = cells.lock();
+        try {
+            c.get().accept(value);
+        } finally {
+            c.unlock();
+        }
+    }
+
+    /**
+     * Combines the state of the {@code other} statistics into this one.
+     *
+     * <p>This method is thread-safe. It can be used to record a batch of values that
+     * have been accumulated by a single thread.
+     *
+     * <p>The {@code other} instance must compute all the statistics supported by this
+     * instance. It must not be modified concurrently with this operation.
+     *
+     * @param other Another set of statistics to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} is not compatible
+     */
+    public ConcurrentIntStatistics combine(IntStatistics other) {
+        final Striped.Cell<IntStatistics> c = cells.lock();
+        try {
+            c.get().combine(other);
+        } finally {
+            c.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Returns a snapshot of the statistics recorded by this instance.
+     *
+     * <p>This method is thread-safe. The snapshot uses the current
+     * {@link #setConfiguration(StatisticsConfiguration) configuration}.
+     *
+     * @return the statistics
+     */
+    public IntStatistics snapshot() {
+        final IntStatistics s = builder.build();
+        cells.forEach(s::combine);
+        return s.setConfiguration(config);
+    }
+
+    /**
+     * Sets the statistics configuration used to create a {@link #snapshot() snapshot}.
+     *
+     * <p>These options only control the final computation of statistics. The configuration
+     * will not affect recording of values.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @throws NullPointerException if the value is null
+     */
+    public ConcurrentIntStatistics setConfiguration(StatisticsConfiguration v) {
+        config = Objects.requireNonNull(v);
+        return this;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Selection of order statistics from {@code int} data with a small range of values.
+ *
+ * <p>If the span of the values {@code [min, max]} is small relative to the length of
+ * the data, the values are counted in a table indexed by {@code value - min}. The
+ * cumulative counts are used to find the value of any order statistic by a binary
+ * search. The data is not modified.
+ *
+ * <p>The cost is a pass over the data to find the span, a second pass to count the
+ * values, and a pass over the table. This is faster than partitioning the data for
+ * each order statistic, and faster than copying the data when the input must be
+ * preserved.
+ *
+ * @since 1.4
+ */
+final class CountingSelection {
+    /** Minimum length of data to use counting. Selection is fast for small data. */
+    static final int MIN_LENGTH = 64;
+    /** Maximum span of the values. This limits the size of the count table. */
+    static final int MAX_SPAN = 1 << 16;
+
+    /** Minimum value. */
+    private final int min;
+    /** Cumulative count of values {@code <= min + i}. */
+    private final int[] cumulative;
+    /** Length of the count table. */
+    private final int span;
+
+    /**
+     * @param min Minimum value.
+     * @param cumulative Cumulative counts.
+     * @param span Length of the count table.
+     */
+    private CountingSelection(int min, int[] cumulative, int span) {
+        this.min = min;
+        this.cumulative = cumulative;
+        this.span = span;
+    }
+
+    /**
+     * Create an instance if the specified range of values has a small span relative
+     * to its length; otherwise return {@code null}.
+     *
+     * <p>The values are counted if the span {@code max - min + 1} is not above the
+     * length of the data. The span is checked during the pass to find the minimum and
+     * maximum; the pass is aborted if the span is too large.
+     *
+     * @param x Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param w Workspace (can be null).
+     * @return the instance, or null
+     */
+    static CountingSelection of(int[] x, int from, int to, QuantileWorkspace w) {
+        final int n = to - from;
+        if (n < MIN_LENGTH) {
+            return null;
+        }
+        // Exclusive limit on max - min
+        final long limit = Math.min(n, MAX_SPAN);
+        int min = x[from];
+        int max = min;
+        for (int i = from + 1; i < to; i++) {
+            final int v = x[i];
+            if (v < min) {
+                min = v;
+                if ((long) max - min >= limit) {
+                    return null;
+                }
+            } else if (v > max) {
+                max = v;
+                if ((long) max - min >= limit) {
+                    return null;
+                }
+            }
+        }
+        final int span = max - min + 1;
+        final int[] c = QuantileWorkspace.counts(w, span);
+        for (int i = from; i < to; i++) {
+            c[x[i] - min]++;
+        }
+        for (int i = 1; i < span; i++) {
+            c[i] += c[i - 1];
+        }
+        return new CountingSelection(min, c, span);
+    }
+
+    /**
+     * Gets the value of the order statistic {@code k}. This is the value at index
+     * {@code k} of the sorted data.
+     *
+     * @param k Index in {@code [0, n)}.
+     * @return the value
+     */
+    int get(int k) {
+        // Find the first cumulative count above k.
+        // Note: cumulative[span - 1] == n > k
+        int lo = 0;
+        int hi = span - 1;
+        while (lo < hi) {
+            final int m = (lo + hi) >>> 1;
+            if (cumulative[m] > k) {
+                hi = m;
+            } else {
+                lo = m + 1;
+            }
+        }
+        return min + lo;
+    }
+
+    /**
+     * Gets the quantile at the real-valued position {@code i + g} in the sorted data,
+     * where {@code i} is an integer index in {@code [0, n)} and {@code g} is the fraction
+     * in {@code [0, 1)} used to interpolate between the values at {@code i} and {@code i + 1}.
+     *
+     * @param pos Position.
+     * @return the quantile
+     */
+    double quantile(double pos) {
+        final int i = (int) pos;
+        if (pos > i) {
+            return Interpolation.interpolate((double) get(i), (double) get(i + 1), pos - i);
+        }
+        return get(i);
+    }
+}
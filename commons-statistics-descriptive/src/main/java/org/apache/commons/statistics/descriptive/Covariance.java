@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the covariance of the available paired values. The default implementation uses the
+ * following definition of the <em>sample covariance</em>:
+ *
+ * <p>\[ \tfrac{1}{n-1} \sum_{i=1}^n (x_i-\overline{x})(y_i-\overline{y}) \]
+ *
+ * <p>where \( \overline{x} \) and \( \overline{y} \) are the sample means, and \( n \) is
+ * the number of paired samples.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.</li>
+ *   <li>The result is {@code NaN} if the sum of the products of the deviations from the
+ *       mean is infinite.</li>
+ *   <li>The result is zero if there is one finite pair of values in the data set.</li>
+ * </ul>
+ *
+ * <p>The use of the term \( n − 1 \) is called Bessel's correction. If the
+ * {@link #setBiased(boolean) biased} option is enabled the normalisation factor is
+ * changed to \( \frac{1}{n} \) for a biased estimator of the <em>sample covariance</em>.
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm
+ * using the same scaling as {@link Variance} to avoid overflow for all finite input.
+ *
+ * <p>The {@link #of(double[], double[])} method uses a corrected two-pass algorithm.
+ *
+ * <p>Note that adding values using {@link #accept(double, double) accept} and then executing
+ * {@link #getAsDouble() getAsDouble} will
+ * sometimes give a different, less accurate, result than executing
+ * {@link #of(double[], double[]) of} with the full arrays of values. The former approach
+ * should only be used when the full arrays of values are not available.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double, double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a></li>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Covariance">Covariance (Wikipedia)</a>
+ * @see Variance
+ * @see PearsonCorrelation
+ * @since 1.4
+ */
+public final class Covariance implements StatisticResult, StatisticAccumulator<Covariance> {
+    /** Moments of the paired values. */
+    private final BivariateMoments moments;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Creates an instance with the moments.
+     *
+     * @param moments Moments.
+     */
+    private Covariance(BivariateMoments moments) {
+        this.moments = moments;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code Covariance} instance.
+     */
+    public static Covariance create() {
+        return new Covariance(new BivariateMoments());
+    }
+
+    /**
+     * Returns an instance populated using the paired values {@code (x[i], y[i])}.
+     *
+     * <p>Note: {@code Covariance} computed using {@link #accept(double, double) accept} may be
+     * different from this covariance.
+     *
+     * <p>See {@link Covariance} for details on the computing algorithm.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @return {@code Covariance} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     */
+    public static Covariance of(double[] x, double[] y) {
+        Statistics.checkPairedLength(x.length, y.length);
+        return new Covariance(BivariateMoments.ofRange(x, y, 0, x.length));
+    }
+
+    /**
+     * Returns an instance populated using the specified range of the paired values
+     * {@code (x[i], y[i])}.
+     *
+     * <p>Note: {@code Covariance} computed using {@link #accept(double, double) accept} may be
+     * different from this covariance.
+     *
+     * <p>See {@link Covariance} for details on the computing algorithm.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Covariance} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Covariance ofRange(double[] x, double[] y, int from, int to) {
+        Statistics.checkPairedLength(x.length, y.length);
+        Statistics.checkFromToIndex(from, to, x.length);
+        return new Covariance(BivariateMoments.ofRange(x, y, from, to));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the paired values.
+     *
+     * @param x Value of the first variable.
+     * @param y Value of the second variable.
+     */
+    public void accept(double x, double y) {
+        moments.accept(x, y);
+    }
+
+    /**
+     * Gets the number of paired values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return moments.getN();
+    }
+
+    /**
+     * Gets the covariance of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return covariance of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        // Note: The moments check for n=0 and return NaN.
+        final double c = moments.getSumOfProductsOfDeviations();
+        if (!Double.isFinite(c)) {
+            return Double.NaN;
+        }
+        final long n = moments.getN();
+        // Avoid a divide by zero
+        if (n == 1) {
+            return 0;
+        }
+        return biased ? c / n : c / (n - 1);
+    }
+
+    @Override
+    public Covariance combine(Covariance other) {
+        moments.combine(other.moments);
+        return this;
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the sum of the products of the deviations from the sample mean is
+     * normalised by {@code n - 1} where {@code n} is the number of paired samples. This is
+     * Bessel's correction for an unbiased estimator of the covariance of a hypothetical
+     * infinite population.
+     *
+     * <p>If {@code true} the sum of the products of the deviations is normalised by the
+     * number of paired samples {@code n}.
+     *
+     * <p>Note: This option only applies when {@code n > 1}. The covariance of {@code n = 1} is
+     * always 0.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(Covariance) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public Covariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+}
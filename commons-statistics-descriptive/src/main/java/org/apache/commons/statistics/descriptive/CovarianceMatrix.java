@@ -0,0 +1,443 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+
+/**
+ * Computes the covariance matrix and correlation matrix of rows of {@code double} values.
+ * Each row is an observation of {@code p} variables.
+ *
+ * <p>The covariance of variables \( j \) and \( k \) uses the following definition of
+ * the <em>sample covariance</em>:
+ *
+ * <p>\[ \tfrac{1}{n-1} \sum_{i=1}^n (x_{ij}-\overline{x}_j)(x_{ik}-\overline{x}_k) \]
+ *
+ * <p>where \( \overline{x}_j \) is the sample mean of variable \( j \), and \( n \) is the
+ * number of rows. If the {@link #setBiased(boolean) biased} option is enabled the
+ * normalisation factor is changed to \( \frac{1}{n} \).
+ *
+ * <p>Rows are buffered and applied to the matrix as a block. The deviations of each
+ * row of the block from the block mean are accumulated using a symmetric rank-k update
+ * of the upper triangle of the matrix. The update is ordered so that each row of the
+ * matrix is updated by all rows of the block before moving to the next row; this
+ * reuses the matrix row from the cache and the cost is amortized over the block.
+ * The block is combined with the current state using the pairwise
+ * updating formula of Chan <i>et al</i> (1983).
+ *
+ * <p>This algorithm is a two-pass algorithm within each block and does not scale the
+ * values to protect against overflow. The result is {@code NaN} if any value is
+ * {@code NaN} or infinite, or if the sums overflow.
+ *
+ * <ul>
+ *   <li>The results are {@code NaN} if no rows are added.</li>
+ *   <li>The covariance is zero if there is one finite row in the data set.</li>
+ *   <li>The correlation is {@code NaN} if either variable has a variance of zero.</li>
+ * </ul>
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double[]) accept} or
+ * {@link #combine(CovarianceMatrix) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double[]) accept}
+ * and {@link #combine(CovarianceMatrix) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a></li>
+ * </ul>
+ *
+ * @see Covariance
+ * @see PearsonCorrelation
+ * @see <a href="https://en.wikipedia.org/wiki/Covariance_matrix">Covariance matrix (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class CovarianceMatrix {
+    /** Number of rows buffered in a block. */
+    static final int BLOCK_SIZE = 64;
+    /** Message separator for mismatched sizes. */
+    private static final String NOT_EQUAL = " != ";
+
+    /** Number of variables. */
+    private final int p;
+    /** Mean of each variable. */
+    private final double[] mean;
+    /** Sum of the products of the deviations from the mean. This is a p x p matrix in
+     * row-major order. Only the upper triangle is computed. */
+    private final double[] sumProductDev;
+    /** Buffered rows. This is a block of p values for each row. */
+    private final double[] block;
+    /** Mean of each variable in the buffered rows. */
+    private final double[] blockMean;
+    /** Difference of the means used to combine moments. */
+    private final double[] meanDiff;
+    /** Count of rows in the matrix. */
+    private long n;
+    /** Count of buffered rows. */
+    private int size;
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Create an instance.
+     *
+     * @param p Number of variables.
+     */
+    private CovarianceMatrix(int p) {
+        this.p = p;
+        mean = new double[p];
+        sumProductDev = new double[p * p];
+        block = new double[BLOCK_SIZE * p];
+        blockMean = new double[p];
+        meanDiff = new double[p];
+    }
+
+    /**
+     * Creates an instance for rows with the specified number of variables.
+     *
+     * <p>The initial results are {@code NaN}.
+     *
+     * @param dimension Number of variables.
+     * @return {@code CovarianceMatrix} instance.
+     * @throws IllegalArgumentException if the dimension is not strictly positive, or the
+     * size of the matrix exceeds the maximum array size
+     */
+    public static CovarianceMatrix create(int dimension) {
+        checkDimension(dimension);
+        return new CovarianceMatrix(dimension);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code rows}.
+     *
+     * @param dimension Number of variables.
+     * @param rows Rows.
+     * @return {@code CovarianceMatrix} instance.
+     * @throws IllegalArgumentException if the dimension is not strictly positive; or
+     * any row length is not the dimension
+     */
+    public static CovarianceMatrix of(int dimension, double[][] rows) {
+        return of(dimension, rows, false);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code rows}.
+     *
+     * <p>If {@code parallel} is {@code true} the rows are processed in contiguous ranges
+     * using the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}, and
+     * the results are {@link #combine(CovarianceMatrix) combined}. This is only used when
+     * the number of rows is large. The result may be different from sequential
+     * processing due to rounding differences in the combination of the partial results.
+     *
+     * @param dimension Number of variables.
+     * @param rows Rows.
+     * @param parallel Set to {@code true} to process ranges of rows in parallel.
+     * @return {@code CovarianceMatrix} instance.
+     * @throws IllegalArgumentException if the dimension is not strictly positive; or
+     * any row length is not the dimension
+     */
+    public static CovarianceMatrix of(int dimension, double[][] rows, boolean parallel) {
+        checkDimension(dimension);
+        final RangeFunction<double[][], CovarianceMatrix> f = (r, from, to) -> {
+            final CovarianceMatrix m = new CovarianceMatrix(dimension);
+            for (int i = from; i < to; i++) {
+                m.accept(r[i]);
+            }
+            m.flush();
+            return m;
+        };
+        if (parallel) {
+            return RangeTask.invoke(f, CovarianceMatrix::combine, rows, 0, rows.length);
+        }
+        return f.apply(rows, 0, rows.length);
+    }
+
+    /**
+     * Check the dimension is strictly positive and the size of the matrix does not exceed
+     * the maximum array size.
+     *
+     * @param dimension Number of variables.
+     * @throws IllegalArgumentException if the dimension is not valid
+     */
+    private static void checkDimension(int dimension) {
+        if (dimension <= 0 || (long) dimension * dimension > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid dimension: " + dimension);
+        }
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the {@code row}.
+     *
+     * <p>The row is copied and is not modified.
+     *
+     * @param row Row of values for each variable.
+     * @throws IllegalArgumentException if the row length is not the dimension
+     */
+    public void accept(double[] row) {
+        if (row.length != p) {
+            throw new IllegalArgumentException("Invalid row length: " + row.length + NOT_EQUAL + p);
+        }
+        System.arraycopy(row, 0, block, size * p, p);
+        if (++size == BLOCK_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Gets the number of variables.
+     *
+     * @return the dimension
+     */
+    public int getDimension() {
+        return p;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n + size;
+    }
+
+    /**
+     * Gets the mean of each variable.
+     *
+     * <p>When no rows have been added, the result is {@code NaN}.
+     *
+     * @return the mean
+     */
+    public double[] getMean() {
+        flush();
+        if (n == 0) {
+            final double[] m = new double[p];
+            Arrays.fill(m, Double.NaN);
+            return m;
+        }
+        return mean.clone();
+    }
+
+    /**
+     * Gets the covariance matrix. The matrix is symmetric.
+     *
+     * <p>When no rows have been added, the result is {@code NaN}.
+     *
+     * @return the covariance matrix
+     */
+    public double[][] getCovariance() {
+        flush();
+        final double[][] c = new double[p][p];
+        if (n == 0) {
+            for (final double[] r : c) {
+                Arrays.fill(r, Double.NaN);
+            }
+            return c;
+        }
+        // Avoid a divide by zero when n == 1
+        final double d = n == 1 ? 1 : biased ? n : n - 1;
+        for (int i = 0; i < p; i++) {
+            final int base = i * p;
+            for (int j = i; j < p; j++) {
+                final double v = sumProductDev[base + j];
+                // Consistent NaN when the computation is not possible
+                c[i][j] = c[j][i] = Double.isFinite(v) ? v / d : Double.NaN;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Gets the Pearson correlation matrix. The matrix is symmetric.
+     *
+     * <p>When less than two rows have been added, the result is {@code NaN}.
+     *
+     * @return the correlation matrix
+     * @see PearsonCorrelation
+     */
+    public double[][] getCorrelation() {
+        flush();
+        final double[][] c = new double[p][p];
+        final double[] s = sumProductDev;
+        for (int i = 0; i < p; i++) {
+            final int base = i * p;
+            final double sii = s[base + i];
+            for (int j = i; j < p; j++) {
+                c[i][j] = c[j][i] = PearsonCorrelation.computeCorrelation(s[base + j], sii, s[j * p + j]);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Combines the state of the {@code other} statistic into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation;
+     * the buffered rows of the {@code other} instance are applied to its matrix
+     * which does not change its results.
+     *
+     * @param other Another statistic to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} has a different dimension
+     */
+    public CovarianceMatrix combine(CovarianceMatrix other) {
+        if (other.p != p) {
+            throw new IllegalArgumentException("Incompatible dimension: " + other.p + NOT_EQUAL + p);
+        }
+        flush();
+        other.flush();
+        final long nb = other.n;
+        if (nb != 0) {
+            add(nb, other.mean, other.sumProductDev);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the sum of the products of the deviations from the sample mean is
+     * normalised by {@code n - 1} where {@code n} is the number of rows. This is
+     * Bessel's correction for an unbiased estimator of the covariance of a hypothetical
+     * infinite population.
+     *
+     * <p>If {@code true} the sum of the products of the deviations is normalised by the
+     * number of rows {@code n}.
+     *
+     * <p>Note: This option only applies when {@code n > 1}. The covariance of {@code n = 1} is
+     * always 0.
+     *
+     * <p>This flag only controls the final computation of the covariance. It does not
+     * affect the correlation, or compatibility between instances during a
+     * {@link #combine(CovarianceMatrix) combine} operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public CovarianceMatrix setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+
+    /**
+     * Apply the buffered rows to the matrix.
+     */
+    private void flush() {
+        final int k = size;
+        if (k == 0) {
+            return;
+        }
+        size = 0;
+        final int len = p;
+        final double[] b = block;
+        // Block mean
+        final double[] m = blockMean;
+        Arrays.fill(m, 0);
+        for (int r = 0; r < k; r++) {
+            final int off = r * len;
+            for (int j = 0; j < len; j++) {
+                m[j] += b[off + j];
+            }
+        }
+        for (int j = 0; j < len; j++) {
+            m[j] /= k;
+        }
+        // Deviations from the block mean
+        for (int r = 0; r < k; r++) {
+            final int off = r * len;
+            for (int j = 0; j < len; j++) {
+                b[off + j] -= m[j];
+            }
+        }
+        // Symmetric rank-k update of the upper triangle: S += D^T D.
+        // Each row of S is updated by all rows of the block to reuse S from the cache.
+        // The block co-moment can be added directly to S as the pairwise combination
+        // of the means is an additive correction term.
+        final double[] s = sumProductDev;
+        for (int i = 0; i < len; i++) {
+            final int base = i * len;
+            for (int r = 0; r < k; r++) {
+                final int off = r * len;
+                final double d = b[off + i];
+                for (int j = i; j < len; j++) {
+                    s[base + j] += d * b[off + j];
+                }
+            }
+        }
+        add(k, m, null);
+    }
+
+    /**
+     * Combine the moments of another set of rows with this one.
+     *
+     * @param nb Number of rows in the other set.
+     * @param meanB Mean of the other set.
+     * @param sumB Sum of the products of the deviations of the other set. If {@code null}
+     * this has already been added to the current sum.
+     */
+    private void add(long nb, double[] meanB, double[] sumB) {
+        final int len = p;
+        final double[] s = sumProductDev;
+        final long na = n;
+        if (na == 0) {
+            System.arraycopy(meanB, 0, mean, 0, len);
+            if (sumB != null) {
+                for (int i = 0; i < len; i++) {
+                    final int base = i * len;
+                    System.arraycopy(sumB, base + i, s, base + i, len - i);
+                }
+            }
+            n = nb;
+            return;
+        }
+        // "Updating one-pass algorithm"
+        // See: Chan et al (1983) Equation 1.5b (modified for the co-moment)
+        // S = Sa + Sb + d d^T * na * nb / (na + nb), with d the difference of the means
+        final double[] d = meanDiff;
+        for (int j = 0; j < len; j++) {
+            d[j] = meanB[j] - mean[j];
+        }
+        final double f = ((double) na * nb) / ((double) na + nb);
+        final double w = (double) nb / ((double) na + nb);
+        for (int i = 0; i < len; i++) {
+            final int base = i * len;
+            final double di = d[i] * f;
+            if (sumB != null) {
+                for (int j = i; j < len; j++) {
+                    s[base + j] += sumB[base + j] + di * d[j];
+                }
+            } else {
+                for (int j = i; j < len; j++) {
+                    s[base + j] += di * d[j];
+                }
+            }
+            mean[i] += d[i] * w;
+        }
+        n = na + nb;
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Statistics for {@code double} values of many independent series.
+ *
+ * <p>Each series is identified by an index in {@code [0, size)}. The state of the
+ * statistics is stored in columns: each field of the state is a contiguous primitive
+ * array indexed by the series. This requires much less memory than a
+ * {@link DoubleStatistics} instance for each series and avoids the creation of
+ * an object for each series.
+ *
+ * <p>The following statistics are supported:
+ *
+ * <ul>
+ * <li>{@link Statistic#MIN MIN}</li>
+ * <li>{@link Statistic#MAX MAX}</li>
+ * <li>{@link Statistic#MEAN MEAN}</li>
+ * <li>{@link Statistic#VARIANCE VARIANCE}</li>
+ * <li>{@link Statistic#STANDARD_DEVIATION STANDARD_DEVIATION}</li>
+ * </ul>
+ *
+ * <p>The statistics of each series are computed using the same algorithms as the
+ * {@link Min}, {@link Max}, {@link Mean}, {@link Variance} and {@link StandardDeviation}
+ * implementations. The result for each series is identical to a {@link DoubleStatistics}
+ * instance computed using {@link DoubleStatistics#accept(double) accept} with the same
+ * values.
+ *
+ * <pre>
+ * DoubleSeriesStatistics stats = DoubleSeriesStatistics.of(100_000,
+ *     Statistic.MIN, Statistic.MAX, Statistic.MEAN, Statistic.VARIANCE);
+ * stats.accept(42, 1.5);
+ * double[] mean = new double[stats.size()];
+ * stats.getAsDouble(Statistic.MEAN, mean);
+ * </pre>
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations for each series.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p>This class is not thread safe.
+ *
+ * @see DoubleStatistics
+ * @since 1.4
+ */
+public final class DoubleSeriesStatistics {
+    /** Error message for non configured statistics. */
+    private static final String NO_CONFIGURED_STATISTICS = "No configured statistics";
+    /** Error message for an unsupported statistic. */
+    private static final String UNSUPPORTED_STATISTIC = "Unsupported statistic: ";
+    /** Error message for an incompatible statistics. */
+    private static final String INCOMPATIBLE_STATISTICS = "Incompatible statistics";
+    /** Down scaling factor for the half representation of the first moment.
+     * This is the same as {@link FirstMoment}. */
+    private static final double DOWNSCALE = 0.5;
+    /** Rescaling factor for the half representation of the first moment. */
+    private static final double RESCALE = 2;
+
+    /** Count of values recorded for each series. */
+    private final long[] n;
+    /** The minimum of each series. May be null. */
+    private final double[] min;
+    /** The maximum of each series. May be null. */
+    private final double[] max;
+    /** Half the first moment of each series. May be null. */
+    private final double[] m1;
+    /** Sum of the values scaled by {@link Double#MIN_NORMAL} for each series.
+     * Used to compute the first moment when it is not finite. May be null. */
+    private final double[] nonFiniteValue;
+    /** The sum of squared deviations of each series. May be null. */
+    private final double[] sumSquaredDev;
+    /** Configuration options for computation of statistics. */
+    private StatisticsConfiguration config = StatisticsConfiguration.withDefaults();
+
+    /**
+     * Create an instance.
+     *
+     * @param size Number of series.
+     * @param minimum Set to {@code true} to compute the minimum.
+     * @param maximum Set to {@code true} to compute the maximum.
+     * @param moment Order of the moment: 0 for none; 1 for the mean; 2 for the variance.
+     */
+    private DoubleSeriesStatistics(int size, boolean minimum, boolean maximum, int moment) {
+        n = new long[size];
+        if (minimum) {
+            min = new double[size];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+        } else {
+            min = null;
+        }
+        if (maximum) {
+            max = new double[size];
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        } else {
+            max = null;
+        }
+        m1 = moment > 0 ? new double[size] : null;
+        nonFiniteValue = moment > 0 ? new double[size] : null;
+        sumSquaredDev = moment > 1 ? new double[size] : null;
+    }
+
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * for the specified number of series.
+     *
+     * <p>The statistics will be empty and so will return the default values for each
+     * computed statistic.
+     *
+     * @param size Number of series.
+     * @param statistics Statistics to compute.
+     * @return the instance
+     * @throws IllegalArgumentException if the size is negative; there are no
+     * {@code statistics} to compute; or any statistic is not supported.
+     */
+    public static DoubleSeriesStatistics of(int size, Statistic... statistics) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+        if (statistics.length == 0) {
+            throw new IllegalArgumentException(NO_CONFIGURED_STATISTICS);
+        }
+        boolean minimum = false;
+        boolean maximum = false;
+        int moment = 0;
+        for (final Statistic s : statistics) {
+            switch (s) {
+            case MIN:
+                minimum = true;
+                break;
+            case MAX:
+                maximum = true;
+                break;
+            case MEAN:
+                moment = Math.max(moment, 1);
+                break;
+            case STANDARD_DEVIATION:
+            case VARIANCE:
+                moment = 2;
+                break;
+            default:
+                throw new IllegalArgumentException(UNSUPPORTED_STATISTIC + s);
+            }
+        }
+        return new DoubleSeriesStatistics(size, minimum, maximum, moment);
+    }
+
+    /**
+     * Gets the number of series.
+     *
+     * @return the number of series
+     */
+    public int size() {
+        return n.length;
+    }
+
+    /**
+     * Updates the state of the statistics of the {@code series} to reflect the addition
+     * of {@code value}.
+     *
+     * @param series Series.
+     * @param value Value.
+     * @throws IndexOutOfBoundsException if the series is not in {@code [0, size)}
+     */
+    public void accept(int series, double value) {
+        final long k = ++n[series];
+        if (min != null) {
+            min[series] = Math.min(min[series], value);
+        }
+        if (max != null) {
+            max[series] = Math.max(max[series], value);
+        }
+        if (m1 != null) {
+            // "Updating one-pass algorithm" using the half representation of FirstMoment.
+            // Scaling down values prevents overflow of finites.
+            nonFiniteValue[series] += value * Double.MIN_NORMAL;
+            final double dev = value * DOWNSCALE - m1[series];
+            final double nDev = dev / k;
+            m1[series] += nDev;
+            if (sumSquaredDev != null) {
+                // Account for the half-deviation representation by scaling by 4=2^2
+                sumSquaredDev[series] += (k - 1) * dev * nDev * 4;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of values recorded for the {@code series}.
+     *
+     * @param series Series.
+     * @return the count
+     * @throws IndexOutOfBoundsException if the series is not in {@code [0, size)}
+     */
+    public long getCount(int series) {
+        return n[series];
+    }
+
+    /**
+     * Check if the specified {@code statistic} is supported.
+     *
+     * @param statistic Statistic.
+     * @return {@code true} if supported
+     * @throws NullPointerException if the {@code statistic} is {@code null}
+     */
+    public boolean isSupported(Statistic statistic) {
+        switch (statistic) {
+        case MIN:
+            return min != null;
+        case MAX:
+            return max != null;
+        case MEAN:
+            return m1 != null;
+        case STANDARD_DEVIATION:
+        case VARIANCE:
+            return sumSquaredDev != null;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Gets the value of the specified {@code statistic} for the {@code series}.
+     *
+     * @param series Series.
+     * @param statistic Statistic.
+     * @return the value
+     * @throws IllegalArgumentException if the {@code statistic} is not supported
+     * @throws IndexOutOfBoundsException if the series is not in {@code [0, size)}
+     */
+    public double getAsDouble(int series, Statistic statistic) {
+        checkSupported(statistic);
+        return compute(series, statistic, config.isBiased());
+    }
+
+    /**
+     * Gets the value of the specified {@code statistic} for all series. The value for
+     * series {@code i} is written to {@code result[i]}.
+     *
+     * @param statistic Statistic.
+     * @param result Value of each series (output).
+     * @throws IllegalArgumentException if the {@code statistic} is not supported; or the
+     * result length is smaller than the number of series
+     */
+    public void getAsDouble(Statistic statistic, double[] result) {
+        checkSupported(statistic);
+        RangeBatch.checkOutputLength(n.length, result.length);
+        final boolean biased = config.isBiased();
+        for (int i = 0; i < n.length; i++) {
+            result[i] = compute(i, statistic, biased);
+        }
+    }
+
+    /**
+     * Check the {@code statistic} is supported.
+     *
+     * @param statistic Statistic.
+     * @throws IllegalArgumentException if the {@code statistic} is not supported
+     */
+    private void checkSupported(Statistic statistic) {
+        if (!isSupported(statistic)) {
+            throw new IllegalArgumentException(UNSUPPORTED_STATISTIC + statistic);
+        }
+    }
+
+    /**
+     * Compute the value of the supported {@code statistic} for the {@code series}.
+     *
+     * @param series Series.
+     * @param statistic Statistic.
+     * @param biased Set to {@code true} to compute the biased variance.
+     * @return the value
+     */
+    private double compute(int series, Statistic statistic, boolean biased) {
+        switch (statistic) {
+        case MIN:
+            return min[series];
+        case MAX:
+            return max[series];
+        case MEAN:
+            return getFirstMoment(series);
+        case STANDARD_DEVIATION:
+            return Math.sqrt(getVariance(series, biased));
+        default:
+            // VARIANCE
+            return getVariance(series, biased);
+        }
+    }
+
+    /**
+     * Gets the first moment of the {@code series}.
+     *
+     * @param series Series.
+     * @return the first moment
+     * @see FirstMoment
+     */
+    private double getFirstMoment(int series) {
+        // Scale back to the original magnitude
+        final double m = m1[series] * RESCALE;
+        if (Double.isFinite(m)) {
+            return n[series] == 0 ? Double.NaN : m;
+        }
+        // A non-finite value must have been encountered
+        return nonFiniteValue[series];
+    }
+
+    /**
+     * Gets the variance of the {@code series}.
+     *
+     * @param series Series.
+     * @param biased Set to {@code true} to compute the biased variance.
+     * @return the variance
+     * @see Variance
+     */
+    private double getVariance(int series, boolean biased) {
+        // Note: The first moment is NaN for n=0
+        if (!Double.isFinite(getFirstMoment(series))) {
+            return Double.NaN;
+        }
+        final double m2 = sumSquaredDev[series];
+        if (!Double.isFinite(m2)) {
+            return Double.NaN;
+        }
+        final long k = n[series];
+        // Avoid a divide by zero
+        if (k == 1) {
+            return 0;
+        }
+        return biased ? m2 / k : m2 / (k - 1);
+    }
+
+    /**
+     * Combines the state of the {@code other} statistics into this one.
+     * The statistics of series {@code i} of the {@code other} instance are combined
+     * with the statistics of series {@code i} of this instance.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * <p>The {@code other} instance must be <em>compatible</em>. This is {@code true} if
+     * the {@code other} instance has the same number of series, and returns {@code true}
+     * for {@link #isSupported(Statistic)} for all values of the {@link Statistic} enum
+     * which are supported by {@code this} instance. In the event that the {@code other}
+     * instance is not compatible then an exception is raised before any state is modified.
+     *
+     * @param other Another set of statistics to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} is not compatible
+     */
+    public DoubleSeriesStatistics combine(DoubleSeriesStatistics other) {
+        if (n.length != other.n.length ||
+            min != null && other.min == null ||
+            max != null && other.max == null ||
+            m1 != null && other.m1 == null ||
+            sumSquaredDev != null && other.sumSquaredDev == null) {
+            throw new IllegalArgumentException(INCOMPATIBLE_STATISTICS);
+        }
+        for (int i = 0; i < n.length; i++) {
+            final long n1 = n[i];
+            final long n2 = other.n[i];
+            n[i] = n1 + n2;
+            if (min != null) {
+                min[i] = Math.min(min[i], other.min[i]);
+            }
+            if (max != null) {
+                max[i] = Math.max(max[i], other.max[i]);
+            }
+            if (m1 != null) {
+                combineMoment(i, other, n1, n2);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Combines the moments of the {@code series} of the {@code other} statistics into this one.
+     * The count has been updated to {@code n1 + n2}.
+     *
+     * @param series Series.
+     * @param other Another set of statistics to be combined.
+     * @param n1 Size of sample 1.
+     * @param n2 Size of sample 2.
+     * @see SumOfSquaredDeviations#combine(SumOfSquaredDeviations)
+     * @see FirstMoment#combine(FirstMoment)
+     */
+    private void combineMoment(int series, DoubleSeriesStatistics other, long n1, long n2) {
+        final double mu1 = m1[series];
+        final double mu2 = other.m1[series];
+        if (sumSquaredDev != null) {
+            if (n1 == 0) {
+                sumSquaredDev[series] = other.sumSquaredDev[series];
+            } else if (n2 != 0) {
+                final double diffOfMean = (mu1 - mu2) * RESCALE;
+                final double sqDiffOfMean = diffOfMean * diffOfMean;
+                // Enforce symmetry
+                sumSquaredDev[series] = (sumSquaredDev[series] + other.sumSquaredDev[series]) +
+                    sqDiffOfMean * (((double) n1 * n2) / ((double) n1 + n2));
+            }
+        }
+        nonFiniteValue[series] += other.nonFiniteValue[series];
+        if (n1 == n2) {
+            // Optimisation for equal sizes: m1 = (m1 + m2) / 2
+            m1[series] = (mu1 + mu2) * 0.5;
+        } else {
+            // Note: If either size is zero the weighted difference is zero and
+            // the other moment is unchanged.
+            m1[series] = n2 < n1 ?
+                mu1 + (mu2 - mu1) * ((double) n2 / (n1 + n2)) :
+                mu2 + (mu1 - mu2) * ((double) n1 / (n1 + n2));
+        }
+    }
+
+    /**
+     * Sets the statistics configuration.
+     *
+     * <p>These options only control the final computation of statistics. The configuration
+     * will not affect compatibility between instances during a
+     * {@link #combine(DoubleSeriesStatistics) combine} operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @throws NullPointerException if the value is null
+     * @see #getAsDouble(int, Statistic)
+     */
+    public DoubleSeriesStatistics setConfiguration(StatisticsConfiguration v) {
+        config = Objects.requireNonNull(v);
+        return this;
+    }
+}
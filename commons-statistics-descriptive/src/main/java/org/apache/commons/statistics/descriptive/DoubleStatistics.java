@@ -16,6 +16,7 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.DoubleConsumer;
@@ -37,6 +38,10 @@ public final class DoubleStatistics implements DoubleConsumer {
     private static final String NO_CONFIGURED_STATISTICS = "No configured statistics";
     /** Error message for an unsupported statistic. */
     private static final String UNSUPPORTED_STATISTIC = "Unsupported statistic: ";
+    /** Initial size of the chunk of values for deferred computation. */
+    private static final int INITIAL_CHUNK_SIZE = 16;
+    /** Maximum size of the chunk of values for deferred computation. */
+    private static final int MAX_CHUNK_SIZE = 1024;
 
     /** Count of values recorded. */
     private long count;
@@ -58,22 +63,26 @@ public final class DoubleStatistics implements DoubleConsumer {
     private final SumOfLogs sumOfLogs;
     /** Configuration options for computation of statistics. */
     private StatisticsConfiguration config;
+    /** Constructor of the statistics of a range of values. Used to compute the chunk of
+     * values if the computation is deferred; otherwise {@code null}. */
+    private final RangeFunction<double[], DoubleStatistics> deferred;
+    /** Chunk of values for deferred computation. */
+    private double[] chunk;
+    /** Count of values in the chunk. */
+    private int size;
 
     /**
      * A builder for {@link DoubleStatistics}.
      */
     public static final class Builder {
-        /** An empty double array. */
-        private static final double[] NO_VALUES = {};
-
         /** The {@link Min} constructor. */
         private RangeFunction<double[], Min> min;
         /** The {@link Max} constructor. */
         private RangeFunction<double[], Max> max;
         /** The moment constructor. May return any instance of {@link FirstMoment}. */
-        private RangeBiFunction<org.apache.commons.numbers.core.Sum, double[], FirstMoment> moment;
+        private RangeBiFunction<CompensatedSum, double[], FirstMoment> moment;
         /** The {@link Sum} constructor. */
-        private Function<org.apache.commons.numbers.core.Sum, Sum> sum;
+        private Function<CompensatedSum, Sum> sum;
         /** The {@link Product} constructor. */
         private RangeFunction<double[], Product> product;
         /** The {@link SumOfSquares} constructor. */
@@ -86,6 +95,10 @@ public final class DoubleStatistics implements DoubleConsumer {
         private int momentOrder;
         /** Configuration options for computation of statistics. */
         private StatisticsConfiguration config = StatisticsConfiguration.withDefaults();
+        /** Set to {@code true} to compute statistics from an array in parallel. */
+        private boolean parallel;
+        /** Set to {@code true} to defer computation of statistics of added values. */
+        private boolean deferred;
 
         /**
          * Create an instance.
@@ -173,13 +186,67 @@ public final class DoubleStatistics implements DoubleConsumer {
             return this;
         }
 
+        /**
+         * Sets the parallel evaluation mode used when building an instance from an array of values.
+         *
+         * <p>If {@code true} a large array is split into chunks that are processed using the
+         * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}. A partial
+         * {@code DoubleStatistics} is built from each chunk using the current configuration and
+         * the partial results are {@link DoubleStatistics#combine(DoubleStatistics) combined}. Arrays that are too small
+         * to benefit from parallel processing are evaluated sequentially.
+         *
+         * <p>Note: The result of a parallel evaluation may be different from the
+         * sequential evaluation due to the alternative summation order of the
+         * values. The result of a parallel evaluation of the same values is
+         * deterministic given the same common pool parallelism.
+         *
+         * <p>The default is {@code false}.
+         *
+         * @param v Value.
+         * @return the builder
+         * @since 1.4
+         */
+        public Builder setParallel(boolean v) {
+            parallel = v;
+            return this;
+        }
+
+        /**
+         * Sets the deferred evaluation mode of values added to an instance.
+         *
+         * <p>If {@code true} values added using {@link DoubleStatistics#accept(double) accept}
+         * are stored in a chunk of values. The statistics of the chunk are computed in bulk
+         * using the same method as an array of values when the chunk is full, or when a
+         * result is required. This is faster than updating each statistic with each value.
+         * The chunk holds up to 1024 values.
+         *
+         * <p>Note: The result of a deferred evaluation may be different from the
+         * evaluation of each value in turn due to the alternative summation order
+         * of the values.
+         *
+         * <p>Deferred evaluation does not apply to the statistics of each key of a
+         * {@link GroupedDoubleStatistics}; these are updated with each value to limit the
+         * memory used by a large number of keys.
+         *
+         * <p>The default is {@code false}.
+         *
+         * @param v Value.
+         * @return the builder
+         * @since 1.4
+         */
+        public Builder setDeferred(boolean v) {
+            deferred = v;
+            return this;
+        }
+
         /**
          * Builds a {@code DoubleStatistics} instance.
          *
          * @return {@code DoubleStatistics} instance.
          */
         public DoubleStatistics build() {
-            return create(NO_VALUES, 0, 0);
+            final Factory f = new Factory(this);
+            return defer(f, f.create());
         }
 
         /**
@@ -194,7 +261,7 @@ public final class DoubleStatistics implements DoubleConsumer {
          */
         public DoubleStatistics build(double... values) {
             Objects.requireNonNull(values, "values");
-            return create(values, 0, values.length);
+            return evaluate(values, 0, values.length);
         }
 
         /**
@@ -213,29 +280,219 @@ public final class DoubleStatistics implements DoubleConsumer {
          */
         public DoubleStatistics build(double[] values, int from, int to) {
             Statistics.checkFromToIndex(from, to, values.length);
-            return create(values, from, to);
+            return evaluate(values, from, to);
         }
 
         /**
-         * Builds a {@code DoubleStatistics} instance using the input {@code values}.
+         * Builds a {@code GroupedDoubleStatistics} instance to compute the statistics of
+         * values grouped by a key. The statistics of each key are created using the current
+         * configuration of this builder; subsequent changes to the builder do not affect the
+         * returned instance.
          *
-         * <p>Note: {@code DoubleStatistics} computed using
-         * {@link DoubleStatistics#accept(double) accept} may be
-         * different from this instance.
+         * @return {@code GroupedDoubleStatistics} instance.
+         * @since 1.4
+         */
+        public GroupedDoubleStatistics buildGrouped() {
+            return new GroupedDoubleStatistics(new Factory(this));
+        }
+
+        /**
+         * Builds a {@code GroupedDoubleStatistics} instance using the input {@code values}
+         * grouped by the corresponding {@code keys}. The statistics of each key are created
+         * using this builder.
+         *
+         * <p>If the evaluation mode is {@link #setParallel(boolean) parallel} a large array is
+         * split into chunks that are processed using the
+         * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}; the partial
+         * results of each chunk are {@link GroupedDoubleStatistics#combine(GroupedDoubleStatistics)
+         * combined}.
+         *
+         * @param keys Keys.
+         * @param values Values.
+         * @return {@code GroupedDoubleStatistics} instance.
+         * @throws IllegalArgumentException if the keys and values have a different length
+         * @since 1.4
+         */
+        public GroupedDoubleStatistics buildGrouped(int[] keys, double[] values) {
+            Statistics.checkKeysLength(keys.length, values.length);
+            return evaluateGrouped(keys, values, 0, keys.length);
+        }
+
+        /**
+         * Builds a {@code GroupedDoubleStatistics} instance using the specified range of
+         * {@code values} grouped by the corresponding {@code keys}.
+         *
+         * @param keys Keys.
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code GroupedDoubleStatistics} instance.
+         * @throws IllegalArgumentException if the keys and values have a different length
+         * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+         * @see #buildGrouped(int[], double[])
+         * @since 1.4
+         */
+        public GroupedDoubleStatistics buildGrouped(int[] keys, double[] values, int from, int to) {
+            Statistics.checkKeysLength(keys.length, values.length);
+            Statistics.checkFromToIndex(from, to, keys.length);
+            return evaluateGrouped(keys, values, from, to);
+        }
+
+        /**
+         * Builds a {@code GroupedDoubleStatistics} instance using the input {@code values}
+         * grouped by the {@code keys} using the configured evaluation mode.
          *
          * <p>Warning: No range checks are performed.
          *
+         * @param keys Keys.
          * @param values Values.
          * @param from Inclusive start of the range.
          * @param to Exclusive end of the range.
+         * @return {@code GroupedDoubleStatistics} instance.
+         */
+        private GroupedDoubleStatistics evaluateGrouped(int[] keys, double[] values, int from, int to) {
+            final Factory factory = new Factory(this);
+            final RangeFunction<int[], GroupedDoubleStatistics> f =
+                (k, i, j) -> GroupedDoubleStatistics.create(factory, k, values, i, j);
+            if (parallel) {
+                // Partial results are discarded after combination
+                return RangeTask.invoke(f, (a, b) -> a.combine(b, true), keys, from, to);
+            }
+            return f.apply(keys, from, to);
+        }
+
+        /**
+         * Builds a {@code DoubleStatistics} instance using the input {@code values}
+         * using the configured evaluation mode.
+         *
+         * <p>Warning: No range checks are performed.
+         *
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code DoubleStatistics} instance.
+         */
+        private DoubleStatistics evaluate(double[] values, int from, int to) {
+            final Factory f = new Factory(this);
+            if (parallel) {
+                return defer(f, RangeTask.invoke(f::create, DoubleStatistics::combine, values, from, to));
+            }
+            return defer(f, f.create(values, from, to));
+        }
+
+        /**
+         * Configures the {@code DoubleStatistics} instance to use the
+         * {@link #setDeferred(boolean) deferred} evaluation mode.
+         *
+         * @param factory Factory of the statistics.
+         * @param stats Statistics.
          * @return {@code DoubleStatistics} instance.
          */
-        private DoubleStatistics create(double[] values, int from, int to) {
+        private DoubleStatistics defer(Factory factory, DoubleStatistics stats) {
+            if (deferred) {
+                return new DoubleStatistics(stats, factory::create);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * An immutable factory for {@link DoubleStatistics}. The constructors of the statistics
+     * and the configuration are copied from a {@link Builder}; subsequent changes to the
+     * builder do not affect the factory.
+     */
+    static final class Factory {
+        /** An empty double array. */
+        private static final double[] NO_VALUES = {};
+
+        /** The {@link Min} constructor. */
+        private final RangeFunction<double[], Min> min;
+        /** The {@link Max} constructor. */
+        private final RangeFunction<double[], Max> max;
+        /** The moment constructor. May return any instance of {@link FirstMoment}. */
+        private final RangeBiFunction<CompensatedSum, double[], FirstMoment> moment;
+        /** The {@link Sum} constructor. */
+        private final Function<CompensatedSum, Sum> sum;
+        /** The {@link Product} constructor. */
+        private final RangeFunction<double[], Product> product;
+        /** The {@link SumOfSquares} constructor. */
+        private final RangeFunction<double[], SumOfSquares> sumOfSquares;
+        /** The {@link SumOfLogs} constructor. */
+        private final RangeFunction<double[], SumOfLogs> sumOfLogs;
+        /** The order of the moment constructed by {@link #moment}. */
+        private final int momentOrder;
+        /** Configuration options for computation of statistics. */
+        private final StatisticsConfiguration config;
+
+        /**
+         * Create an instance using the current state of the {@code builder}.
+         *
+         * @param builder Builder.
+         */
+        Factory(Builder builder) {
+            min = builder.min;
+            max = builder.max;
+            moment = builder.moment;
+            sum = builder.sum;
+            product = builder.product;
+            sumOfSquares = builder.sumOfSquares;
+            sumOfLogs = builder.sumOfLogs;
+            momentOrder = builder.momentOrder;
+            config = builder.config;
+        }
+
+        /**
+         * Gets the statistics configuration options.
+         *
+         * @return the configuration
+         */
+        StatisticsConfiguration getConfiguration() {
+            return config;
+        }
+
+        /**
+         * Check the {@code other} statistics can be combined into an instance created by
+         * this factory. This is equivalent to the compatibility check of
+         * {@link DoubleStatistics#combine(DoubleStatistics) combine} without creating an instance.
+         *
+         * @param other Another set of statistics.
+         * @throws IllegalArgumentException if the {@code other} is not compatible
+         */
+        void checkCombineCompatible(DoubleStatistics other) {
+            Statistics.checkCombineSupported(min, other.min);
+            Statistics.checkCombineSupported(max, other.max);
+            Statistics.checkCombineSupported(sum, other.sum);
+            Statistics.checkCombineSupported(product, other.product);
+            Statistics.checkCombineSupported(sumOfSquares, other.sumOfSquares);
+            Statistics.checkCombineSupported(sumOfLogs, other.sumOfLogs);
+            Statistics.checkCombineOrder(momentOrder, other.moment);
+        }
+
+        /**
+         * Creates an empty {@code DoubleStatistics} instance.
+         *
+         * @return {@code DoubleStatistics} instance.
+         */
+        DoubleStatistics create() {
+            return create(NO_VALUES, 0, 0);
+        }
+
+        /**
+         * Creates a {@code DoubleStatistics} instance using the input {@code values}.
+         *
+         * <p>Warning: No range checks are performed.
+         *
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code DoubleStatistics} instance.
+         */
+        DoubleStatistics create(double[] values, int from, int to) {
             // Create related statistics
             FirstMoment m = null;
             Sum sumStat = null;
             if (moment != null || sum != null) {
-                final org.apache.commons.numbers.core.Sum s = Statistics.sum(values, from, to);
+                final CompensatedSum s = Statistics.sum(values, from, to);
                 m = create(moment, s, values, from, to);
                 sumStat = create(sum, s);
             }
@@ -333,6 +590,29 @@ public final class DoubleStatistics implements DoubleConsumer {
         this.config = config;
         consumer = Statistics.composeDoubleConsumers(min, max, moment, sum, product,
                                                      sumOfSquares, sumOfLogs);
+        deferred = null;
+    }
+
+    /**
+     * Create an instance using the statistics of the {@code source} that defers
+     * computation of added values.
+     *
+     * @param source Source of the statistics.
+     * @param deferred Constructor of the statistics of a range of values.
+     */
+    private DoubleStatistics(DoubleStatistics source, RangeFunction<double[], DoubleStatistics> deferred) {
+        this.count = source.count;
+        this.min = source.min;
+        this.max = source.max;
+        this.moment = source.moment;
+        this.sum = source.sum;
+        this.product = source.product;
+        this.sumOfSquares = source.sumOfSquares;
+        this.sumOfLogs = source.sumOfLogs;
+        this.config = source.config;
+        this.deferred = deferred;
+        chunk = new double[INITIAL_CHUNK_SIZE];
+        consumer = this::defer;
     }
 
     /**
@@ -453,6 +733,16 @@ public final class DoubleStatistics implements DoubleConsumer {
      * DoubleStatistics stats = Arrays.stream(data).collect(collector);
      * }</pre>
      *
+     * <p>The builder can evaluate a single large array of {@code double[]} data in parallel:
+     *
+     * <pre>
+     * double[] data = ...
+     * DoubleStatistics stats = DoubleStatistics.builder(
+     *     Statistic.MIN, Statistic.MAX, Statistic.VARIANCE)
+     *     .setParallel(true)
+     *     .build(data);
+     * </pre>
+     *
      * @param statistics Statistics to compute.
      * @return the builder
      * @throws IllegalArgumentException if there are no {@code statistics} to compute.
@@ -479,6 +769,36 @@ public final class DoubleStatistics implements DoubleConsumer {
         consumer.accept(value);
     }
 
+    /**
+     * Add the value to the chunk of values for deferred computation.
+     * The statistics of the chunk are computed when the chunk is full.
+     *
+     * @param value Value.
+     */
+    private void defer(double value) {
+        if (size == chunk.length) {
+            flush();
+            if (chunk.length < MAX_CHUNK_SIZE) {
+                // Increase the size for the next computation. Small chunks are
+                // used when the instance is only used for a small number of values.
+                chunk = new double[Math.min(MAX_CHUNK_SIZE, chunk.length << 1)];
+            }
+        }
+        chunk[size++] = value;
+    }
+
+    /**
+     * Compute the statistics of any values in the chunk for deferred computation.
+     * The chunk is emptied. No action is taken if the computation is not deferred.
+     */
+    private void flush() {
+        final int n = size;
+        if (n != 0) {
+            size = 0;
+            combineStatistics(deferred.apply(chunk, 0, n));
+        }
+    }
+
     /**
      * Return the count of values recorded.
      *
@@ -606,9 +926,17 @@ public final class DoubleStatistics implements DoubleConsumer {
             break;
         }
         if (stat != null) {
-            return stat instanceof DoubleStatistic ?
+            final StatisticResult result = stat instanceof DoubleStatistic ?
                 ((DoubleStatistic) stat)::getAsDouble :
                 stat;
+            if (deferred != null) {
+                // Compute any deferred values before the result
+                return () -> {
+                    flush();
+                    return result.getAsDouble();
+                };
+            }
+            return result;
         }
         throw new IllegalArgumentException(UNSUPPORTED_STATISTIC + statistic);
     }
@@ -718,7 +1046,22 @@ public final class DoubleStatistics implements DoubleConsumer {
         Statistics.checkCombineCompatible(sumOfLogs, other.sumOfLogs);
         Statistics.checkCombineAssignable(moment, other.moment);
         // Combine
+        flush();
+        other.flush();
         count += other.count;
+        combineStatistics(other);
+        return this;
+    }
+
+    /**
+     * Combines the state of each statistic of the {@code other} statistics into this one.
+     * The count is not combined.
+     *
+     * <p>Warning: No compatibility checks are performed.
+     *
+     * @param other Another set of statistics to be combined.
+     */
+    private void combineStatistics(DoubleStatistics other) {
         Statistics.combine(min, other.min);
         Statistics.combine(max, other.max);
         Statistics.combine(sum, other.sum);
@@ -726,7 +1069,82 @@ public final class DoubleStatistics implements DoubleConsumer {
         Statistics.combine(sumOfSquares, other.sumOfSquares);
         Statistics.combine(sumOfLogs, other.sumOfLogs);
         Statistics.combineMoment(moment, other.moment);
-        return this;
+    }
+
+    /**
+     * Writes the state of the statistics to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance computes the same statistics as
+     * this instance and can be combined with other compatible instances.
+     *
+     * <p>The state of each statistic is written exactly. The exception is an extended
+     * precision sum of {@code double} values which is written as the exact value of the
+     * sum in a normalized form; this may not be identical to the internal representation.
+     *
+     * <p>The {@link #setConfiguration(StatisticsConfiguration) configuration} is not part
+     * of the state.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        flush();
+        StateCodec.writeHeader(buffer, StateCodec.DOUBLE_STATISTICS);
+        final int flags =
+            StateCodec.flag(min, StateCodec.FLAG_MIN) |
+            StateCodec.flag(max, StateCodec.FLAG_MAX) |
+            StateCodec.flag(sum, StateCodec.FLAG_SUM) |
+            StateCodec.flag(product, StateCodec.FLAG_PRODUCT) |
+            StateCodec.flag(sumOfSquares, StateCodec.FLAG_SUM_OF_SQUARES) |
+            StateCodec.flag(sumOfLogs, StateCodec.FLAG_SUM_OF_LOGS);
+        buffer.putLong(count)
+            .put((byte) flags)
+            .put((byte) StateCodec.getOrder(moment));
+        StateCodec.write(buffer, min, Min::writeState);
+        StateCodec.write(buffer, max, Max::writeState);
+        StateCodec.writeMoment(buffer, moment);
+        StateCodec.write(buffer, sum, Sum::writeState);
+        StateCodec.write(buffer, product, Product::writeState);
+        StateCodec.write(buffer, sumOfSquares, SumOfSquares::writeState);
+        StateCodec.write(buffer, sumOfLogs, SumOfLogs::writeState);
+    }
+
+    /**
+     * Reads the state of the statistics from the {@code buffer}.
+     *
+     * <p>The returned instance uses the default
+     * {@link #setConfiguration(StatisticsConfiguration) configuration}.
+     *
+     * @param buffer Buffer.
+     * @return the instance
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code DoubleStatistics}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static DoubleStatistics readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.DOUBLE_STATISTICS);
+        final long count = buffer.getLong();
+        final int flags = buffer.get();
+        final int order = buffer.get();
+        StateCodec.checkStatistics(flags, order);
+        final Min min = StateCodec.read(buffer, flags, StateCodec.FLAG_MIN, Min::create, Min::readState);
+        final Max max = StateCodec.read(buffer, flags, StateCodec.FLAG_MAX, Max::create, Max::readState);
+        final FirstMoment moment = StateCodec.readMoment(buffer, order);
+        final Sum sum = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM, Sum::create, Sum::readState);
+        final Product product = StateCodec.read(buffer, flags, StateCodec.FLAG_PRODUCT,
+            Product::create, Product::readState);
+        final SumOfSquares sumOfSquares = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM_OF_SQUARES,
+            SumOfSquares::create, SumOfSquares::readState);
+        final SumOfLogs sumOfLogs = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM_OF_LOGS,
+            SumOfLogs::create, SumOfLogs::readState);
+        return new DoubleStatistics(count, min, max, moment, sum, product, sumOfSquares, sumOfLogs,
+            StatisticsConfiguration.withDefaults());
     }
 
     /**
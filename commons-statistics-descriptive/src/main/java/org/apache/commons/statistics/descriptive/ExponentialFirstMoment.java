@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Computes the exponentially weighted first moment (arithmetic mean) using the
+ * definitional formula:
+ *
+ * <pre>mean = sum(w_i * x_i) / sum(w_i)</pre>
+ *
+ * <p>where the weight of the {@code i}-th of {@code n} values is
+ * {@code w_i = (1 - alpha)^(n - i)}.
+ *
+ * <p>To limit numeric errors, the value of the statistic is computed using the
+ * following recursive updating algorithm:
+ * <ol>
+ * <li>Initialize {@code m = } the first value and {@code W = 1}</li>
+ * <li>For each additional value, update using <br>
+ *   {@code W = (1 - alpha) * W + 1} <br>
+ *   {@code m = m + (new value - m) / W}</li>
+ * </ol>
+ *
+ * <p>Decay of the weights of the previous values does not change the mean.
+ * The first moment is stored as a half value to prevent overflow for any finite input
+ * as in {@link FirstMoment}.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * @since 1.4
+ */
+class ExponentialFirstMoment implements DoubleConsumer {
+    /** The downscale constant. Used to avoid overflow for all finite input. */
+    private static final double DOWNSCALE = 0.5;
+    /** The rescale constant. */
+    private static final double RESCALE = 2;
+    /** Message for an incompatible smoothing factor. */
+    private static final String INCOMPATIBLE_ALPHA = "Incompatible smoothing factor: ";
+
+    /** The smoothing factor. */
+    protected final double alpha;
+    /** The decay factor applied to the weights of the previous values: {@code 1 - alpha}. */
+    protected final double decay;
+
+    /** Count of values that have been added. */
+    protected long n;
+
+    /** Sum of the weights of the values that have been added. */
+    protected double weight;
+
+    /** Sum of the squared weights of the values that have been added. */
+    protected double weight2;
+
+    /**
+     * Half the deviation of most recently added value from the previous first moment.
+     * Retained to prevent repeated computation in higher order moments.
+     *
+     * <p>Note: This is (x - m1) / 2. It is computed as a half value to prevent overflow
+     * when computing for any finite value x and m.
+     */
+    protected double dev;
+
+    /**
+     * Half the deviation of most recently added value from the previous first moment,
+     * normalized by the current sum of the weights. Retained to prevent repeated
+     * computation in higher order moments.
+     *
+     * <p>Note: This is (x - m1) / 2W. It is computed as a half value to prevent overflow
+     * when computing for any finite value x and m.
+     */
+    protected double wDev;
+
+    /** First moment of values that have been added.
+     * This is stored as a half value to prevent overflow for any finite input. */
+    private double m1;
+
+    /**
+     * Running sum of values seen so far.
+     * This is not used in the computation of mean. Used as a return value for first moment when
+     * it is non-finite. The weights are not required to obtain the sign of infinite values.
+     */
+    private double nonFiniteValue;
+
+    /**
+     * Create an instance.
+     *
+     * @param alpha Smoothing factor.
+     */
+    ExponentialFirstMoment(double alpha) {
+        this.alpha = alpha;
+        decay = 1 - alpha;
+    }
+
+    /**
+     * Check the smoothing factor is in the open interval {@code (0, 1)}.
+     *
+     * @param alpha Smoothing factor.
+     * @return the smoothing factor
+     * @throws IllegalArgumentException if the smoothing factor is not in the interval {@code (0, 1)}
+     */
+    static double checkAlpha(double alpha) {
+        if (alpha > 0 && alpha < 1) {
+            return alpha;
+        }
+        throw new IllegalArgumentException("Invalid smoothing factor: " + alpha);
+    }
+
+    /**
+     * Compute the smoothing factor for the half-life. This is the number of values after
+     * which the weight of a value has decayed by a factor of 2:
+     *
+     * <pre>alpha = 1 - exp(-ln(2) / halfLife)</pre>
+     *
+     * @param halfLife Half-life.
+     * @return the smoothing factor
+     * @throws IllegalArgumentException if the half-life is not strictly positive and finite,
+     * or the smoothing factor is not in the interval {@code (0, 1)}
+     */
+    static double alphaFromHalfLife(double halfLife) {
+        if (halfLife > 0) {
+            final double alpha = -Math.expm1(-Math.log(2) / halfLife);
+            if (alpha > 0 && alpha < 1) {
+                return alpha;
+            }
+        }
+        throw new IllegalArgumentException("Invalid half-life: " + halfLife);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        // "Updating one-pass algorithm" using weighted values.
+        // The weights of the previous values are decayed; this does not change the mean.
+        // The new value has a weight of 1:
+        // W_{i+1} = (1 - alpha) W_i + 1
+        // m_{i+1} = m_i + (x - m_i) / W_{i+1}
+        // This is modified with scaling to avoid overflow for all finite input.
+        // Note: Maintain the correct non-finite result.
+        // Scaling down values prevents overflow of finites.
+        nonFiniteValue += value * Double.MIN_NORMAL;
+        n++;
+        weight = decay * weight + 1;
+        weight2 = decay * decay * weight2 + 1;
+        // Scale down the input
+        dev = value * DOWNSCALE - m1;
+        wDev = dev / weight;
+        m1 += wDev;
+    }
+
+    /**
+     * Gets the first moment of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return {@code First moment} of all values, if it is finite;
+     *         {@code +/-Infinity}, if infinities of the same sign have been encountered;
+     *         {@code NaN} otherwise.
+     */
+    double getFirstMoment() {
+        // Scale back to the original magnitude
+        final double m = m1 * RESCALE;
+        if (Double.isFinite(m)) {
+            return n == 0 ? Double.NaN : m;
+        }
+        // A non-finite value must have been encountered, return nonFiniteValue which represents m1.
+        return nonFiniteValue;
+    }
+
+    /**
+     * Combines the state of another {@code ExponentialFirstMoment} into this one.
+     * The values of the {@code other} instance are assumed to follow the values
+     * of this instance.
+     *
+     * @param other Another {@code ExponentialFirstMoment} to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} has a different smoothing factor
+     */
+    ExponentialFirstMoment combine(ExponentialFirstMoment other) {
+        checkCompatible(other);
+        if (other.n == 0) {
+            return this;
+        }
+        nonFiniteValue += other.nonFiniteValue;
+        if (n == 0) {
+            n = other.n;
+            weight = other.weight;
+            weight2 = other.weight2;
+            m1 = other.m1;
+            return this;
+        }
+        // Decay the weights of this instance by the number of values in the other instance
+        final double d = getDecay(other.n);
+        final double w1 = d * weight;
+        final double w2 = other.weight;
+        n += other.n;
+        weight = w1 + w2;
+        weight2 = d * d * weight2 + other.weight2;
+        // Adjust the mean with the weighted difference:
+        // m1 = m1 + (m2 - m1) * w2 / (w1 + w2)
+        // The half-representation ensures the difference of means is at most MAX_VALUE
+        // so the combine can avoid scaling.
+        m1 = w2 < w1 ?
+            m1 + (other.m1 - m1) * (w2 / weight) :
+            other.m1 + (m1 - other.m1) * (w1 / weight);
+        return this;
+    }
+
+    /**
+     * Check the {@code other} instance has the same smoothing factor.
+     *
+     * @param other Other moment.
+     * @throws IllegalArgumentException if the {@code other} has a different smoothing factor
+     */
+    final void checkCompatible(ExponentialFirstMoment other) {
+        if (Double.compare(alpha, other.alpha) != 0) {
+            throw new IllegalArgumentException(INCOMPATIBLE_ALPHA + alpha + " != " + other.alpha);
+        }
+    }
+
+    /**
+     * Gets the decay of the weights after the addition of the specified number of values.
+     *
+     * @param count Count of values.
+     * @return the decay
+     */
+    final double getDecay(long count) {
+        return Math.pow(decay, count);
+    }
+
+    /**
+     * Gets the difference of the first moment between {@code this} moment and the
+     * {@code other} moment. This is provided for higher order moments.
+     *
+     * @param other Other moment.
+     * @return the difference
+     */
+    final double getFirstMomentDifference(ExponentialFirstMoment other) {
+        // Scale back to the original magnitude
+        return (m1 - other.m1) * RESCALE;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the exponentially weighted sum of squared deviations from the weighted mean.
+ *
+ * <p>The following recursive updating formula is used (West's algorithm):
+ * <p>Let
+ * <ul>
+ *  <li> dev = (current obs - previous mean) </li>
+ *  <li> W = sum of the weights (including current obs) </li>
+ * </ul>
+ * <p>Then
+ * <p>new value = (1 - alpha) * old value + dev^2 * (W - 1) / W
+ * <p>returns the weighted sum of squared deviations of all values seen so far.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>West (1979)
+ *       Updating mean and variance estimates: an improved method.
+ *       Communications of the ACM, 22, 532-535.
+ *       <a href="https://doi.org/10.1145/359146.359153">doi: 10.1145/359146.359153</a></li>
+ * </ul>
+ *
+ * @since 1.4
+ */
+class ExponentialSumOfSquaredDeviations extends ExponentialFirstMoment {
+    /** Sum of squared deviations of the values that have been added. */
+    private double sumSquaredDev;
+
+    /**
+     * Create an instance.
+     *
+     * @param alpha Smoothing factor.
+     */
+    ExponentialSumOfSquaredDeviations(double alpha) {
+        super(alpha);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        super.accept(value);
+        // The weight of the previous values is (W - 1).
+        // Note: account for the half-deviation representation by scaling by 4=2^2
+        sumSquaredDev = decay * sumSquaredDev + (weight - 1) * dev * wDev * 4;
+    }
+
+    /**
+     * Gets the sum of squared deviations of all input values.
+     *
+     * @return sum of squared deviations of all values.
+     */
+    double getSumOfSquaredDeviations() {
+        return Double.isFinite(getFirstMoment()) ? sumSquaredDev : Double.NaN;
+    }
+
+    /**
+     * Combines the state of another {@code ExponentialSumOfSquaredDeviations} into this one.
+     * The values of the {@code other} instance are assumed to follow the values
+     * of this instance.
+     *
+     * @param other Another {@code ExponentialSumOfSquaredDeviations} to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} has a different smoothing factor
+     */
+    ExponentialSumOfSquaredDeviations combine(ExponentialSumOfSquaredDeviations other) {
+        checkCompatible(other);
+        if (n == 0) {
+            sumSquaredDev = other.sumSquaredDev;
+        } else if (other.n != 0) {
+            final double d = getDecay(other.n);
+            // Note: The weight of this instance may decay to zero
+            if (d == 0) {
+                sumSquaredDev = other.sumSquaredDev;
+            } else {
+                final double w1 = d * weight;
+                final double w2 = other.weight;
+                final double diffOfMean = getFirstMomentDifference(other);
+                final double sqDiffOfMean = diffOfMean * diffOfMean;
+                sumSquaredDev = (d * sumSquaredDev + other.sumSquaredDev) +
+                    sqDiffOfMean * (w1 * w2 / (w1 + w2));
+            }
+        }
+        super.combine(other);
+        return this;
+    }
+}
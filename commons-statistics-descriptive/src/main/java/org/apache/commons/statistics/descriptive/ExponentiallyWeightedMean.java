@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the exponentially weighted moving average of the available values.
+ * Uses the following definition of the weighted mean:
+ *
+ * <p>\[ \frac{\sum_{i=1}^n w_i x_i}{\sum_{i=1}^n w_i} \]
+ *
+ * <p>where \( n \) is the number of samples and the weight of each value
+ * \( w_i = (1 - \alpha)^{n-i} \) decays exponentially with the smoothing factor
+ * \( 0 \lt \alpha \lt 1 \). The most recent value has a weight of 1.
+ *
+ * <p>The smoothing factor can be specified using the half-life \( h \) of the weights
+ * in number of values: \( \alpha = 1 - \exp(-\ln(2) / h) \).
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}, or the values include
+ *       infinities of opposite sign.</li>
+ *   <li>The result is {@code +/-infinity} if values include infinities of the same sign.</li>
+ * </ul>
+ *
+ * <p>The weights are normalised by the sum of the weights. This removes the bias towards
+ * the initial value of the recursive formula
+ * \( m_i = \alpha x_i + (1 - \alpha) m_{i-1} \). The two definitions converge as the
+ * number of values increases.
+ *
+ * <p>The {@link #accept(double)} method uses a recursive updating algorithm
+ * with a constant memory requirement. The computation of the mean is protected from
+ * overflow for any finite input.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p>The statistic depends on the order of the values. The
+ * {@link #combine(ExponentiallyWeightedMean) combine} method assumes the values of the
+ * other instance follow the values of this instance. Instances can be combined if they
+ * use the same smoothing factor.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on an ordered parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results in encounter
+ * order for safe and efficient parallel execution.
+ *
+ * @see ExponentiallyWeightedVariance
+ * @see Mean
+ * @since 1.4
+ */
+public final class ExponentiallyWeightedMean implements DoubleStatistic,
+        StatisticAccumulator<ExponentiallyWeightedMean> {
+
+    /**
+     * First moment used to compute the mean.
+     */
+    private final ExponentialFirstMoment firstMoment;
+
+    /**
+     * Create an instance.
+     *
+     * @param alpha Smoothing factor.
+     */
+    private ExponentiallyWeightedMean(double alpha) {
+        firstMoment = new ExponentialFirstMoment(alpha);
+    }
+
+    /**
+     * Creates an instance with the smoothing factor {@code alpha}.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param alpha Smoothing factor.
+     * @return {@code ExponentiallyWeightedMean} instance.
+     * @throws IllegalArgumentException if {@code alpha} is not in the open interval {@code (0, 1)}
+     */
+    public static ExponentiallyWeightedMean ofAlpha(double alpha) {
+        return new ExponentiallyWeightedMean(ExponentialFirstMoment.checkAlpha(alpha));
+    }
+
+    /**
+     * Creates an instance with the smoothing factor defined by the {@code halfLife}.
+     * This is the number of values after which the weight of a value has decayed by
+     * a factor of 2.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param halfLife Half-life.
+     * @return {@code ExponentiallyWeightedMean} instance.
+     * @throws IllegalArgumentException if {@code halfLife} is not strictly positive and finite,
+     * or is too small to create a smoothing factor less than 1.
+     */
+    public static ExponentiallyWeightedMean ofHalfLife(double halfLife) {
+        return new ExponentiallyWeightedMean(ExponentialFirstMoment.alphaFromHalfLife(halfLife));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        firstMoment.accept(value);
+    }
+
+    /**
+     * Gets the exponentially weighted mean of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return mean of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return firstMoment.getFirstMoment();
+    }
+
+    /**
+     * Gets the smoothing factor.
+     *
+     * @return the smoothing factor
+     */
+    public double getAlpha() {
+        return firstMoment.alpha;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The values of the {@code other} instance are assumed to follow the values of this
+     * instance. The weights of the values in this instance are decayed by the count of
+     * values in the {@code other} instance.
+     *
+     * @throws IllegalArgumentException if the {@code other} has a different smoothing factor
+     */
+    @Override
+    public ExponentiallyWeightedMean combine(ExponentiallyWeightedMean other) {
+        firstMoment.combine(other.firstMoment);
+        return this;
+    }
+}
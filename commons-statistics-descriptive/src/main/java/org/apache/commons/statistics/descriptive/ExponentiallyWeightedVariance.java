@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the exponentially weighted moving variance of the available values.
+ * The default implementation uses the following definition of the weighted
+ * <em>sample variance</em>:
+ *
+ * <p>\[ \frac{V_1}{V_1^2 - V_2} \sum_{i=1}^n w_i (x_i-\overline{x}_w)^2 \]
+ *
+ * <p>where \( \overline{x}_w \) is the {@link ExponentiallyWeightedMean exponentially weighted
+ * mean}, \( n \) is the number of samples, the weight of each value
+ * \( w_i = (1 - \alpha)^{n-i} \) decays exponentially with the smoothing factor
+ * \( 0 \lt \alpha \lt 1 \), \( V_1 = \sum w_i \) and \( V_2 = \sum w_i^2 \).
+ *
+ * <p>The smoothing factor can be specified using the half-life \( h \) of the weights
+ * in number of values: \( \alpha = 1 - \exp(-\ln(2) / h) \).
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.</li>
+ *   <li>The result is {@code NaN} if the weighted sum of the squared deviations from the
+ *       mean is infinite.</li>
+ *   <li>The result is zero if there is one finite value in the data set.</li>
+ * </ul>
+ *
+ * <p>The normalisation factor is a bias correction for reliability weights. This is
+ * the equivalent of Bessel's correction for the unweighted variance. If the
+ * {@link #setBiased(boolean) biased} option is enabled the normalisation factor is
+ * changed to \( \frac{1}{V_1} \) for a biased estimator of the weighted
+ * <em>sample variance</em>.
+ *
+ * <p>The {@link #accept(double)} method uses a recursive updating algorithm based on West's
+ * algorithm with a constant memory requirement. The computation of the mean is protected
+ * from overflow for any finite input.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p>The statistic depends on the order of the values. The
+ * {@link #combine(ExponentiallyWeightedVariance) combine} method assumes the values of the
+ * other instance follow the values of this instance. Instances can be combined if they
+ * use the same smoothing factor.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on an ordered parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results in encounter
+ * order for safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>West (1979)
+ *       Updating mean and variance estimates: an improved method.
+ *       Communications of the ACM, 22, 532-535.
+ *       <a href="https://doi.org/10.1145/359146.359153">doi: 10.1145/359146.359153</a></li>
+ * </ul>
+ *
+ * @see ExponentiallyWeightedMean
+ * @see Variance
+ * @since 1.4
+ */
+public final class ExponentiallyWeightedVariance implements DoubleStatistic,
+        StatisticAccumulator<ExponentiallyWeightedVariance> {
+    /**
+     * An instance of {@link ExponentialSumOfSquaredDeviations}, which is used to
+     * compute the variance.
+     */
+    private final ExponentialSumOfSquaredDeviations ss;
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Create an instance.
+     *
+     * @param alpha Smoothing factor.
+     */
+    private ExponentiallyWeightedVariance(double alpha) {
+        ss = new ExponentialSumOfSquaredDeviations(alpha);
+    }
+
+    /**
+     * Creates an instance with the smoothing factor {@code alpha}.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param alpha Smoothing factor.
+     * @return {@code ExponentiallyWeightedVariance} instance.
+     * @throws IllegalArgumentException if {@code alpha} is not in the open interval {@code (0, 1)}
+     */
+    public static ExponentiallyWeightedVariance ofAlpha(double alpha) {
+        return new ExponentiallyWeightedVariance(ExponentialFirstMoment.checkAlpha(alpha));
+    }
+
+    /**
+     * Creates an instance with the smoothing factor defined by the {@code halfLife}.
+     * This is the number of values after which the weight of a value has decayed by
+     * a factor of 2.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param halfLife Half-life.
+     * @return {@code ExponentiallyWeightedVariance} instance.
+     * @throws IllegalArgumentException if {@code halfLife} is not strictly positive and finite,
+     * or is too small to create a smoothing factor less than 1.
+     */
+    public static ExponentiallyWeightedVariance ofHalfLife(double halfLife) {
+        return new ExponentiallyWeightedVariance(ExponentialFirstMoment.alphaFromHalfLife(halfLife));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        ss.accept(value);
+    }
+
+    /**
+     * Gets the exponentially weighted variance of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return variance of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        // This method checks the sum of squared is finite
+        // to provide a consistent NaN when the computation is not possible.
+        // Note: The SS checks for n=0 and returns NaN.
+        final double m2 = ss.getSumOfSquaredDeviations();
+        if (!Double.isFinite(m2)) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero
+        if (ss.n == 1) {
+            return 0;
+        }
+        final double v1 = ss.weight;
+        return biased ? m2 / v1 : m2 / (v1 - ss.weight2 / v1);
+    }
+
+    /**
+     * Gets the exponentially weighted mean of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return mean of all values.
+     * @see ExponentiallyWeightedMean
+     */
+    public double getMean() {
+        return ss.getFirstMoment();
+    }
+
+    /**
+     * Gets the smoothing factor.
+     *
+     * @return the smoothing factor
+     */
+    public double getAlpha() {
+        return ss.alpha;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The values of the {@code other} instance are assumed to follow the values of this
+     * instance. The weights of the values in this instance are decayed by the count of
+     * values in the {@code other} instance.
+     *
+     * @throws IllegalArgumentException if the {@code other} has a different smoothing factor
+     */
+    @Override
+    public ExponentiallyWeightedVariance combine(ExponentiallyWeightedVariance other) {
+        ss.combine(other.ss);
+        return this;
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the weighted sum of squared deviations from the weighted mean is
+     * normalised by \( V_1 - V_2 / V_1 \) where \( V_1 \) is the sum of the weights and
+     * \( V_2 \) is the sum of the squared weights. This is a bias correction for
+     * reliability weights.
+     *
+     * <p>If {@code true} the weighted sum of squared deviations is normalised by the sum of
+     * the weights \( V_1 \).
+     *
+     * <p>Note: This option only applies when {@code n > 1}. The variance of {@code n = 1} is
+     * always 0.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a
+     * {@link #combine(ExponentiallyWeightedVariance) combine} operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public ExponentiallyWeightedVariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
 import java.util.function.DoubleConsumer;
 
 /**
@@ -64,10 +65,19 @@ import java.util.function.DoubleConsumer;
  * @since 1.1
  */
 class FirstMoment implements DoubleConsumer {
+    /** The number of independent accumulators used by the array kernels. The kernels
+     * compute partial sums in blocks of this size to allow pipelining of the summation. */
+    static final int UNROLL = 4;
+    /** The minimum length of an array range to use the unrolled array kernels. Shorter
+     * ranges are summed sequentially. */
+    static final int UNROLL_LENGTH = 256;
     /** The downscale constant. Used to avoid overflow for all finite input. */
     private static final double DOWNSCALE = 0.5;
     /** The rescale constant. */
     private static final double RESCALE = 2;
+    /** The downscale constant for the sum of a block of values. Used to compute half the mean
+     * of the block and avoid overflow for all finite input. */
+    private static final double BLOCK_DOWNSCALE = DOWNSCALE / UNROLL;
 
     /** Count of values that have been added. */
     protected long n;
@@ -153,7 +163,7 @@ class FirstMoment implements DoubleConsumer {
         }
         // In the typical use-case a sum of values will not overflow and
         // is faster than the rolling algorithm
-        return createFromRange(org.apache.commons.numbers.core.Sum.of(values), values, 0, values.length);
+        return createFromRange(CompensatedSum.of(values), values, 0, values.length);
     }
 
     /**
@@ -195,7 +205,7 @@ class FirstMoment implements DoubleConsumer {
      * @param to Exclusive end of the range.
      * @return {@code FirstMoment} instance.
      */
-    static FirstMoment createFromRange(org.apache.commons.numbers.core.Sum sum,
+    static FirstMoment createFromRange(CompensatedSum sum,
                                        double[] values, int from, int to) {
         // Protect against empty values
         if (from == to) {
@@ -217,7 +227,22 @@ class FirstMoment implements DoubleConsumer {
         }
         // Second pass
         double correction = 0;
-        for (int i = from; i < to; i++) {
+        int i = from;
+        if (to - from >= UNROLL_LENGTH) {
+            // Independent accumulators break the dependency chain of the sum
+            double c0 = 0;
+            double c1 = 0;
+            double c2 = 0;
+            double c3 = 0;
+            for (final int end = to - UNROLL + 1; i < end; i += UNROLL) {
+                c0 += values[i] - xbar;
+                c1 += values[i + 1] - xbar;
+                c2 += values[i + 2] - xbar;
+                c3 += values[i + 3] - xbar;
+            }
+            correction = (c0 + c1) + (c2 + c3);
+        }
+        for (; i < to; i++) {
             correction += values[i] - xbar;
         }
         // Note: Correction may be infinite
@@ -236,6 +261,8 @@ class FirstMoment implements DoubleConsumer {
      * <ul>
      *  <li>Avoid updating (unused) class level working variables.</li>
      *  <li>Only computing the non-finite value if required.</li>
+     *  <li>Update a long range using the mean of blocks of values to reduce
+     *      the number of divisions.</li>
      * </ul>
      *
      * @param values Values.
@@ -246,7 +273,19 @@ class FirstMoment implements DoubleConsumer {
     private static FirstMoment create(double[] values, int from, int to) {
         double m1 = 0;
         int n = 0;
-        for (int i = from; i < to; i++) {
+        int i = from;
+        if (to - from >= UNROLL_LENGTH) {
+            for (final int end = to - UNROLL + 1; i < end; i += UNROLL) {
+                // Half the mean of the block.
+                // Downscale to avoid overflow for all finite input.
+                final double b = values[i] * BLOCK_DOWNSCALE + values[i + 1] * BLOCK_DOWNSCALE +
+                    values[i + 2] * BLOCK_DOWNSCALE + values[i + 3] * BLOCK_DOWNSCALE;
+                n += UNROLL;
+                // Division before multiplication avoids overflow
+                m1 += (b - m1) / n * UNROLL;
+            }
+        }
+        for (; i < to; i++) {
             // Downscale to avoid overflow for all finite input
             m1 += (values[i] * DOWNSCALE - m1) / ++n;
         }
@@ -386,4 +425,26 @@ class FirstMoment implements DoubleConsumer {
     double getFirstMomentHalfDifference(FirstMoment other) {
         return m1 - other.m1;
     }
+
+    /**
+     * Write the state of the moment to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        buffer.putLong(n).putDouble(m1).putDouble(nonFiniteValue);
+    }
+
+    /**
+     * Read the state of the moment from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        n = buffer.getLong();
+        m1 = buffer.getDouble();
+        nonFiniteValue = buffer.getDouble();
+    }
 }
@@ -0,0 +1,435 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+
+/**
+ * Counts the frequency of each distinct value.
+ *
+ * <p>The table stores one count for each distinct value. The memory requirement is
+ * proportional to the number of distinct values, not the number of values. This is
+ * suitable for categorical data, or data with many repeated values.
+ *
+ * <p>The table provides:
+ * <ul>
+ *   <li>The frequency of each value, and the cumulative frequency of the values in
+ *       ascending order.</li>
+ *   <li>The mode(s) and the frequency of the mode.</li>
+ *   <li>The Shannon entropy of the empirical distribution.</li>
+ *   <li>Exact quantiles using a {@link EstimationMethod quantile estimation method}.</li>
+ * </ul>
+ *
+ * <p>The {@code int} and {@code long} representation of the same value are counted as
+ * the same value.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations, and up to 2<sup>29</sup>
+ * distinct values. This implementation does not check for overflow of the count.
+ *
+ * <p>This class is designed to work with (though does not require)
+ * {@linkplain java.util.stream streams}.
+ *
+ * <p><strong>This implementation is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link #accept(long) accept} or
+ * {@link #combine(FrequencyTable) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(long) accept}
+ * and {@link #combine(FrequencyTable) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see FrequentValues
+ * @see <a href="https://en.wikipedia.org/wiki/Frequency_(statistics)">Frequency (Wikipedia)</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Mode_(statistics)">Mode (Wikipedia)</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Entropy_(information_theory)">Entropy (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class FrequencyTable implements IntConsumer, LongConsumer {
+    /** Initial capacity. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Map of each distinct value to an index. */
+    private final LongIndexMap map;
+    /** Count of each distinct value by index. */
+    private long[] counts;
+    /** Count of values. */
+    private long n;
+
+    /**
+     * Create an instance.
+     */
+    private FrequencyTable() {
+        map = new LongIndexMap(INITIAL_CAPACITY);
+        counts = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial table is empty.
+     *
+     * @return {@code FrequencyTable} instance.
+     */
+    public static FrequencyTable create() {
+        return new FrequencyTable();
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code FrequencyTable} instance.
+     */
+    public static FrequencyTable of(int... values) {
+        return Statistics.add(new FrequencyTable(), values);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code FrequencyTable} instance.
+     */
+    public static FrequencyTable of(long... values) {
+        return Statistics.add(new FrequencyTable(), values);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(int value) {
+        accept((long) value);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(long value) {
+        add(value, 1);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code count}. A count of zero is ignored.
+     *
+     * @param value Value.
+     * @param count Count.
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public void accept(long value, long count) {
+        if (count <= 0) {
+            if (count == 0) {
+                return;
+            }
+            throw new IllegalArgumentException("Invalid count: " + count);
+        }
+        add(value, count);
+    }
+
+    /**
+     * Add the value with the specified count.
+     *
+     * @param value Value.
+     * @param count Count.
+     */
+    private void add(long value, long count) {
+        final int i = map.add(value);
+        if (i == counts.length) {
+            counts = Arrays.copyOf(counts, i << 1);
+        }
+        counts[i] += count;
+        n += count;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the number of distinct values.
+     *
+     * @return the number of distinct values
+     */
+    public int getDistinctCount() {
+        return map.size();
+    }
+
+    /**
+     * Gets the frequency of the {@code value}.
+     *
+     * @param value Value.
+     * @return the frequency
+     */
+    public long getFrequency(long value) {
+        final int i = map.indexOf(value);
+        return i < 0 ? 0 : counts[i];
+    }
+
+    /**
+     * Gets the cumulative frequency of the {@code value}. This is the number of values
+     * less than or equal to the {@code value}.
+     *
+     * @param value Value.
+     * @return the cumulative frequency
+     */
+    public long getCumulativeFrequency(long value) {
+        long c = 0;
+        for (int i = 0; i < map.size(); i++) {
+            if (map.key(i) <= value) {
+                c += counts[i];
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Gets the distinct values in ascending order.
+     *
+     * @return the values
+     */
+    public long[] getValues() {
+        final long[] v = map.keys();
+        Arrays.sort(v);
+        return v;
+    }
+
+    /**
+     * Gets the frequency of each distinct value. The frequencies are in the order of the
+     * {@link #getValues() values}.
+     *
+     * @return the frequencies
+     */
+    public long[] getFrequencies() {
+        final long[] f = getCumulativeFrequencies();
+        for (int i = f.length - 1; i > 0; i--) {
+            f[i] -= f[i - 1];
+        }
+        return f;
+    }
+
+    /**
+     * Gets the cumulative frequency of each distinct value. The cumulative frequencies are
+     * in the order of the {@link #getValues() values}; the last cumulative frequency is the
+     * {@link #getCount() count} of values.
+     *
+     * @return the cumulative frequencies
+     */
+    public long[] getCumulativeFrequencies() {
+        final long[] c = new long[map.size()];
+        getValues(c);
+        return c;
+    }
+
+    /**
+     * Gets the distinct values in ascending order and the cumulative frequency of each
+     * value. The values are sorted once and the cumulative frequencies are computed in a
+     * single pass over the sorted values.
+     *
+     * @param cumulative Cumulative frequencies (output). Length must be the number of distinct values.
+     * @return the values
+     */
+    private long[] getValues(long[] cumulative) {
+        final long[] v = getValues();
+        long c = 0;
+        for (int i = 0; i < v.length; i++) {
+            c += counts[map.indexOf(v[i])];
+            cumulative[i] = c;
+        }
+        return v;
+    }
+
+    /**
+     * Gets the mode(s). These are the values with the highest frequency. The modes
+     * are in ascending order.
+     *
+     * <p>When no values have been added, the result is an empty array.
+     *
+     * @return the modes
+     */
+    public long[] getModes() {
+        final long max = getModeFrequency();
+        final int size = map.size();
+        int m = 0;
+        final long[] modes = new long[size];
+        for (int i = 0; i < size; i++) {
+            if (counts[i] == max) {
+                modes[m++] = map.key(i);
+            }
+        }
+        final long[] v = Arrays.copyOf(modes, m);
+        Arrays.sort(v);
+        return v;
+    }
+
+    /**
+     * Gets the frequency of the mode.
+     *
+     * <p>When no values have been added, the result is zero.
+     *
+     * @return the frequency of the mode
+     */
+    public long getModeFrequency() {
+        long max = 0;
+        for (int i = 0; i < map.size(); i++) {
+            max = Math.max(max, counts[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Gets the Shannon entropy of the frequency distribution, in nats:
+     *
+     * <p>\[ H = -\sum_i p_i \ln(p_i) \]
+     *
+     * <p>where \( p_i = f_i / n \) is the relative frequency of each distinct value.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return the entropy
+     */
+    public double getEntropy() {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final double total = n;
+        double h = 0;
+        for (int i = 0; i < map.size(); i++) {
+            final double p = counts[i] / total;
+            h -= p * Math.log(p);
+        }
+        return h;
+    }
+
+    /**
+     * Gets the {@code p}-th quantile of the values using the
+     * {@link EstimationMethod#HF8 HF8} estimation method.
+     *
+     * <p>The result is identical to the quantile of the values using
+     * {@link Quantile#evaluate(long[], double)} with the default options.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public StatisticResult getQuantile(double p) {
+        return getQuantile(p, EstimationMethod.HF8);
+    }
+
+    /**
+     * Gets the {@code p}-th quantile of the values using the specified estimation method.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probability for the quantile to compute.
+     * @param method Estimation method.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public StatisticResult getQuantile(double p, EstimationMethod method) {
+        return getQuantiles(new double[] {p}, method)[0];
+    }
+
+    /**
+     * Gets the {@code p}-th quantiles of the values using the specified estimation method.
+     * The values are sorted once for all quantiles.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probabilities for the quantiles to compute.
+     * @param method Estimation method.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * or no probabilities are specified.
+     */
+    public StatisticResult[] getQuantiles(double[] p, EstimationMethod method) {
+        Quantile.checkProbabilities(p);
+        final StatisticResult[] q = new StatisticResult[p.length];
+        if (n == 0) {
+            Arrays.fill(q, (StatisticResult) () -> Double.NaN);
+            return q;
+        }
+        final long[] c = new long[map.size()];
+        final long[] v = getValues(c);
+        for (int k = 0; k < p.length; k++) {
+            final double pos = method.index(p[k], n);
+            final long i = (long) pos;
+            final long v1 = valueAt(v, c, i);
+            if (pos > i) {
+                final long v2 = valueAt(v, c, i + 1);
+                q[k] = Interpolation.interpolate(v1, v2, pos - i);
+            } else {
+                q[k] = Statistics.createStatisticResult(v1);
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Gets the value at the specified zero-based rank {@code i} of the sorted values.
+     *
+     * @param values Distinct values in ascending order.
+     * @param cumulative Cumulative frequencies.
+     * @param i Rank.
+     * @return the value
+     */
+    private static long valueAt(long[] values, long[] cumulative, long i) {
+        // Find the first cumulative frequency above the rank
+        int j = Arrays.binarySearch(cumulative, i + 1);
+        if (j < 0) {
+            j = ~j;
+        }
+        return values[j];
+    }
+
+    /**
+     * Combines the state of the {@code other} statistic into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * @param other Another statistic to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     */
+    public FrequencyTable combine(FrequencyTable other) {
+        final LongIndexMap m = other.map;
+        final long[] c = other.counts;
+        // Note: Supports combine with this instance as the size is fixed during iteration
+        final int size = m.size();
+        for (int i = 0; i < size; i++) {
+            add(m.key(i), c[i]);
+        }
+        return this;
+    }
+}
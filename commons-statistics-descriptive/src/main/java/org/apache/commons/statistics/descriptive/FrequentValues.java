@@ -0,0 +1,496 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks the most frequent values using the Space-Saving algorithm.
+ *
+ * <p>A fixed number {@code k} of counters is used. A value that is tracked increments
+ * its counter. An untracked value is added to a free counter; when all counters are
+ * used the value replaces the value with the minimum count, and the count is incremented
+ * from the minimum. The replaced minimum is recorded as the maximum error of the count.
+ *
+ * <p>Given {@code n} values:
+ * <ul>
+ *   <li>The estimated frequency of a value is never less than its true frequency, and
+ *       overestimates the true frequency by at most its error.</li>
+ *   <li>The error of any count is at most {@code n / k}.</li>
+ *   <li>Any value with a frequency above {@code n / k} is tracked.</li>
+ * </ul>
+ *
+ * <p>Instances are combined using the merge of mergeable summaries: a value not tracked
+ * in one instance is assigned the minimum count of that instance as its upper bound,
+ * and the {@code k} largest counts are retained. The error guarantees hold for the
+ * combined number of values.
+ *
+ * <p>The {@code int} and {@code long} representation of the same value are counted as
+ * the same value.
+ *
+ * <p>This class is designed to work with (though does not require)
+ * {@linkplain java.util.stream streams}.
+ *
+ * <p><strong>This implementation is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link #accept(long) accept} or
+ * {@link #combine(FrequentValues) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(long) accept}
+ * and {@link #combine(FrequentValues) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Metwally, Agrawal and El Abbadi (2005)
+ *       Efficient Computation of Frequent and Top-k Elements in Data Streams.
+ *       Database Theory - ICDT 2005, LNCS 3363, 398-412.
+ *       <a href="https://doi.org/10.1007/978-3-540-30570-5_27">doi: 10.1007/978-3-540-30570-5_27</a></li>
+ *   <li>Agarwal, Cormode, Huang, Phillips, Wei and Yi (2013)
+ *       Mergeable summaries.
+ *       ACM Transactions on Database Systems, 38, 26.
+ *       <a href="https://doi.org/10.1145/2500128">doi: 10.1145/2500128</a></li>
+ * </ul>
+ *
+ * @see DistinctCount
+ * @since 1.4
+ */
+public final class FrequentValues implements IntConsumer, LongConsumer {
+    /** Maximum capacity. The hash table has a load factor of at most 0.5. */
+    private static final int MAX_CAPACITY = 1 << 28;
+    /** The golden ratio scaled to 64-bits. Used to mix the hash bits. */
+    private static final long PHI = 0x9e3779b97f4a7c15L;
+
+    /** Number of counters. */
+    private final int capacity;
+    /** Value of each counter. */
+    private final long[] values;
+    /** Count of each counter. */
+    private final long[] counts;
+    /** Error of each counter. */
+    private final long[] errors;
+    /** Min-heap of counters ordered by count. */
+    private final int[] heap;
+    /** Position of each counter in the heap. */
+    private final int[] position;
+    /** Hash table of the counter of each value plus one; zero marks an empty slot. */
+    private final int[] table;
+    /** Number of counters in use. */
+    private int size;
+    /** Count of values. */
+    private long n;
+
+    /**
+     * Create an instance.
+     *
+     * @param capacity Number of counters.
+     */
+    private FrequentValues(int capacity) {
+        this.capacity = capacity;
+        values = new long[capacity];
+        counts = new long[capacity];
+        errors = new long[capacity];
+        heap = new int[capacity];
+        position = new int[capacity];
+        table = new int[Integer.highestOneBit(capacity) << 2];
+    }
+
+    /**
+     * Creates an instance with the specified number of counters.
+     *
+     * @param capacity Number of counters.
+     * @return {@code FrequentValues} instance.
+     * @throws IllegalArgumentException if the capacity is not in {@code [1, 2^28]}
+     */
+    public static FrequentValues create(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        return new FrequentValues(capacity);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(int value) {
+        accept((long) value);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(long value) {
+        n++;
+        final int c = indexOf(value);
+        if (c >= 0) {
+            counts[c]++;
+            siftDown(position[c]);
+        } else {
+            add(value, 1, 0);
+        }
+    }
+
+    /**
+     * Gets the number of counters.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the tracked values. The values are ordered by the estimated frequency,
+     * highest first; values with the same frequency are in ascending order.
+     *
+     * @return the values
+     */
+    public long[] getValues() {
+        final int m = size;
+        final long[] v = Arrays.copyOf(values, m);
+        final long[] c = counts;
+        // Sort the counters by count (descending) then value (ascending)
+        final Integer[] order = new Integer[m];
+        for (int i = 0; i < m; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> {
+            final int r = Long.compare(c[j], c[i]);
+            return r != 0 ? r : Long.compare(v[i], v[j]);
+        });
+        final long[] result = new long[m];
+        for (int i = 0; i < m; i++) {
+            result[i] = v[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Gets the estimated frequency of the {@code value}. This is never less than the
+     * true frequency. A value that is not tracked is assigned the minimum count of the
+     * tracked values, or zero if not all counters are in use.
+     *
+     * @param value Value.
+     * @return the estimated frequency
+     */
+    public long getFrequency(long value) {
+        final int c = indexOf(value);
+        return c >= 0 ? counts[c] : minimum();
+    }
+
+    /**
+     * Gets the maximum error of the estimated frequency of the {@code value}. The true
+     * frequency is in {@code [f - e, f]} where {@code f} is the
+     * {@link #getFrequency(long) estimated frequency} and {@code e} is the error.
+     *
+     * @param value Value.
+     * @return the error
+     */
+    public long getFrequencyError(long value) {
+        final int c = indexOf(value);
+        return c >= 0 ? errors[c] : minimum();
+    }
+
+    /**
+     * Combines the state of the {@code other} statistic into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * @param other Another statistic to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} has a different capacity
+     */
+    public FrequentValues combine(FrequentValues other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("Incompatible capacity: " + other.capacity + " != " + capacity);
+        }
+        // Copy the state to support combine with this instance
+        final int sa = size;
+        final long[] va = Arrays.copyOf(values, sa);
+        final long[] ca = Arrays.copyOf(counts, sa);
+        final long[] ea = Arrays.copyOf(errors, sa);
+        final long ma = minimum();
+        final int sb = other.size;
+        final long[] vb = Arrays.copyOf(other.values, sb);
+        final long[] cb = Arrays.copyOf(other.counts, sb);
+        final long[] eb = Arrays.copyOf(other.errors, sb);
+        final long mb = other.minimum();
+        final int[] indexB = new int[sa];
+        for (int i = 0; i < sa; i++) {
+            indexB[i] = other.indexOf(va[i]);
+        }
+        n += other.n;
+        // Rebuild using the largest counts
+        clear();
+        final boolean[] merged = new boolean[sb];
+        for (int i = 0; i < sa; i++) {
+            final int j = indexB[i];
+            if (j >= 0) {
+                merged[j] = true;
+                offer(va[i], ca[i] + cb[j], ea[i] + eb[j]);
+            } else {
+                offer(va[i], ca[i] + mb, ea[i] + mb);
+            }
+        }
+        for (int j = 0; j < sb; j++) {
+            if (!merged[j]) {
+                offer(vb[j], cb[j] + ma, eb[j] + ma);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gets the minimum count of the tracked values if all counters are in use; otherwise zero.
+     * This is an upper bound on the frequency of any value that is not tracked.
+     *
+     * @return the minimum count
+     */
+    private long minimum() {
+        return size == capacity ? counts[heap[0]] : 0;
+    }
+
+    /**
+     * Remove all counters.
+     */
+    private void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    /**
+     * Offer the value with the specified count and error. The value must not be tracked.
+     * If all counters are in use, the value replaces the minimum count only if the count
+     * is larger.
+     *
+     * @param value Value.
+     * @param count Count.
+     * @param error Error.
+     */
+    private void offer(long value, long count, long error) {
+        if (size < capacity) {
+            insert(value, count, error);
+        } else {
+            final int c = heap[0];
+            if (count > counts[c]) {
+                replace(c, value, count, error);
+            }
+        }
+    }
+
+    /**
+     * Add the value to a new counter. The value must not be tracked. If all counters
+     * are in use the minimum count is replaced and the count is incremented from the
+     * minimum.
+     *
+     * @param value Value.
+     * @param count Count.
+     * @param error Error.
+     */
+    private void add(long value, long count, long error) {
+        if (size < capacity) {
+            insert(value, count, error);
+        } else {
+            final int c = heap[0];
+            final long min = counts[c];
+            replace(c, value, min + count, min + error);
+        }
+    }
+
+    /**
+     * Insert the value into the next free counter.
+     *
+     * @param value Value.
+     * @param count Count.
+     * @param error Error.
+     */
+    private void insert(long value, long count, long error) {
+        final int c = size++;
+        values[c] = value;
+        counts[c] = count;
+        errors[c] = error;
+        put(c);
+        heap[c] = c;
+        position[c] = c;
+        siftUp(c);
+    }
+
+    /**
+     * Replace the value of the counter at the root of the heap.
+     *
+     * @param c Counter.
+     * @param value Value.
+     * @param count Count.
+     * @param error Error.
+     */
+    private void replace(int c, long value, long count, long error) {
+        remove(c);
+        values[c] = value;
+        counts[c] = count;
+        errors[c] = error;
+        put(c);
+        siftDown(0);
+    }
+
+    /**
+     * Move the counter at the heap position towards the root until the heap order is restored.
+     *
+     * @param k Heap position.
+     */
+    private void siftUp(int k) {
+        final int[] h = heap;
+        final int c = h[k];
+        final long count = counts[c];
+        int i = k;
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            final int pc = h[parent];
+            if (counts[pc] <= count) {
+                break;
+            }
+            h[i] = pc;
+            position[pc] = i;
+            i = parent;
+        }
+        h[i] = c;
+        position[c] = i;
+    }
+
+    /**
+     * Move the counter at the heap position away from the root until the heap order is restored.
+     *
+     * @param k Heap position.
+     */
+    private void siftDown(int k) {
+        final int[] h = heap;
+        final int c = h[k];
+        final long count = counts[c];
+        final int half = size >>> 1;
+        int i = k;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int cc = h[child];
+            final int right = child + 1;
+            if (right < size && counts[h[right]] < counts[cc]) {
+                child = right;
+                cc = h[child];
+            }
+            if (count <= counts[cc]) {
+                break;
+            }
+            h[i] = cc;
+            position[cc] = i;
+            i = child;
+        }
+        h[i] = c;
+        position[c] = i;
+    }
+
+    /**
+     * Gets the counter of the value.
+     *
+     * @param value Value.
+     * @return the counter, or -1 if the value is not tracked
+     */
+    private int indexOf(long value) {
+        final int[] t = table;
+        final int mask = t.length - 1;
+        for (int i = hash(value) & mask;; i = (i + 1) & mask) {
+            final int e = t[i];
+            if (e == 0) {
+                return -1;
+            }
+            if (values[e - 1] == value) {
+                return e - 1;
+            }
+        }
+    }
+
+    /**
+     * Add the counter to the hash table using the hash of its value.
+     *
+     * @param c Counter.
+     */
+    private void put(int c) {
+        final int[] t = table;
+        final int mask = t.length - 1;
+        int i = hash(values[c]) & mask;
+        while (t[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        t[i] = c + 1;
+    }
+
+    /**
+     * Remove the counter from the hash table. The entries that follow in the probe
+     * sequence are shifted back to fill the empty slot.
+     *
+     * @param c Counter.
+     */
+    private void remove(int c) {
+        final int[] t = table;
+        final int mask = t.length - 1;
+        int i = hash(values[c]) & mask;
+        while (t[i] != c + 1) {
+            i = (i + 1) & mask;
+        }
+        for (int j = (i + 1) & mask;; j = (j + 1) & mask) {
+            final int e = t[j];
+            if (e == 0) {
+                break;
+            }
+            // Move the entry if its home slot is not cyclically within (i, j]
+            final int home = hash(values[e - 1]) & mask;
+            if (i <= j ? i >= home || home > j : i >= home && home > j) {
+                t[i] = e;
+                i = j;
+            }
+        }
+        t[i] = 0;
+    }
+
+    /**
+     * Compute the hash of the value. The bits are mixed so that sequential values are
+     * distributed across the table.
+     *
+     * @param value Value.
+     * @return the hash
+     */
+    private static int hash(long value) {
+        return (int) ((value * PHI) >>> 32);
+    }
+}
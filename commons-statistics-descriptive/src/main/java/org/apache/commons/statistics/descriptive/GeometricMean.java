@@ -16,6 +16,8 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+
 /**
  * Computes the geometric mean of the available values. Uses the following definition
  * of the geometric mean:
@@ -228,4 +230,43 @@ public final class GeometricMean implements DoubleStatistic, StatisticAccumulato
             Double.NaN :
             Math.exp(sumOfLogs.getAsDouble() / n);
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(GeometricMean) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.GEOMETRIC_MEAN);
+        sumOfLogs.writeState(buffer);
+        buffer.putLong(n);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code GeometricMean} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code GeometricMean}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static GeometricMean readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.GEOMETRIC_MEAN);
+        final GeometricMean s = new GeometricMean();
+        s.sumOfLogs.readState(buffer);
+        s.n = buffer.getLong();
+        return s;
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Statistics for {@code double} values grouped by an {@code int} key.
+ *
+ * <p>A {@link DoubleStatistics} instance is created for each distinct key. The instances
+ * are created using a {@link DoubleStatistics.Builder builder} and compute the same
+ * statistics. The keys are stored in a map of primitive values; keys and values are not
+ * boxed.
+ *
+ * <p>The statistics can be computed from columns of keys and values using
+ * {@link DoubleStatistics.Builder#buildGrouped(int[], double[])}. This supports
+ * parallel evaluation of a large number of values.
+ *
+ * <pre>
+ * int[] customer = ...
+ * double[] amount = ...
+ * GroupedDoubleStatistics stats = DoubleStatistics.builder(
+ *     Statistic.MIN, Statistic.MAX, Statistic.MEAN)
+ *     .setParallel(true)
+ *     .buildGrouped(customer, amount);
+ * for (int key : stats.getKeys()) {
+ *     double mean = stats.get(key).getAsDouble(Statistic.MEAN);
+ * }
+ * </pre>
+ *
+ * <p>Keys are reported in the order they first occur in the values.
+ *
+ * <p>This class is not thread safe.
+ *
+ * @see DoubleStatistics
+ * @since 1.4
+ */
+public final class GroupedDoubleStatistics {
+    /** Initial capacity for the number of keys. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The factory for the statistics of each key. */
+    private final DoubleStatistics.Factory factory;
+    /** Map of each key to the index of the statistics. The keys are widened to {@code long}. */
+    private final LongIndexMap map;
+    /** Statistics for each key. */
+    private DoubleStatistics[] stats;
+    /** Configuration options for computation of statistics. */
+    private StatisticsConfiguration config;
+
+    /**
+     * Create an instance.
+     *
+     * @param factory Factory for the statistics of each key.
+     */
+    GroupedDoubleStatistics(DoubleStatistics.Factory factory) {
+        this.factory = factory;
+        this.config = factory.getConfiguration();
+        map = new LongIndexMap(INITIAL_CAPACITY);
+        stats = new DoubleStatistics[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * for each key.
+     *
+     * @param statistics Statistics to compute.
+     * @return the instance
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     */
+    public static GroupedDoubleStatistics of(Statistic... statistics) {
+        return DoubleStatistics.builder(statistics).buildGrouped();
+    }
+
+    /**
+     * Creates the statistics from the specified range of the {@code keys} and {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param factory Factory for the statistics of each key.
+     * @param keys Keys.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the instance
+     */
+    static GroupedDoubleStatistics create(DoubleStatistics.Factory factory,
+                                          int[] keys, double[] values, int from, int to) {
+        final GroupedDoubleStatistics s = new GroupedDoubleStatistics(factory);
+        for (int i = from; i < to; i++) {
+            s.accept(keys[i], values[i]);
+        }
+        return s;
+    }
+
+    /**
+     * Updates the state of the statistics for the {@code key} to reflect the addition
+     * of {@code value}.
+     *
+     * @param key Key.
+     * @param value Value.
+     */
+    public void accept(int key, double value) {
+        getOrCreate(map.add(key)).accept(value);
+    }
+
+    /**
+     * Gets the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Gets the keys. The keys are returned in the order they were first added.
+     *
+     * @return the keys
+     */
+    public int[] getKeys() {
+        final int[] keys = new int[map.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (int) map.key(i);
+        }
+        return keys;
+    }
+
+    /**
+     * Gets the statistics for the {@code key}.
+     *
+     * <p>The returned instance is the statistics recorded by this instance; it is updated
+     * when values for the key are added.
+     *
+     * @param key Key.
+     * @return the statistics, or {@code null} if the key is not present
+     */
+    public DoubleStatistics get(int key) {
+        final int i = map.indexOf(key);
+        return i < 0 ? null : stats[i];
+    }
+
+    /**
+     * Combines the state of the {@code other} statistics into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * <p>The statistics for each key of the {@code other} instance are combined
+     * with the statistics for the same key in this instance. Keys that are not present
+     * are added in the order of the {@code other} instance.
+     *
+     * <p>The {@code other} instance must be <em>compatible</em>: the statistics for
+     * each key must support all the statistics computed by this instance. In the event
+     * that the {@code other} instance is not compatible then an exception is raised
+     * before any state is modified.
+     *
+     * @param other Another set of statistics to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} is not compatible
+     * @see DoubleStatistics#combine(DoubleStatistics)
+     */
+    public GroupedDoubleStatistics combine(GroupedDoubleStatistics other) {
+        if (other.size() != 0) {
+            // All statistics of the other instance are created by the same factory
+            factory.checkCombineCompatible(other.stats[0]);
+        }
+        return combine(other, false);
+    }
+
+    /**
+     * Combines the state of the {@code other} statistics into this one.
+     *
+     * <p>If {@code adopt} is {@code true} the statistics of keys that are not present are
+     * moved from the {@code other} instance. This is only valid if the {@code other}
+     * instance is discarded after the operation.
+     *
+     * @param other Another set of statistics to be combined.
+     * @param adopt Set to {@code true} to move statistics from the {@code other} instance.
+     * @return {@code this} instance after combining {@code other}.
+     */
+    GroupedDoubleStatistics combine(GroupedDoubleStatistics other, boolean adopt) {
+        final LongIndexMap m = other.map;
+        for (int j = 0; j < m.size(); j++) {
+            final long key = m.key(j);
+            final int n = map.size();
+            final int i = map.add(key);
+            if (i == n && adopt) {
+                ensureCapacity(i + 1);
+                stats[i] = other.stats[j].setConfiguration(config);
+            } else {
+                getOrCreate(i).combine(other.stats[j]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Sets the statistics configuration options for computation of statistics.
+     * The configuration is applied to the statistics of all current and future keys.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @throws NullPointerException if the value is null
+     * @see DoubleStatistics#setConfiguration(StatisticsConfiguration)
+     */
+    public GroupedDoubleStatistics setConfiguration(StatisticsConfiguration v) {
+        config = Objects.requireNonNull(v);
+        for (int i = 0; i < map.size(); i++) {
+            stats[i].setConfiguration(v);
+        }
+        return this;
+    }
+
+    /**
+     * Gets the statistics with the specified index. The statistics are created if the
+     * index is a new key.
+     *
+     * @param i Index.
+     * @return the statistics
+     */
+    private DoubleStatistics getOrCreate(int i) {
+        if (i < stats.length && stats[i] != null) {
+            return stats[i];
+        }
+        ensureCapacity(i + 1);
+        final DoubleStatistics s = factory.create().setConfiguration(config);
+        stats[i] = s;
+        return s;
+    }
+
+    /**
+     * Ensure the capacity for the statistics.
+     *
+     * @param capacity Capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > stats.length) {
+            stats = Arrays.copyOf(stats, (int) Math.min(Integer.MAX_VALUE - 8, (long) stats.length << 1));
+        }
+    }
+}
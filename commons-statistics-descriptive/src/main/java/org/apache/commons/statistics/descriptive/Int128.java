@@ -314,4 +314,25 @@ final class Int128 {
     long hi64() {
         return hi;
     }
+
+    /**
+     * Write the state of the number to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        buffer.putLong(hi).putLong(lo);
+    }
+
+    /**
+     * Read the state of the number from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        hi = buffer.getLong();
+        lo = buffer.getLong();
+    }
 }
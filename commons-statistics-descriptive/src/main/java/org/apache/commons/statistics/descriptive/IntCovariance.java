@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigInteger;
+
+/**
+ * Computes the covariance of the available paired values. The default implementation uses the
+ * following definition of the <em>sample covariance</em>:
+ *
+ * <p>\[ \tfrac{1}{n-1} \sum_{i=1}^n (x_i-\overline{x})(y_i-\overline{y}) \]
+ *
+ * <p>where \( \overline{x} \) and \( \overline{y} \) are the sample means, and \( n \) is
+ * the number of paired samples.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>The result is zero if there is one pair of values in the data set.</li>
+ * </ul>
+ *
+ * <p>The use of the term \( n − 1 \) is called Bessel's correction. If the
+ * {@link #setBiased(boolean) biased} option is enabled the normalisation factor is
+ * changed to \( \frac{1}{n} \) for a biased estimator of the <em>sample covariance</em>.
+ *
+ * <p>The implementation uses an exact integer sum to compute the scaled (by \( n \))
+ * sum of the products of the deviations from the mean; this is normalised by the scaled
+ * correction factor.
+ *
+ * <p>\[ \frac {n \times \sum_{i=1}^n x_i y_i - \sum_{i=1}^n x_i \sum_{i=1}^n y_i}{n \times (n - 1)} \]
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>This implementation is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link #accept(int, int) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(int, int) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Covariance">Covariance (Wikipedia)</a>
+ * @see IntVariance
+ * @see IntPearsonCorrelation
+ * @since 1.4
+ */
+public final class IntCovariance implements StatisticResult, StatisticAccumulator<IntCovariance> {
+    /** Sum of the products of the paired values. */
+    private final Int128 sumXY;
+    /** Sum of the x values. */
+    private final Int128 sumX;
+    /** Sum of the y values. */
+    private final Int128 sumY;
+    /** Count of values that have been added. */
+    private long n;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Create an instance.
+     */
+    private IntCovariance() {
+        this(Int128.create(), Int128.create(), Int128.create(), 0);
+    }
+
+    /**
+     * Create an instance.
+     *
+     * @param sumXY Sum of the products of the paired values.
+     * @param sumX Sum of the x values.
+     * @param sumY Sum of the y values.
+     * @param n Count of values that have been added.
+     */
+    private IntCovariance(Int128 sumXY, Int128 sumX, Int128 sumY, int n) {
+        this.sumXY = sumXY;
+        this.sumX = sumX;
+        this.sumY = sumY;
+        this.n = n;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code IntCovariance} instance.
+     */
+    public static IntCovariance create() {
+        return new IntCovariance();
+    }
+
+    /**
+     * Returns an instance populated using the paired values {@code (x[i], y[i])}.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @return {@code IntCovariance} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     */
+    public static IntCovariance of(int[] x, int[] y) {
+        Statistics.checkPairedLength(x.length, y.length);
+        return createFromRange(x, y, 0, x.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of the paired values
+     * {@code (x[i], y[i])}.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntCovariance} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static IntCovariance ofRange(int[] x, int[] y, int from, int to) {
+        Statistics.checkPairedLength(x.length, y.length);
+        Statistics.checkFromToIndex(from, to, x.length);
+        return createFromRange(x, y, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of the paired values.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntCovariance} instance.
+     */
+    static IntCovariance createFromRange(int[] x, int[] y, int from, int to) {
+        // Arrays can be processed using a long sum of the values knowing the maximum limit
+        // for an array is 2^31 values.
+        long sx = 0;
+        long sy = 0;
+        final Int128 sxy = Int128.create();
+        for (int i = from; i < to; i++) {
+            final long a = x[i];
+            final long b = y[i];
+            sx += a;
+            sy += b;
+            sxy.add(a * b);
+        }
+        return new IntCovariance(sxy, Int128.of(sx), Int128.of(sy), to - from);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the paired values.
+     *
+     * @param x Value of the first variable.
+     * @param y Value of the second variable.
+     */
+    public void accept(int x, int y) {
+        sumXY.add((long) x * y);
+        sumX.add(x);
+        sumY.add(y);
+        n++;
+    }
+
+    /**
+     * Gets the number of paired values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the covariance of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return covariance of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return computeCovariance(sumXY, sumX, sumY, n, biased);
+    }
+
+    /**
+     * Compute the covariance.
+     *
+     * @param sumXY Sum of the products of the paired values.
+     * @param sumX Sum of the x values.
+     * @param sumY Sum of the y values.
+     * @param n Count of values that have been added.
+     * @param biased Flag to control if the statistic is biased, or should use a bias correction.
+     * @return the covariance
+     */
+    private static double computeCovariance(Int128 sumXY, Int128 sumX, Int128 sumY, long n, boolean biased) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero
+        if (n == 1) {
+            return 0;
+        }
+        final double diff = computeSPDevN(sumXY, sumX, sumY, n);
+        final long n0 = biased ? n : n - 1;
+        return diff / IntMath.unsignedMultiplyToDouble(n, n0);
+    }
+
+    /**
+     * Compute the covariance.
+     *
+     * @param sumXY Sum of the products of the paired values.
+     * @param sumX Sum of the x values.
+     * @param sumY Sum of the y values.
+     * @param n Count of values that have been added.
+     * @param biased Flag to control if the statistic is biased, or should use a bias correction.
+     * @return the covariance
+     */
+    static double computeCovariance(BigInteger sumXY, BigInteger sumX, BigInteger sumY, long n, boolean biased) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero
+        if (n == 1) {
+            return 0;
+        }
+        // Sum of products of deviations precursor: n * sum(xy) - sum(x) * sum(y)
+        // The precursor is computed in integer precision.
+        // The divide uses double precision.
+        final double diff = computeSPDevN(sumXY, sumX, sumY, n);
+        final long n0 = biased ? n : n - 1;
+        return diff / IntMath.unsignedMultiplyToDouble(n, n0);
+    }
+
+    /**
+     * Compute the sum of the products of the deviations from the mean multiplied by the count
+     * of values: {@code n * sum(xy) - sum(x) * sum(y)}.
+     *
+     * <p>This is the sum of squared deviations precursor when {@code x == y}.
+     *
+     * @param sumXY Sum of the products of the paired values.
+     * @param sumX Sum of the x values.
+     * @param sumY Sum of the y values.
+     * @param n Count of values that have been added.
+     * @return the sum of the products of the deviations precursor
+     */
+    static double computeSPDevN(BigInteger sumXY, BigInteger sumX, BigInteger sumY, long n) {
+        return sumXY.multiply(BigInteger.valueOf(n)).subtract(sumX.multiply(sumY)).doubleValue();
+    }
+
+    /**
+     * Compute the sum of the products of the deviations from the mean multiplied by the count
+     * of values: {@code n * sum(xy) - sum(x) * sum(y)}.
+     *
+     * @param sumXY Sum of the products of the paired values.
+     * @param sumX Sum of the x values.
+     * @param sumY Sum of the y values.
+     * @param n Count of values that have been added.
+     * @return the sum of the products of the deviations precursor
+     */
+    private static double computeSPDevN(Int128 sumXY, Int128 sumX, Int128 sumY, long n) {
+        // Compute the term if possible using fast integer arithmetic.
+        // 128-bit n * sum(xy) and sum(x) * sum(y) will be OK when the sums fit in a long;
+        // the magnitude of each product is below 2^126 and the difference cannot overflow.
+        if ((sumXY.hi64() | sumX.hi64() | sumY.hi64()) == 0) {
+            final long sxy = sumXY.lo64();
+            final long sx = sumX.lo64();
+            final long sy = sumY.lo64();
+            final long lo1 = sxy * n;
+            final long lo2 = sx * sy;
+            final long lo = lo1 - lo2;
+            // Two's complement 128-bit subtraction with a borrow from the low bits
+            final long hi = IntMath.multiplyHigh(sxy, n) - IntMath.multiplyHigh(sx, sy) -
+                (Long.compareUnsigned(lo1, lo2) < 0 ? 1 : 0);
+            // Convert to the Int128 representation which uses a signed low 64-bits
+            return new Int128(hi + (lo >>> 63), lo).toDouble();
+        }
+        return computeSPDevN(sumXY.toBigInteger(), sumX.toBigInteger(), sumY.toBigInteger(), n);
+    }
+
+    @Override
+    public IntCovariance combine(IntCovariance other) {
+        sumXY.add(other.sumXY);
+        sumX.add(other.sumX);
+        sumY.add(other.sumY);
+        n += other.n;
+        return this;
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the sum of the products of the deviations from the sample mean is
+     * normalised by {@code n - 1} where {@code n} is the number of paired samples. This is
+     * Bessel's correction for an unbiased estimator of the covariance of a hypothetical
+     * infinite population.
+     *
+     * <p>If {@code true} the sum of the products of the deviations is normalised by the
+     * number of paired samples {@code n}.
+     *
+     * <p>Note: This option only applies when {@code n > 1}. The covariance of {@code n = 1} is
+     * always 0.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(IntCovariance) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public IntCovariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+}
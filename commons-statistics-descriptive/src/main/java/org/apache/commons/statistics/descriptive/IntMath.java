@@ -197,6 +197,24 @@ final class IntMath {
         return (bx >>> 32) + (carry >>> 32) + ax;
     }
 
+    /**
+     * Multiply the two values as signed 64-bit longs to produce the high 64-bits
+     * of the 128-bit signed result.
+     *
+     * <p>This method computes the equivalent of {@code Math.multiplyHigh(a, b)}.
+     *
+     * <p>Note: The method {@code Math.multiplyHigh} was added in JDK 9
+     * and should be used when the source code target allows.
+     *
+     * @param value1 the first value
+     * @param value2 the second value
+     * @return the high 64-bits of the 128-bit result
+     */
+    static long multiplyHigh(long value1, long value2) {
+        // Adjust the unsigned result: subtract the other argument if an argument is negative
+        return unsignedMultiplyHigh(value1, value2) - ((value1 >> 63) & value2) - ((value2 >> 63) & value1);
+    }
+
     /**
      * Multiply the arguments as if unsigned integers to a {@code double} result.
      *
@@ -17,6 +17,7 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * Returns the minimum of the available values. Uses {@link Math#min(int, int) Math.min} as an
@@ -156,4 +157,61 @@ public final class IntMin implements IntStatistic, StatisticAccumulator<IntMin>
         accept(other.getAsInt());
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(IntMin) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.INT_MIN);
+        writeState(buffer);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code IntMin} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code IntMin}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static IntMin readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.INT_MIN);
+        final IntMin s = new IntMin();
+        s.readState(buffer);
+        return s;
+    }
+
+    /**
+     * Write the state of the statistic to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        buffer.putInt(minimum);
+    }
+
+    /**
+     * Read the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        minimum = buffer.getInt();
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigInteger;
+
+/**
+ * Computes the Pearson product-moment correlation coefficient of the available paired values:
+ *
+ * <p>\[ r = \frac{ \sum_{i=1}^n (x_i-\overline{x})(y_i-\overline{y}) }
+ *            { \sqrt{\sum_{i=1}^n (x_i-\overline{x})^2} \sqrt{\sum_{i=1}^n (y_i-\overline{y})^2} } \]
+ *
+ * <p>where \( \overline{x} \) and \( \overline{y} \) are the sample means, and \( n \) is
+ * the number of paired samples.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if less than two pairs of values are added.</li>
+ *   <li>The result is {@code NaN} if either variable has a variance of zero.</li>
+ * </ul>
+ *
+ * <p>The result is clipped to the interval {@code [-1, 1]}.
+ *
+ * <p>The implementation uses exact integer sums to compute the scaled (by \( n \))
+ * sums of the deviations from the mean:
+ *
+ * <p>\[ r = \frac{ n \sum x_i y_i - \sum x_i \sum y_i }
+ *            { \sqrt{n \sum x_i^2 - (\sum x_i)^2} \sqrt{n \sum y_i^2 - (\sum y_i)^2} } \]
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>This implementation is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link #accept(int, int) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(int, int) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Pearson_correlation_coefficient">
+ * Pearson correlation coefficient (Wikipedia)</a>
+ * @see IntCovariance
+ * @since 1.4
+ */
+public final class IntPearsonCorrelation implements StatisticResult, StatisticAccumulator<IntPearsonCorrelation> {
+    /** Sum of the products of the paired values. */
+    private final Int128 sumXY;
+    /** Sum of the x values. */
+    private final Int128 sumX;
+    /** Sum of the y values. */
+    private final Int128 sumY;
+    /** Sum of the squared x values. */
+    private final UInt128 sumXX;
+    /** Sum of the squared y values. */
+    private final UInt128 sumYY;
+    /** Count of values that have been added. */
+    private long n;
+
+    /**
+     * Create an instance.
+     */
+    private IntPearsonCorrelation() {
+        this(Int128.create(), Int128.create(), Int128.create(), UInt128.create(), UInt128.create(), 0);
+    }
+
+    /**
+     * Create an instance.
+     *
+     * @param sumXY Sum of the products of the paired values.
+     * @param sumX Sum of the x values.
+     * @param sumY Sum of the y values.
+     * @param sumXX Sum of the squared x values.
+     * @param sumYY Sum of the squared y values.
+     * @param n Count of values that have been added.
+     */
+    private IntPearsonCorrelation(Int128 sumXY, Int128 sumX, Int128 sumY,
+                                  UInt128 sumXX, UInt128 sumYY, int n) {
+        this.sumXY = sumXY;
+        this.sumX = sumX;
+        this.sumY = sumY;
+        this.sumXX = sumXX;
+        this.sumYY = sumYY;
+        this.n = n;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code IntPearsonCorrelation} instance.
+     */
+    public static IntPearsonCorrelation create() {
+        return new IntPearsonCorrelation();
+    }
+
+    /**
+     * Returns an instance populated using the paired values {@code (x[i], y[i])}.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @return {@code IntPearsonCorrelation} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     */
+    public static IntPearsonCorrelation of(int[] x, int[] y) {
+        Statistics.checkPairedLength(x.length, y.length);
+        return createFromRange(x, y, 0, x.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of the paired values
+     * {@code (x[i], y[i])}.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntPearsonCorrelation} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static IntPearsonCorrelation ofRange(int[] x, int[] y, int from, int to) {
+        Statistics.checkPairedLength(x.length, y.length);
+        Statistics.checkFromToIndex(from, to, x.length);
+        return createFromRange(x, y, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of the paired values.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntPearsonCorrelation} instance.
+     */
+    static IntPearsonCorrelation createFromRange(int[] x, int[] y, int from, int to) {
+        // Arrays can be processed using specialised counts knowing the maximum limit
+        // for an array is 2^31 values.
+        long sx = 0;
+        long sy = 0;
+        final Int128 sxy = Int128.create();
+        final UInt96 sxx = UInt96.create();
+        final UInt96 syy = UInt96.create();
+        for (int i = from; i < to; i++) {
+            final long a = x[i];
+            final long b = y[i];
+            sx += a;
+            sy += b;
+            sxy.add(a * b);
+            sxx.addPositive(a * a);
+            syy.addPositive(b * b);
+        }
+        return new IntPearsonCorrelation(sxy, Int128.of(sx), Int128.of(sy),
+            UInt128.of(sxx), UInt128.of(syy), to - from);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the paired values.
+     *
+     * @param x Value of the first variable.
+     * @param y Value of the second variable.
+     */
+    public void accept(int x, int y) {
+        sumXY.add((long) x * y);
+        sumX.add(x);
+        sumY.add(y);
+        sumXX.addPositive((long) x * x);
+        sumYY.addPositive((long) y * y);
+        n++;
+    }
+
+    /**
+     * Gets the number of paired values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the correlation of all input values.
+     *
+     * <p>When less than two pairs of values have been added, the result is {@code NaN}.
+     *
+     * @return correlation of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        final BigInteger sx = sumX.toBigInteger();
+        final BigInteger sy = sumY.toBigInteger();
+        // The scaling by n of each precursor cancels
+        return PearsonCorrelation.computeCorrelation(
+            IntCovariance.computeSPDevN(sumXY.toBigInteger(), sx, sy, n),
+            IntCovariance.computeSPDevN(sumXX.toBigInteger(), sx, sx, n),
+            IntCovariance.computeSPDevN(sumYY.toBigInteger(), sy, sy, n));
+    }
+
+    @Override
+    public IntPearsonCorrelation combine(IntPearsonCorrelation other) {
+        sumXY.add(other.sumXY);
+        sumX.add(other.sumX);
+        sumY.add(other.sumY);
+        sumXX.add(other.sumXX);
+        sumYY.add(other.sumYY);
+        n += other.n;
+        return this;
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.DoubleConsumer;
@@ -88,6 +89,8 @@ public final class IntStatistics implements IntConsumer {
         private int momentOrder;
         /** Configuration options for computation of statistics. */
         private StatisticsConfiguration config = StatisticsConfiguration.withDefaults();
+        /** Set to {@code true} to compute statistics from an array in parallel. */
+        private boolean parallel;
 
         /**
          * Create an instance.
@@ -170,6 +173,31 @@ public final class IntStatistics implements IntConsumer {
             return this;
         }
 
+        /**
+         * Sets the parallel evaluation mode used when building an instance from an array of values.
+         *
+         * <p>If {@code true} a large array is split into chunks that are processed using the
+         * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}. A partial
+         * {@code IntStatistics} is built from each chunk using the current configuration and
+         * the partial results are {@link IntStatistics#combine(IntStatistics) combined}. Arrays that are too small
+         * to benefit from parallel processing are evaluated sequentially.
+         *
+         * <p>Note: The result of a parallel evaluation may be different from the
+         * sequential evaluation due to the alternative summation order of the
+         * values. The result of a parallel evaluation of the same values is
+         * deterministic given the same common pool parallelism.
+         *
+         * <p>The default is {@code false}.
+         *
+         * @param v Value.
+         * @return the builder
+         * @since 1.4
+         */
+        public Builder setParallel(boolean v) {
+            parallel = v;
+            return this;
+        }
+
         /**
          * Builds an {@code IntStatistics} instance.
          *
@@ -191,7 +219,7 @@ public final class IntStatistics implements IntConsumer {
          */
         public IntStatistics build(int... values) {
             Objects.requireNonNull(values, "values");
-            return create(values, 0, values.length);
+            return evaluate(values, 0, values.length);
         }
 
         /**
@@ -210,6 +238,24 @@ public final class IntStatistics implements IntConsumer {
          */
         public IntStatistics build(int[] values, int from, int to) {
             Statistics.checkFromToIndex(from, to, values.length);
+            return evaluate(values, from, to);
+        }
+
+        /**
+         * Builds a {@code IntStatistics} instance using the input {@code values}
+         * using the configured evaluation mode.
+         *
+         * <p>Warning: No range checks are performed.
+         *
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code IntStatistics} instance.
+         */
+        private IntStatistics evaluate(int[] values, int from, int to) {
+            if (parallel) {
+                return RangeTask.invoke(this::create, IntStatistics::combine, values, from, to);
+            }
             return create(values, from, to);
         }
 
@@ -423,6 +469,16 @@ public final class IntStatistics implements IntConsumer {
      * IntStatistics stats = Arrays.stream(data).collect(collector);
      * }</pre>
      *
+     * <p>The builder can evaluate a single large array of {@code int[]} data in parallel:
+     *
+     * <pre>
+     * int[] data = ...
+     * IntStatistics stats = IntStatistics.builder(
+     *     Statistic.MIN, Statistic.MAX, Statistic.VARIANCE)
+     *     .setParallel(true)
+     *     .build(data);
+     * </pre>
+     *
      * @param statistics Statistics to compute.
      * @return the builder
      * @throws IllegalArgumentException if there are no {@code statistics} to compute.
@@ -769,6 +825,82 @@ public final class IntStatistics implements IntConsumer {
         return this;
     }
 
+
+    /**
+     * Writes the state of the statistics to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance computes the same statistics as
+     * this instance and can be combined with other compatible instances.
+     *
+     * <p>The state of each statistic is written exactly. The exception is an extended
+     * precision sum of {@code double} values which is written as the exact value of the
+     * sum in a normalized form; this may not be identical to the internal representation.
+     *
+     * <p>The {@link #setConfiguration(StatisticsConfiguration) configuration} is not part
+     * of the state.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.INT_STATISTICS);
+        final int flags =
+            StateCodec.flag(min, StateCodec.FLAG_MIN) |
+            StateCodec.flag(max, StateCodec.FLAG_MAX) |
+            StateCodec.flag(sum, StateCodec.FLAG_SUM) |
+            StateCodec.flag(product, StateCodec.FLAG_PRODUCT) |
+            StateCodec.flag(sumOfSquares, StateCodec.FLAG_SUM_OF_SQUARES) |
+            StateCodec.flag(sumOfLogs, StateCodec.FLAG_SUM_OF_LOGS);
+        buffer.putLong(count)
+            .put((byte) flags)
+            .put((byte) StateCodec.getOrder(moment));
+        StateCodec.write(buffer, min, IntMin::writeState);
+        StateCodec.write(buffer, max, IntMax::writeState);
+        StateCodec.writeMoment(buffer, moment);
+        StateCodec.write(buffer, sum, IntSum::writeState);
+        StateCodec.write(buffer, product, Product::writeState);
+        StateCodec.write(buffer, sumOfSquares, IntSumOfSquares::writeState);
+        StateCodec.write(buffer, sumOfLogs, SumOfLogs::writeState);
+    }
+
+    /**
+     * Reads the state of the statistics from the {@code buffer}.
+     *
+     * <p>The returned instance uses the default
+     * {@link #setConfiguration(StatisticsConfiguration) configuration}.
+     *
+     * @param buffer Buffer.
+     * @return the instance
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code IntStatistics}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static IntStatistics readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.INT_STATISTICS);
+        final long count = buffer.getLong();
+        final int flags = buffer.get();
+        final int order = buffer.get();
+        StateCodec.checkStatistics(flags, order);
+        final IntMin min = StateCodec.read(buffer, flags, StateCodec.FLAG_MIN, IntMin::create, IntMin::readState);
+        final IntMax max = StateCodec.read(buffer, flags, StateCodec.FLAG_MAX, IntMax::create, IntMax::readState);
+        final FirstMoment moment = StateCodec.readMoment(buffer, order);
+        final IntSum sum = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM, IntSum::create, IntSum::readState);
+        final Product product = StateCodec.read(buffer, flags, StateCodec.FLAG_PRODUCT,
+            Product::create, Product::readState);
+        final IntSumOfSquares sumOfSquares = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM_OF_SQUARES,
+            IntSumOfSquares::create, IntSumOfSquares::readState);
+        final SumOfLogs sumOfLogs = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM_OF_LOGS,
+            SumOfLogs::create, SumOfLogs::readState);
+        return new IntStatistics(count, min, max, moment, sum, product, sumOfSquares, sumOfLogs,
+            StatisticsConfiguration.withDefaults());
+    }
+
     /**
      * Sets the statistics configuration.
      *
@@ -17,6 +17,7 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * Returns the sum of the squares of the available values. Uses the following definition:
@@ -248,4 +249,61 @@ public final class IntSumOfSquares implements IntStatistic, StatisticAccumulator
         sumSq.add(other.sumSq);
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(IntSumOfSquares) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.INT_SUM_OF_SQUARES);
+        writeState(buffer);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code IntSumOfSquares} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code IntSumOfSquares}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static IntSumOfSquares readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.INT_SUM_OF_SQUARES);
+        final IntSumOfSquares s = new IntSumOfSquares();
+        s.readState(buffer);
+        return s;
+    }
+
+    /**
+     * Write the state of the statistic to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        sumSq.writeState(buffer);
+    }
+
+    /**
+     * Read the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        sumSq.readState(buffer);
+    }
 }
@@ -17,6 +17,7 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * Computes the variance of the available values. The default implementation uses the
@@ -327,4 +328,47 @@ public final class IntVariance implements IntStatistic, StatisticAccumulator<Int
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(IntVariance) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * <p>The {@link #setBiased(boolean) biased} flag is not part of the state.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.INT_VARIANCE);
+        sumSq.writeState(buffer);
+        sum.writeState(buffer);
+        buffer.putLong(n);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code IntVariance} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code IntVariance}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static IntVariance readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.INT_VARIANCE);
+        final IntVariance v = new IntVariance();
+        v.sumSq.readState(buffer);
+        v.sum.readState(buffer);
+        v.n = buffer.getLong();
+        return v;
+    }
 }
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+
+/**
+ * Returns the interquartile range (IQR) of the available values.
+ *
+ * <p>The IQR is the difference between the upper and lower quartiles:
+ *
+ * <p>\[ \operatorname{IQR} = Q_3 - Q_1 \]
+ *
+ * <p>where \( Q_1 \) and \( Q_3 \) are the {@linkplain Quantile quantiles} at
+ * probabilities 0.25 and 0.75.
+ *
+ * <ul>
+ * <li>The result is {@code NaN} if {@code n = 0}.</li>
+ * <li>The result is zero if {@code n = 1} and the value is finite.</li>
+ * </ul>
+ *
+ * <p>Both quartiles are computed from a single selection of the order statistics
+ * required for interpolation. The options to configure the copy behaviour,
+ * {@link NaNPolicy} and {@link EstimationMethod} have the same effect as the
+ * options of {@link Quantile}.
+ *
+ * <p>Instances of this class are immutable and thread-safe.
+ *
+ * @see #with(NaNPolicy)
+ * @see Quantile
+ * @see <a href="https://en.wikipedia.org/wiki/Interquartile_range">Interquartile range (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class InterquartileRange {
+    /** Default instance. */
+    private static final InterquartileRange DEFAULT = new InterquartileRange(Quantile.withDefaults());
+    /** Probabilities of the lower and upper quartiles. */
+    private static final double[] QUARTILES = {0.25, 0.75};
+
+    /** Quantile implementation. */
+    private final Quantile quantile;
+
+    /**
+     * @param quantile Quantile implementation.
+     */
+    private InterquartileRange(Quantile quantile) {
+        this.quantile = quantile;
+    }
+
+    /**
+     * Return a new instance with the default options.
+     *
+     * <ul>
+     * <li>{@linkplain #withCopy(boolean) Copy = false}</li>
+     * <li>{@linkplain #with(NaNPolicy) NaN policy = include}</li>
+     * <li>{@linkplain #with(EstimationMethod) Estimation method = HF8}</li>
+     * </ul>
+     *
+     * <p>Note: The default options configure for processing in-place and including
+     * {@code NaN} values in the data. This is the most efficient mode and has the
+     * smallest memory consumption.
+     *
+     * @return the interquartile range implementation
+     * @see #withCopy(boolean)
+     * @see #with(NaNPolicy)
+     * @see #with(EstimationMethod)
+     */
+    public static InterquartileRange withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return an instance with the configured copy behaviour. If {@code false} then
+     * the input array will be modified by the call to evaluate the interquartile range;
+     * otherwise the computation uses a copy of the data.
+     *
+     * @param v Value.
+     * @return an instance
+     * @see Quantile#withCopy(boolean)
+     */
+    public InterquartileRange withCopy(boolean v) {
+        return new InterquartileRange(quantile.withCopy(v));
+    }
+
+    /**
+     * Return an instance with the configured {@link NaNPolicy}.
+     *
+     * <p>The result is {@code NaN} if either quartile is {@code NaN}.
+     *
+     * @param v Value.
+     * @return an instance
+     * @see Quantile#with(NaNPolicy)
+     */
+    public InterquartileRange with(NaNPolicy v) {
+        return new InterquartileRange(quantile.with(v));
+    }
+
+    /**
+     * Return an instance with the configured {@link EstimationMethod}.
+     *
+     * @param v Value.
+     * @return an instance
+     * @see Quantile#with(EstimationMethod)
+     */
+    public InterquartileRange with(EstimationMethod v) {
+        return new InterquartileRange(quantile.with(v));
+    }
+
+    /**
+     * Evaluate the interquartile range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the interquartile range
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #with(NaNPolicy)
+     */
+    public double evaluate(double[] values) {
+        return difference(quantile.evaluate(values, QUARTILES));
+    }
+
+    /**
+     * Evaluate the interquartile range of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the interquartile range
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #with(NaNPolicy)
+     */
+    public double evaluateRange(double[] values, int from, int to) {
+        return difference(quantile.evaluateRange(values, from, to, QUARTILES));
+    }
+
+    /**
+     * Evaluate the interquartile range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the interquartile range
+     */
+    public double evaluate(int[] values) {
+        return difference(quantile.evaluate(values, QUARTILES));
+    }
+
+    /**
+     * Evaluate the interquartile range of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the interquartile range
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public double evaluateRange(int[] values, int from, int to) {
+        return difference(quantile.evaluateRange(values, from, to, QUARTILES));
+    }
+
+    /**
+     * Evaluate the interquartile range.
+     *
+     * <p>The result is the difference of the quartiles computed as {@code double} values.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the interquartile range
+     */
+    public double evaluate(long[] values) {
+        return difference(quantile.evaluate(values, QUARTILES));
+    }
+
+    /**
+     * Evaluate the interquartile range of the specified range.
+     *
+     * <p>The result is the difference of the quartiles computed as {@code double} values.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the interquartile range
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public double evaluateRange(long[] values, int from, int to) {
+        return difference(quantile.evaluateRange(values, from, to, QUARTILES));
+    }
+
+    /**
+     * Compute the difference of the upper and lower quartiles.
+     *
+     * @param q Quartiles.
+     * @return the difference
+     */
+    private static double difference(double[] q) {
+        return q[1] - q[0];
+    }
+
+    /**
+     * Compute the difference of the upper and lower quartiles.
+     *
+     * @param q Quartiles.
+     * @return the difference
+     */
+    private static double difference(StatisticResult[] q) {
+        return q[1].getAsDouble() - q[0].getAsDouble();
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+
 /**
  * Computes the kurtosis of the available values. The kurtosis is defined as:
  *
@@ -296,4 +298,43 @@ public final class Kurtosis implements DoubleStatistic, StatisticAccumulator<Kur
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(Kurtosis) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * <p>The {@link #setBiased(boolean) biased} flag is not part of the state.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.KURTOSIS);
+        sq.writeState(buffer);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code Kurtosis} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code Kurtosis}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static Kurtosis readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.KURTOSIS);
+        final SumOfFourthDeviations sq = new SumOfFourthDeviations();
+        sq.readState(buffer);
+        return new Kurtosis(sq);
+    }
 }
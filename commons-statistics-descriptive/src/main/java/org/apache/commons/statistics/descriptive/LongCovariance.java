@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigInteger;
+
+/**
+ * Computes the covariance of the available paired values. The default implementation uses the
+ * following definition of the <em>sample covariance</em>:
+ *
+ * <p>\[ \tfrac{1}{n-1} \sum_{i=1}^n (x_i-\overline{x})(y_i-\overline{y}) \]
+ *
+ * <p>where \( \overline{x} \) and \( \overline{y} \) are the sample means, and \( n \) is
+ * the number of paired samples.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>The result is zero if there is one pair of values in the data set.</li>
+ * </ul>
+ *
+ * <p>The use of the term \( n − 1 \) is called Bessel's correction. If the
+ * {@link #setBiased(boolean) biased} option is enabled the normalisation factor is
+ * changed to \( \frac{1}{n} \) for a biased estimator of the <em>sample covariance</em>.
+ *
+ * <p>The implementation uses an exact integer sum to compute the scaled (by \( n \))
+ * sum of the products of the deviations from the mean; this is normalised by the scaled
+ * correction factor.
+ *
+ * <p>\[ \frac {n \times \sum_{i=1}^n x_i y_i - \sum_{i=1}^n x_i \sum_{i=1}^n y_i}{n \times (n - 1)} \]
+ *
+ * <p>The 128-bit products of the paired values are accumulated as separate unsigned sums
+ * of the positive and negative products.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>This implementation is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link #accept(long, long) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(long, long) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Covariance">Covariance (Wikipedia)</a>
+ * @see LongVariance
+ * @see LongPearsonCorrelation
+ * @since 1.4
+ */
+public final class LongCovariance implements StatisticResult, StatisticAccumulator<LongCovariance> {
+    /** Sum of the positive products of the paired values. */
+    private final UInt192 sumPositiveXY;
+    /** Sum of the magnitude of the negative products of the paired values. */
+    private final UInt192 sumNegativeXY;
+    /** Sum of the x values. */
+    private final Int128 sumX;
+    /** Sum of the y values. */
+    private final Int128 sumY;
+    /** Count of values that have been added. */
+    private long n;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Create an instance.
+     */
+    private LongCovariance() {
+        this(UInt192.create(), UInt192.create(), Int128.create(), Int128.create(), 0);
+    }
+
+    /**
+     * Create an instance.
+     *
+     * @param sumPositiveXY Sum of the positive products of the paired values.
+     * @param sumNegativeXY Sum of the magnitude of the negative products of the paired values.
+     * @param sumX Sum of the x values.
+     * @param sumY Sum of the y values.
+     * @param n Count of values that have been added.
+     */
+    private LongCovariance(UInt192 sumPositiveXY, UInt192 sumNegativeXY, Int128 sumX, Int128 sumY, int n) {
+        this.sumPositiveXY = sumPositiveXY;
+        this.sumNegativeXY = sumNegativeXY;
+        this.sumX = sumX;
+        this.sumY = sumY;
+        this.n = n;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code LongCovariance} instance.
+     */
+    public static LongCovariance create() {
+        return new LongCovariance();
+    }
+
+    /**
+     * Returns an instance populated using the paired values {@code (x[i], y[i])}.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @return {@code LongCovariance} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     */
+    public static LongCovariance of(long[] x, long[] y) {
+        Statistics.checkPairedLength(x.length, y.length);
+        return createFromRange(x, y, 0, x.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of the paired values
+     * {@code (x[i], y[i])}.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LongCovariance} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static LongCovariance ofRange(long[] x, long[] y, int from, int to) {
+        Statistics.checkPairedLength(x.length, y.length);
+        Statistics.checkFromToIndex(from, to, x.length);
+        return createFromRange(x, y, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of the paired values.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LongCovariance} instance.
+     */
+    static LongCovariance createFromRange(long[] x, long[] y, int from, int to) {
+        final Int128 sx = Int128.create();
+        final Int128 sy = Int128.create();
+        final UInt192 sxyp = UInt192.create();
+        final UInt192 sxyn = UInt192.create();
+        for (int i = from; i < to; i++) {
+            final long a = x[i];
+            final long b = y[i];
+            sx.add(a);
+            sy.add(b);
+            addProduct(sxyp, sxyn, a, b);
+        }
+        return new LongCovariance(sxyp, sxyn, sx, sy, to - from);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the paired values.
+     *
+     * @param x Value of the first variable.
+     * @param y Value of the second variable.
+     */
+    public void accept(long x, long y) {
+        addProduct(sumPositiveXY, sumNegativeXY, x, y);
+        sumX.add(x);
+        sumY.add(y);
+        n++;
+    }
+
+    /**
+     * Adds the product {@code x * y} to the sum of the positive or negative products.
+     *
+     * @param positive Sum of the positive products.
+     * @param negative Sum of the magnitude of the negative products.
+     * @param x Value of the first variable.
+     * @param y Value of the second variable.
+     */
+    static void addProduct(UInt192 positive, UInt192 negative, long x, long y) {
+        // Note: Math.abs(Long.MIN_VALUE) is 2^63 as an unsigned value
+        if ((x ^ y) < 0) {
+            negative.addUnsignedProduct(Math.abs(x), Math.abs(y));
+        } else {
+            positive.addUnsignedProduct(Math.abs(x), Math.abs(y));
+        }
+    }
+
+    /**
+     * Compute the sum of the products of the paired values.
+     *
+     * @param positive Sum of the positive products.
+     * @param negative Sum of the magnitude of the negative products.
+     * @return the sum
+     */
+    static BigInteger sumOfProducts(UInt192 positive, UInt192 negative) {
+        return positive.toBigInteger().subtract(negative.toBigInteger());
+    }
+
+    /**
+     * Gets the number of paired values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the covariance of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return covariance of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return IntCovariance.computeCovariance(sumOfProducts(sumPositiveXY, sumNegativeXY),
+            sumX.toBigInteger(), sumY.toBigInteger(), n, biased);
+    }
+
+    @Override
+    public LongCovariance combine(LongCovariance other) {
+        sumPositiveXY.add(other.sumPositiveXY);
+        sumNegativeXY.add(other.sumNegativeXY);
+        sumX.add(other.sumX);
+        sumY.add(other.sumY);
+        n += other.n;
+        return this;
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the sum of the products of the deviations from the sample mean is
+     * normalised by {@code n - 1} where {@code n} is the number of paired samples. This is
+     * Bessel's correction for an unbiased estimator of the covariance of a hypothetical
+     * infinite population.
+     *
+     * <p>If {@code true} the sum of the products of the deviations is normalised by the
+     * number of paired samples {@code n}.
+     *
+     * <p>Note: This option only applies when {@code n > 1}. The covariance of {@code n = 1} is
+     * always 0.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(LongCovariance) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public LongCovariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Computes quantiles of the available non-negative values using a histogram with a
+ * fixed relative error.
+ *
+ * <p>Values are counted in buckets with a layout based on the HdrHistogram. The
+ * histogram is configured with the highest trackable value and the number of
+ * significant decimal digits of precision. Values are recorded exactly up to
+ * {@code 2 * 10^digits}; above this a value is recorded in a bucket with a width
+ * that is a power of 2 and is at most a {@code 10^-digits} fraction of the value.
+ * The cost to record a value is {@code O(1)} and the memory footprint is constant.
+ *
+ * <p>The quantile is computed using the real-valued position of the quantile in the
+ * sorted values defined by the configured {@link Quantile.EstimationMethod}. The value
+ * at a position is the midpoint of the bucket containing the position, clipped to the
+ * observed range of the values. The first and last positions are the exact minimum
+ * and maximum values.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>The result is exact if all values are below {@code 2 * 10^digits}. In this case
+ *       the result is identical to {@link Quantile} using the same estimation method.</li>
+ * </ul>
+ *
+ * <p>The result of {@link #getAsDouble()} is the median. Other quantiles are
+ * available using {@link #getQuantile(double)}.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p>This class is designed to work with (though does not require)
+ * {@linkplain java.util.stream streams}.
+ *
+ * <p><strong>This implementation is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link java.util.function.LongConsumer#accept(long) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.LongConsumer#accept(long) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see Quantile
+ * @see <a href="https://github.com/HdrHistogram/HdrHistogram">HdrHistogram</a>
+ * @since 1.4
+ */
+public final class LongHistogram implements LongStatistic, IntConsumer, StatisticAccumulator<LongHistogram> {
+    /** Maximum number of significant digits. */
+    private static final int MAX_DIGITS = 5;
+    /** Probability for the median. */
+    private static final double MEDIAN = 0.5;
+    /** Message for a value out of range. */
+    private static final String VALUE_OUT_OF_RANGE = "Value out of range: ";
+
+    /** The number of significant decimal digits. */
+    private final int significantDigits;
+    /** The highest trackable value. */
+    private final long highestTrackableValue;
+    /** Log2 of half the number of sub-buckets in each bucket. */
+    private final int subBucketHalfCountMagnitude;
+    /** Mask for the bits of a value stored in the first bucket. */
+    private final long subBucketMask;
+    /** Base value used to compute the bucket index from the leading zeros of a value. */
+    private final int leadingZeroCountBase;
+    /** Counts of each bucket. */
+    private final long[] counts;
+    /** Count of values that have been added. */
+    private long n;
+    /** Minimum of the values. */
+    private long min = Long.MAX_VALUE;
+    /** Maximum of the values. */
+    private long max = Long.MIN_VALUE;
+    /** Estimation method used to determine the position of the quantile. */
+    private Quantile.EstimationMethod estimationMethod = Quantile.EstimationMethod.HF8;
+
+    /**
+     * Create an instance.
+     *
+     * @param highestTrackableValue Highest trackable value.
+     * @param significantDigits Number of significant decimal digits.
+     */
+    private LongHistogram(long highestTrackableValue, int significantDigits) {
+        this.significantDigits = significantDigits;
+        this.highestTrackableValue = highestTrackableValue;
+        // Largest value with single unit resolution
+        long largest = 2;
+        for (int i = 0; i < significantDigits; i++) {
+            largest *= 10;
+        }
+        // ceil(log2(largest)) - 1
+        subBucketHalfCountMagnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(largest - 1);
+        subBucketMask = (1L << (subBucketHalfCountMagnitude + 1)) - 1;
+        leadingZeroCountBase = Long.SIZE - 1 - subBucketHalfCountMagnitude;
+        counts = new long[index(highestTrackableValue) + 1];
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The histogram can record values in the range {@code [0, highestTrackableValue]}.
+     * The number of significant digits must be in {@code [0, 5]}.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param highestTrackableValue Highest trackable value.
+     * @param significantDigits Number of significant decimal digits.
+     * @return {@code LongHistogram} instance.
+     * @throws IllegalArgumentException if {@code highestTrackableValue < 1} or the
+     * number of significant digits is not in {@code [0, 5]}
+     */
+    public static LongHistogram create(long highestTrackableValue, int significantDigits) {
+        if (highestTrackableValue < 1) {
+            throw new IllegalArgumentException("Invalid highest trackable value: " + highestTrackableValue);
+        }
+        if (significantDigits < 0 || significantDigits > MAX_DIGITS) {
+            throw new IllegalArgumentException("Invalid significant digits: " + significantDigits);
+        }
+        return new LongHistogram(highestTrackableValue, significantDigits);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     * @throws IllegalArgumentException if the value is not in the range
+     * {@code [0, highestTrackableValue]}
+     */
+    @Override
+    public void accept(long value) {
+        if (value < 0 || value > highestTrackableValue) {
+            throw new IllegalArgumentException(VALUE_OUT_OF_RANGE + value);
+        }
+        counts[index(value)]++;
+        n++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     * @throws IllegalArgumentException if the value is not in the range
+     * {@code [0, highestTrackableValue]}
+     */
+    @Override
+    public void accept(int value) {
+        accept((long) value);
+    }
+
+    /**
+     * Gets the number of values that have been added.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the median of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return median of all values.
+     * @see #getQuantile(double)
+     */
+    @Override
+    public double getAsDouble() {
+        return compute(MEDIAN).getAsDouble();
+    }
+
+    /**
+     * Gets the median of all input values.
+     *
+     * <p>The {@code long} value is the nearest whole number to the result, with ties
+     * rounding towards positive infinity.
+     *
+     * @return median of all values.
+     * @throws ArithmeticException if no values have been added
+     * @see #getQuantile(double)
+     */
+    @Override
+    public long getAsLong() {
+        return compute(MEDIAN).getAsLong();
+    }
+
+    /**
+     * Gets the {@code p}-th quantile of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * <p>The {@code long} value of the result is the nearest whole number to the
+     * interpolated result, with ties rounding towards positive infinity.
+     *
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public StatisticResult getQuantile(double p) {
+        Quantile.checkProbability(p);
+        return compute(p);
+    }
+
+    /**
+     * Gets the {@code p}-th quantiles of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probabilities for the quantiles to compute.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * or no probabilities are specified.
+     */
+    public StatisticResult[] getQuantiles(double... p) {
+        Quantile.checkProbabilities(p);
+        final StatisticResult[] q = new StatisticResult[p.length];
+        for (int k = 0; k < p.length; k++) {
+            q[k] = compute(p[k]);
+        }
+        return q;
+    }
+
+    /**
+     * Compute the {@code p}-th quantile.
+     *
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     */
+    private StatisticResult compute(double p) {
+        if (n == 0) {
+            return () -> Double.NaN;
+        }
+        final double pos = estimationMethod.index(p, n);
+        final long ip = (long) pos;
+        // Find the bucket containing rank ip
+        int i = 0;
+        long cumulative = counts[0];
+        while (cumulative <= ip) {
+            cumulative += counts[++i];
+        }
+        final long v1 = valueAt(ip, i);
+        if (pos > ip) {
+            // Find the bucket containing rank ip + 1
+            while (cumulative <= ip + 1) {
+                cumulative += counts[++i];
+            }
+            return Interpolation.interpolate(v1, valueAt(ip + 1, i), pos - ip);
+        }
+        return Statistics.createStatisticResult(v1);
+    }
+
+    /**
+     * Gets the value representing the specified rank.
+     *
+     * @param rank Rank in {@code [0, n)}.
+     * @param index Index of the bucket containing the rank.
+     * @return the value
+     */
+    private long valueAt(long rank, int index) {
+        if (rank == 0) {
+            return min;
+        }
+        if (rank == n - 1) {
+            return max;
+        }
+        // Midpoint of the bucket, clipped to the observed range
+        int bucket = (index >> subBucketHalfCountMagnitude) - 1;
+        long subBucket = (index & (subBucketMask >> 1)) + (1L << subBucketHalfCountMagnitude);
+        if (bucket < 0) {
+            subBucket -= 1L << subBucketHalfCountMagnitude;
+            bucket = 0;
+        }
+        final long lower = subBucket << bucket;
+        final long mid = lower + ((1L << bucket) >>> 1);
+        return Math.max(min, Math.min(max, mid));
+    }
+
+    /**
+     * Gets the index of the bucket for the value.
+     *
+     * @param value Value.
+     * @return the index
+     */
+    private int index(long value) {
+        final int bucket = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        final int subBucket = (int) (value >>> bucket);
+        return (bucket << subBucketHalfCountMagnitude) + subBucket;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the {@code other} histogram has a different
+     * number of significant digits, or contains values above the highest trackable value
+     * of this histogram
+     */
+    @Override
+    public LongHistogram combine(LongHistogram other) {
+        if (other.significantDigits != significantDigits) {
+            throw new IllegalArgumentException("Incompatible significant digits: " +
+                other.significantDigits + " != " + significantDigits);
+        }
+        if (other.n != 0) {
+            if (other.max > highestTrackableValue) {
+                throw new IllegalArgumentException(VALUE_OUT_OF_RANGE + other.max);
+            }
+            // The bucket layout only depends on the significant digits
+            final long[] c = other.counts;
+            for (int i = index(other.max); i >= 0; i--) {
+                counts[i] += c[i];
+            }
+            n += other.n;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the {@link Quantile.EstimationMethod} used to determine the position of the
+     * quantile in the sorted values. The default is
+     * {@link Quantile.EstimationMethod#HF8 HF8}.
+     *
+     * <p>This only controls the final computation of the statistic. The value will not
+     * affect compatibility between instances during a
+     * {@link #combine(LongHistogram) combine} operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @throws NullPointerException if the value is null
+     */
+    public LongHistogram setEstimationMethod(Quantile.EstimationMethod v) {
+        estimationMethod = Objects.requireNonNull(v);
+        return this;
+    }
+}
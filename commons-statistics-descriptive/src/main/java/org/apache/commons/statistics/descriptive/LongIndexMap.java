@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+
+/**
+ * Maps {@code long} keys to a dense index in {@code [0, size)}. The index of each
+ * key is assigned in the order the keys are added.
+ *
+ * <p>The map uses open addressing with linear probing into a table of primitive values.
+ * The table stores the index of the key plus one; zero marks an empty slot. All
+ * {@code long} values are supported as keys; {@code int} keys are stored by widening.
+ *
+ * @since 1.4
+ */
+final class LongIndexMap {
+    /** Minimum size of the hash table. Must be a power of 2. */
+    private static final int MIN_TABLE_SIZE = 16;
+    /** Maximum size of the hash table. */
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    /** The golden ratio scaled to 32-bits. Used to mix the hash bits. */
+    private static final int PHI = 0x9e3779b9;
+
+    /** Keys stored by index. */
+    private long[] keys;
+    /** Hash table of the index of each key plus one. */
+    private int[] table;
+    /** Number of keys. */
+    private int size;
+
+    /**
+     * Create an instance.
+     *
+     * @param capacity Expected number of keys.
+     */
+    LongIndexMap(int capacity) {
+        // Maximum load factor of 0.5
+        final int length = tableSize(capacity);
+        table = new int[length];
+        keys = new long[length >>> 1];
+    }
+
+    /**
+     * Gets the number of keys.
+     *
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the key with the specified index.
+     *
+     * @param index Index in {@code [0, size)}.
+     * @return the key
+     */
+    long key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Gets a copy of the keys in order of the index.
+     *
+     * @return the keys
+     */
+    long[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Gets the index of the key.
+     *
+     * @param key Key.
+     * @return the index, or -1 if the key is not present
+     */
+    int indexOf(long key) {
+        final int[] t = table;
+        final int mask = t.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            final int e = t[i];
+            if (e == 0) {
+                return -1;
+            }
+            if (keys[e - 1] == key) {
+                return e - 1;
+            }
+        }
+    }
+
+    /**
+     * Adds the key if not present and returns its index. A new key is assigned
+     * the index {@code size - 1} after the addition.
+     *
+     * @param key Key.
+     * @return the index
+     * @throws IllegalStateException if the map is full
+     */
+    int add(long key) {
+        final int[] t = table;
+        final int mask = t.length - 1;
+        int i = hash(key) & mask;
+        for (;; i = (i + 1) & mask) {
+            final int e = t[i];
+            if (e == 0) {
+                break;
+            }
+            if (keys[e - 1] == key) {
+                return e - 1;
+            }
+        }
+        final int index = size;
+        if (index == keys.length) {
+            grow();
+            return add(key);
+        }
+        keys[index] = key;
+        t[i] = ++size;
+        return index;
+    }
+
+    /**
+     * Remove all keys.
+     */
+    void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    /**
+     * Double the size of the hash table and rehash the keys.
+     *
+     * @throws IllegalStateException if the map is full
+     */
+    private void grow() {
+        final int length = table.length;
+        if (length == MAX_TABLE_SIZE) {
+            throw new IllegalStateException("Map is full: " + size);
+        }
+        final int[] t = new int[length << 1];
+        final int mask = t.length - 1;
+        for (int j = 0; j < size; j++) {
+            int i = hash(keys[j]) & mask;
+            while (t[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            t[i] = j + 1;
+        }
+        table = t;
+        keys = Arrays.copyOf(keys, length);
+    }
+
+    /**
+     * Gets the size of the hash table for the expected number of keys.
+     * This is a power of 2 with a load factor of at most 0.5.
+     *
+     * @param capacity Expected number of keys.
+     * @return the table size
+     */
+    private static int tableSize(int capacity) {
+        if (capacity >= MAX_TABLE_SIZE >>> 1) {
+            return MAX_TABLE_SIZE;
+        }
+        return Math.max(MIN_TABLE_SIZE, Integer.highestOneBit(Math.max(1, capacity << 1) - 1) << 1);
+    }
+
+    /**
+     * Compute the hash of the key. The upper and lower 32-bits are combined and the
+     * bits are mixed so that sequential keys are distributed across the table.
+     *
+     * @param key Key.
+     * @return the hash
+     */
+    private static int hash(long key) {
+        final int h = Long.hashCode(key) * PHI;
+        return h ^ (h >>> 16);
+    }
+}
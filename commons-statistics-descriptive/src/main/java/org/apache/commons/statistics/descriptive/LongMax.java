@@ -17,6 +17,7 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * Returns the maximum of the available values. Uses {@link Math#max(long, long) Math.max} as an
@@ -165,4 +166,61 @@ public final class LongMax implements LongStatistic, StatisticAccumulator<LongMa
         accept(other.getAsLong());
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(LongMax) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.LONG_MAX);
+        writeState(buffer);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code LongMax} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code LongMax}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static LongMax readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.LONG_MAX);
+        final LongMax s = new LongMax();
+        s.readState(buffer);
+        return s;
+    }
+
+    /**
+     * Write the state of the statistic to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        buffer.putLong(maximum);
+    }
+
+    /**
+     * Read the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        maximum = buffer.getLong();
+    }
 }
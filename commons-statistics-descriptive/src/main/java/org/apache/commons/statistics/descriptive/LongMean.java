@@ -16,6 +16,8 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+
 /**
  * Computes the arithmetic mean of the available values. Uses the following definition
  * of the <em>sample mean</em>:
@@ -186,4 +188,43 @@ public final class LongMean implements LongStatistic, StatisticAccumulator<LongM
         n += other.n;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(LongMean) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.LONG_MEAN);
+        sum.writeState(buffer);
+        buffer.putLong(n);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code LongMean} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code LongMean}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static LongMean readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.LONG_MEAN);
+        final LongMean s = new LongMean();
+        s.sum.readState(buffer);
+        s.n = buffer.getLong();
+        return s;
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+
 /**
  * Computes the standard deviation of the available values. The default implementation uses the
  * following definition of the <em>sample standard deviation</em>:
@@ -209,4 +211,47 @@ public final class LongStandardDeviation implements LongStatistic, StatisticAccu
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(LongStandardDeviation) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * <p>The {@link #setBiased(boolean) biased} flag is not part of the state.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.LONG_STANDARD_DEVIATION);
+        sumSq.writeState(buffer);
+        sum.writeState(buffer);
+        buffer.putLong(n);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code LongStandardDeviation} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code LongStandardDeviation}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static LongStandardDeviation readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.LONG_STANDARD_DEVIATION);
+        final LongStandardDeviation s = new LongStandardDeviation();
+        s.sumSq.readState(buffer);
+        s.sum.readState(buffer);
+        s.n = buffer.getLong();
+        return s;
+    }
 }
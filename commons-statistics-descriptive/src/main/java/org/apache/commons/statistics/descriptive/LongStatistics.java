@@ -17,6 +17,7 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.DoubleConsumer;
@@ -65,9 +66,6 @@ public final class LongStatistics implements LongConsumer {
      * A builder for {@link LongStatistics}.
      */
     public static final class Builder {
-        /** An empty double array. */
-        private static final long[] NO_VALUES = {};
-
         /** The {@link LongMin} constructor. */
         private RangeFunction<long[], LongMin> min;
         /** The {@link LongMax} constructor. */
@@ -88,6 +86,8 @@ public final class LongStatistics implements LongConsumer {
         private int momentOrder;
         /** Configuration options for computation of statistics. */
         private StatisticsConfiguration config = StatisticsConfiguration.withDefaults();
+        /** Set to {@code true} to compute statistics from an array in parallel. */
+        private boolean parallel;
 
         /**
          * Create an instance.
@@ -170,13 +170,38 @@ public final class LongStatistics implements LongConsumer {
             return this;
         }
 
+        /**
+         * Sets the parallel evaluation mode used when building an instance from an array of values.
+         *
+         * <p>If {@code true} a large array is split into chunks that are processed using the
+         * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}. A partial
+         * {@code LongStatistics} is built from each chunk using the current configuration and
+         * the partial results are {@link LongStatistics#combine(LongStatistics) combined}. Arrays that are too small
+         * to benefit from parallel processing are evaluated sequentially.
+         *
+         * <p>Note: The result of a parallel evaluation may be different from the
+         * sequential evaluation due to the alternative summation order of the
+         * values. The result of a parallel evaluation of the same values is
+         * deterministic given the same common pool parallelism.
+         *
+         * <p>The default is {@code false}.
+         *
+         * @param v Value.
+         * @return the builder
+         * @since 1.4
+         */
+        public Builder setParallel(boolean v) {
+            parallel = v;
+            return this;
+        }
+
         /**
          * Builds a {@code LongStatistics} instance.
          *
          * @return {@code LongStatistics} instance.
          */
         public LongStatistics build() {
-            return create(NO_VALUES, 0, 0);
+            return new Factory(this).create();
         }
 
         /**
@@ -191,7 +216,7 @@ public final class LongStatistics implements LongConsumer {
          */
         public LongStatistics build(long... values) {
             Objects.requireNonNull(values, "values");
-            return create(values, 0, values.length);
+            return evaluate(values, 0, values.length);
         }
 
         /**
@@ -210,15 +235,90 @@ public final class LongStatistics implements LongConsumer {
          */
         public LongStatistics build(long[] values, int from, int to) {
             Statistics.checkFromToIndex(from, to, values.length);
-            return create(values, from, to);
+            return evaluate(values, from, to);
         }
 
         /**
-         * Builds a {@code LongStatistics} instance using the input {@code values}.
+         * Builds a {@code GroupedLongStatistics} instance to compute the statistics of
+         * values grouped by a key. The statistics of each key are created using the current
+         * configuration of this builder; subsequent changes to the builder do not affect the
+         * returned instance.
          *
-         * <p>Note: {@code LongStatistics} computed using
-         * {@link LongStatistics#accept(long) accept} may be
-         * different from this instance.
+         * @return {@code GroupedLongStatistics} instance.
+         * @since 1.4
+         */
+        public GroupedLongStatistics buildGrouped() {
+            return new GroupedLongStatistics(new Factory(this));
+        }
+
+        /**
+         * Builds a {@code GroupedLongStatistics} instance using the input {@code values}
+         * grouped by the corresponding {@code keys}. The statistics of each key are created
+         * using this builder.
+         *
+         * <p>If the evaluation mode is {@link #setParallel(boolean) parallel} a large array is
+         * split into chunks that are processed using the
+         * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}; the partial
+         * results of each chunk are {@link GroupedLongStatistics#combine(GroupedLongStatistics)
+         * combined}.
+         *
+         * @param keys Keys.
+         * @param values Values.
+         * @return {@code GroupedLongStatistics} instance.
+         * @throws IllegalArgumentException if the keys and values have a different length
+         * @since 1.4
+         */
+        public GroupedLongStatistics buildGrouped(int[] keys, long[] values) {
+            Statistics.checkKeysLength(keys.length, values.length);
+            return evaluateGrouped(keys, values, 0, keys.length);
+        }
+
+        /**
+         * Builds a {@code GroupedLongStatistics} instance using the specified range of
+         * {@code values} grouped by the corresponding {@code keys}.
+         *
+         * @param keys Keys.
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code GroupedLongStatistics} instance.
+         * @throws IllegalArgumentException if the keys and values have a different length
+         * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+         * @see #buildGrouped(int[], long[])
+         * @since 1.4
+         */
+        public GroupedLongStatistics buildGrouped(int[] keys, long[] values, int from, int to) {
+            Statistics.checkKeysLength(keys.length, values.length);
+            Statistics.checkFromToIndex(from, to, keys.length);
+            return evaluateGrouped(keys, values, from, to);
+        }
+
+        /**
+         * Builds a {@code GroupedLongStatistics} instance using the input {@code values}
+         * grouped by the {@code keys} using the configured evaluation mode.
+         *
+         * <p>Warning: No range checks are performed.
+         *
+         * @param keys Keys.
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code GroupedLongStatistics} instance.
+         */
+        private GroupedLongStatistics evaluateGrouped(int[] keys, long[] values, int from, int to) {
+            final Factory factory = new Factory(this);
+            final RangeFunction<int[], GroupedLongStatistics> f =
+                (k, i, j) -> GroupedLongStatistics.create(factory, k, values, i, j);
+            if (parallel) {
+                // Partial results are discarded after combination
+                return RangeTask.invoke(f, (a, b) -> a.combine(b, true), keys, from, to);
+            }
+            return f.apply(keys, from, to);
+        }
+
+        /**
+         * Builds a {@code LongStatistics} instance using the input {@code values}
+         * using the configured evaluation mode.
          *
          * <p>Warning: No range checks are performed.
          *
@@ -227,7 +327,107 @@ public final class LongStatistics implements LongConsumer {
          * @param to Exclusive end of the range.
          * @return {@code LongStatistics} instance.
          */
-        private LongStatistics create(long[] values, int from, int to) {
+        private LongStatistics evaluate(long[] values, int from, int to) {
+            final Factory f = new Factory(this);
+            if (parallel) {
+                return RangeTask.invoke(f::create, LongStatistics::combine, values, from, to);
+            }
+            return f.create(values, from, to);
+        }
+    }
+
+    /**
+     * An immutable factory for {@link LongStatistics}. The constructors of the statistics
+     * and the configuration are copied from a {@link Builder}; subsequent changes to the
+     * builder do not affect the factory.
+     */
+    static final class Factory {
+        /** An empty long array. */
+        private static final long[] NO_VALUES = {};
+
+        /** The {@link LongMin} constructor. */
+        private final RangeFunction<long[], LongMin> min;
+        /** The {@link LongMax} constructor. */
+        private final RangeFunction<long[], LongMax> max;
+        /** The moment constructor. May return any instance of {@link FirstMoment}. */
+        private final RangeFunction<long[], FirstMoment> moment;
+        /** The {@link LongSum} constructor. */
+        private final RangeFunction<long[], LongSum> sum;
+        /** The {@link Product} constructor. */
+        private final RangeFunction<long[], Product> product;
+        /** The {@link LongSumOfSquares} constructor. */
+        private final RangeFunction<long[], LongSumOfSquares> sumOfSquares;
+        /** The {@link SumOfLogs} constructor. */
+        private final RangeFunction<long[], SumOfLogs> sumOfLogs;
+        /** The order of the moment constructed by {@link #moment}. */
+        private final int momentOrder;
+        /** Configuration options for computation of statistics. */
+        private final StatisticsConfiguration config;
+
+        /**
+         * Create an instance using the current state of the {@code builder}.
+         *
+         * @param builder Builder.
+         */
+        Factory(Builder builder) {
+            min = builder.min;
+            max = builder.max;
+            moment = builder.moment;
+            sum = builder.sum;
+            product = builder.product;
+            sumOfSquares = builder.sumOfSquares;
+            sumOfLogs = builder.sumOfLogs;
+            momentOrder = builder.momentOrder;
+            config = builder.config;
+        }
+
+        /**
+         * Gets the statistics configuration options.
+         *
+         * @return the configuration
+         */
+        StatisticsConfiguration getConfiguration() {
+            return config;
+        }
+
+        /**
+         * Check the {@code other} statistics can be combined into an instance created by
+         * this factory. This is equivalent to the compatibility check of
+         * {@link LongStatistics#combine(LongStatistics) combine} without creating an instance.
+         *
+         * @param other Another set of statistics.
+         * @throws IllegalArgumentException if the {@code other} is not compatible
+         */
+        void checkCombineCompatible(LongStatistics other) {
+            Statistics.checkCombineSupported(min, other.min);
+            Statistics.checkCombineSupported(max, other.max);
+            Statistics.checkCombineSupported(sum, other.sum);
+            Statistics.checkCombineSupported(product, other.product);
+            Statistics.checkCombineSupported(sumOfSquares, other.sumOfSquares);
+            Statistics.checkCombineSupported(sumOfLogs, other.sumOfLogs);
+            Statistics.checkCombineOrder(momentOrder, other.moment);
+        }
+
+        /**
+         * Creates an empty {@code LongStatistics} instance.
+         *
+         * @return {@code LongStatistics} instance.
+         */
+        LongStatistics create() {
+            return create(NO_VALUES, 0, 0);
+        }
+
+        /**
+         * Creates a {@code LongStatistics} instance using the input {@code values}.
+         *
+         * <p>Warning: No range checks are performed.
+         *
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code LongStatistics} instance.
+         */
+        LongStatistics create(long[] values, int from, int to) {
             return new LongStatistics(
                 to - from,
                 create(min, values, from, to),
@@ -423,6 +623,16 @@ public final class LongStatistics implements LongConsumer {
      * LongStatistics stats = Arrays.stream(data).collect(collector);
      * }</pre>
      *
+     * <p>The builder can evaluate a single large array of {@code long[]} data in parallel:
+     *
+     * <pre>
+     * long[] data = ...
+     * LongStatistics stats = LongStatistics.builder(
+     *     Statistic.MIN, Statistic.MAX, Statistic.VARIANCE)
+     *     .setParallel(true)
+     *     .build(data);
+     * </pre>
+     *
      * @param statistics Statistics to compute.
      * @return the builder
      * @throws IllegalArgumentException if there are no {@code statistics} to compute.
@@ -747,6 +957,82 @@ public final class LongStatistics implements LongConsumer {
         return this;
     }
 
+
+    /**
+     * Writes the state of the statistics to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance computes the same statistics as
+     * this instance and can be combined with other compatible instances.
+     *
+     * <p>The state of each statistic is written exactly. The exception is an extended
+     * precision sum of {@code double} values which is written as the exact value of the
+     * sum in a normalized form; this may not be identical to the internal representation.
+     *
+     * <p>The {@link #setConfiguration(StatisticsConfiguration) configuration} is not part
+     * of the state.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.LONG_STATISTICS);
+        final int flags =
+            StateCodec.flag(min, StateCodec.FLAG_MIN) |
+            StateCodec.flag(max, StateCodec.FLAG_MAX) |
+            StateCodec.flag(sum, StateCodec.FLAG_SUM) |
+            StateCodec.flag(product, StateCodec.FLAG_PRODUCT) |
+            StateCodec.flag(sumOfSquares, StateCodec.FLAG_SUM_OF_SQUARES) |
+            StateCodec.flag(sumOfLogs, StateCodec.FLAG_SUM_OF_LOGS);
+        buffer.putLong(count)
+            .put((byte) flags)
+            .put((byte) StateCodec.getOrder(moment));
+        StateCodec.write(buffer, min, LongMin::writeState);
+        StateCodec.write(buffer, max, LongMax::writeState);
+        StateCodec.writeMoment(buffer, moment);
+        StateCodec.write(buffer, sum, LongSum::writeState);
+        StateCodec.write(buffer, product, Product::writeState);
+        StateCodec.write(buffer, sumOfSquares, LongSumOfSquares::writeState);
+        StateCodec.write(buffer, sumOfLogs, SumOfLogs::writeState);
+    }
+
+    /**
+     * Reads the state of the statistics from the {@code buffer}.
+     *
+     * <p>The returned instance uses the default
+     * {@link #setConfiguration(StatisticsConfiguration) configuration}.
+     *
+     * @param buffer Buffer.
+     * @return the instance
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code LongStatistics}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static LongStatistics readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.LONG_STATISTICS);
+        final long count = buffer.getLong();
+        final int flags = buffer.get();
+        final int order = buffer.get();
+        StateCodec.checkStatistics(flags, order);
+        final LongMin min = StateCodec.read(buffer, flags, StateCodec.FLAG_MIN, LongMin::create, LongMin::readState);
+        final LongMax max = StateCodec.read(buffer, flags, StateCodec.FLAG_MAX, LongMax::create, LongMax::readState);
+        final FirstMoment moment = StateCodec.readMoment(buffer, order);
+        final LongSum sum = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM, LongSum::create, LongSum::readState);
+        final Product product = StateCodec.read(buffer, flags, StateCodec.FLAG_PRODUCT,
+            Product::create, Product::readState);
+        final LongSumOfSquares sumOfSquares = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM_OF_SQUARES,
+            LongSumOfSquares::create, LongSumOfSquares::readState);
+        final SumOfLogs sumOfLogs = StateCodec.read(buffer, flags, StateCodec.FLAG_SUM_OF_LOGS,
+            SumOfLogs::create, SumOfLogs::readState);
+        return new LongStatistics(count, min, max, moment, sum, product, sumOfSquares, sumOfLogs,
+            StatisticsConfiguration.withDefaults());
+    }
+
     /**
      * Sets the statistics configuration.
      *
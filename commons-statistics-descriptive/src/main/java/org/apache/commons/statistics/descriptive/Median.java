@@ -17,6 +17,9 @@
 
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Objects;
 import org.apache.commons.numbers.arrays.Selection;
 
@@ -38,6 +41,14 @@ import org.apache.commons.numbers.arrays.Selection;
  *
  * <p>Instances of this class are immutable and thread-safe.
  *
+ * <p><strong>Support for {@code int} arrays</strong>
+ *
+ * <p>If the values in an {@code int} array have a small span {@code max - min + 1}
+ * relative to the length of the array, for example byte values or categorical codes,
+ * the median is computed from a count of each value. The input array is not modified
+ * and no copy of the data is created. Otherwise the median is computed by partitioning
+ * the data.
+ *
  * <p><strong>Support for {@code long} arrays</strong>
  *
  * <p>The result on {@code long} values can be returned as a {@code double} or
@@ -61,13 +72,38 @@ import org.apache.commons.numbers.arrays.Selection;
  * <p>If the array length {@code n} is zero the result as a {@code double} is
  * {@code NaN} and the result as a {@code long} will raise an {@link ArithmeticException}.
  *
+ * <p><strong>Support for buffers</strong>
+ *
+ * <p>The median can be computed for the remaining elements of a {@link DoubleBuffer},
+ * {@link IntBuffer} or {@link LongBuffer}. The buffer position and limit are not modified.
+ * A buffer backed by an accessible array is processed using the array. A writable buffer
+ * without an accessible array, for example a direct buffer or a buffer view of a
+ * memory-mapped file, is partially sorted in-place without a copy of the data on the heap.
+ * A read-only buffer, or any buffer if configured to {@link #withCopy(boolean) copy} the
+ * input data, is copied to the heap.
+ *
+ * <p><strong>Batch evaluation</strong>
+ *
+ * <p>The median can be computed for a batch of contiguous ranges of an array, for example
+ * to compute the median of each window of a time series. The ranges are defined by an array
+ * of boundaries and the results are written to an output array. This avoids repeat checks
+ * of the arguments and allocation of a copy of the data for each range. The batch can be
+ * evaluated in {@link #withParallel(boolean) parallel}.
+ *
+ * <p><strong>Reuse of working arrays</strong>
+ *
+ * <p>The median can be computed using a {@link QuantileWorkspace}. The workspace owns the
+ * working arrays required for the computation, including the copy of the data if configured
+ * to {@link #withCopy(boolean) copy} the input data. Repeat computations using the same
+ * workspace do not allocate memory, for example {@link #evaluate(double[], QuantileWorkspace)}.
+ *
  * @see #with(NaNPolicy)
  * @see <a href="https://en.wikipedia.org/wiki/Median">Median (Wikipedia)</a>
  * @since 1.1
  */
 public final class Median {
     /** Default instance. */
-    private static final Median DEFAULT = new Median(false, NaNPolicy.INCLUDE);
+    private static final Median DEFAULT = new Median(false, NaNPolicy.INCLUDE, false);
 
     /** Flag to indicate if the data should be copied. */
     private final boolean copy;
@@ -75,14 +111,18 @@ public final class Median {
     private final NaNPolicy nanPolicy;
     /** Transformer for NaN data. */
     private final NaNTransformer nanTransformer;
+    /** Flag to indicate if a batch of ranges should be evaluated in parallel. */
+    private final boolean parallel;
 
     /**
      * @param copy Flag to indicate if the data should be copied.
      * @param nanPolicy NaN policy.
+     * @param parallel Flag to indicate if a batch of ranges should be evaluated in parallel.
      */
-    private Median(boolean copy, NaNPolicy nanPolicy) {
+    private Median(boolean copy, NaNPolicy nanPolicy, boolean parallel) {
         this.copy = copy;
         this.nanPolicy = nanPolicy;
+        this.parallel = parallel;
         nanTransformer = NaNTransformers.createNaNTransformer(nanPolicy, copy);
     }
 
@@ -92,6 +132,7 @@ public final class Median {
      * <ul>
      * <li>{@linkplain #withCopy(boolean) Copy = false}</li>
      * <li>{@linkplain #with(NaNPolicy) NaN policy = include}</li>
+     * <li>{@linkplain #withParallel(boolean) Parallel = false}</li>
      * </ul>
      *
      * <p>Note: The default options configure for processing in-place and including
@@ -101,6 +142,7 @@ public final class Median {
      * @return the median implementation
      * @see #withCopy(boolean)
      * @see #with(NaNPolicy)
+     * @see #withParallel(boolean)
      */
     public static Median withDefaults() {
         return DEFAULT;
@@ -115,7 +157,7 @@ public final class Median {
      * @return an instance
      */
     public Median withCopy(boolean v) {
-        return new Median(v, nanPolicy);
+        return new Median(v, nanPolicy, parallel);
     }
 
     /**
@@ -145,7 +187,25 @@ public final class Median {
      * @return an instance
      */
     public Median with(NaNPolicy v) {
-        return new Median(copy, Objects.requireNonNull(v));
+        return new Median(copy, Objects.requireNonNull(v), parallel);
+    }
+
+    /**
+     * Return an instance with the configured parallel evaluation mode for a batch of
+     * ranges. If {@code true} a large batch is split into chunks of ranges that are
+     * processed using the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+     * A batch that is too small to benefit from parallel processing is evaluated sequentially.
+     *
+     * <p>This option only applies to the evaluation of a batch of ranges, for example using
+     * {@link #evaluateRanges(double[], int[], double[])}. The result is the same
+     * as the sequential evaluation.
+     *
+     * @param v Value.
+     * @return an instance
+     * @since 1.4
+     */
+    public Median withParallel(boolean v) {
+        return new Median(copy, nanPolicy, v);
     }
 
     /**
@@ -183,6 +243,50 @@ public final class Median {
         return compute(values, from, to);
     }
 
+    /**
+     * Evaluate the median using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param workspace Workspace.
+     * @return the median
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #evaluate(double[])
+     * @since 1.4
+     */
+    public double evaluate(double[] values, QuantileWorkspace workspace) {
+        return compute(values, 0, values.length, workspace);
+    }
+
+    /**
+     * Evaluate the median of the specified range using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param workspace Workspace.
+     * @return the median
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #evaluateRange(double[], int, int)
+     * @since 1.4
+     */
+    public double evaluateRange(double[] values, int from, int to, QuantileWorkspace workspace) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to, workspace);
+    }
+
     /**
      * Compute the median of the specified range.
      *
@@ -192,9 +296,23 @@ public final class Median {
      * @return the median
      */
     private double compute(double[] values, int from, int to) {
+        return compute(values, from, to, null);
+    }
+
+    /**
+     * Compute the median of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param w Workspace (can be null).
+     * @return the median
+     */
+    private double compute(double[] values, int from, int to, QuantileWorkspace w) {
         // Floating-point data handling
-        final int[] bounds = new int[2];
-        final double[] x = nanTransformer.apply(values, from, to, bounds);
+        final int[] bounds = QuantileWorkspace.bounds(w);
+        final NaNTransformer transformer = copy && w != null ? w.nanTransformer(nanPolicy, to - from) : nanTransformer;
+        final double[] x = transformer.apply(values, from, to, bounds);
         final int start = bounds[0];
         final int end = bounds[1];
         final int n = end - start;
@@ -224,7 +342,7 @@ public final class Median {
             return x[m];
         }
         // Even: require (m-1, m)
-        Selection.select(x, start, end, new int[] {m - 1, m});
+        Selection.select(x, start, end, QuantileWorkspace.indices(w, m - 1, m));
         return Interpolation.mean(x[m - 1], x[m]);
     }
 
@@ -259,6 +377,48 @@ public final class Median {
         return compute(values, from, to);
     }
 
+    /**
+     * Evaluate the median using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param workspace Workspace.
+     * @return the median
+     * @see #evaluate(int[])
+     * @since 1.4
+     */
+    public double evaluate(int[] values, QuantileWorkspace workspace) {
+        return compute(values, 0, values.length, workspace);
+    }
+
+    /**
+     * Evaluate the median of the specified range using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param workspace Workspace.
+     * @return the median
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #evaluateRange(int[], int, int)
+     * @since 1.4
+     */
+    public double evaluateRange(int[] values, int from, int to, QuantileWorkspace workspace) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to, workspace);
+    }
+
     /**
      * Compute the median of the specified range.
      *
@@ -268,13 +428,38 @@ public final class Median {
      * @return the median
      */
     private double compute(int[] values, int from, int to) {
+        return compute(values, from, to, null);
+    }
+
+    /**
+     * Compute the median of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param w Workspace (can be null).
+     * @return the median
+     */
+    private double compute(int[] values, int from, int to, QuantileWorkspace w) {
+        // Count data with a small span of values
+        final CountingSelection counts = CountingSelection.of(values, from, to, w);
+        if (counts != null) {
+            final int n = to - from;
+            final int m = n >>> 1;
+            // Odd
+            if ((n & 0x1) == 1) {
+                return counts.get(m);
+            }
+            // Even: require (m-1, m)
+            return Interpolation.mean(counts.get(m - 1), counts.get(m));
+        }
         final int[] x;
         final int start;
         final int end;
         if (copy) {
-            x = Statistics.copy(values, from, to);
+            x = QuantileWorkspace.copy(w, values, from, to);
             start = 0;
-            end = x.length;
+            end = to - from;
         } else {
             x = values;
             start = from;
@@ -306,10 +491,70 @@ public final class Median {
             return x[m];
         }
         // Even: require (m-1, m)
-        Selection.select(x, start, end, new int[] {m - 1, m});
+        Selection.select(x, start, end, QuantileWorkspace.indices(w, m - 1, m));
         return Interpolation.mean(x[m - 1], x[m]);
     }
 
+    /**
+     * Evaluate the median of each range of the values in a batch.
+     *
+     * <p>The ranges are defined by the {@code boundaries}: range {@code i} is
+     * {@code [boundaries[i], boundaries[i + 1])}. The boundaries must be non-decreasing
+     * and define {@code boundaries.length - 1} ranges of the values. The median of range
+     * {@code i} is written to {@code result[i]}.
+     *
+     * <p>The result is the same as calling {@link #evaluateRange(double[], int, int)}
+     * for each range. The arguments are checked once for the batch. If configured to
+     * {@link #withCopy(boolean) copy} the input data, each range is copied to a working
+     * buffer that is reused for all ranges. The batch can be evaluated in
+     * {@link #withParallel(boolean) parallel}.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param boundaries Boundaries of the ranges.
+     * @param result Median of each range (output).
+     * @throws IllegalArgumentException if the result length is smaller than the number of ranges;
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if any range is out of bounds
+     * @see #withParallel(boolean)
+     * @since 1.4
+     */
+    public void evaluateRanges(double[] values, int[] boundaries, double[] result) {
+        final int n = RangeBatch.checkBoundaries(boundaries, values.length);
+        RangeBatch.evaluate(boundaries, n, parallel, result, (from, to, w) -> compute(values, from, to, w));
+    }
+
+    /**
+     * Evaluate the median of each range of the values in a batch.
+     *
+     * <p>The ranges are defined by the {@code boundaries}: range {@code i} is
+     * {@code [boundaries[i], boundaries[i + 1])}. The boundaries must be non-decreasing
+     * and define {@code boundaries.length - 1} ranges of the values. The median of range
+     * {@code i} is written to {@code result[i]}.
+     *
+     * <p>The result is the same as calling {@link #evaluateRange(int[], int, int)}
+     * for each range. The arguments are checked once for the batch. If configured to
+     * {@link #withCopy(boolean) copy} the input data, each range is copied to a working
+     * buffer that is reused for all ranges. The batch can be evaluated in
+     * {@link #withParallel(boolean) parallel}.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param boundaries Boundaries of the ranges.
+     * @param result Median of each range (output).
+     * @throws IllegalArgumentException if the result length is smaller than the number of ranges
+     * @throws IndexOutOfBoundsException if any range is out of bounds
+     * @see #withParallel(boolean)
+     * @since 1.4
+     */
+    public void evaluateRanges(int[] values, int[] boundaries, double[] result) {
+        final int n = RangeBatch.checkBoundaries(boundaries, values.length);
+        RangeBatch.evaluate(boundaries, n, parallel, result, (from, to, w) -> compute(values, from, to, w));
+    }
 
     /**
      * Evaluate the median.
@@ -355,6 +600,48 @@ public final class Median {
         return compute(values, from, to);
     }
 
+    /**
+     * Evaluate the median using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory for working arrays.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param workspace Workspace.
+     * @return the median
+     * @see #evaluate(long[])
+     * @since 1.4
+     */
+    public StatisticResult evaluate(long[] values, QuantileWorkspace workspace) {
+        return compute(values, 0, values.length, workspace);
+    }
+
+    /**
+     * Evaluate the median of the specified range using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory for working arrays.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param workspace Workspace.
+     * @return the median
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #evaluateRange(long[], int, int)
+     * @since 1.4
+     */
+    public StatisticResult evaluateRange(long[] values, int from, int to, QuantileWorkspace workspace) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to, workspace);
+    }
+
     /**
      * Compute the median of the specified range.
      *
@@ -364,13 +651,26 @@ public final class Median {
      * @return the median
      */
     private StatisticResult compute(long[] values, int from, int to) {
+        return compute(values, from, to, null);
+    }
+
+    /**
+     * Compute the median of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param w Workspace (can be null).
+     * @return the median
+     */
+    private StatisticResult compute(long[] values, int from, int to, QuantileWorkspace w) {
         final long[] x;
         final int start;
         final int end;
         if (copy) {
-            x = Statistics.copy(values, from, to);
+            x = QuantileWorkspace.copy(w, values, from, to);
             start = 0;
-            end = x.length;
+            end = to - from;
         } else {
             x = values;
             start = from;
@@ -402,7 +702,182 @@ public final class Median {
             return Statistics.createStatisticResult(x[m]);
         }
         // Even: require (m-1, m)
-        Selection.select(x, start, end, new int[] {m - 1, m});
+        Selection.select(x, start, end, QuantileWorkspace.indices(w, m - 1, m));
         return Interpolation.mean(x[m - 1], x[m]);
     }
+
+    /**
+     * Evaluate the median of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     * To compute the median of a memory-mapped file without a copy of the data on the heap
+     * the file should be mapped using {@link java.nio.channels.FileChannel.MapMode#READ_WRITE
+     * READ_WRITE} or {@link java.nio.channels.FileChannel.MapMode#PRIVATE PRIVATE} mode.
+     *
+     * @param values Values.
+     * @return the median
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #with(NaNPolicy)
+     * @since 1.4
+     */
+    public double evaluate(DoubleBuffer values) {
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit());
+        }
+        if (copy || values.isReadOnly()) {
+            final double[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length);
+        }
+        return compute(values);
+    }
+
+    /**
+     * Compute the median of the remaining elements of the buffer in-place.
+     *
+     * @param values Values.
+     * @return the median
+     */
+    private double compute(DoubleBuffer values) {
+        final int from = values.position();
+        final int to = values.limit();
+        // Floating-point data handling
+        final int nanEnd = BufferSelection.moveNaN(values, from, to, nanPolicy);
+        final int end = nanPolicy == NaNPolicy.EXCLUDE ? nanEnd : to;
+        final int n = end - from;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        // Median index (including the offset).
+        // Any index above the non-NaN values is NaN.
+        final int m = (from + end) >>> 1;
+        // Odd
+        if ((n & 0x1) == 1) {
+            BufferSelection.select(values, from, nanEnd, m);
+            return values.get(m);
+        }
+        // Even: require (m-1, m)
+        BufferSelection.select(values, from, nanEnd, m - 1, m);
+        return Interpolation.mean(values.get(m - 1), values.get(m));
+    }
+
+    /**
+     * Evaluate the median of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     *
+     * @param values Values.
+     * @return the median
+     * @see #evaluate(DoubleBuffer)
+     * @since 1.4
+     */
+    public double evaluate(IntBuffer values) {
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit());
+        }
+        if (copy || values.isReadOnly()) {
+            final int[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length);
+        }
+        return compute(values);
+    }
+
+    /**
+     * Compute the median of the remaining elements of the buffer in-place.
+     *
+     * @param values Values.
+     * @return the median
+     */
+    private static double compute(IntBuffer values) {
+        final int from = values.position();
+        final int to = values.limit();
+        final int n = to - from;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        // Median index (including the offset)
+        final int m = (from + to) >>> 1;
+        // Odd
+        if ((n & 0x1) == 1) {
+            BufferSelection.select(values, from, to, m);
+            return values.get(m);
+        }
+        // Even: require (m-1, m)
+        BufferSelection.select(values, from, to, m - 1, m);
+        return Interpolation.mean(values.get(m - 1), values.get(m));
+    }
+
+    /**
+     * Evaluate the median of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>If the input length is even the result requires interpolation of two values.
+     * The returned median will interpolate the {@code double} or {@code long} result
+     * on demand.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     *
+     * @param values Values.
+     * @return the median
+     * @see #evaluate(DoubleBuffer)
+     * @since 1.4
+     */
+    public StatisticResult evaluate(LongBuffer values) {
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit());
+        }
+        if (copy || values.isReadOnly()) {
+            final long[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length);
+        }
+        return compute(values);
+    }
+
+    /**
+     * Compute the median of the remaining elements of the buffer in-place.
+     *
+     * @param values Values.
+     * @return the median
+     */
+    private static StatisticResult compute(LongBuffer values) {
+        final int from = values.position();
+        final int to = values.limit();
+        final int n = to - from;
+        if (n == 0) {
+            return () -> Double.NaN;
+        }
+        // Median index (including the offset)
+        final int m = (from + to) >>> 1;
+        // Odd
+        if ((n & 0x1) == 1) {
+            BufferSelection.select(values, from, to, m);
+            return Statistics.createStatisticResult(values.get(m));
+        }
+        // Even: require (m-1, m)
+        BufferSelection.select(values, from, to, m - 1, m);
+        return Interpolation.mean(values.get(m - 1), values.get(m));
+    }
+
+    /**
+     * Return an instance that does not copy the data. This is used to process
+     * data that has already been copied.
+     *
+     * @return an instance
+     */
+    private Median inPlace() {
+        return copy ? new Median(false, nanPolicy, parallel) : this;
+    }
 }
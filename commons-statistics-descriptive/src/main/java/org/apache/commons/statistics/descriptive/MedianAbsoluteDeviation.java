@@ -0,0 +1,429 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+import org.apache.commons.numbers.arrays.Selection;
+import org.apache.commons.numbers.core.DD;
+
+/**
+ * Returns the median absolute deviation (MAD) of the available values.
+ *
+ * <p>The MAD is the {@linkplain Median median} of the absolute deviations of the values
+ * from the median of the values:
+ *
+ * <p>\[ \operatorname{MAD} = \operatorname{median}(|x_i - \tilde{x}|) \]
+ *
+ * <p>where \( \tilde{x} \) is the median of the values.
+ *
+ * <ul>
+ * <li>The result is {@code NaN} if {@code n = 0}.</li>
+ * <li>The result is zero if {@code n = 1} and the value is finite.</li>
+ * </ul>
+ *
+ * <p>The result is not scaled. For normally distributed data the MAD can be scaled
+ * by a factor of 1.4826 to estimate the standard deviation.
+ *
+ * <p>The computation uses two selection steps. The median is selected from the values;
+ * the absolute deviations are then written to a single scratch buffer of the same length
+ * and the median of the deviations is selected. If configured to
+ * {@link #withCopy(boolean) copy} the input data the copy is used as the scratch buffer.
+ *
+ * <p>This implementation respects the ordering imposed by
+ * {@link Double#compare(double, double)} for {@code NaN} values. If a {@code NaN} occurs
+ * in the selected positions in the fully sorted values or deviations then the result
+ * is {@code NaN}.
+ *
+ * <p>The {@link NaNPolicy} can be used to change the behaviour on {@code NaN} values.
+ *
+ * <p>Instances of this class are immutable and thread-safe.
+ *
+ * <p><strong>Support for integer arrays</strong>
+ *
+ * <p>The deviations of {@code int} and {@code long} values are computed exactly using
+ * the partition of the values about the median: values in the lower partition deviate
+ * below the lower median, and values in the upper partition deviate above the upper median.
+ * The result is the closest representable {@code double} value.
+ *
+ * @see #with(NaNPolicy)
+ * @see Median
+ * @see <a href="https://en.wikipedia.org/wiki/Median_absolute_deviation">Median absolute deviation (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class MedianAbsoluteDeviation {
+    /** Default instance. */
+    private static final MedianAbsoluteDeviation DEFAULT =
+        new MedianAbsoluteDeviation(false, NaNPolicy.INCLUDE);
+
+    /** Flag to indicate if the data should be copied. */
+    private final boolean copy;
+    /** NaN policy for floating point data. */
+    private final NaNPolicy nanPolicy;
+    /** Transformer for NaN data. */
+    private final NaNTransformer nanTransformer;
+
+    /**
+     * @param copy Flag to indicate if the data should be copied.
+     * @param nanPolicy NaN policy.
+     */
+    private MedianAbsoluteDeviation(boolean copy, NaNPolicy nanPolicy) {
+        this.copy = copy;
+        this.nanPolicy = nanPolicy;
+        nanTransformer = NaNTransformers.createNaNTransformer(nanPolicy, copy);
+    }
+
+    /**
+     * Return a new instance with the default options.
+     *
+     * <ul>
+     * <li>{@linkplain #withCopy(boolean) Copy = false}</li>
+     * <li>{@linkplain #with(NaNPolicy) NaN policy = include}</li>
+     * </ul>
+     *
+     * <p>Note: The default options configure for processing in-place and including
+     * {@code NaN} values in the data. This is the most efficient mode and has the
+     * smallest memory consumption.
+     *
+     * @return the median absolute deviation implementation
+     * @see #withCopy(boolean)
+     * @see #with(NaNPolicy)
+     */
+    public static MedianAbsoluteDeviation withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return an instance with the configured copy behaviour. If {@code false} then
+     * the input array will be modified by the call to evaluate the median absolute deviation;
+     * otherwise the computation uses a copy of the data.
+     *
+     * <p>Note: The input array is only partially sorted; the deviations are never written
+     * to the input array.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public MedianAbsoluteDeviation withCopy(boolean v) {
+        return new MedianAbsoluteDeviation(v, nanPolicy);
+    }
+
+    /**
+     * Return an instance with the configured {@link NaNPolicy}.
+     *
+     * <p>Note: This implementation respects the ordering imposed by
+     * {@link Double#compare(double, double)} for {@code NaN} values: {@code NaN} is
+     * considered greater than all other values, and all {@code NaN} values are equal. The
+     * {@link NaNPolicy} changes the computation of the statistic in the presence of
+     * {@code NaN} values.
+     *
+     * <ul>
+     * <li>{@link NaNPolicy#INCLUDE}: {@code NaN} values are moved to the end of the data;
+     * the size of the data <em>includes</em> the {@code NaN} values and the result will be
+     * {@code NaN} if the median, or any deviation used for the median of the deviations,
+     * is {@code NaN}.</li>
+     * <li>{@link NaNPolicy#EXCLUDE}: {@code NaN} values are moved to the end of the data;
+     * the size of the data <em>excludes</em> the {@code NaN} values and the result will
+     * never be {@code NaN} for non-zero size of finite values. If all data are {@code NaN}
+     * then the size is zero and the result is {@code NaN}.</li>
+     * <li>{@link NaNPolicy#ERROR}: An exception is raised if the data contains {@code NaN}
+     * values.</li>
+     * </ul>
+     *
+     * <p>Note that the result is identical for all policies if no {@code NaN} values are present.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public MedianAbsoluteDeviation with(NaNPolicy v) {
+        return new MedianAbsoluteDeviation(copy, Objects.requireNonNull(v));
+    }
+
+    /**
+     * Evaluate the median absolute deviation.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the median absolute deviation
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #with(NaNPolicy)
+     */
+    public double evaluate(double[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the median absolute deviation of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the median absolute deviation
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #with(NaNPolicy)
+     */
+    public double evaluateRange(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the median absolute deviation of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the median absolute deviation
+     */
+    private double compute(double[] values, int from, int to) {
+        // Floating-point data handling
+        final int[] bounds = new int[2];
+        final double[] x = nanTransformer.apply(values, from, to, bounds);
+        final int start = bounds[0];
+        final int end = bounds[1];
+        final int n = end - start;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final double m = median(x, start, end);
+        // Scratch buffer for the deviations. A copy of the data can be reused.
+        final double[] d = copy ? x : new double[n];
+        final int offset = copy ? start : 0;
+        for (int i = start; i < end; i++) {
+            d[i - start + offset] = Math.abs(x[i] - m);
+        }
+        return median(d, offset, offset + n);
+    }
+
+    /**
+     * Compute the median of the specified range. The range must not be empty.
+     *
+     * @param x Values.
+     * @param start Inclusive start of the range.
+     * @param end Exclusive end of the range.
+     * @return the median
+     */
+    private static double median(double[] x, int start, int end) {
+        final int k = (start + end) >>> 1;
+        // Odd
+        if (((end - start) & 0x1) == 1) {
+            Selection.select(x, start, end, k);
+            return x[k];
+        }
+        // Even: require (k-1, k)
+        Selection.select(x, start, end, new int[] {k - 1, k});
+        return Interpolation.mean(x[k - 1], x[k]);
+    }
+
+    /**
+     * Evaluate the median absolute deviation.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the median absolute deviation
+     */
+    public double evaluate(int[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the median absolute deviation of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the median absolute deviation
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public double evaluateRange(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the median absolute deviation of the specified range.
+     *
+     * <p>Let the lower and upper median be {@code a} and {@code b}. The deviation of a value
+     * {@code x} in the lower partition is {@code (a - x) + (b - a) / 2}, and in the upper
+     * partition is {@code (x - b) + (b - a) / 2}. The median of the deviations is computed
+     * from the unsigned partial deviations {@code a - x} and {@code x - b}, and the
+     * constant half-difference of the medians is added to the result.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the median absolute deviation
+     */
+    private double compute(int[] values, int from, int to) {
+        final int n = to - from;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final int[] x;
+        final int start;
+        final int end;
+        if (copy) {
+            x = Arrays.copyOfRange(values, from, to);
+            start = 0;
+            end = n;
+        } else {
+            x = values;
+            start = from;
+            end = to;
+        }
+        // Median: [start, k) <= a; [k, end) >= b
+        final int k = (start + end) >>> 1;
+        if ((n & 0x1) == 1) {
+            Selection.select(x, start, end, k);
+        } else {
+            Selection.select(x, start, end, new int[] {k - 1, k});
+        }
+        final int a = x[(n & 0x1) == 1 ? k : k - 1];
+        final int b = x[k];
+        // Scratch buffer for the partial deviations. A copy of the data can be reused.
+        // The deviations are unsigned 32-bit integers. These are stored with the sign bit
+        // flipped so the signed order is the unsigned order.
+        final int[] d = copy ? x : new int[n];
+        final int offset = copy ? start : 0;
+        for (int i = start; i < k; i++) {
+            d[i - start + offset] = (a - x[i]) ^ Integer.MIN_VALUE;
+        }
+        for (int i = k; i < end; i++) {
+            d[i - start + offset] = (x[i] - b) ^ Integer.MIN_VALUE;
+        }
+        final int j = offset + (n >>> 1);
+        final long e1;
+        final long e2;
+        if ((n & 0x1) == 1) {
+            Selection.select(d, offset, offset + n, j);
+            e1 = Integer.toUnsignedLong(d[j] ^ Integer.MIN_VALUE);
+            e2 = e1;
+        } else {
+            Selection.select(d, offset, offset + n, new int[] {j - 1, j});
+            e1 = Integer.toUnsignedLong(d[j - 1] ^ Integer.MIN_VALUE);
+            e2 = Integer.toUnsignedLong(d[j] ^ Integer.MIN_VALUE);
+        }
+        // Exact sum: each term is below 2^32
+        return (e1 + e2 + ((long) b - a)) * 0.5;
+    }
+
+    /**
+     * Evaluate the median absolute deviation.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the median absolute deviation
+     */
+    public double evaluate(long[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the median absolute deviation of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the median absolute deviation
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public double evaluateRange(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the median absolute deviation of the specified range.
+     *
+     * <p>Uses the same method as {@link #compute(int[], int, int)} with unsigned
+     * 64-bit partial deviations.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the median absolute deviation
+     */
+    private double compute(long[] values, int from, int to) {
+        final int n = to - from;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final long[] x;
+        final int start;
+        final int end;
+        if (copy) {
+            x = Arrays.copyOfRange(values, from, to);
+            start = 0;
+            end = n;
+        } else {
+            x = values;
+            start = from;
+            end = to;
+        }
+        // Median: [start, k) <= a; [k, end) >= b
+        final int k = (start + end) >>> 1;
+        if ((n & 0x1) == 1) {
+            Selection.select(x, start, end, k);
+        } else {
+            Selection.select(x, start, end, new int[] {k - 1, k});
+        }
+        final long a = x[(n & 0x1) == 1 ? k : k - 1];
+        final long b = x[k];
+        // Scratch buffer for the partial deviations. A copy of the data can be reused.
+        // The deviations are unsigned 64-bit integers. These are stored with the sign bit
+        // flipped so the signed order is the unsigned order.
+        final long[] d = copy ? x : new long[n];
+        final int offset = copy ? start : 0;
+        for (int i = start; i < k; i++) {
+            d[i - start + offset] = (a - x[i]) ^ Long.MIN_VALUE;
+        }
+        for (int i = k; i < end; i++) {
+            d[i - start + offset] = (x[i] - b) ^ Long.MIN_VALUE;
+        }
+        final int j = offset + (n >>> 1);
+        final long e1;
+        final long e2;
+        if ((n & 0x1) == 1) {
+            Selection.select(d, offset, offset + n, j);
+            e1 = d[j] ^ Long.MIN_VALUE;
+            e2 = e1;
+        } else {
+            Selection.select(d, offset, offset + n, new int[] {j - 1, j});
+            e1 = d[j - 1] ^ Long.MIN_VALUE;
+            e2 = d[j] ^ Long.MIN_VALUE;
+        }
+        // Exact sum of unsigned values below 2^64
+        return DD.ofUnsigned(e1).add(DD.ofUnsigned(e2)).add(DD.ofUnsigned(b - a)).doubleValue() * 0.5;
+    }
+}
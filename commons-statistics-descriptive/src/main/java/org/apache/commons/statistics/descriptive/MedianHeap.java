@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+
+/**
+ * Maintains the median of a set of values using two heaps. The lower half of the
+ * values is stored in a max-heap and the upper half in a min-heap. The lower heap
+ * contains the same number of values as the upper heap, or one more.
+ *
+ * <p>Each value is identified by an integer id in {@code [0, capacity)}. The position
+ * of each id in the heaps is tracked to allow removal of any value in {@code O(log n)}.
+ * The heaps are stored using primitive arrays.
+ *
+ * <p>Values are ordered using {@link Double#compare(double, double)}.
+ *
+ * @since 1.4
+ */
+final class MedianHeap {
+    /** Minimum capacity. */
+    private static final int MIN_CAPACITY = 8;
+
+    /** Value of each id. */
+    private double[] values;
+    /**
+     * Position of each id in the heaps. A non-negative value is the index in the lower heap;
+     * otherwise the value is the bitwise complement of the index in the upper heap.
+     */
+    private int[] pos;
+    /** Max-heap of the ids of the lower half of the values. */
+    private int[] lower;
+    /** Min-heap of the ids of the upper half of the values. */
+    private int[] upper;
+    /** Size of the lower heap. */
+    private int nLower;
+    /** Size of the upper heap. */
+    private int nUpper;
+
+    /**
+     * Create an instance.
+     *
+     * @param capacity Initial capacity for the ids.
+     */
+    MedianHeap(int capacity) {
+        final int size = Math.max(MIN_CAPACITY, capacity);
+        values = new double[size];
+        pos = new int[size];
+        lower = new int[(size >>> 1) + 1];
+        upper = new int[(size >>> 1) + 1];
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the size
+     */
+    int size() {
+        return nLower + nUpper;
+    }
+
+    /**
+     * Gets the value of the id.
+     *
+     * @param id Id.
+     * @return the value
+     */
+    double get(int id) {
+        return values[id];
+    }
+
+    /**
+     * Gets the median of the values. This is {@code NaN} if there are no values.
+     *
+     * @return the median
+     */
+    double median() {
+        if (nLower == nUpper) {
+            return nLower == 0 ? Double.NaN : Interpolation.mean(values[lower[0]], values[upper[0]]);
+        }
+        return values[lower[0]];
+    }
+
+    /**
+     * Add the value with the specified id. The id must not be present in the heaps.
+     * The capacity is increased if required.
+     *
+     * @param id Id.
+     * @param value Value.
+     */
+    void add(int id, double value) {
+        ensureCapacity(id + 1);
+        values[id] = value;
+        if (nLower == 0 || Double.compare(value, values[lower[0]]) <= 0) {
+            lower[nLower] = id;
+            pos[id] = nLower;
+            siftUpLower(nLower++);
+        } else {
+            upper[nUpper] = id;
+            pos[id] = ~nUpper;
+            siftUpUpper(nUpper++);
+        }
+        rebalance();
+    }
+
+    /**
+     * Remove the value with the specified id. The id must be present in the heaps.
+     *
+     * @param id Id.
+     */
+    void remove(int id) {
+        final int p = pos[id];
+        if (p >= 0) {
+            final int last = lower[--nLower];
+            if (p != nLower) {
+                lower[p] = last;
+                pos[last] = p;
+                siftLower(p);
+            }
+        } else {
+            final int i = ~p;
+            final int last = upper[--nUpper];
+            if (i != nUpper) {
+                upper[i] = last;
+                pos[last] = ~i;
+                siftUpper(i);
+            }
+        }
+        rebalance();
+    }
+
+    /**
+     * Change the id of a value. The {@code from} id must be present in the heaps and
+     * the {@code to} id must not be present.
+     *
+     * @param from Current id.
+     * @param to New id.
+     */
+    void move(int from, int to) {
+        final int p = pos[from];
+        values[to] = values[from];
+        pos[to] = p;
+        if (p >= 0) {
+            lower[p] = to;
+        } else {
+            upper[~p] = to;
+        }
+    }
+
+    /**
+     * Find an id with the specified value in the range of ids {@code [0, n)}.
+     * Values are matched using {@link Double#compare(double, double)}.
+     *
+     * @param value Value.
+     * @param n Upper limit on the ids (exclusive).
+     * @return the id, or -1 if the value is not present
+     */
+    int find(double value, int n) {
+        final double[] x = values;
+        for (int i = 0; i < n; i++) {
+            if (Double.compare(x[i], value) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remove all values.
+     */
+    void clear() {
+        nLower = 0;
+        nUpper = 0;
+    }
+
+    /**
+     * Ensure the capacity for the ids.
+     *
+     * @param capacity Capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            final int size = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, (long) values.length << 1));
+            values = Arrays.copyOf(values, size);
+            pos = Arrays.copyOf(pos, size);
+            lower = Arrays.copyOf(lower, (size >>> 1) + 1);
+            upper = Arrays.copyOf(upper, (size >>> 1) + 1);
+        }
+    }
+
+    /**
+     * Restore the size constraint of the heaps by moving the top of one heap to the other.
+     */
+    private void rebalance() {
+        if (nLower > nUpper + 1) {
+            final int id = lower[0];
+            final int last = lower[--nLower];
+            lower[0] = last;
+            pos[last] = 0;
+            siftDownLower(0);
+            upper[nUpper] = id;
+            pos[id] = ~nUpper;
+            siftUpUpper(nUpper++);
+        } else if (nUpper > nLower) {
+            final int id = upper[0];
+            final int last = upper[--nUpper];
+            upper[0] = last;
+            pos[last] = ~0;
+            siftDownUpper(0);
+            lower[nLower] = id;
+            pos[id] = nLower;
+            siftUpLower(nLower++);
+        }
+    }
+
+    /**
+     * Restore the heap property of the lower heap for the node at index {@code i}.
+     *
+     * @param i Index.
+     */
+    private void siftLower(int i) {
+        if (i > 0 && Double.compare(values[lower[i]], values[lower[(i - 1) >>> 1]]) > 0) {
+            siftUpLower(i);
+        } else {
+            siftDownLower(i);
+        }
+    }
+
+    /**
+     * Restore the heap property of the upper heap for the node at index {@code i}.
+     *
+     * @param i Index.
+     */
+    private void siftUpper(int i) {
+        if (i > 0 && Double.compare(values[upper[i]], values[upper[(i - 1) >>> 1]]) < 0) {
+            siftUpUpper(i);
+        } else {
+            siftDownUpper(i);
+        }
+    }
+
+    /**
+     * Move the node at index {@code i} up the lower (max) heap.
+     *
+     * @param i Index.
+     */
+    private void siftUpLower(int i) {
+        final int id = lower[i];
+        final double v = values[id];
+        int c = i;
+        while (c > 0) {
+            final int p = (c - 1) >>> 1;
+            final int pid = lower[p];
+            if (Double.compare(v, values[pid]) <= 0) {
+                break;
+            }
+            lower[c] = pid;
+            pos[pid] = c;
+            c = p;
+        }
+        lower[c] = id;
+        pos[id] = c;
+    }
+
+    /**
+     * Move the node at index {@code i} down the lower (max) heap.
+     *
+     * @param i Index.
+     */
+    private void siftDownLower(int i) {
+        final int id = lower[i];
+        final double v = values[id];
+        final int n = nLower;
+        int p = i;
+        int c = (p << 1) + 1;
+        while (c < n) {
+            int cid = lower[c];
+            if (c + 1 < n && Double.compare(values[lower[c + 1]], values[cid]) > 0) {
+                cid = lower[++c];
+            }
+            if (Double.compare(v, values[cid]) >= 0) {
+                break;
+            }
+            lower[p] = cid;
+            pos[cid] = p;
+            p = c;
+            c = (p << 1) + 1;
+        }
+        lower[p] = id;
+        pos[id] = p;
+    }
+
+    /**
+     * Move the node at index {@code i} up the upper (min) heap.
+     *
+     * @param i Index.
+     */
+    private void siftUpUpper(int i) {
+        final int id = upper[i];
+        final double v = values[id];
+        int c = i;
+        while (c > 0) {
+            final int p = (c - 1) >>> 1;
+            final int pid = upper[p];
+            if (Double.compare(v, values[pid]) >= 0) {
+                break;
+            }
+            upper[c] = pid;
+            pos[pid] = ~c;
+            c = p;
+        }
+        upper[c] = id;
+        pos[id] = ~c;
+    }
+
+    /**
+     * Move the node at index {@code i} down the upper (min) heap.
+     *
+     * @param i Index.
+     */
+    private void siftDownUpper(int i) {
+        final int id = upper[i];
+        final double v = values[id];
+        final int n = nUpper;
+        int p = i;
+        int c = (p << 1) + 1;
+        while (c < n) {
+            int cid = upper[c];
+            if (c + 1 < n && Double.compare(values[upper[c + 1]], values[cid]) < 0) {
+                cid = upper[++c];
+            }
+            if (Double.compare(v, values[cid]) <= 0) {
+                break;
+            }
+            upper[p] = cid;
+            pos[cid] = ~p;
+            p = c;
+            c = (p << 1) + 1;
+        }
+        upper[p] = id;
+        pos[id] = ~p;
+    }
+}
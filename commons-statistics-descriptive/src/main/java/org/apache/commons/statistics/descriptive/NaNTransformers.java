@@ -35,14 +35,42 @@ final class NaNTransformers {
      * @return the transformer
      */
     static NaNTransformer createNaNTransformer(NaNPolicy nanPolicy, boolean copy) {
+        return createNaNTransformer(nanPolicy, copy, null);
+    }
+
+    /**
+     * Creates a {@link NaNTransformer} based on the {@code nanPolicy} that uses a copy
+     * of the data. The data is copied to the provided {@code buffer}; the buffer must
+     * have a length at least as large as the range of data to be transformed.
+     *
+     * <p>The transformer is not thread-safe.
+     *
+     * @param nanPolicy NaN policy.
+     * @param buffer Buffer for a copy of the data.
+     * @return the transformer
+     */
+    static NaNTransformer createNaNTransformer(NaNPolicy nanPolicy, double[] buffer) {
+        return createNaNTransformer(nanPolicy, true, buffer);
+    }
+
+    /**
+     * Creates a {@link NaNTransformer} based on the
+     * {@code nanPolicy} and data {@code copy} policy.
+     *
+     * @param nanPolicy NaN policy.
+     * @param copy Set to {@code true} to use a copy of the data.
+     * @param buffer Buffer for a copy of the data (can be null).
+     * @return the transformer
+     */
+    private static NaNTransformer createNaNTransformer(NaNPolicy nanPolicy, boolean copy, double[] buffer) {
         if (nanPolicy == NaNPolicy.INCLUDE) {
-            return new IncludeNaNTransformer(copy);
+            return new IncludeNaNTransformer(copy, buffer);
         }
         if (nanPolicy == NaNPolicy.EXCLUDE) {
-            return new ExcludeNaNTransformer(copy);
+            return new ExcludeNaNTransformer(copy, buffer);
         }
         // NaNPolicy.ERROR
-        return new ErrorNaNTransformer(copy);
+        return new ErrorNaNTransformer(copy, buffer);
     }
 
     /**
@@ -53,12 +81,16 @@ final class NaNTransformers {
     private static final class IncludeNaNTransformer implements NaNTransformer {
         /** Set to {@code true} to use a copy of the data. */
         private final boolean copy;
+        /** Buffer for a copy of the data. If null a new array is created. */
+        private final double[] buffer;
 
         /**
          * @param copy Set to {@code true} to use a copy of the data.
+         * @param buffer Buffer for a copy of the data (can be null).
          */
-        IncludeNaNTransformer(boolean copy) {
+        IncludeNaNTransformer(boolean copy, double[] buffer) {
             this.copy = copy;
+            this.buffer = buffer;
         }
 
         @Override
@@ -66,7 +98,7 @@ final class NaNTransformers {
             if (copy) {
                 bounds[0] = 0;
                 bounds[1] = to - from;
-                return copy(data, from, to);
+                return copy(data, from, to, buffer);
             }
             bounds[0] = from;
             bounds[1] = to;
@@ -80,12 +112,16 @@ final class NaNTransformers {
     private static final class ExcludeNaNTransformer implements NaNTransformer {
         /** Set to {@code true} to use a copy of the data. */
         private final boolean copy;
+        /** Buffer for a copy of the data. If null a new array is created. */
+        private final double[] buffer;
 
         /**
          * @param copy Set to {@code true} to use a copy of the data.
+         * @param buffer Buffer for a copy of the data (can be null).
          */
-        ExcludeNaNTransformer(boolean copy) {
+        ExcludeNaNTransformer(boolean copy, double[] buffer) {
             this.copy = copy;
+            this.buffer = buffer;
         }
 
         @Override
@@ -95,9 +131,9 @@ final class NaNTransformers {
             final int start;
             int end;
             if (copy) {
-                a = copy(data, from, to);
+                a = copy(data, from, to, buffer);
                 start = 0;
-                end = a.length;
+                end = to - from;
             } else {
                 a = data;
                 start = from;
@@ -124,12 +160,16 @@ final class NaNTransformers {
     private static final class ErrorNaNTransformer implements NaNTransformer {
         /** Set to {@code true} to use a copy of the data. */
         private final boolean copy;
+        /** Buffer for a copy of the data. If null a new array is created. */
+        private final double[] buffer;
 
         /**
          * @param copy Set to {@code true} to use a copy of the data.
+         * @param buffer Buffer for a copy of the data (can be null).
          */
-        ErrorNaNTransformer(boolean copy) {
+        ErrorNaNTransformer(boolean copy, double[] buffer) {
             this.copy = copy;
+            this.buffer = buffer;
         }
 
         @Override
@@ -147,7 +187,7 @@ final class NaNTransformers {
             if (copy) {
                 bounds[0] = 0;
                 bounds[1] = to - from;
-                return copy(data, from, to);
+                return copy(data, from, to, buffer);
             }
             bounds[0] = from;
             bounds[1] = to;
@@ -173,4 +213,22 @@ final class NaNTransformers {
         System.arraycopy(data, from, copy, 0, length);
         return copy;
     }
+
+    /**
+     * Copy the specified range of data to the buffer. If the buffer is null a new array
+     * is created.
+     *
+     * @param data Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param buffer Buffer (can be null).
+     * @return the copy
+     */
+    private static double[] copy(double[] data, int from, int to, double[] buffer) {
+        if (buffer == null) {
+            return copy(data, from, to);
+        }
+        System.arraycopy(data, from, buffer, 0, to - from);
+        return buffer;
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the Pearson product-moment correlation coefficient of the available paired values:
+ *
+ * <p>\[ r = \frac{ \sum_{i=1}^n (x_i-\overline{x})(y_i-\overline{y}) }
+ *            { \sqrt{\sum_{i=1}^n (x_i-\overline{x})^2} \sqrt{\sum_{i=1}^n (y_i-\overline{y})^2} } \]
+ *
+ * <p>where \( \overline{x} \) and \( \overline{y} \) are the sample means, and \( n \) is
+ * the number of paired samples.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if less than two pairs of values are added.</li>
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.</li>
+ *   <li>The result is {@code NaN} if either variable has a variance of zero.</li>
+ *   <li>The result is {@code NaN} if any of the sums of deviations from the mean is
+ *       infinite.</li>
+ * </ul>
+ *
+ * <p>The result is clipped to the interval {@code [-1, 1]}.
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm
+ * using the same scaling as {@link Variance} to avoid overflow for all finite input.
+ *
+ * <p>The {@link #of(double[], double[])} method uses a corrected two-pass algorithm.
+ *
+ * <p>Note that adding values using {@link #accept(double, double) accept} and then executing
+ * {@link #getAsDouble() getAsDouble} will
+ * sometimes give a different, less accurate, result than executing
+ * {@link #of(double[], double[]) of} with the full arrays of values. The former approach
+ * should only be used when the full arrays of values are not available.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double, double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Pearson_correlation_coefficient">
+ * Pearson correlation coefficient (Wikipedia)</a>
+ * @see Covariance
+ * @since 1.4
+ */
+public final class PearsonCorrelation implements StatisticResult, StatisticAccumulator<PearsonCorrelation> {
+    /** Moments of the paired values. */
+    private final BivariateMoments moments;
+
+    /**
+     * Creates an instance with the moments.
+     *
+     * @param moments Moments.
+     */
+    private PearsonCorrelation(BivariateMoments moments) {
+        this.moments = moments;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code PearsonCorrelation} instance.
+     */
+    public static PearsonCorrelation create() {
+        return new PearsonCorrelation(new BivariateMoments());
+    }
+
+    /**
+     * Returns an instance populated using the paired values {@code (x[i], y[i])}.
+     *
+     * <p>Note: {@code PearsonCorrelation} computed using {@link #accept(double, double) accept}
+     * may be different from this correlation.
+     *
+     * <p>See {@link PearsonCorrelation} for details on the computing algorithm.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @return {@code PearsonCorrelation} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     */
+    public static PearsonCorrelation of(double[] x, double[] y) {
+        Statistics.checkPairedLength(x.length, y.length);
+        return new PearsonCorrelation(BivariateMoments.ofRange(x, y, 0, x.length));
+    }
+
+    /**
+     * Returns an instance populated using the specified range of the paired values
+     * {@code (x[i], y[i])}.
+     *
+     * <p>Note: {@code PearsonCorrelation} computed using {@link #accept(double, double) accept}
+     * may be different from this correlation.
+     *
+     * <p>See {@link PearsonCorrelation} for details on the computing algorithm.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code PearsonCorrelation} instance.
+     * @throws IllegalArgumentException if the values have different lengths
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static PearsonCorrelation ofRange(double[] x, double[] y, int from, int to) {
+        Statistics.checkPairedLength(x.length, y.length);
+        Statistics.checkFromToIndex(from, to, x.length);
+        return new PearsonCorrelation(BivariateMoments.ofRange(x, y, from, to));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the paired values.
+     *
+     * @param x Value of the first variable.
+     * @param y Value of the second variable.
+     */
+    public void accept(double x, double y) {
+        moments.accept(x, y);
+    }
+
+    /**
+     * Gets the number of paired values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return moments.getN();
+    }
+
+    /**
+     * Gets the correlation of all input values.
+     *
+     * <p>When less than two pairs of values have been added, the result is {@code NaN}.
+     *
+     * @return correlation of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return computeCorrelation(moments.getSumOfProductsOfDeviations(),
+            moments.getSumOfSquaredDeviationsX(), moments.getSumOfSquaredDeviationsY());
+    }
+
+    /**
+     * Compute the correlation from the sums of the deviations from the mean.
+     *
+     * @param sxy Sum of the products of the deviations.
+     * @param sxx Sum of the squared deviations of x.
+     * @param syy Sum of the squared deviations of y.
+     * @return the correlation
+     */
+    static double computeCorrelation(double sxy, double sxx, double syy) {
+        // Separate square roots avoid overflow of the product sxx * syy.
+        // Zero or non-finite sums create a NaN result.
+        final double d = Math.sqrt(sxx) * Math.sqrt(syy);
+        final double r = sxy / d;
+        if (!Double.isFinite(r) || !Double.isFinite(d)) {
+            return Double.NaN;
+        }
+        // Clip rounding errors
+        return Math.max(-1, Math.min(1, r));
+    }
+
+    @Override
+    public PearsonCorrelation combine(PearsonCorrelation other) {
+        moments.combine(other.moments);
+        return this;
+    }
+}
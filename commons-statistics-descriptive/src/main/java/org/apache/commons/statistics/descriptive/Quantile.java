@@ -16,10 +16,15 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.IntToDoubleFunction;
 import java.util.function.IntToLongFunction;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
 import org.apache.commons.numbers.arrays.Selection;
 
 /**
@@ -45,6 +50,14 @@ import org.apache.commons.numbers.arrays.Selection;
  *
  * <p>Instances of this class are immutable and thread-safe.
  *
+ * <p><strong>Support for {@code int} arrays</strong>
+ *
+ * <p>If the values in an {@code int} array have a small span {@code max - min + 1}
+ * relative to the length of the array, for example byte values or categorical codes,
+ * the quantiles are computed from a count of each value. The input array is not modified
+ * and no copy of the data is created. Otherwise the quantiles are computed by partitioning
+ * the data.
+ *
  * <p><strong>Support for {@code long} arrays</strong>
  *
  * <p>The result on {@code long} values can be returned as a {@code double} or
@@ -81,6 +94,26 @@ import org.apache.commons.numbers.arrays.Selection;
  *                       .toArray();
  * }</pre>
  *
+ * <p><strong>Support for buffers</strong>
+ *
+ * <p>Quantiles can be computed for the remaining elements of a {@link DoubleBuffer},
+ * {@link IntBuffer} or {@link LongBuffer}. A writable buffer without an accessible array,
+ * for example a direct buffer or a buffer view of a memory-mapped file, is partially sorted
+ * in-place without a copy of the data on the heap.
+ *
+ * <p><strong>Batch evaluation</strong>
+ *
+ * <p>Quantiles can be computed for a batch of contiguous ranges of an array, for example
+ * each window of a time series. The arguments are checked once and working arrays are
+ * reused for all ranges. The batch can be evaluated in {@link #withParallel(boolean) parallel}.
+ *
+ * <p><strong>Reuse of working arrays</strong>
+ *
+ * <p>Quantiles can be computed using a {@link QuantileWorkspace} that owns the working arrays,
+ * including the copy of the data if configured to {@link #withCopy(boolean) copy} the input
+ * data. Repeat computations using the same workspace do not allocate memory, for example
+ * {@link #evaluate(double[], double, QuantileWorkspace)}.
+ *
  * @see #with(NaNPolicy)
  * @see <a href="https://en.wikipedia.org/wiki/Quantile">Quantile (Wikipedia)</a>
  * @since 1.1
@@ -96,7 +129,7 @@ public final class Quantile {
     private static final String INVALID_NUMBER_OF_PROBABILITIES = "Invalid number of probabilities: ";
 
     /** Default instance. Method 8 is recommended by Hyndman and Fan. */
-    private static final Quantile DEFAULT = new Quantile(false, NaNPolicy.INCLUDE, EstimationMethod.HF8);
+    private static final Quantile DEFAULT = new Quantile(false, NaNPolicy.INCLUDE, EstimationMethod.HF8, false);
 
     /** Flag to indicate if the data should be copied. */
     private final boolean copy;
@@ -106,16 +139,20 @@ public final class Quantile {
     private final NaNTransformer nanTransformer;
     /** Estimation type used to determine the value from the quantile. */
     private final EstimationMethod estimationType;
+    /** Flag to indicate if a batch of ranges should be evaluated in parallel. */
+    private final boolean parallel;
 
     /**
      * @param copy Flag to indicate if the data should be copied.
      * @param nanPolicy NaN policy.
      * @param estimationType Estimation type used to determine the value from the quantile.
+     * @param parallel Flag to indicate if a batch of ranges should be evaluated in parallel.
      */
-    private Quantile(boolean copy, NaNPolicy nanPolicy, EstimationMethod estimationType) {
+    private Quantile(boolean copy, NaNPolicy nanPolicy, EstimationMethod estimationType, boolean parallel) {
         this.copy = copy;
         this.nanPolicy = nanPolicy;
         this.estimationType = estimationType;
+        this.parallel = parallel;
         nanTransformer = NaNTransformers.createNaNTransformer(nanPolicy, copy);
     }
 
@@ -126,6 +163,7 @@ public final class Quantile {
      * <li>{@linkplain #withCopy(boolean) Copy = false}</li>
      * <li>{@linkplain #with(NaNPolicy) NaN policy = include}</li>
      * <li>{@linkplain #with(EstimationMethod) Estimation method = HF8}</li>
+     * <li>{@linkplain #withParallel(boolean) Parallel = false}</li>
      * </ul>
      *
      * <p>Note: The default options configure for processing in-place and including
@@ -136,6 +174,7 @@ public final class Quantile {
      * @see #withCopy(boolean)
      * @see #with(NaNPolicy)
      * @see #with(EstimationMethod)
+     * @see #withParallel(boolean)
      */
     public static Quantile withDefaults() {
         return DEFAULT;
@@ -150,7 +189,7 @@ public final class Quantile {
      * @return an instance
      */
     public Quantile withCopy(boolean v) {
-        return new Quantile(v, nanPolicy, estimationType);
+        return new Quantile(v, nanPolicy, estimationType, parallel);
     }
 
     /**
@@ -180,7 +219,7 @@ public final class Quantile {
      * @return an instance
      */
     public Quantile with(NaNPolicy v) {
-        return new Quantile(copy, Objects.requireNonNull(v), estimationType);
+        return new Quantile(copy, Objects.requireNonNull(v), estimationType, parallel);
     }
 
     /**
@@ -190,7 +229,25 @@ public final class Quantile {
      * @return an instance
      */
     public Quantile with(EstimationMethod v) {
-        return new Quantile(copy, nanPolicy, Objects.requireNonNull(v));
+        return new Quantile(copy, nanPolicy, Objects.requireNonNull(v), parallel);
+    }
+
+    /**
+     * Return an instance with the configured parallel evaluation mode for a batch of
+     * ranges. If {@code true} a large batch is split into chunks of ranges that are
+     * processed using the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+     * A batch that is too small to benefit from parallel processing is evaluated sequentially.
+     *
+     * <p>This option only applies to the evaluation of a batch of ranges, for example using
+     * {@link #evaluateRanges(double[], int[], double, double[])}. The result is the same
+     * as the sequential evaluation.
+     *
+     * @param v Value.
+     * @return an instance
+     * @since 1.4
+     */
+    public Quantile withParallel(boolean v) {
+        return new Quantile(copy, nanPolicy, estimationType, v);
     }
 
     /**
@@ -263,7 +320,8 @@ public final class Quantile {
      * @see #with(NaNPolicy)
      */
     public double evaluate(double[] values, double p) {
-        return compute(values, 0, values.length, p);
+        checkProbability(p);
+        return compute(values, 0, values.length, p, null);
     }
 
     /**
@@ -292,24 +350,74 @@ public final class Quantile {
      */
     public double evaluateRange(double[] values, int from, int to, double p) {
         Statistics.checkFromToIndex(from, to, values.length);
-        return compute(values, from, to, p);
+        checkProbability(p);
+        return compute(values, from, to, p, null);
     }
 
     /**
-     * Compute the {@code p}-th quantile of the specified range of values.
+     * Evaluate the {@code p}-th quantile of the values using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param p Probability for the quantile to compute.
+     * @param workspace Workspace.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]};
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #evaluate(double[], double)
+     * @since 1.4
+     */
+    public double evaluate(double[] values, double p, QuantileWorkspace workspace) {
+        checkProbability(p);
+        return compute(values, 0, values.length, p, workspace);
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantile of the specified range of values using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
      *
      * @param values Values.
      * @param from Inclusive start of the range.
      * @param to Exclusive end of the range.
      * @param p Probability for the quantile to compute.
+     * @param workspace Workspace.
      * @return the quantile
-     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]};
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #evaluateRange(double[], int, int, double)
+     * @since 1.4
      */
-    private double compute(double[] values, int from, int to, double p) {
+    public double evaluateRange(double[] values, int from, int to, double p, QuantileWorkspace workspace) {
+        Statistics.checkFromToIndex(from, to, values.length);
         checkProbability(p);
+        return compute(values, from, to, p, workspace);
+    }
+
+    /**
+     * Compute the {@code p}-th quantile of the specified range of values.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param p Probability for the quantile to compute.
+     * @param w Workspace (can be null).
+     * @return the quantile
+     */
+    private double compute(double[] values, int from, int to, double p, QuantileWorkspace w) {
         // Floating-point data handling
-        final int[] bounds = new int[2];
-        final double[] x = nanTransformer.apply(values, from, to, bounds);
+        final int[] bounds = QuantileWorkspace.bounds(w);
+        final double[] x = nanTransformer(w, to - from).apply(values, from, to, bounds);
         final int start = bounds[0];
         final int end = bounds[1];
         final int n = end - start;
@@ -324,7 +432,7 @@ public final class Quantile {
 
         // Partition and compute
         if (pos > ip) {
-            Selection.select(x, start, end, new int[] {i, i + 1});
+            Selection.select(x, start, end, QuantileWorkspace.indices(w, i, i + 1));
             return Interpolation.interpolate(x[i], x[i + 1], pos - ip);
         }
         Selection.select(x, start, end, i);
@@ -345,7 +453,8 @@ public final class Quantile {
      * @see #with(NaNPolicy)
      */
     public double[] evaluate(double[] values, double... p) {
-        return compute(values, 0, values.length, p);
+        checkProbabilities(p);
+        return compute(values, 0, values.length, p, new double[p.length], null);
     }
 
     /**
@@ -367,40 +476,71 @@ public final class Quantile {
      */
     public double[] evaluateRange(double[] values, int from, int to, double... p) {
         Statistics.checkFromToIndex(from, to, values.length);
-        return compute(values, from, to, p);
+        checkProbabilities(p);
+        return compute(values, from, to, p, new double[p.length], null);
     }
 
     /**
-     * Compute the {@code p}-th quantiles of the specified range of values.
+     * Evaluate the {@code p}-th quantiles of the specified range of values using the workspace.
+     * The quantile for {@code p[i]} is written to {@code result[i]}.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
      *
      * @param values Values.
      * @param from Inclusive start of the range.
      * @param to Exclusive end of the range.
      * @param p Probabilities for the quantiles to compute.
-     * @return the quantiles
+     * @param result Quantiles (output).
+     * @param workspace Workspace.
      * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
-     * or no probabilities are specified.
+     * no probabilities are specified; the result length is smaller than the number of
+     * probabilities;
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #evaluateRange(double[], int, int, double...)
+     * @since 1.4
      */
-    private double[] compute(double[] values, int from, int to, double... p) {
+    public void evaluateRange(double[] values, int from, int to, double[] p, double[] result,
+                              QuantileWorkspace workspace) {
+        Statistics.checkFromToIndex(from, to, values.length);
         checkProbabilities(p);
+        RangeBatch.checkOutputLength(p.length, result.length);
+        compute(values, from, to, p, result, workspace);
+    }
+
+    /**
+     * Compute the {@code p}-th quantiles of the specified range of values.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param p Probabilities for the quantiles to compute.
+     * @param q Quantiles (output).
+     * @param w Workspace (can be null).
+     * @return the quantiles
+     */
+    private double[] compute(double[] values, int from, int to, double[] p, double[] q, QuantileWorkspace w) {
         // Floating-point data handling
-        final int[] bounds = new int[2];
-        final double[] x = nanTransformer.apply(values, from, to, bounds);
+        final int[] bounds = QuantileWorkspace.bounds(w);
+        final double[] x = nanTransformer(w, to - from).apply(values, from, to, bounds);
         final int start = bounds[0];
         final int end = bounds[1];
         final int n = end - start;
         // Special cases
-        final double[] q = new double[p.length];
         if (n <= 1) {
-            Arrays.fill(q, n == 0 ? Double.NaN : x[start]);
+            Arrays.fill(q, 0, p.length, n == 0 ? Double.NaN : x[start]);
             return q;
         }
 
         // Collect interpolation positions. We use the output q as storage.
-        final int[] indices = computeIndices(n, p, q, start);
+        final int[] indices = QuantileSelection.indices(estimationType, n, p, q, start, w);
 
         // Partition
-        Selection.select(x, start, end, indices);
+        QuantileSelection.partition(x, start, end, indices, w);
 
         // Compute
         for (int k = 0; k < p.length; k++) {
@@ -416,6 +556,131 @@ public final class Quantile {
         return q;
     }
 
+    /**
+     * Evaluate the {@code p}-th quantile of each range of the values in a batch.
+     *
+     * <p>The ranges are defined by the {@code boundaries}: range {@code i} is
+     * {@code [boundaries[i], boundaries[i + 1])}. The boundaries must be non-decreasing
+     * and define {@code boundaries.length - 1} ranges of the values. The quantile of range
+     * {@code i} is written to {@code result[i]}.
+     *
+     * <p>The result is the same as calling {@link #evaluateRange(double[], int, int, double)}
+     * for each range. The arguments are checked once for the batch. If configured to
+     * {@link #withCopy(boolean) copy} the input data, each range is copied to a working
+     * buffer that is reused for all ranges. The batch can be evaluated in
+     * {@link #withParallel(boolean) parallel}.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param boundaries Boundaries of the ranges.
+     * @param p Probability for the quantile to compute.
+     * @param result Quantile of each range (output).
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]};
+     * the result length is smaller than the number of ranges;
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if any range is out of bounds
+     * @see #withParallel(boolean)
+     * @since 1.4
+     */
+    public void evaluateRanges(double[] values, int[] boundaries, double p, double[] result) {
+        checkProbability(p);
+        final int n = RangeBatch.checkBoundaries(boundaries, values.length);
+        RangeBatch.evaluate(boundaries, n, parallel, result, (from, to, w) -> compute(values, from, to, p, w));
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantiles of each range of the values in a batch.
+     *
+     * <p>The ranges are defined by the {@code boundaries}: range {@code i} is
+     * {@code [boundaries[i], boundaries[i + 1])}. The boundaries must be non-decreasing
+     * and define {@code boundaries.length - 1} ranges of the values. The quantile {@code j}
+     * of range {@code i} is written to {@code result[i * p.length + j]}.
+     *
+     * <p>The result is the same as calling {@link #evaluateRange(double[], int, int, double...)}
+     * for each range. The arguments are checked once for the batch. If configured to
+     * {@link #withCopy(boolean) copy} the input data, each range is copied to a working
+     * buffer that is reused for all ranges. The batch can be evaluated in
+     * {@link #withParallel(boolean) parallel}.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param boundaries Boundaries of the ranges.
+     * @param p Probabilities for the quantiles to compute.
+     * @param result Quantiles of each range (output).
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * no probabilities are specified; the result length is smaller than the number of ranges
+     * multiplied by the number of probabilities;
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if any range is out of bounds
+     * @see #withParallel(boolean)
+     * @since 1.4
+     */
+    public void evaluateRanges(double[] values, int[] boundaries, double[] p, double[] result) {
+        checkProbabilities(p);
+        final int n = RangeBatch.checkBoundaries(boundaries, values.length);
+        RangeBatch.evaluate(boundaries, n, parallel, p.length, result,
+            (from, to, q, w) -> compute(values, from, to, p, q, w));
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantile of the weighted values.
+     *
+     * <p>Weights are frequency weights. The quantile is computed using the configured
+     * {@link EstimationMethod} with the size of the data defined by the sum of the weights.
+     * The value at each integer position in the sorted data is the value whose cumulative weight
+     * covers the position. For integer weights this is the same result as the quantile of the
+     * values where each value is repeated the number of times specified by its weight. Weights
+     * can be non-integer. Values with a weight of zero are ignored.
+     *
+     * <p>The values are sorted to compute the cumulative weights. The input arrays are
+     * not modified.
+     *
+     * <p>The configured {@link NaNPolicy} is applied to {@code NaN} values.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]};
+     * the values and weights have different lengths; any weight is negative or not finite;
+     * the sum of the weights is not finite;
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #evaluateWeighted(double[], double[], double...)
+     * @since 1.4
+     */
+    public double evaluateWeighted(double[] values, double[] weights, double p) {
+        checkProbability(p);
+        return WeightedQuantile.compute(values, weights, new double[] {p}, nanPolicy, estimationType)[0];
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantiles of the weighted values.
+     *
+     * <p>Weights are frequency weights. See {@link #evaluateWeighted(double[], double[], double)}
+     * for details on the computation.
+     *
+     * <p>The input arrays are not modified.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @param p Probabilities for the quantiles to compute.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * no probabilities are specified; the values and weights have different lengths; any weight is
+     * negative or not finite; the sum of the weights is not finite;
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #evaluateWeighted(double[], double[], double)
+     * @since 1.4
+     */
+    public double[] evaluateWeighted(double[] values, double[] weights, double... p) {
+        checkProbabilities(p);
+        return WeightedQuantile.compute(values, weights, p.clone(), nanPolicy, estimationType);
+    }
+
     /**
      * Evaluate the {@code p}-th quantile of the values.
      *
@@ -435,7 +700,8 @@ public final class Quantile {
      * @see #evaluate(int[], double...)
      */
     public double evaluate(int[] values, double p) {
-        return compute(values, 0, values.length, p);
+        checkProbability(p);
+        return compute(values, 0, values.length, p, null);
     }
 
     /**
@@ -462,48 +728,94 @@ public final class Quantile {
      */
     public double evaluateRange(int[] values, int from, int to, double p) {
         Statistics.checkFromToIndex(from, to, values.length);
-        return compute(values, from, to, p);
+        checkProbability(p);
+        return compute(values, from, to, p, null);
     }
 
     /**
-     * Compute the {@code p}-th quantile of the specified range of values.
+     * Evaluate the {@code p}-th quantile of the values using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param p Probability for the quantile to compute.
+     * @param workspace Workspace.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     * @see #evaluate(int[], double)
+     * @since 1.4
+     */
+    public double evaluate(int[] values, double p, QuantileWorkspace workspace) {
+        checkProbability(p);
+        return compute(values, 0, values.length, p, workspace);
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantile of the specified range of values using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
      *
      * @param values Values.
      * @param from Inclusive start of the range.
      * @param to Exclusive end of the range.
      * @param p Probability for the quantile to compute.
+     * @param workspace Workspace.
      * @return the quantile
      * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #evaluateRange(int[], int, int, double)
+     * @since 1.4
      */
-    private double compute(int[] values, int from, int to, double p) {
+    public double evaluateRange(int[] values, int from, int to, double p, QuantileWorkspace workspace) {
+        Statistics.checkFromToIndex(from, to, values.length);
         checkProbability(p);
+        return compute(values, from, to, p, workspace);
+    }
+
+    /**
+     * Compute the {@code p}-th quantile of the specified range of values.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param p Probability for the quantile to compute.
+     * @param w Workspace (can be null).
+     * @return the quantile
+     */
+    private double compute(int[] values, int from, int to, double p, QuantileWorkspace w) {
         final int n = to - from;
         // Special cases
         if (n <= 1) {
             return n == 0 ? Double.NaN : values[from];
         }
 
-        // Create the range
-        final int[] x;
-        final int start;
-        final int end;
-        if (copy) {
-            x = Statistics.copy(values, from, to);
-            start = 0;
-            end = n;
-        } else {
-            x = values;
-            start = from;
-            end = to;
-        }
-
         final double pos = estimationType.index(p, n);
         final int ip = (int) pos;
+
+        // Count data with a small span of values
+        final CountingSelection counts = CountingSelection.of(values, from, to, w);
+        if (counts != null) {
+            return counts.quantile(pos);
+        }
+
+        // Create the range
+        final int[] x = copy ? QuantileWorkspace.copy(w, values, from, to) : values;
+        final int start = copy ? 0 : from;
+        final int end = start + n;
+
         final int i = start + ip;
 
         // Partition and compute
         if (pos > ip) {
-            Selection.select(x, start, end, new int[] {i, i + 1});
+            Selection.select(x, start, end, QuantileWorkspace.indices(w, i, i + 1));
             return Interpolation.interpolate((double) x[i], (double) x[i + 1], pos - ip);
         }
         Selection.select(x, start, end, i);
@@ -523,7 +835,8 @@ public final class Quantile {
      * or no probabilities are specified.
      */
     public double[] evaluate(int[] values, double... p) {
-        return compute(values, 0, values.length, p);
+        checkProbabilities(p);
+        return compute(values, 0, values.length, p, new double[p.length], null);
     }
 
     /**
@@ -544,11 +857,16 @@ public final class Quantile {
      */
     public double[] evaluateRange(int[] values, int from, int to, double... p) {
         Statistics.checkFromToIndex(from, to, values.length);
-        return compute(values, from, to, p);
+        checkProbabilities(p);
+        return compute(values, from, to, p, new double[p.length], null);
     }
 
     /**
-     * Evaluate the {@code p}-th quantiles of the specified range of values..
+     * Evaluate the {@code p}-th quantiles of the specified range of values using the workspace.
+     * The quantile for {@code p[i]} is written to {@code result[i]}.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory.
      *
      * <p>Note: This method may partially sort the input values if not configured to
      * {@link #withCopy(boolean) copy} the input data.
@@ -557,39 +875,61 @@ public final class Quantile {
      * @param from Inclusive start of the range.
      * @param to Exclusive end of the range.
      * @param p Probabilities for the quantiles to compute.
-     * @return the quantiles
+     * @param result Quantiles (output).
+     * @param workspace Workspace.
      * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
-     * or no probabilities are specified.
+     * no probabilities are specified; the result length is smaller than the number of
+     * probabilities
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #evaluateRange(int[], int, int, double...)
+     * @since 1.4
      */
-    private double[] compute(int[] values, int from, int to, double... p) {
+    public void evaluateRange(int[] values, int from, int to, double[] p, double[] result,
+                              QuantileWorkspace workspace) {
+        Statistics.checkFromToIndex(from, to, values.length);
         checkProbabilities(p);
+        RangeBatch.checkOutputLength(p.length, result.length);
+        compute(values, from, to, p, result, workspace);
+    }
+
+    /**
+     * Compute the {@code p}-th quantiles of the specified range of values.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param p Probabilities for the quantiles to compute.
+     * @param q Quantiles (output).
+     * @param w Workspace (can be null).
+     * @return the quantiles
+     */
+    private double[] compute(int[] values, int from, int to, double[] p, double[] q, QuantileWorkspace w) {
         final int n = to - from;
         // Special cases
-        final double[] q = new double[p.length];
         if (n <= 1) {
-            Arrays.fill(q, n == 0 ? Double.NaN : values[from]);
+            Arrays.fill(q, 0, p.length, n == 0 ? Double.NaN : values[from]);
             return q;
         }
 
-        // Create the range
-        final int[] x;
-        final int start;
-        final int end;
-        if (copy) {
-            x = Statistics.copy(values, from, to);
-            start = 0;
-            end = n;
-        } else {
-            x = values;
-            start = from;
-            end = to;
+        // Count data with a small span of values
+        final CountingSelection counts = CountingSelection.of(values, from, to, w);
+        if (counts != null) {
+            for (int k = 0; k < p.length; k++) {
+                q[k] = counts.quantile(estimationType.index(p[k], n));
+            }
+            return q;
         }
 
+        // Create the range
+        final int[] x = copy ? QuantileWorkspace.copy(w, values, from, to) : values;
+        final int start = copy ? 0 : from;
+        final int end = start + n;
+
         // Collect interpolation positions. We use the output q as storage.
-        final int[] indices = computeIndices(n, p, q, start);
+        final int[] indices = QuantileSelection.indices(estimationType, n, p, q, start, w);
 
         // Partition
-        Selection.select(x, start, end, indices);
+        QuantileSelection.partition(x, start, end, indices, w);
 
         // Compute
         for (int k = 0; k < p.length; k++) {
@@ -605,6 +945,74 @@ public final class Quantile {
         return q;
     }
 
+    /**
+     * Evaluate the {@code p}-th quantile of each range of the values in a batch.
+     *
+     * <p>The ranges are defined by the {@code boundaries}: range {@code i} is
+     * {@code [boundaries[i], boundaries[i + 1])}. The boundaries must be non-decreasing
+     * and define {@code boundaries.length - 1} ranges of the values. The quantile of range
+     * {@code i} is written to {@code result[i]}.
+     *
+     * <p>The result is the same as calling {@link #evaluateRange(int[], int, int, double)}
+     * for each range. The arguments are checked once for the batch. If configured to
+     * {@link #withCopy(boolean) copy} the input data, each range is copied to a working
+     * buffer that is reused for all ranges. The batch can be evaluated in
+     * {@link #withParallel(boolean) parallel}.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param boundaries Boundaries of the ranges.
+     * @param p Probability for the quantile to compute.
+     * @param result Quantile of each range (output).
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]};
+     * or the result length is smaller than the number of ranges
+     * @throws IndexOutOfBoundsException if any range is out of bounds
+     * @see #withParallel(boolean)
+     * @since 1.4
+     */
+    public void evaluateRanges(int[] values, int[] boundaries, double p, double[] result) {
+        checkProbability(p);
+        final int n = RangeBatch.checkBoundaries(boundaries, values.length);
+        RangeBatch.evaluate(boundaries, n, parallel, result, (from, to, w) -> compute(values, from, to, p, w));
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantiles of each range of the values in a batch.
+     *
+     * <p>The ranges are defined by the {@code boundaries}: range {@code i} is
+     * {@code [boundaries[i], boundaries[i + 1])}. The boundaries must be non-decreasing
+     * and define {@code boundaries.length - 1} ranges of the values. The quantile {@code j}
+     * of range {@code i} is written to {@code result[i * p.length + j]}.
+     *
+     * <p>The result is the same as calling {@link #evaluateRange(int[], int, int, double...)}
+     * for each range. The arguments are checked once for the batch. If configured to
+     * {@link #withCopy(boolean) copy} the input data, each range is copied to a working
+     * buffer that is reused for all ranges. The batch can be evaluated in
+     * {@link #withParallel(boolean) parallel}.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param boundaries Boundaries of the ranges.
+     * @param p Probabilities for the quantiles to compute.
+     * @param result Quantiles of each range (output).
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * no probabilities are specified; or the result length is smaller than the number of ranges
+     * multiplied by the number of probabilities
+     * @throws IndexOutOfBoundsException if any range is out of bounds
+     * @see #withParallel(boolean)
+     * @since 1.4
+     */
+    public void evaluateRanges(int[] values, int[] boundaries, double[] p, double[] result) {
+        checkProbabilities(p);
+        final int n = RangeBatch.checkBoundaries(boundaries, values.length);
+        RangeBatch.evaluate(boundaries, n, parallel, p.length, result,
+            (from, to, q, w) -> compute(values, from, to, p, q, w));
+    }
+
     /**
      * Evaluate the {@code p}-th quantile of the values.
      *
@@ -626,7 +1034,8 @@ public final class Quantile {
      * @since 1.3
      */
     public StatisticResult evaluate(long[] values, double p) {
-        return compute(values, 0, values.length, p);
+        checkProbability(p);
+        return compute(values, 0, values.length, p, null);
     }
 
     /**
@@ -653,22 +1062,69 @@ public final class Quantile {
      */
     public StatisticResult evaluateRange(long[] values, int from, int to, double p) {
         Statistics.checkFromToIndex(from, to, values.length);
-        return compute(values, from, to, p);
+        checkProbability(p);
+        return compute(values, from, to, p, null);
     }
 
     /**
-     * Compute the {@code p}-th quantile of the specified range of values.
+     * Evaluate the {@code p}-th quantile of the values using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory for working arrays.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param p Probability for the quantile to compute.
+     * @param workspace Workspace.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     * @see #evaluate(long[], double)
+     * @since 1.4
+     */
+    public StatisticResult evaluate(long[] values, double p, QuantileWorkspace workspace) {
+        checkProbability(p);
+        return compute(values, 0, values.length, p, workspace);
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantile of the specified range of values using the workspace.
+     *
+     * <p>The workspace provides working arrays for the computation. Repeat calls using
+     * the same workspace on data of a similar size do not allocate memory for working arrays.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
      *
      * @param values Values.
      * @param from Inclusive start of the range.
      * @param to Exclusive end of the range.
      * @param p Probability for the quantile to compute.
+     * @param workspace Workspace.
      * @return the quantile
      * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
-     * @since 1.3
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #evaluateRange(long[], int, int, double)
+     * @since 1.4
      */
-    private StatisticResult compute(long[] values, int from, int to, double p) {
+    public StatisticResult evaluateRange(long[] values, int from, int to, double p, QuantileWorkspace workspace) {
+        Statistics.checkFromToIndex(from, to, values.length);
         checkProbability(p);
+        return compute(values, from, to, p, workspace);
+    }
+
+    /**
+     * Compute the {@code p}-th quantile of the specified range of values.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param p Probability for the quantile to compute.
+     * @param w Workspace (can be null).
+     * @return the quantile
+     */
+    private StatisticResult compute(long[] values, int from, int to, double p, QuantileWorkspace w) {
         final int n = to - from;
         // Special cases
         if (n <= 1) {
@@ -678,18 +1134,9 @@ public final class Quantile {
         }
 
         // Create the range
-        final long[] x;
-        final int start;
-        final int end;
-        if (copy) {
-            x = Statistics.copy(values, from, to);
-            start = 0;
-            end = n;
-        } else {
-            x = values;
-            start = from;
-            end = to;
-        }
+        final long[] x = copy ? QuantileWorkspace.copy(w, values, from, to) : values;
+        final int start = copy ? 0 : from;
+        final int end = start + n;
 
         final double pos = estimationType.index(p, n);
         final int ip = (int) pos;
@@ -697,7 +1144,7 @@ public final class Quantile {
 
         // Partition and compute
         if (pos > ip) {
-            Selection.select(x, start, end, new int[] {i, i + 1});
+            Selection.select(x, start, end, QuantileWorkspace.indices(w, i, i + 1));
             return Interpolation.interpolate(x[i], x[i + 1], pos - ip);
         }
         Selection.select(x, start, end, i);
@@ -770,25 +1217,16 @@ public final class Quantile {
         }
 
         // Create the range
-        final long[] x;
-        final int start;
-        final int end;
-        if (copy) {
-            x = Statistics.copy(values, from, to);
-            start = 0;
-            end = n;
-        } else {
-            x = values;
-            start = from;
-            end = to;
-        }
+        final long[] x = copy ? QuantileWorkspace.copy(null, values, from, to) : values;
+        final int start = copy ? 0 : from;
+        final int end = start + n;
 
         // Collect interpolation positions
         final double[] q = new double[p.length];
-        final int[] indices = computeIndices(n, p, q, start);
+        final int[] indices = QuantileSelection.indices(estimationType, n, p, q, start, null);
 
         // Partition
-        Selection.select(x, start, end, indices);
+        QuantileSelection.partition(x, start, end, indices, null);
 
         // Compute
         for (int k = 0; k < p.length; k++) {
@@ -804,6 +1242,261 @@ public final class Quantile {
         return result;
     }
 
+    /**
+     * Evaluate the {@code p}-th quantile of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     * To compute quantiles of a memory-mapped file without a copy of the data on the heap
+     * the file should be mapped using {@link java.nio.channels.FileChannel.MapMode#READ_WRITE
+     * READ_WRITE} or {@link java.nio.channels.FileChannel.MapMode#PRIVATE PRIVATE} mode.
+     *
+     * @param values Values.
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]};
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #evaluate(DoubleBuffer, double...)
+     * @see #with(NaNPolicy)
+     * @since 1.4
+     */
+    public double evaluate(DoubleBuffer values, double p) {
+        checkProbability(p);
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit(), p, null);
+        }
+        if (copy || values.isReadOnly()) {
+            final double[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length, p, null);
+        }
+        return QuantileSelection.compute(values, new double[] {p}, nanPolicy, estimationType)[0];
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantiles of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     *
+     * @param values Values.
+     * @param p Probabilities for the quantiles to compute.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * no probabilities are specified; or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #evaluate(DoubleBuffer, double)
+     * @see #with(NaNPolicy)
+     * @since 1.4
+     */
+    public double[] evaluate(DoubleBuffer values, double... p) {
+        checkProbabilities(p);
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit(), p,
+                new double[p.length], null);
+        }
+        if (copy || values.isReadOnly()) {
+            final double[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length, p, new double[p.length], null);
+        }
+        return QuantileSelection.compute(values, p, nanPolicy, estimationType);
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantile of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     *
+     * @param values Values.
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     * @see #evaluate(IntBuffer, double...)
+     * @see #evaluate(DoubleBuffer, double)
+     * @since 1.4
+     */
+    public double evaluate(IntBuffer values, double p) {
+        checkProbability(p);
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit(), p, null);
+        }
+        if (copy || values.isReadOnly()) {
+            final int[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length, p, null);
+        }
+        return QuantileSelection.compute(values, new double[] {p}, estimationType)[0];
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantiles of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     *
+     * @param values Values.
+     * @param p Probabilities for the quantiles to compute.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * or no probabilities are specified.
+     * @see #evaluate(IntBuffer, double)
+     * @since 1.4
+     */
+    public double[] evaluate(IntBuffer values, double... p) {
+        checkProbabilities(p);
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit(), p,
+                new double[p.length], null);
+        }
+        if (copy || values.isReadOnly()) {
+            final int[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length, p, new double[p.length], null);
+        }
+        return QuantileSelection.compute(values, p, estimationType);
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantile of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     *
+     * @param values Values.
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     * @see #evaluate(LongBuffer, double...)
+     * @see #evaluate(DoubleBuffer, double)
+     * @since 1.4
+     */
+    public StatisticResult evaluate(LongBuffer values, double p) {
+        checkProbability(p);
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit(), p, null);
+        }
+        if (copy || values.isReadOnly()) {
+            final long[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length, p, null);
+        }
+        return QuantileSelection.compute(values, new double[] {p}, estimationType)[0];
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantiles of the remaining elements of the buffer.
+     *
+     * <p>The buffer position and limit are not modified.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data. A writable buffer that does not
+     * have an accessible array is partially sorted in-place; a read-only buffer is copied.
+     *
+     * @param values Values.
+     * @param p Probabilities for the quantiles to compute.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * or no probabilities are specified.
+     * @see #evaluate(LongBuffer, double)
+     * @since 1.4
+     */
+    public StatisticResult[] evaluate(LongBuffer values, double... p) {
+        checkProbabilities(p);
+        if (values.hasArray()) {
+            final int offset = values.arrayOffset();
+            return compute(values.array(), offset + values.position(), offset + values.limit(), p);
+        }
+        if (copy || values.isReadOnly()) {
+            final long[] x = BufferSelection.toArray(values);
+            return inPlace().compute(x, 0, x.length, p);
+        }
+        return QuantileSelection.compute(values, p, estimationType);
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantile of the values supplied as a stream.
+     *
+     * <p>This method computes the exact quantile of data that is too large to be held in
+     * memory. The values are read using multiple passes through the stream; a new stream is
+     * obtained from the supplier for each pass and closed after use. The supplier must provide
+     * the same values for each pass. Values are consumed sequentially; a parallel stream is
+     * converted to sequential.
+     *
+     * <p>The first pass counts the values and creates a histogram of the values. Each
+     * subsequent pass refines the histogram only within the buckets that contain the values
+     * required for the quantile. When the values within a bucket can be held in memory they
+     * are collected and the quantile is selected exactly. The number of passes is typically 2
+     * or 3, and is at most 4 when computing up to 8 quantiles. The memory consumption is bounded
+     * and independent of the number of values.
+     *
+     * <p>For example to compute the quantile of values stored in a text file:
+     *
+     * <pre>{@code
+     * Path path = ...
+     * Supplier<DoubleStream> values = () -> {
+     *     try {
+     *         return Files.lines(path).mapToDouble(Double::parseDouble);
+     *     } catch (IOException ex) {
+     *         throw new UncheckedIOException(ex);
+     *     }
+     * };
+     * double q = Quantile.withDefaults().evaluate(values, 0.999);
+     * }</pre>
+     *
+     * <p>The configured {@link NaNPolicy} is applied to {@code NaN} values. The
+     * {@linkplain #withCopy(boolean) copy} option is ignored.
+     *
+     * @param values Supplier of the values.
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]};
+     * the stream values change between passes;
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #evaluate(Supplier, double...)
+     * @since 1.4
+     */
+    public double evaluate(Supplier<? extends DoubleStream> values, double p) {
+        checkProbability(p);
+        return QuantileSelection.compute(values, new double[] {p}, nanPolicy, estimationType)[0];
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantiles of the values supplied as a stream.
+     *
+     * <p>See {@link #evaluate(Supplier, double)} for details on the computation. Computing
+     * multiple quantiles together requires fewer passes through the values than computing
+     * each quantile separately.
+     *
+     * @param values Supplier of the values.
+     * @param p Probabilities for the quantiles to compute.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * no probabilities are specified; the stream values change between passes;
+     * or if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #evaluate(Supplier, double)
+     * @since 1.4
+     */
+    public double[] evaluate(Supplier<? extends DoubleStream> values, double... p) {
+        checkProbabilities(p);
+        return QuantileSelection.compute(values, p, nanPolicy, estimationType);
+    }
+
     /**
      * Evaluate the {@code p}-th quantile of the sorted values provided as a {@code double}.
      *
@@ -991,13 +1684,35 @@ public final class Quantile {
         return result;
     }
 
+    /**
+     * Gets the transformer for {@code NaN} data. If configured to copy the data and
+     * a workspace is provided the transformer uses a working array of the workspace.
+     *
+     * @param w Workspace (can be null).
+     * @param n Length of the data.
+     * @return the transformer
+     */
+    private NaNTransformer nanTransformer(QuantileWorkspace w, int n) {
+        return copy && w != null ? w.nanTransformer(nanPolicy, n) : nanTransformer;
+    }
+
+    /**
+     * Return an instance that does not copy the data. This is used to process
+     * data that has already been copied.
+     *
+     * @return an instance
+     */
+    private Quantile inPlace() {
+        return copy ? new Quantile(false, nanPolicy, estimationType, parallel) : this;
+    }
+
     /**
      * Check the probability {@code p} is in the range {@code [0, 1]}.
      *
      * @param p Probability for the quantile to compute.
      * @throws IllegalArgumentException if the probability is not in the range {@code [0, 1]}
      */
-    private static void checkProbability(double p) {
+    static void checkProbability(double p) {
         // Logic negation will detect NaN
         if (!(p >= 0 && p <= 1)) {
             throw new IllegalArgumentException(INVALID_PROBABILITY + p);
@@ -1011,7 +1726,7 @@ public final class Quantile {
      * @throws IllegalArgumentException if any probabilities {@code p} is not in the range {@code [0, 1]};
      * or no probabilities are specified.
      */
-    private static void checkProbabilities(double... p) {
+    static void checkProbabilities(double... p) {
         if (p.length == 0) {
             throw new IllegalArgumentException(NO_PROBABILITIES_SPECIFIED);
         }
@@ -1044,40 +1759,6 @@ public final class Quantile {
         }
     }
 
-    /**
-     * Compute the indices required for quantile interpolation.
-     *
-     * <p>The zero-based interpolation index in {@code [0, n)} is
-     * saved into the working array {@code q} for each {@code p}.
-     *
-     * <p>The indices are incremented by the provided {@code offset} to allow
-     * addressing sub-ranges of a larger array.
-     *
-     * @param n Size of the data.
-     * @param p Probabilities for the quantiles to compute.
-     * @param q Working array for quantiles in {@code [0, n)}.
-     * @param offset Array offset.
-     * @return the indices in {@code [offset, offset + n)}
-     */
-    private int[] computeIndices(int n, double[] p, double[] q, int offset) {
-        final int[] indices = new int[p.length << 1];
-        int count = 0;
-        for (int k = 0; k < p.length; k++) {
-            final double pos = estimationType.index(p[k], n);
-            q[k] = pos;
-            final int i = (int) pos;
-            indices[count++] = offset + i;
-            if (pos > i) {
-                // Require the next index for interpolation
-                indices[count++] = offset + i + 1;
-            }
-        }
-        if (count < indices.length) {
-            return Arrays.copyOf(indices, count);
-        }
-        return indices;
-    }
-
     /**
      * Enumerates estimation methods for a quantile. Provides the nine quantile algorithms
      * defined in Hyndman and Fan (1996)[1] as {@code HF1 - HF9}.
@@ -1120,7 +1801,7 @@ public final class Quantile {
          */
         HF1 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 // position = np + 0. This is 1-based so adjust to 0-based.
                 return Math.ceil(n * p) - 1;
             }
@@ -1132,10 +1813,10 @@ public final class Quantile {
          */
         HF2 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 final double pos = n * p;
                 // Average at discontinuities
-                final int j = (int) pos;
+                final long j = (long) pos;
                 final double g = pos - j;
                 if (g == 0) {
                     return j - 0.5;
@@ -1151,7 +1832,7 @@ public final class Quantile {
          */
         HF3 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 // Let rint do the work for ties to even
                 return Math.rint(n * p) - 1;
             }
@@ -1163,7 +1844,7 @@ public final class Quantile {
          */
         HF4 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 // np + 0 - 1
                 return n * p - 1;
             }
@@ -1176,7 +1857,7 @@ public final class Quantile {
          */
         HF5 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 // np + 0.5 - 1
                 return n * p - 0.5;
             }
@@ -1192,7 +1873,7 @@ public final class Quantile {
          */
         HF6 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 // np + p - 1
                 return (n + 1) * p - 1;
             }
@@ -1205,7 +1886,7 @@ public final class Quantile {
          */
         HF7 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 // np + 1-p - 1
                 return (n - 1) * p;
             }
@@ -1220,7 +1901,7 @@ public final class Quantile {
          */
         HF8 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 return n * p + (p + 1) / 3 - 1;
             }
         },
@@ -1232,7 +1913,7 @@ public final class Quantile {
          */
         HF9 {
             @Override
-            double position0(double p, int n) {
+            double position0(double p, double n) {
                 // np + p/4 + 3/8 - 1
                 return (n + 0.25) * p - 0.625;
             }
@@ -1255,7 +1936,7 @@ public final class Quantile {
          * @param n Size.
          * @return a real-valued position (0-based) into the range {@code [0, n)}
          */
-        abstract double position0(double p, int n);
+        abstract double position0(double p, double n);
 
         /**
          * Finds the index {@code i} and fractional part {@code g} of a real-valued position
@@ -1271,7 +1952,7 @@ public final class Quantile {
          * @param n Size.
          * @return index (in [0, n-1])
          */
-        final double index(double p, int n) {
+        final double index(double p, double n) {
             final double pos = position0(p, n);
             // Bounds check in [0, n-1]
             if (pos < 0) {
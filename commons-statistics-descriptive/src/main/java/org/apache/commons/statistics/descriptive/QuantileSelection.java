@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import org.apache.commons.numbers.arrays.Selection;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+
+/**
+ * Selection of the order statistics required to compute quantiles.
+ *
+ * <p>Provides the interpolation indices for a set of probabilities and the partitioning
+ * of arrays for those indices. Also provides the quantile computation for data that is
+ * not held in an array: buffers are partitioned in-place using {@link BufferSelection};
+ * streams are processed using {@link StreamSelection}.
+ *
+ * @since 1.4
+ */
+final class QuantileSelection {
+    /** Maximum average separation between indices for the indices to be dense.
+     * Dense indices are processed using a sort of the range spanned by the indices which is
+     * faster than selection of each index. The value has been chosen using the
+     * QuantilePerformance benchmark in the examples JMH module. */
+    private static final int DENSE_SEPARATION = 8;
+
+    /** No instances. */
+    private QuantileSelection() {}
+
+    /**
+     * Compute the indices required for quantile interpolation.
+     *
+     * <p>The zero-based interpolation index in {@code [0, n)} is
+     * saved into the working array {@code q} for each {@code p}.
+     *
+     * <p>The indices are incremented by the provided {@code offset} to allow
+     * addressing sub-ranges of a larger array.
+     *
+     * <p>Two indices are returned for each {@code p}: the interpolation index; and the
+     * next index if interpolation is required, otherwise the interpolation index is
+     * repeated. The length of the indices is fixed at {@code 2 * p.length} for any size
+     * of data so the working array can be reused.
+     *
+     * @param method Estimation method.
+     * @param n Size of the data.
+     * @param p Probabilities for the quantiles to compute.
+     * @param q Working array for quantiles in {@code [0, n)}.
+     * @param offset Array offset.
+     * @param w Workspace (can be null).
+     * @return the indices in {@code [offset, offset + n)}
+     */
+    static int[] indices(EstimationMethod method, int n, double[] p, double[] q, int offset, QuantileWorkspace w) {
+        final int[] indices = QuantileWorkspace.indices(w, p.length << 1);
+        for (int k = 0; k < p.length; k++) {
+            final double pos = method.index(p[k], n);
+            q[k] = pos;
+            final int i = (int) pos;
+            indices[k << 1] = offset + i;
+            // Require the next index for interpolation. Selection ignores a duplicate index.
+            indices[(k << 1) + 1] = offset + (pos > i ? i + 1 : i);
+        }
+        return indices;
+    }
+
+    /**
+     * Partition the values so that each index {@code k} is in its sorted position.
+     *
+     * <p>If the indices are dense then the range spanned by the indices is sorted.
+     * Otherwise each index is selected.
+     *
+     * @param x Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param k Indices.
+     * @param w Workspace (can be null).
+     */
+    static void partition(double[] x, int from, int to, int[] k, QuantileWorkspace w) {
+        final int lo = min(k);
+        final int hi = max(k);
+        if (isDense(k.length, lo, hi)) {
+            if (lo == from && hi == to - 1) {
+                Arrays.sort(x, from, to);
+            } else {
+                Selection.select(x, from, to, QuantileWorkspace.indices(w, lo, hi));
+                Arrays.sort(x, lo + 1, hi);
+            }
+        } else {
+            Selection.select(x, from, to, k);
+        }
+    }
+
+    /**
+     * Partition the values so that each index {@code k} is in its sorted position.
+     *
+     * <p>If the indices are dense then the range spanned by the indices is sorted.
+     * Otherwise each index is selected.
+     *
+     * @param x Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param k Indices.
+     * @param w Workspace (can be null).
+     */
+    static void partition(int[] x, int from, int to, int[] k, QuantileWorkspace w) {
+        final int lo = min(k);
+        final int hi = max(k);
+        if (isDense(k.length, lo, hi)) {
+            if (lo == from && hi == to - 1) {
+                Arrays.sort(x, from, to);
+            } else {
+                Selection.select(x, from, to, QuantileWorkspace.indices(w, lo, hi));
+                Arrays.sort(x, lo + 1, hi);
+            }
+        } else {
+            Selection.select(x, from, to, k);
+        }
+    }
+
+    /**
+     * Partition the values so that each index {@code k} is in its sorted position.
+     *
+     * <p>If the indices are dense then the range spanned by the indices is sorted.
+     * Otherwise each index is selected.
+     *
+     * @param x Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param k Indices.
+     * @param w Workspace (can be null).
+     */
+    static void partition(long[] x, int from, int to, int[] k, QuantileWorkspace w) {
+        final int lo = min(k);
+        final int hi = max(k);
+        if (isDense(k.length, lo, hi)) {
+            if (lo == from && hi == to - 1) {
+                Arrays.sort(x, from, to);
+            } else {
+                Selection.select(x, from, to, QuantileWorkspace.indices(w, lo, hi));
+                Arrays.sort(x, lo + 1, hi);
+            }
+        } else {
+            Selection.select(x, from, to, k);
+        }
+    }
+
+    /**
+     * Test if the indices are dense within the range they span. Dense indices
+     * are faster to process by sorting the range than by selection of each index.
+     *
+     * <p>Selection of many indices has a cost that increases with the length of the
+     * data and the number of indices. Sorting has a cost that increases with the span
+     * of the indices. Sorting is faster when the average separation between
+     * the indices is small.
+     *
+     * @param count Number of indices.
+     * @param lo Lowest index.
+     * @param hi Highest index.
+     * @return true if dense
+     */
+    private static boolean isDense(int count, int lo, int hi) {
+        // Ignore ranges that require no sort between the bounds
+        final int gap = hi - lo;
+        return gap > 1 && gap < (long) count * DENSE_SEPARATION;
+    }
+
+    /**
+     * Find the minimum of the indices.
+     *
+     * @param k Indices (must not be empty).
+     * @return the minimum
+     */
+    private static int min(int[] k) {
+        int m = k[0];
+        for (int i = 1; i < k.length; i++) {
+            m = Math.min(m, k[i]);
+        }
+        return m;
+    }
+
+    /**
+     * Find the maximum of the indices.
+     *
+     * @param k Indices (must not be empty).
+     * @return the maximum
+     */
+    private static int max(int[] k) {
+        int m = k[0];
+        for (int i = 1; i < k.length; i++) {
+            m = Math.max(m, k[i]);
+        }
+        return m;
+    }
+
+    /**
+     * Compute the {@code p}-th quantiles of the remaining elements of the buffer in-place.
+     *
+     * @param values Values.
+     * @param p Probabilities for the quantiles to compute.
+     * @param nanPolicy NaN policy.
+     * @param method Estimation method.
+     * @return the quantiles
+     */
+    static double[] compute(DoubleBuffer values, double[] p, NaNPolicy nanPolicy, EstimationMethod method) {
+        final int from = values.position();
+        final int to = values.limit();
+        // Floating-point data handling
+        final int nanEnd = BufferSelection.moveNaN(values, from, to, nanPolicy);
+        final int end = nanPolicy == NaNPolicy.EXCLUDE ? nanEnd : to;
+        final int n = end - from;
+        // Special cases
+        final double[] q = new double[p.length];
+        if (n <= 1) {
+            Arrays.fill(q, n == 0 ? Double.NaN : values.get(from));
+            return q;
+        }
+
+        // Collect interpolation positions. We use the output q as storage.
+        final int[] indices = indices(method, n, p, q, from, null);
+
+        // Partition. Any index above the non-NaN values is NaN.
+        BufferSelection.select(values, from, nanEnd, indices);
+
+        // Compute
+        for (int k = 0; k < p.length; k++) {
+            // ip in [0, n); i in [from, end)
+            final int ip = (int) q[k];
+            final int i = from + ip;
+            if (q[k] > ip) {
+                q[k] = Interpolation.interpolate(values.get(i), values.get(i + 1), q[k] - ip);
+            } else {
+                q[k] = values.get(i);
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Compute the {@code p}-th quantiles of the remaining elements of the buffer in-place.
+     *
+     * @param values Values.
+     * @param p Probabilities for the quantiles to compute.
+     * @param method Estimation method.
+     * @return the quantiles
+     */
+    static double[] compute(IntBuffer values, double[] p, EstimationMethod method) {
+        final int from = values.position();
+        final int to = values.limit();
+        final int n = to - from;
+        // Special cases
+        final double[] q = new double[p.length];
+        if (n <= 1) {
+            Arrays.fill(q, n == 0 ? Double.NaN : values.get(from));
+            return q;
+        }
+
+        // Collect interpolation positions. We use the output q as storage.
+        final int[] indices = indices(method, n, p, q, from, null);
+
+        // Partition
+        BufferSelection.select(values, from, to, indices);
+
+        // Compute
+        for (int k = 0; k < p.length; k++) {
+            // ip in [0, n); i in [from, to)
+            final int ip = (int) q[k];
+            final int i = from + ip;
+            if (q[k] > ip) {
+                q[k] = Interpolation.interpolate((double) values.get(i), (double) values.get(i + 1), q[k] - ip);
+            } else {
+                q[k] = values.get(i);
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Compute the {@code p}-th quantiles of the remaining elements of the buffer in-place.
+     *
+     * @param values Values.
+     * @param p Probabilities for the quantiles to compute.
+     * @param method Estimation method.
+     * @return the quantiles
+     */
+    static StatisticResult[] compute(LongBuffer values, double[] p, EstimationMethod method) {
+        final int from = values.position();
+        final int to = values.limit();
+        final int n = to - from;
+        // Special cases
+        final StatisticResult[] result = new StatisticResult[p.length];
+        if (n <= 1) {
+            final StatisticResult r = n == 0 ?
+                () -> Double.NaN :
+                Statistics.createStatisticResult(values.get(from));
+            Arrays.fill(result, r);
+            return result;
+        }
+
+        // Collect interpolation positions
+        final double[] q = new double[p.length];
+        final int[] indices = indices(method, n, p, q, from, null);
+
+        // Partition
+        BufferSelection.select(values, from, to, indices);
+
+        // Compute
+        for (int k = 0; k < p.length; k++) {
+            // ip in [0, n); i in [from, to)
+            final int ip = (int) q[k];
+            final int i = from + ip;
+            if (q[k] > ip) {
+                result[k] = Interpolation.interpolate(values.get(i), values.get(i + 1), q[k] - ip);
+            } else {
+                result[k] = Statistics.createStatisticResult(values.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the {@code p}-th quantiles of the values supplied as a stream.
+     *
+     * @param values Supplier of the values.
+     * @param p Probabilities for the quantiles to compute.
+     * @param nanPolicy NaN policy.
+     * @param method Estimation method.
+     * @return the quantiles
+     */
+    static double[] compute(Supplier<? extends DoubleStream> values, double[] p,
+                            NaNPolicy nanPolicy, EstimationMethod method) {
+        final StreamSelection selection = StreamSelection.of(values, nanPolicy);
+        final long n = selection.size();
+        // Special cases
+        final double[] q = new double[p.length];
+        if (n == 0) {
+            Arrays.fill(q, Double.NaN);
+            return q;
+        }
+
+        // Collect interpolation positions. We use the output q as storage.
+        final long[] indices = new long[p.length << 1];
+        int count = 0;
+        for (int k = 0; k < p.length; k++) {
+            final double pos = method.index(p[k], n);
+            q[k] = pos;
+            final long i = (long) pos;
+            indices[count++] = i;
+            if (pos > i) {
+                // Require the next index for interpolation
+                indices[count++] = i + 1;
+            }
+        }
+        final double[] x = selection.select(Arrays.copyOf(indices, count));
+
+        // Compute
+        count = 0;
+        for (int k = 0; k < p.length; k++) {
+            final long ip = (long) q[k];
+            final double v = x[count++];
+            if (q[k] > ip) {
+                q[k] = Interpolation.interpolate(v, x[count++], q[k] - ip);
+            } else {
+                q[k] = v;
+            }
+        }
+        return q;
+    }
+}
@@ -0,0 +1,549 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Computes approximate quantiles of the available values using a bounded-memory
+ * sketch of the distribution.
+ *
+ * <p>The sketch is a merging t-digest (Dunning and Ertl (2019)). Values are collected
+ * in a buffer which is periodically sorted and merged into a set of weighted centroids.
+ * The size of each centroid is limited by a scale function of the quantile that allows
+ * large centroids in the centre of the distribution and small centroids in the tails.
+ * This provides a small relative error for extreme quantiles, e.g. {@code p=0.999}.
+ *
+ * <p>The memory consumption is controlled by the {@code compression} parameter. The number
+ * of centroids is bounded by approximately the {@code compression}; the input buffer holds
+ * five times the {@code compression}. Larger values increase accuracy and memory
+ * consumption.
+ *
+ * <p>The quantile is computed using the real-valued position of the quantile in the
+ * sorted values defined by the configured {@link Quantile.EstimationMethod}. The value at
+ * the position is interpolated between the minimum, the centroid means located at the
+ * centre of the centroid rank, and the maximum.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>The result is exact if no values have been merged into centroids, i.e. the
+ *       number of values is not above the size of the input buffer. In this case the
+ *       result is identical to {@link Quantile} using the same estimation method.</li>
+ * </ul>
+ *
+ * <p>This implementation respects the ordering imposed by
+ * {@link Double#compare(double, double)} for {@code NaN} values. {@code NaN} values are
+ * counted and considered greater than all other values. If a {@code NaN} occurs in the
+ * selected positions in the sorted values then the result is {@code NaN}. This is
+ * consistent with the default {@link NaNPolicy#INCLUDE} option of {@link Quantile}.
+ *
+ * <p>The result of {@link #getAsDouble()} is the median. Other quantiles are
+ * available using {@link #getQuantile(double)}.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p>This class is designed to work with (though does not require)
+ * {@linkplain java.util.stream streams}.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ * Computation of a quantile may update the internal representation and should also be
+ * synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Dunning and Ertl (2019)
+ *       Computing Extremely Accurate Quantiles Using t-Digests.
+ *       <a href="https://arxiv.org/abs/1902.04023">arXiv:1902.04023</a></li>
+ * </ul>
+ *
+ * @see Quantile
+ * @see <a href="https://en.wikipedia.org/wiki/Quantile">Quantile (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class QuantileSketch implements DoubleStatistic, StatisticAccumulator<QuantileSketch> {
+    /** Default compression. */
+    private static final int DEFAULT_COMPRESSION = 100;
+    /** Minimum compression. */
+    private static final int MIN_COMPRESSION = 10;
+    /** Size of the input buffer as a multiple of the compression. */
+    private static final int BUFFER_FACTOR = 5;
+    /** Number of centroids allocated as a multiple of the compression.
+     * The k1 scale function limits the number of centroids to approximately
+     * the compression. */
+    private static final int CENTROID_FACTOR = 2;
+    /** Probability for the median. */
+    private static final double MEDIAN = 0.5;
+    /** pi / 2. */
+    private static final double PI_OVER_2 = Math.PI / 2;
+
+    /** The compression. */
+    private final int compression;
+    /** The size of one unit of the scale function in radians: 2 pi / compression. */
+    private final double scaleUnit;
+    /** Buffer of input values. */
+    private final double[] buffer;
+    /** The number of values in the buffer. */
+    private int bufferSize;
+    /** Centroid means (in ascending order). */
+    private final double[] mean;
+    /** Centroid weights. */
+    private final long[] weight;
+    /** The number of centroids. */
+    private int centroids;
+    /** Working storage of centroid means for a merge. Created on demand. */
+    private double[] mergeMean;
+    /** Working storage of centroid weights for a merge. Created on demand. */
+    private long[] mergeWeight;
+    /** Count of values (excluding NaN) that have been added. */
+    private long n;
+    /** Count of NaN values that have been added. */
+    private long nanCount;
+    /** Minimum of the values (excluding NaN). */
+    private double min = Double.POSITIVE_INFINITY;
+    /** Maximum of the values (excluding NaN). */
+    private double max = Double.NEGATIVE_INFINITY;
+    /** Estimation method used to determine the position of the quantile. */
+    private Quantile.EstimationMethod estimationMethod = Quantile.EstimationMethod.HF8;
+
+    /**
+     * Create an instance.
+     *
+     * @param compression Compression.
+     */
+    private QuantileSketch(int compression) {
+        this.compression = compression;
+        scaleUnit = 2 * Math.PI / compression;
+        buffer = new double[compression * BUFFER_FACTOR];
+        mean = new double[compression * CENTROID_FACTOR];
+        weight = new long[mean.length];
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param source Source to copy.
+     */
+    private QuantileSketch(QuantileSketch source) {
+        compression = source.compression;
+        scaleUnit = source.scaleUnit;
+        buffer = source.buffer.clone();
+        bufferSize = source.bufferSize;
+        mean = source.mean.clone();
+        weight = source.weight.clone();
+        centroids = source.centroids;
+        n = source.n;
+        nanCount = source.nanCount;
+        min = source.min;
+        max = source.max;
+        estimationMethod = source.estimationMethod;
+    }
+
+    /**
+     * Creates an instance with the default compression of 100.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code QuantileSketch} instance.
+     */
+    public static QuantileSketch create() {
+        return new QuantileSketch(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates an instance with the specified {@code compression}.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param compression Compression.
+     * @return {@code QuantileSketch} instance.
+     * @throws IllegalArgumentException if {@code compression < 10}
+     */
+    public static QuantileSketch create(int compression) {
+        if (compression < MIN_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression: " + compression);
+        }
+        return new QuantileSketch(compression);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code QuantileSketch} instance.
+     */
+    public static QuantileSketch of(double... values) {
+        return Statistics.add(create(), values);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code QuantileSketch} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static QuantileSketch ofRange(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(create(), values, from, to);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        if (Double.isNaN(value)) {
+            nanCount++;
+            return;
+        }
+        n++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        add(value);
+    }
+
+    /**
+     * Adds the value to the input buffer. The buffer is merged into the centroids
+     * when full.
+     *
+     * @param value Value.
+     */
+    private void add(double value) {
+        if (bufferSize == buffer.length) {
+            flush();
+        }
+        buffer[bufferSize++] = value;
+    }
+
+    /**
+     * Gets the median of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return median of all values.
+     * @see #getQuantile(double)
+     */
+    @Override
+    public double getAsDouble() {
+        return compute(MEDIAN);
+    }
+
+    /**
+     * Gets the {@code p}-th quantile of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public double getQuantile(double p) {
+        Quantile.checkProbability(p);
+        return compute(p);
+    }
+
+    /**
+     * Gets the {@code p}-th quantiles of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probabilities for the quantiles to compute.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]};
+     * or no probabilities are specified.
+     */
+    public double[] getQuantiles(double... p) {
+        Quantile.checkProbabilities(p);
+        final double[] q = new double[p.length];
+        for (int k = 0; k < p.length; k++) {
+            q[k] = compute(p[k]);
+        }
+        return q;
+    }
+
+    /**
+     * Compute the {@code p}-th quantile.
+     *
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     */
+    private double compute(double p) {
+        final long size = n + nanCount;
+        if (size == 0) {
+            return Double.NaN;
+        }
+        final double pos = estimationMethod.index(p, size);
+        final long ip = (long) pos;
+        // NaN values occupy the upper positions [n, size)
+        if (ip >= n || pos > ip && ip + 1 >= n) {
+            return Double.NaN;
+        }
+        if (centroids == 0) {
+            // Exact: all values are held in the buffer.
+            // Sorting respects the order of signed zeros.
+            Arrays.sort(buffer, 0, bufferSize);
+            final int i = (int) ip;
+            if (pos > ip) {
+                return Interpolation.interpolate(buffer[i], buffer[i + 1], pos - ip);
+            }
+            return buffer[i];
+        }
+        flush();
+        return interpolate(pos);
+    }
+
+    /**
+     * Interpolate the value at the real-valued position in the sorted data
+     * using the centroids.
+     *
+     * <p>The interpolation uses knots at the minimum (position 0), each centroid mean
+     * (at the centre position of the centroid) and the maximum (position n-1).
+     * A centroid of weight 1 is located at the exact position of the value.
+     *
+     * @param pos Position in {@code [0, n-1]}.
+     * @return the value
+     */
+    private double interpolate(double pos) {
+        // The extreme positions are known exactly. Note that after a combine a singleton
+        // centroid may be located at the end of the centroids without being the extreme value.
+        if (pos <= 0) {
+            return min;
+        }
+        if (pos >= n - 1) {
+            return max;
+        }
+        double r0 = 0;
+        double v0 = min;
+        long cumulative = 0;
+        for (int i = 0; i < centroids; i++) {
+            final long w = weight[i];
+            final double r1 = cumulative + (w - 1) * 0.5;
+            if (pos <= r1) {
+                return interpolate(r0, v0, r1, mean[i], pos);
+            }
+            cumulative += w;
+            r0 = r1;
+            v0 = mean[i];
+        }
+        return interpolate(r0, v0, n - 1, max, pos);
+    }
+
+    /**
+     * Linear interpolation of the value at position {@code pos} between the knots
+     * {@code (r0, v0)} and {@code (r1, v1)}.
+     *
+     * @param r0 Lower position.
+     * @param v0 Lower value.
+     * @param r1 Upper position.
+     * @param v1 Upper value.
+     * @param pos Position in {@code [r0, r1]}.
+     * @return the value
+     */
+    private static double interpolate(double r0, double v0, double r1, double v1, double pos) {
+        if (pos >= r1) {
+            return v1;
+        }
+        if (pos <= r0) {
+            return v0;
+        }
+        return Interpolation.interpolate(v0, v1, (pos - r0) / (r1 - r0));
+    }
+
+    /**
+     * Merge the input buffer into the centroids.
+     */
+    private void flush() {
+        if (bufferSize != 0) {
+            Arrays.sort(buffer, 0, bufferSize);
+            merge(buffer, null, 0, bufferSize);
+            bufferSize = 0;
+        }
+    }
+
+    /**
+     * Merge the sorted centroids in the specified range into the current centroids.
+     * The combined size must not exceed the capacity of the working storage.
+     *
+     * @param means Centroid means (in ascending order).
+     * @param weights Centroid weights (if null all weights are 1).
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     */
+    private void merge(double[] means, long[] weights, int from, int to) {
+        if (mergeMean == null) {
+            mergeMean = new double[mean.length + buffer.length];
+            mergeWeight = new long[mergeMean.length];
+        }
+        final double[] m = mergeMean;
+        final long[] w = mergeWeight;
+        // Two-way merge of the sorted centroids
+        int i = 0;
+        int j = from;
+        int k = 0;
+        while (i < centroids && j < to) {
+            if (mean[i] <= means[j]) {
+                m[k] = mean[i];
+                w[k++] = weight[i++];
+            } else {
+                m[k] = means[j];
+                w[k++] = weights == null ? 1 : weights[j];
+                j++;
+            }
+        }
+        while (i < centroids) {
+            m[k] = mean[i];
+            w[k++] = weight[i++];
+        }
+        while (j < to) {
+            m[k] = means[j];
+            w[k++] = weights == null ? 1 : weights[j];
+            j++;
+        }
+        compress(k);
+    }
+
+    /**
+     * Compress the sorted centroids in the working storage into the current centroids.
+     *
+     * <p>Adjacent centroids are combined while the combined centroid spans less than one
+     * unit of the k<sub>1</sub> scale function:
+     *
+     * <p>\[ k(q) = \frac{\delta}{2\pi} \sin^{-1}(2q - 1) \]
+     *
+     * <p>where \( \delta \) is the compression and \( q \) is the quantile.
+     *
+     * @param size Number of centroids in the working storage.
+     */
+    private void compress(int size) {
+        final double[] m = mergeMean;
+        final long[] w = mergeWeight;
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += w[i];
+        }
+        final double scale = total;
+        int c = 0;
+        double cm = m[0];
+        long cw = w[0];
+        long cumulative = 0;
+        double limit = scale * quantileLimit(0);
+        for (int i = 1; i < size; i++) {
+            final long wi = w[i];
+            if (cumulative + cw + wi <= limit) {
+                // Merge into the current centroid.
+                // The means are sorted so the interpolation is bounded by [cm, m[i]].
+                cw += wi;
+                cm = Interpolation.interpolate(cm, m[i], (double) wi / cw);
+            } else {
+                mean[c] = cm;
+                weight[c++] = cw;
+                cumulative += cw;
+                limit = scale * quantileLimit(cumulative / scale);
+                cm = m[i];
+                cw = wi;
+            }
+        }
+        mean[c] = cm;
+        weight[c++] = cw;
+        centroids = c;
+    }
+
+    /**
+     * Compute the upper limit of a centroid that starts at quantile {@code q0}.
+     * This is the quantile that is one unit of the scale function above {@code q0}.
+     *
+     * @param q0 Quantile.
+     * @return the upper limit quantile
+     */
+    private double quantileLimit(double q0) {
+        // k^-1(k(q0) + 1) using the k1 scale function
+        final double z = Math.asin(2 * q0 - 1) + scaleUnit;
+        if (z >= PI_OVER_2) {
+            return 1;
+        }
+        return (Math.sin(z) + 1) * 0.5;
+    }
+
+    @Override
+    public QuantileSketch combine(QuantileSketch other) {
+        // Protect against combining with itself
+        final QuantileSketch s = other == this ? new QuantileSketch(this) : other;
+        if (s.centroids != 0) {
+            flush();
+            // Merge in chunks limited by the capacity of the working storage
+            int from = 0;
+            while (from < s.centroids) {
+                final int to = Math.min(s.centroids, from + mean.length + buffer.length - centroids);
+                merge(s.mean, s.weight, from, to);
+                from = to;
+            }
+        }
+        for (int i = 0; i < s.bufferSize; i++) {
+            add(s.buffer[i]);
+        }
+        n += s.n;
+        nanCount += s.nanCount;
+        min = Math.min(min, s.min);
+        max = Math.max(max, s.max);
+        return this;
+    }
+
+    /**
+     * Sets the {@link Quantile.EstimationMethod} used to determine the position of the
+     * quantile in the sorted values. The default is
+     * {@link Quantile.EstimationMethod#HF8 HF8}.
+     *
+     * <p>This only controls the final computation of the statistic. The value will not
+     * affect compatibility between instances during a
+     * {@link #combine(QuantileSketch) combine} operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @throws NullPointerException if the value is null
+     */
+    public QuantileSketch setEstimationMethod(Quantile.EstimationMethod v) {
+        estimationMethod = Objects.requireNonNull(v);
+        return this;
+    }
+
+    /**
+     * Gets the number of centroids. This is provided for testing.
+     *
+     * @return the number of centroids
+     */
+    int getCentroidCount() {
+        flush();
+        return centroids;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+
+/**
+ * A reusable workspace for the computation of a {@link Quantile} or {@link Median}.
+ *
+ * <p>The workspace owns working arrays that are used to compute the statistic. This
+ * includes storage for a copy of the data when the computation is configured to
+ * {@link Quantile#withCopy(boolean) copy} the input. The arrays are created when first
+ * required and increased in size as required. Repeat computations using the same
+ * workspace on data of a similar size will not allocate memory.
+ *
+ * <p>A workspace can be used for any {@link Quantile} or {@link Median} instance.
+ *
+ * <pre>{@code
+ * QuantileWorkspace w = QuantileWorkspace.create();
+ * Quantile q = Quantile.withDefaults().withCopy(true);
+ * double[] data = ...
+ * // Repeat computations do not allocate memory
+ * double q1 = q.evaluate(data, 0.25, w);
+ * double q3 = q.evaluate(data, 0.75, w);
+ * }</pre>
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> A workspace
+ * must not be used by multiple threads concurrently. A separate workspace should be
+ * used for each thread.
+ *
+ * @see Quantile
+ * @see Median
+ * @since 1.4
+ */
+public final class QuantileWorkspace {
+    /** Empty double array. */
+    private static final double[] NO_DOUBLES = {};
+    /** Empty int array. */
+    private static final int[] NO_INTS = {};
+    /** Empty long array. */
+    private static final long[] NO_LONGS = {};
+
+    /** Bounds of the data. */
+    private final int[] bounds = new int[2];
+    /** Pair of indices. */
+    private final int[] pair = new int[2];
+    /** Buffer for a copy of double data. */
+    private double[] doubles = NO_DOUBLES;
+    /** Buffer for a copy of int data. */
+    private int[] ints = NO_INTS;
+    /** Buffer for a copy of long data. */
+    private long[] longs = NO_LONGS;
+    /** Buffer for counts. */
+    private int[] counts = NO_INTS;
+    /** Indices. */
+    private int[] indices = NO_INTS;
+    /** NaN policy of the transformer. */
+    private NaNPolicy nanPolicy;
+    /** Transformer for NaN data that copies data to the double buffer. */
+    private NaNTransformer nanTransformer;
+
+    /**
+     * Create an instance.
+     */
+    QuantileWorkspace() {
+        // No-op
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @return {@code QuantileWorkspace} instance.
+     */
+    public static QuantileWorkspace create() {
+        return new QuantileWorkspace();
+    }
+
+    /**
+     * Gets a working array for the bounds of the data.
+     *
+     * @return the bounds
+     */
+    int[] bounds() {
+        return bounds;
+    }
+
+    /**
+     * Gets a working array containing the pair of indices.
+     *
+     * @param i Index.
+     * @param j Index.
+     * @return the indices
+     */
+    int[] indices(int i, int j) {
+        pair[0] = i;
+        pair[1] = j;
+        return pair;
+    }
+
+    /**
+     * Gets a working array for indices with the specified length.
+     *
+     * <p>A single array is retained. It is reused for repeat calls with the same length
+     * and replaced for a different length.
+     *
+     * @param n Length.
+     * @return the indices
+     */
+    int[] indices(int n) {
+        if (n != indices.length) {
+            indices = new int[n];
+        }
+        return indices;
+    }
+
+    /**
+     * Gets a transformer for {@code NaN} data that copies data to a working array.
+     * The array length is at least {@code n}.
+     *
+     * @param policy NaN policy.
+     * @param n Length of the data.
+     * @return the transformer
+     */
+    NaNTransformer nanTransformer(NaNPolicy policy, int n) {
+        if (n > doubles.length) {
+            doubles = new double[capacity(doubles.length, n)];
+            nanTransformer = null;
+        }
+        if (policy != nanPolicy || nanTransformer == null) {
+            nanPolicy = policy;
+            nanTransformer = NaNTransformers.createNaNTransformer(policy, doubles);
+        }
+        return nanTransformer;
+    }
+
+    /**
+     * Copy the specified range of data to a working array.
+     *
+     * @param data Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the copy (range starts at index 0)
+     */
+    int[] copy(int[] data, int from, int to) {
+        final int n = to - from;
+        if (n > ints.length) {
+            ints = new int[capacity(ints.length, n)];
+        }
+        System.arraycopy(data, from, ints, 0, n);
+        return ints;
+    }
+
+    /**
+     * Copy the specified range of data to a working array.
+     *
+     * @param data Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the copy (range starts at index 0)
+     */
+    long[] copy(long[] data, int from, int to) {
+        final int n = to - from;
+        if (n > longs.length) {
+            longs = new long[capacity(longs.length, n)];
+        }
+        System.arraycopy(data, from, longs, 0, n);
+        return longs;
+    }
+
+    /**
+     * Gets a working array for counts with the specified length.
+     * The counts in {@code [0, n)} are zero.
+     *
+     * @param n Length.
+     * @return the counts
+     */
+    int[] counts(int n) {
+        if (n > counts.length) {
+            counts = new int[capacity(counts.length, n)];
+        } else {
+            Arrays.fill(counts, 0, n, 0);
+        }
+        return counts;
+    }
+
+    /**
+     * Gets a working array for the bounds of the data. If the workspace is {@code null}
+     * a new array is created.
+     *
+     * @param w Workspace (can be null).
+     * @return the bounds
+     */
+    static int[] bounds(QuantileWorkspace w) {
+        return w == null ? new int[2] : w.bounds();
+    }
+
+    /**
+     * Gets a working array containing the pair of indices. If the workspace is
+     * {@code null} a new array is created.
+     *
+     * @param w Workspace (can be null).
+     * @param i Index.
+     * @param j Index.
+     * @return the indices
+     */
+    static int[] indices(QuantileWorkspace w, int i, int j) {
+        return w == null ? new int[] {i, j} : w.indices(i, j);
+    }
+
+    /**
+     * Gets a working array for indices with the specified length. If the workspace is
+     * {@code null} a new array is created.
+     *
+     * @param w Workspace (can be null).
+     * @param n Length.
+     * @return the indices
+     */
+    static int[] indices(QuantileWorkspace w, int n) {
+        return w == null ? new int[n] : w.indices(n);
+    }
+
+    /**
+     * Copy the specified range of data to a working array. If the workspace is
+     * {@code null} a new array is created.
+     *
+     * @param w Workspace (can be null).
+     * @param data Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the copy (range starts at index 0)
+     */
+    static int[] copy(QuantileWorkspace w, int[] data, int from, int to) {
+        return w == null ? Statistics.copy(data, from, to) : w.copy(data, from, to);
+    }
+
+    /**
+     * Copy the specified range of data to a working array. If the workspace is
+     * {@code null} a new array is created.
+     *
+     * @param w Workspace (can be null).
+     * @param data Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the copy (range starts at index 0)
+     */
+    static long[] copy(QuantileWorkspace w, long[] data, int from, int to) {
+        return w == null ? Statistics.copy(data, from, to) : w.copy(data, from, to);
+    }
+
+    /**
+     * Gets a working array for counts with the specified length. If the workspace is
+     * {@code null} a new array is created. The counts in {@code [0, n)} are zero.
+     *
+     * @param w Workspace (can be null).
+     * @param n Length.
+     * @return the counts
+     */
+    static int[] counts(QuantileWorkspace w, int n) {
+        return w == null ? new int[n] : w.counts(n);
+    }
+
+    /**
+     * Compute the new capacity of a working array. This is at least the required
+     * length {@code n}. The current capacity is increased by 50% to reduce the number
+     * of resize operations for data of increasing length.
+     *
+     * @param length Current length.
+     * @param n Required length.
+     * @return the capacity
+     */
+    private static int capacity(int length, int n) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(n, (long) length + (length >> 1)));
+    }
+}
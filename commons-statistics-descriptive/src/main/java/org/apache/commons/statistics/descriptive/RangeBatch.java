@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Support for the evaluation of a statistic for a batch of contiguous ranges of an array.
+ *
+ * <p>The ranges are defined by an array of boundaries {@code b}; range {@code i} is
+ * {@code [b[i], b[i + 1])}. The boundaries must be non-decreasing so the ranges do not
+ * overlap. This allows the ranges to be processed in-place in parallel.
+ */
+final class RangeBatch {
+    /** Number of chunks created for each thread of the pool. This oversubscription
+     * allows load balancing by work stealing. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Represents an operation on a batch of ranges {@code [from, to)}.
+     */
+    @FunctionalInterface
+    interface Task {
+        /**
+         * Performs this operation on the ranges.
+         *
+         * @param from Inclusive start of the ranges.
+         * @param to Exclusive end of the ranges.
+         */
+        void apply(int from, int to);
+    }
+
+    /**
+     * Represents a statistic of a range {@code [from, to)} computed using a workspace.
+     */
+    @FunctionalInterface
+    interface ValueFunction {
+        /**
+         * Compute the statistic of the range.
+         *
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @param w Workspace.
+         * @return the statistic
+         */
+        double apply(int from, int to, QuantileWorkspace w);
+    }
+
+    /**
+     * Represents multiple statistics of a range {@code [from, to)} computed using a workspace.
+     */
+    @FunctionalInterface
+    interface ArrayFunction {
+        /**
+         * Compute the statistics of the range.
+         *
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @param q Statistics (output).
+         * @param w Workspace.
+         */
+        void apply(int from, int to, double[] q, QuantileWorkspace w);
+    }
+
+    /** No instances. */
+    private RangeBatch() {}
+
+    /**
+     * Check the boundaries define valid ranges of an array of the specified length.
+     *
+     * @param boundaries Range boundaries.
+     * @param length Length of the array.
+     * @return the number of ranges
+     * @throws IndexOutOfBoundsException if any range is out of bounds
+     */
+    static int checkBoundaries(int[] boundaries, int length) {
+        final int n = boundaries.length - 1;
+        for (int i = 0; i < n; i++) {
+            Statistics.checkFromToIndex(boundaries[i], boundaries[i + 1], length);
+        }
+        return Math.max(0, n);
+    }
+
+    /**
+     * Check the length of the output.
+     *
+     * @param required Required length.
+     * @param length Length of the output.
+     * @throws IllegalArgumentException if the output length is smaller than the required length
+     */
+    static void checkOutputLength(long required, int length) {
+        if (length < required) {
+            throw new IllegalArgumentException("Insufficient output length: " + length + " < " + required);
+        }
+    }
+
+    /**
+     * Perform the task on the ranges. If {@code parallel} then the ranges are divided
+     * into chunks of approximately equal size that are processed using the
+     * {@link ForkJoinPool#commonPool() common pool}. Ranges that are too small to
+     * benefit from parallel processing are evaluated sequentially.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param boundaries Range boundaries.
+     * @param n Number of ranges.
+     * @param parallel Set to {@code true} to process the ranges in parallel.
+     * @param task Task.
+     */
+    static void invoke(int[] boundaries, int n, boolean parallel, Task task) {
+        final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        final long size = n == 0 ? 0 : (long) boundaries[n] - boundaries[0];
+        if (!parallel || n < 2 || parallelism <= 1 || size <= RangeTask.MIN_CHUNK_SIZE) {
+            task.apply(0, n);
+            return;
+        }
+        // Split into chunks of at least the target size (rounded up)
+        final int chunks = (int) Math.min(n, (long) parallelism * CHUNKS_PER_THREAD);
+        final long target = Math.max(RangeTask.MIN_CHUNK_SIZE, (size + chunks - 1) / chunks);
+        final int[] split = new int[chunks + 2];
+        int count = 0;
+        for (int i = 1; i < n; i++) {
+            if (boundaries[i] - boundaries[split[count]] >= target) {
+                split[++count] = i;
+            }
+        }
+        split[++count] = n;
+        IntStream.range(0, count).parallel().forEach(i -> task.apply(split[i], split[i + 1]));
+    }
+
+    /**
+     * Compute the statistic of each range. The statistic of range {@code i} is
+     * written to {@code result[i]}. Each chunk of ranges uses a new workspace.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param boundaries Range boundaries.
+     * @param n Number of ranges.
+     * @param parallel Set to {@code true} to process the ranges in parallel.
+     * @param result Statistic of each range (output).
+     * @param statistic Statistic.
+     * @throws IllegalArgumentException if the result length is smaller than the number of ranges
+     */
+    static void evaluate(int[] boundaries, int n, boolean parallel, double[] result, ValueFunction statistic) {
+        checkOutputLength(n, result.length);
+        invoke(boundaries, n, parallel, (from, to) -> {
+            final QuantileWorkspace w = new QuantileWorkspace();
+            for (int i = from; i < to; i++) {
+                result[i] = statistic.apply(boundaries[i], boundaries[i + 1], w);
+            }
+        });
+    }
+
+    /**
+     * Compute {@code m} statistics of each range. The statistic {@code j} of range
+     * {@code i} is written to {@code result[i * m + j]}. Each chunk of ranges uses a
+     * new workspace.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param boundaries Range boundaries.
+     * @param n Number of ranges.
+     * @param parallel Set to {@code true} to process the ranges in parallel.
+     * @param m Number of statistics.
+     * @param result Statistics of each range (output).
+     * @param statistics Statistics.
+     * @throws IllegalArgumentException if the result length is smaller than the number of ranges
+     * multiplied by the number of statistics
+     */
+    static void evaluate(int[] boundaries, int n, boolean parallel, int m, double[] result,
+                         ArrayFunction statistics) {
+        checkOutputLength((long) n * m, result.length);
+        invoke(boundaries, n, parallel, (from, to) -> {
+            final QuantileWorkspace w = new QuantileWorkspace();
+            final double[] q = new double[m];
+            for (int i = from; i < to; i++) {
+                statistics.apply(boundaries[i], boundaries[i + 1], q, w);
+                System.arraycopy(q, 0, result, i * m, m);
+            }
+        });
+    }
+}
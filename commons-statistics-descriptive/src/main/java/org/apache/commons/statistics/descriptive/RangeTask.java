@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * A fork/join task that computes a result from a range of values.
+ *
+ * <p>The range is recursively split into chunks. A partial result is created for each
+ * chunk and the partial results are combined. Partial results are always combined
+ * in the order of the range with the lower part on the left-hand side.
+ *
+ * @param <S> the type of the values
+ * @param <T> the type of the result
+ */
+final class RangeTask<S, T> extends RecursiveTask<T> {
+    /** Minimum size of a chunk. Ranges below this size are not split. */
+    static final int MIN_CHUNK_SIZE = 1 << 13;
+    /** Number of chunks created for each thread of the pool. This oversubscription
+     * allows load balancing by work stealing. */
+    private static final int CHUNKS_PER_THREAD = 4;
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261016L;
+
+    /** Function to create a result from a range of the values. */
+    private final transient RangeFunction<S, T> function;
+    /** Function to combine two results. The left-hand side is returned. */
+    private final transient BinaryOperator<T> combiner;
+    /** Values. */
+    private final transient S values;
+    /** Inclusive start of the range. */
+    private final int from;
+    /** Exclusive end of the range. */
+    private final int to;
+    /** Size of the range below which the range is not split. */
+    private final int threshold;
+
+    /**
+     * Create an instance.
+     *
+     * @param function Function to create a result from a range of the values.
+     * @param combiner Function to combine two results.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param threshold Size of the range below which the range is not split.
+     */
+    private RangeTask(RangeFunction<S, T> function, BinaryOperator<T> combiner,
+                      S values, int from, int to, int threshold) {
+        this.function = function;
+        this.combiner = combiner;
+        this.values = values;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Compute the result from the range of values. The range is evaluated in parallel
+     * using the {@link ForkJoinPool#commonPool() common pool} if it is larger than
+     * {@link #MIN_CHUNK_SIZE}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param <S> the type of the values
+     * @param <T> the type of the result
+     * @param function Function to create a result from a range of the values.
+     * @param combiner Function to combine two results. The left-hand side must be returned.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the result
+     */
+    static <S, T> T invoke(RangeFunction<S, T> function, BinaryOperator<T> combiner,
+                           S values, int from, int to) {
+        final int length = to - from;
+        final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (length <= MIN_CHUNK_SIZE || parallelism <= 1) {
+            return function.apply(values, from, to);
+        }
+        final int threshold = Math.max(MIN_CHUNK_SIZE, length / (parallelism * CHUNKS_PER_THREAD));
+        return new RangeTask<>(function, combiner, values, from, to, threshold).invoke();
+    }
+
+    @Override
+    protected T compute() {
+        final int length = to - from;
+        if (length <= threshold) {
+            return function.apply(values, from, to);
+        }
+        final int mid = (from + to) >>> 1;
+        final RangeTask<S, T> left = new RangeTask<>(function, combiner, values, from, mid, threshold);
+        final RangeTask<S, T> right = new RangeTask<>(function, combiner, values, mid, to, threshold);
+        left.fork();
+        final T r = right.compute();
+        return combiner.apply(left.join(), r);
+    }
+}
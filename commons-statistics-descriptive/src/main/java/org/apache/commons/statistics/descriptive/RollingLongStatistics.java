@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Statistics for {@code long} values over a rolling window.
+ *
+ * <p>The window is divided into a fixed number of buckets. Each bucket holds the
+ * {@link LongStatistics} of the values recorded during a consecutive interval.
+ * The statistics of the window are obtained using a {@link #snapshot() snapshot}
+ * that combines the buckets. When the window advances the oldest bucket is expired
+ * at a cost of {@code O(1)}; the snapshot has a cost of {@code O(buckets)}.
+ *
+ * <p>The window can be:
+ * <ul>
+ *  <li>Count-based: Each bucket holds a fixed number of values. The window contains
+ *      the values in the current (partially filled) bucket and the previous
+ *      {@code buckets - 1} buckets.
+ *  <li>Time-based: Each bucket holds the values recorded during a fixed duration of a
+ *      clock. The window contains the values recorded in the current bucket interval and
+ *      the previous {@code buckets - 1} bucket intervals. Values are expired from the
+ *      window when the clock advances, even if no more values are recorded.
+ * </ul>
+ *
+ * <p>The granularity of the window is the bucket size. For example a window of
+ * 1 minute using 60 buckets of 1 second contains between 59 and 60 seconds of data.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(long) accept} method,
+ * it must be synchronized externally.
+ *
+ * @see LongStatistics
+ * @since 1.4
+ */
+public final class RollingLongStatistics implements LongConsumer {
+    /** The builder for the buckets. */
+    private final LongStatistics.Builder builder;
+    /** The buckets. */
+    private final BucketRing<LongStatistics> ring;
+    /** Size of each bucket. This is a count of values or a duration of the clock. */
+    private final long bucketSize;
+    /** The clock. This is null for a count-based window. */
+    private final LongSupplier clock;
+    /** Count of values recorded. */
+    private long count;
+    /** Configuration options for computation of statistics. */
+    private StatisticsConfiguration config = StatisticsConfiguration.withDefaults();
+
+    /**
+     * Create an instance.
+     *
+     * @param buckets Number of buckets.
+     * @param bucketSize Size of each bucket.
+     * @param clock Clock (can be null).
+     * @param statistics Statistics to compute.
+     */
+    private RollingLongStatistics(int buckets, long bucketSize, LongSupplier clock, Statistic[] statistics) {
+        this.bucketSize = BucketRing.checkBucketSize(bucketSize);
+        this.builder = LongStatistics.builder(statistics);
+        ring = new BucketRing<>(BucketRing.checkSize(buckets), this.builder::build);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * over a count-based window. The window contains the most recent values in
+     * {@code buckets} of the specified {@code size}.
+     *
+     * <p>The window size in values is between {@code (buckets - 1) * size} (exclusive)
+     * and {@code buckets * size} (inclusive).
+     *
+     * @param buckets Number of buckets.
+     * @param size Count of values in each bucket.
+     * @param statistics Statistics to compute.
+     * @return the instance
+     * @throws IllegalArgumentException if the {@code buckets} or {@code size} are not
+     * strictly positive, or if there are no {@code statistics} to compute.
+     */
+    public static RollingLongStatistics ofCount(int buckets, long size, Statistic... statistics) {
+        return new RollingLongStatistics(buckets, size, null, statistics);
+    }
+
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * over a time-based window. The window contains the values recorded in
+     * {@code buckets} of the specified {@code duration} of the {@code clock}.
+     *
+     * <p>The clock is used to obtain the time when values are recorded and when a
+     * snapshot is created. It is assumed to be non-decreasing, for example
+     * {@link System#nanoTime()}. The duration must be in the same units as the clock.
+     * Any value recorded with a time that has expired from the window is ignored.
+     *
+     * @param buckets Number of buckets.
+     * @param duration Duration of each bucket.
+     * @param clock Clock.
+     * @param statistics Statistics to compute.
+     * @return the instance
+     * @throws IllegalArgumentException if the {@code buckets} or {@code duration} are not
+     * strictly positive, or if there are no {@code statistics} to compute.
+     */
+    public static RollingLongStatistics ofTime(int buckets, long duration, LongSupplier clock,
+                                                 Statistic... statistics) {
+        return new RollingLongStatistics(buckets, duration, Objects.requireNonNull(clock, "clock"), statistics);
+    }
+
+    /**
+     * Updates the state of the statistics to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(long value) {
+        final long epoch = clock == null ?
+            count++ / bucketSize :
+            Math.floorDiv(clock.getAsLong(), bucketSize);
+        final LongStatistics s = ring.get(epoch);
+        if (s != null) {
+            s.accept(value);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the values in the current window.
+     *
+     * <p>The snapshot uses the current
+     * {@link #setConfiguration(StatisticsConfiguration) configuration}. It is a new
+     * instance that is independent of this instance.
+     *
+     * @return the statistics
+     */
+    public LongStatistics snapshot() {
+        final LongStatistics s = builder.build();
+        // Note: An empty count-based window has epoch 0 which does not have a bucket
+        final long epoch = clock == null ?
+            (count - 1) / bucketSize :
+            Math.floorDiv(clock.getAsLong(), bucketSize);
+        ring.forEach(epoch, s::combine);
+        return s.setConfiguration(config);
+    }
+
+    /**
+     * Sets the statistics configuration used to create a {@link #snapshot() snapshot}.
+     *
+     * <p>These options only control the final computation of statistics. The configuration
+     * will not affect recording of values.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @throws NullPointerException if the value is null
+     */
+    public RollingLongStatistics setConfiguration(StatisticsConfiguration v) {
+        config = Objects.requireNonNull(v);
+        return this;
+    }
+}
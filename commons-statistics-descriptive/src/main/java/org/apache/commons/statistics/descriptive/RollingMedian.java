@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Computes the median of a sliding window of the most recent values.
+ *
+ * <p>The window contains a fixed number of values. When the window is full the oldest
+ * value is removed as each new value is added. The median is maintained incrementally
+ * using a max-heap of the lower half of the values and a min-heap of the upper half.
+ * The heaps store primitive values and track the position of each value in the window.
+ *
+ * <ul>
+ *   <li>Adding a value has a cost of {@code O(log w)} for a window of size {@code w}.</li>
+ *   <li>The median is computed in {@code O(1)}.</li>
+ * </ul>
+ *
+ * <p>This is more efficient than computing the {@link Median} of the window each time
+ * the window advances. The result is the same as computing the {@link Median} of the
+ * values in the window:
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>Values are ordered using {@link Double#compare(double, double)}. If a {@code NaN}
+ *       occurs in the selected positions in the fully sorted values then the result is
+ *       {@code NaN}.</li>
+ * </ul>
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double) accept} method,
+ * it must be synchronized externally.
+ *
+ * @see Median
+ * @see RunningMedian
+ * @see RollingDoubleStatistics
+ * @since 1.4
+ */
+public final class RollingMedian implements DoubleConsumer, DoubleSupplier {
+    /** The values. Each value is identified by its position in the window. */
+    private final MedianHeap heap;
+    /** Size of the window. */
+    private final int size;
+    /** Count of values recorded. */
+    private long count;
+
+    /**
+     * Create an instance.
+     *
+     * @param size Size of the window.
+     */
+    private RollingMedian(int size) {
+        this.size = size;
+        heap = new MedianHeap(size);
+    }
+
+    /**
+     * Creates an instance with a window of the specified number of values.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param size Size of the window.
+     * @return {@code RollingMedian} instance.
+     * @throws IllegalArgumentException if the {@code size} is not strictly positive
+     */
+    public static RollingMedian of(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid window size: " + size);
+        }
+        return new RollingMedian(size);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * If the window is full the oldest value is removed.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        final int id = (int) (count % size);
+        if (count >= size) {
+            heap.remove(id);
+        }
+        heap.add(id, value);
+        count++;
+    }
+
+    /**
+     * Gets the number of values in the window.
+     *
+     * @return the number of values
+     */
+    public long getN() {
+        return heap.size();
+    }
+
+    /**
+     * Gets the size of the window.
+     *
+     * @return the window size
+     */
+    public int getWindowSize() {
+        return size;
+    }
+
+    /**
+     * Gets the count of all values recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the median of the values in the window.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return median of the window.
+     */
+    @Override
+    public double getAsDouble() {
+        return heap.median();
+    }
+
+    /**
+     * Remove all values. The window is empty and the count is reset to zero.
+     */
+    public void clear() {
+        heap.clear();
+        count = 0;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the median of values that are added to, or removed from, a collection.
+ *
+ * <p>The median is maintained incrementally using a max-heap of the lower half of
+ * the values and a min-heap of the upper half. The heaps store primitive values.
+ *
+ * <ul>
+ *   <li>Adding a value has a cost of {@code O(log n)}.</li>
+ *   <li>Removing a value has a cost of {@code O(n)} to locate the value and {@code O(log n)}
+ *       to update the heaps.</li>
+ *   <li>The median is computed in {@code O(1)}.</li>
+ * </ul>
+ *
+ * <p>The result is the same as computing the {@link Median} of the current values:
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.</li>
+ *   <li>Values are ordered using {@link Double#compare(double, double)}. If a {@code NaN}
+ *       occurs in the selected positions in the fully sorted values then the result is
+ *       {@code NaN}.</li>
+ * </ul>
+ *
+ * <p>To compute the median of a sliding window of the most recent values use
+ * {@link RollingMedian}.
+ *
+ * <p><strong>This implementation is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept},
+ * {@link #remove(double) remove} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see Median
+ * @see RollingMedian
+ * @since 1.4
+ */
+public final class RunningMedian implements DoubleStatistic, StatisticAccumulator<RunningMedian> {
+    /** Initial capacity. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The values. Each value is identified by an id in {@code [0, n)}. */
+    private final MedianHeap heap;
+
+    /**
+     * Create an instance.
+     *
+     * @param capacity Initial capacity.
+     */
+    private RunningMedian(int capacity) {
+        heap = new MedianHeap(capacity);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code RunningMedian} instance.
+     */
+    public static RunningMedian create() {
+        return new RunningMedian(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * <p>When the input is an empty array, the result is {@code NaN}.
+     *
+     * @param values Values.
+     * @return {@code RunningMedian} instance.
+     */
+    public static RunningMedian of(double... values) {
+        return Statistics.add(new RunningMedian(values.length), values);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        heap.add(heap.size(), value);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the removal of {@code value}.
+     * A single occurrence of the value is removed. Values are matched using
+     * {@link Double#compare(double, double)}; {@code -0.0} and {@code 0.0} are distinct
+     * and {@code NaN} matches {@code NaN}.
+     *
+     * @param value Value.
+     * @return {@code true} if the value was removed; {@code false} if it was not present
+     */
+    public boolean remove(double value) {
+        final int n = heap.size();
+        final int id = heap.find(value, n);
+        if (id < 0) {
+            return false;
+        }
+        heap.remove(id);
+        // Maintain the ids in [0, n)
+        final int last = n - 1;
+        if (id != last) {
+            heap.move(last, id);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the number of values
+     */
+    public long getN() {
+        return heap.size();
+    }
+
+    /**
+     * Gets the median of all values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return median of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return heap.median();
+    }
+
+    /**
+     * Remove all values.
+     */
+    public void clear() {
+        heap.clear();
+    }
+
+    @Override
+    public RunningMedian combine(RunningMedian other) {
+        final MedianHeap h = other.heap;
+        // Copy the size to allow combine with self
+        final int n = h.size();
+        for (int i = 0; i < n; i++) {
+            accept(h.get(i));
+        }
+        return this;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Support for the binary encoding of the state of a statistic.
+ *
+ * <p>The encoded state begins with a header of two bytes: the type of the statistic;
+ * and the version of the encoding. The remaining bytes are the state of the
+ * statistic written using the byte order of the buffer. Numbers are written using
+ * their full binary representation so the state is restored exactly.
+ *
+ * @since 1.4
+ */
+final class StateCodec {
+    /** The current version of the encoding. */
+    static final byte VERSION = 1;
+    /** Type of {@link DoubleStatistics}. */
+    static final byte DOUBLE_STATISTICS = 1;
+    /** Type of {@link IntStatistics}. */
+    static final byte INT_STATISTICS = 2;
+    /** Type of {@link LongStatistics}. */
+    static final byte LONG_STATISTICS = 3;
+    /** Type of {@link Variance}. */
+    static final byte VARIANCE = 4;
+    /** Type of {@link IntVariance}. */
+    static final byte INT_VARIANCE = 5;
+    /** Type of {@link LongVariance}. */
+    static final byte LONG_VARIANCE = 6;
+    /** Type of {@link Product}. */
+    static final byte PRODUCT = 7;
+    /** Type of {@link Min}. */
+    static final byte MIN = 8;
+    /** Type of {@link Max}. */
+    static final byte MAX = 9;
+    /** Type of {@link Mean}. */
+    static final byte MEAN = 10;
+    /** Type of {@link StandardDeviation}. */
+    static final byte STANDARD_DEVIATION = 11;
+    /** Type of {@link Skewness}. */
+    static final byte SKEWNESS = 12;
+    /** Type of {@link Kurtosis}. */
+    static final byte KURTOSIS = 13;
+    /** Type of {@link Sum}. */
+    static final byte SUM = 14;
+    /** Type of {@link SumOfSquares}. */
+    static final byte SUM_OF_SQUARES = 15;
+    /** Type of {@link SumOfLogs}. */
+    static final byte SUM_OF_LOGS = 16;
+    /** Type of {@link GeometricMean}. */
+    static final byte GEOMETRIC_MEAN = 17;
+    /** Type of {@link IntMin}. */
+    static final byte INT_MIN = 18;
+    /** Type of {@link IntMax}. */
+    static final byte INT_MAX = 19;
+    /** Type of {@link IntMean}. */
+    static final byte INT_MEAN = 20;
+    /** Type of {@link IntSum}. */
+    static final byte INT_SUM = 21;
+    /** Type of {@link IntSumOfSquares}. */
+    static final byte INT_SUM_OF_SQUARES = 22;
+    /** Type of {@link IntStandardDeviation}. */
+    static final byte INT_STANDARD_DEVIATION = 23;
+    /** Type of {@link LongMin}. */
+    static final byte LONG_MIN = 24;
+    /** Type of {@link LongMax}. */
+    static final byte LONG_MAX = 25;
+    /** Type of {@link LongMean}. */
+    static final byte LONG_MEAN = 26;
+    /** Type of {@link LongSum}. */
+    static final byte LONG_SUM = 27;
+    /** Type of {@link LongSumOfSquares}. */
+    static final byte LONG_SUM_OF_SQUARES = 28;
+    /** Type of {@link LongStandardDeviation}. */
+    static final byte LONG_STANDARD_DEVIATION = 29;
+    /** Flag for the minimum in the state of the statistics. */
+    static final int FLAG_MIN = 0x1;
+    /** Flag for the maximum in the state of the statistics. */
+    static final int FLAG_MAX = 0x2;
+    /** Flag for the sum in the state of the statistics. */
+    static final int FLAG_SUM = 0x4;
+    /** Flag for the product in the state of the statistics. */
+    static final int FLAG_PRODUCT = 0x8;
+    /** Flag for the sum of squares in the state of the statistics. */
+    static final int FLAG_SUM_OF_SQUARES = 0x10;
+    /** Flag for the sum of logs in the state of the statistics. */
+    static final int FLAG_SUM_OF_LOGS = 0x20;
+    /** Mask for all the flags in the state of the statistics. */
+    private static final int ALL_FLAGS = 0x3f;
+    /** Maximum order of the moment in the state of the statistics. */
+    private static final int MAX_MOMENT = 4;
+
+    /** No instances. */
+    private StateCodec() {}
+
+    /**
+     * Write the header for the specified {@code type}.
+     *
+     * @param buffer Buffer.
+     * @param type Type of the statistic.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     */
+    static void writeHeader(ByteBuffer buffer, byte type) {
+        buffer.put(type).put(VERSION);
+    }
+
+    /**
+     * Read the header and check it matches the specified {@code type} and the current version.
+     *
+     * @param buffer Buffer.
+     * @param type Type of the statistic.
+     * @throws IllegalArgumentException if the header is not for the type or version
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     */
+    static void readHeader(ByteBuffer buffer, byte type) {
+        final byte t = buffer.get();
+        if (t != type) {
+            throw new IllegalArgumentException("Invalid state type: " + t + " != " + type);
+        }
+        final byte v = buffer.get();
+        if (v != VERSION) {
+            throw new IllegalArgumentException("Unsupported state version: " + v);
+        }
+    }
+
+    /**
+     * Return the {@code flag} if the statistic is present.
+     *
+     * @param statistic Statistic (can be null).
+     * @param flag Flag.
+     * @return the flag, or zero if the statistic is null
+     */
+    static int flag(Object statistic, int flag) {
+        return statistic == null ? 0 : flag;
+    }
+
+    /**
+     * Check the flags and order of the moment in the state of the statistics.
+     *
+     * @param flags Flags of the statistics.
+     * @param order Order of the moment.
+     * @throws IllegalArgumentException if the state does not contain a valid set of statistics
+     */
+    static void checkStatistics(int flags, int order) {
+        if ((flags & ~ALL_FLAGS) != 0 || order < 0 || order > MAX_MOMENT || (flags | order) == 0) {
+            throw new IllegalArgumentException("Invalid statistics state: " + flags + ", " + order);
+        }
+    }
+
+    /**
+     * Gets the order of the moment.
+     *
+     * @param moment Moment (can be null).
+     * @return the order
+     */
+    static int getOrder(FirstMoment moment) {
+        if (moment instanceof SumOfFourthDeviations) {
+            return 4;
+        } else if (moment instanceof SumOfCubedDeviations) {
+            return 3;
+        } else if (moment instanceof SumOfSquaredDeviations) {
+            return 2;
+        }
+        return moment == null ? 0 : 1;
+    }
+
+    /**
+     * Write the state of the moment, if present.
+     *
+     * @param buffer Buffer.
+     * @param moment Moment (can be null).
+     */
+    static void writeMoment(ByteBuffer buffer, FirstMoment moment) {
+        if (moment != null) {
+            moment.writeState(buffer);
+        }
+    }
+
+    /**
+     * Read the state of the moment of the specified {@code order}.
+     *
+     * @param buffer Buffer.
+     * @param order Order of the moment.
+     * @return the moment (or null if the order is zero)
+     */
+    static FirstMoment readMoment(ByteBuffer buffer, int order) {
+        final FirstMoment m;
+        if (order == 4) {
+            m = new SumOfFourthDeviations();
+        } else if (order == 3) {
+            m = new SumOfCubedDeviations();
+        } else if (order == 2) {
+            m = new SumOfSquaredDeviations();
+        } else if (order == 1) {
+            m = new FirstMoment();
+        } else {
+            return null;
+        }
+        m.readState(buffer);
+        return m;
+    }
+
+    /**
+     * Write the state of the statistic, if present.
+     *
+     * @param <T> the type of the statistic
+     * @param buffer Buffer.
+     * @param statistic Statistic (can be null).
+     * @param writer Function to write the state of the statistic.
+     */
+    static <T> void write(ByteBuffer buffer, T statistic, BiConsumer<T, ByteBuffer> writer) {
+        if (statistic != null) {
+            writer.accept(statistic, buffer);
+        }
+    }
+
+    /**
+     * Read the state of the statistic, if the {@code flag} is present in the {@code flags}.
+     *
+     * @param <T> the type of the statistic
+     * @param buffer Buffer.
+     * @param flags Flags of the statistics.
+     * @param flag Flag of the statistic.
+     * @param factory Factory to create an empty statistic.
+     * @param reader Function to read the state of the statistic.
+     * @return the statistic (or null if not present)
+     */
+    static <T> T read(ByteBuffer buffer, int flags, int flag,
+                      Supplier<T> factory, BiConsumer<T, ByteBuffer> reader) {
+        if ((flags & flag) == 0) {
+            return null;
+        }
+        final T t = factory.get();
+        reader.accept(t, buffer);
+        return t;
+    }
+}
@@ -70,6 +70,8 @@ final class Statistics {
 
     /** Error message for an incompatible statistics. */
     private static final String INCOMPATIBLE_STATISTICS = "Incompatible statistics";
+    /** Message when a weight is invalid. */
+    private static final String INVALID_WEIGHT = "Invalid weight: ";
 
     /** No instances. */
     private Statistics() {}
@@ -398,6 +400,47 @@ final class Statistics {
         }
     }
 
+    /**
+     * Check left-hand side constructor {@code a} is {@code null} or else the right-hand side
+     * statistic {@code b} must be non-{@code null} so a statistic created by {@code a} can be
+     * combined with {@code b}.
+     *
+     * @param a LHS constructor.
+     * @param b RHS.
+     * @throws IllegalArgumentException if the objects cannot be combined
+     */
+    static void checkCombineSupported(Object a, Object b) {
+        if (a != null && b == null) {
+            throw new IllegalArgumentException(INCOMPATIBLE_STATISTICS);
+        }
+    }
+
+    /**
+     * Check the right-hand side moment {@code b} computes at least the moment of the
+     * specified {@code order} so it can be combined with a moment of that order.
+     * An order of zero corresponds to no moment computation.
+     *
+     * @param order LHS order of the moment.
+     * @param b RHS.
+     * @throws IllegalArgumentException if the objects cannot be combined
+     * @see #checkCombineAssignable(FirstMoment, FirstMoment)
+     */
+    static void checkCombineOrder(int order, FirstMoment b) {
+        final int m;
+        if (b instanceof SumOfFourthDeviations) {
+            m = 4;
+        } else if (b instanceof SumOfCubedDeviations) {
+            m = 3;
+        } else if (b instanceof SumOfSquaredDeviations) {
+            m = 2;
+        } else {
+            m = b == null ? 0 : 1;
+        }
+        if (order > m) {
+            throw new IllegalArgumentException(INCOMPATIBLE_STATISTICS);
+        }
+    }
+
     /**
      * If the left-hand side argument {@code a} is non-{@code null}, combine it with the
      * right-hand side argument {@code b}.
@@ -466,8 +509,108 @@ final class Statistics {
         }
     }
 
+    /**
+     * Check the weight is finite and positive or zero.
+     *
+     * @param weight Weight.
+     * @return the weight
+     * @throws IllegalArgumentException if the weight is negative or not finite
+     */
+    static double checkWeight(double weight) {
+        // Logic negation will detect NaN
+        if (!(weight >= 0 && weight < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException(INVALID_WEIGHT + weight);
+        }
+        return weight;
+    }
+
+    /**
+     * Check the values and weights have the same length.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @throws IllegalArgumentException if the lengths are different
+     */
+    static void checkWeightsLength(double[] values, double[] weights) {
+        if (values.length != weights.length) {
+            throw new IllegalArgumentException(
+                msgWeightsLength(values.length, weights.length));
+        }
+    }
+
+    /**
+     * Check the keys and values have the same length.
+     *
+     * @param keysLength Length of the keys.
+     * @param length Length of the values.
+     * @throws IllegalArgumentException if the lengths are different
+     */
+    static void checkKeysLength(int keysLength, int length) {
+        if (keysLength != length) {
+            throw new IllegalArgumentException(msgKeysLength(keysLength, length));
+        }
+    }
+
+    /**
+     * Check the paired values have the same length.
+     *
+     * @param xLength Length of the first values.
+     * @param yLength Length of the second values.
+     * @throws IllegalArgumentException if the lengths are different
+     */
+    static void checkPairedLength(int xLength, int yLength) {
+        if (xLength != yLength) {
+            throw new IllegalArgumentException(msgPairedLength(xLength, yLength));
+        }
+    }
+
     // Message formatting moved to separate methods to assist inlining of the validation methods.
 
+    /**
+     * Format a message when the length of the keys and values are different.
+     *
+     * @param keysLength Length of the keys.
+     * @param length Length of the values.
+     * @return the message
+     */
+    private static String msgKeysLength(int keysLength, int length) {
+        return msgLengthMismatch("Keys and values", keysLength, length);
+    }
+
+    /**
+     * Format a message when the length of the paired values are different.
+     *
+     * @param xLength Length of the first values.
+     * @param yLength Length of the second values.
+     * @return the message
+     */
+    private static String msgPairedLength(int xLength, int yLength) {
+        return msgLengthMismatch("Paired values", xLength, yLength);
+    }
+
+    /**
+     * Format a message when the length of two arrays are different.
+     *
+     * @param arrays Name of the arrays.
+     * @param length1 Length of the first array.
+     * @param length2 Length of the second array.
+     * @return the message
+     */
+    private static String msgLengthMismatch(String arrays, int length1, int length2) {
+        return arrays + " length mismatch: " + length1 + " != " + length2;
+    }
+
+    /**
+     * Format a message when the length of the values and weights are different.
+     *
+     * @param length Length of the values.
+     * @param weightsLength Length of the weights.
+     * @return the message
+     */
+    private static String msgWeightsLength(int length, int weightsLength) {
+        return msgLengthMismatch("Values and weights", length, weightsLength);
+    }
+
     /**
      * Format a message when range [from, to) is not entirely within the length.
      *
@@ -490,8 +633,8 @@ final class Statistics {
      * @param to Exclusive end of the range.
      * @return the sum
      */
-    static org.apache.commons.numbers.core.Sum sum(double[] values, int from, int to) {
-        final org.apache.commons.numbers.core.Sum s = org.apache.commons.numbers.core.Sum.create();
+    static CompensatedSum sum(double[] values, int from, int to) {
+        final CompensatedSum s = CompensatedSum.create();
         for (int i = from; i < to; i++) {
             s.accept(values[i]);
         }
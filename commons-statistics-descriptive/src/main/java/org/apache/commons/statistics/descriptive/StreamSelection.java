@@ -0,0 +1,399 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import org.apache.commons.numbers.arrays.Selection;
+
+/**
+ * Exact selection of values in sorted order from a source of values that can be
+ * streamed multiple times. The values are not stored in memory.
+ *
+ * <p>Each {@code double} value is mapped to a 64-bit key with the same ordering as
+ * {@link Double#compare(double, double)}. The first pass creates a histogram of the
+ * most significant bits of the keys and counts the values. Each subsequent pass
+ * creates a histogram of the next bits of the keys only within the buckets that contain
+ * a required rank. The number of passes is bounded as each pass resolves more bits of
+ * the keys. When the number of values within a bucket is small enough the values
+ * are collected and selected in memory.
+ *
+ * <p>The source must supply the same values on each call.
+ *
+ * @since 1.4
+ */
+final class StreamSelection {
+    /** Number of key bits used for the first histogram. */
+    private static final int FIRST_BITS = 16;
+    /** Log2 of the maximum total number of histogram buckets in a pass. */
+    private static final int MAX_BUCKET_BITS = 20;
+    /** Maximum total number of values collected in a pass. */
+    private static final int COLLECT_LIMIT = 1 << 22;
+    /** Number of bits in a key. */
+    private static final int KEY_BITS = 64;
+    /** Message when the stream is not the same on each pass. */
+    private static final String INCONSISTENT_STREAM = "Stream values changed between passes";
+
+    /** Source of the values. */
+    private final Supplier<? extends DoubleStream> source;
+    /** Histogram of the keys from the first pass. */
+    private final Window root;
+    /** Count of non-NaN values. */
+    private final long count;
+    /** Count of NaN values. */
+    private final long nanCount;
+
+    /**
+     * Range of keys with a common prefix. Values within the range are counted
+     * using a histogram of the next bits of the key; or collected.
+     */
+    private static final class Window {
+        /** Inclusive lower bound of the keys (unsigned). */
+        private final long lo;
+        /** Inclusive upper bound of the keys (unsigned). */
+        private final long hi;
+        /** Number of fixed bits in the key prefix. */
+        private final int fixed;
+        /** Count of values below the window. */
+        private final long offset;
+        /** Count of values within the window. */
+        private final long size;
+        /** Ranks within the window in ascending order. */
+        private final long[] ranks;
+        /** Number of bits for the histogram. */
+        private int bits;
+        /** Histogram of the keys. */
+        private long[] histogram;
+        /** Collected values. */
+        private double[] data;
+        /** Count of collected values. */
+        private int n;
+
+        /**
+         * @param lo Inclusive lower bound of the keys (unsigned).
+         * @param fixed Number of fixed bits in the key prefix.
+         * @param offset Count of values below the window.
+         * @param size Count of values within the window.
+         * @param ranks Ranks within the window in ascending order.
+         */
+        Window(long lo, int fixed, long offset, long size, long[] ranks) {
+            this.lo = lo;
+            this.hi = lo + (-1L >>> fixed);
+            this.fixed = fixed;
+            this.offset = offset;
+            this.size = size;
+            this.ranks = ranks;
+        }
+
+        /**
+         * Configure the window to create a histogram of the next bits of the key.
+         *
+         * @param b Number of bits.
+         */
+        void createHistogram(int b) {
+            bits = Math.min(b, KEY_BITS - fixed);
+            histogram = new long[1 << bits];
+        }
+
+        /**
+         * Configure the window to collect the values.
+         */
+        void createData() {
+            data = new double[(int) size];
+        }
+
+        /**
+         * Add the value.
+         *
+         * @param value Value.
+         * @param key Key of the value.
+         */
+        void add(double value, long key) {
+            if (histogram != null) {
+                histogram[(int) ((key << fixed) >>> (KEY_BITS - bits))]++;
+            } else {
+                if (n == data.length) {
+                    throw new IllegalArgumentException(INCONSISTENT_STREAM);
+                }
+                data[n++] = value;
+            }
+        }
+    }
+
+    /**
+     * Process a pass through the values.
+     */
+    private static final class Pass implements DoubleConsumer {
+        /** Windows in ascending order of the key range. */
+        private final Window[] windows;
+        /** Flag to indicate that NaN values raise an exception. */
+        private final boolean errorOnNaN;
+        /** Count of non-NaN values. */
+        private long count;
+        /** Count of NaN values. */
+        private long nanCount;
+
+        /**
+         * @param windows Windows in ascending order of the key range.
+         * @param errorOnNaN Flag to indicate that NaN values raise an exception.
+         */
+        Pass(Window[] windows, boolean errorOnNaN) {
+            this.windows = windows;
+            this.errorOnNaN = errorOnNaN;
+        }
+
+        @Override
+        public void accept(double value) {
+            if (value != value) {
+                if (errorOnNaN) {
+                    throw new IllegalArgumentException("NaN at " + (count + nanCount));
+                }
+                nanCount++;
+                return;
+            }
+            count++;
+            final long key = toKey(value);
+            // Binary search for the window
+            int l = 0;
+            int r = windows.length - 1;
+            while (l <= r) {
+                final int m = (l + r) >>> 1;
+                final Window w = windows[m];
+                if (Long.compareUnsigned(key, w.lo) < 0) {
+                    r = m - 1;
+                } else if (Long.compareUnsigned(key, w.hi) > 0) {
+                    l = m + 1;
+                } else {
+                    w.add(value, key);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Create an instance. This performs the first pass through the values.
+     *
+     * @param source Source of the values.
+     * @param nanPolicy NaN policy.
+     * @throws IllegalArgumentException if the values contain NaN and the policy is {@link NaNPolicy#ERROR}
+     */
+    private StreamSelection(Supplier<? extends DoubleStream> source, NaNPolicy nanPolicy) {
+        this.source = source;
+        root = new Window(0, 0, 0, 0, null);
+        root.createHistogram(FIRST_BITS);
+        final Pass pass = new Pass(new Window[] {root}, nanPolicy == NaNPolicy.ERROR);
+        run(pass);
+        count = pass.count;
+        nanCount = nanPolicy == NaNPolicy.EXCLUDE ? 0 : pass.nanCount;
+    }
+
+    /**
+     * Create an instance. This performs the first pass through the values.
+     *
+     * @param source Source of the values.
+     * @param nanPolicy NaN policy.
+     * @return the instance
+     * @throws IllegalArgumentException if the values contain NaN and the policy is {@link NaNPolicy#ERROR}
+     */
+    static StreamSelection of(Supplier<? extends DoubleStream> source, NaNPolicy nanPolicy) {
+        return new StreamSelection(source, nanPolicy);
+    }
+
+    /**
+     * Gets the size of the data. This is the count of values including any
+     * {@code NaN} values that are not excluded.
+     *
+     * @return the size
+     */
+    long size() {
+        return count + nanCount;
+    }
+
+    /**
+     * Select the values at the specified positions {@code k} in the sorted data. The
+     * data is sorted using the ordering of {@link Double#compare(double, double)}.
+     * Any position at or above the count of non-{@code NaN} values is {@code NaN}.
+     *
+     * @param k Positions in {@code [0, size)}.
+     * @return the values
+     * @throws IllegalArgumentException if the stream values change between passes
+     */
+    double[] select(long... k) {
+        final long[] ranks = Arrays.stream(k).filter(i -> i < count).sorted().distinct().toArray();
+        final double[] values = new double[ranks.length];
+        if (ranks.length != 0) {
+            // Partition the first histogram
+            final Window first = new Window(0, 0, 0, count, ranks);
+            first.bits = root.bits;
+            first.histogram = root.histogram;
+            List<Window> windows = resolve(new Window[] {first}, ranks, values);
+            while (!windows.isEmpty()) {
+                final Window[] w = configure(windows);
+                final Pass pass = new Pass(w, false);
+                run(pass);
+                if (pass.count != count) {
+                    throw new IllegalArgumentException(INCONSISTENT_STREAM);
+                }
+                windows = resolve(w, ranks, values);
+            }
+        }
+        final double[] result = new double[k.length];
+        for (int i = 0; i < k.length; i++) {
+            final int j = Arrays.binarySearch(ranks, k[i]);
+            result[i] = j < 0 ? Double.NaN : values[j];
+        }
+        return result;
+    }
+
+    /**
+     * Stream all the values to the pass.
+     *
+     * @param pass Pass.
+     */
+    private void run(Pass pass) {
+        try (DoubleStream s = source.get()) {
+            s.sequential().forEach(pass);
+        }
+    }
+
+    /**
+     * Resolve the ranks within the windows after a pass through the values. Ranks that
+     * identify a unique key, or that are within collected data, are stored in the values.
+     * Windows that require another pass are returned.
+     *
+     * @param windows Windows.
+     * @param ranks All ranks.
+     * @param values Values of all ranks.
+     * @return the windows for the next pass
+     * @throws IllegalArgumentException if the stream values change between passes
+     */
+    private static List<Window> resolve(Window[] windows, long[] ranks, double[] values) {
+        final List<Window> next = new ArrayList<>();
+        for (final Window w : windows) {
+            if (w.histogram == null) {
+                // Collected data
+                if (w.n != w.size) {
+                    throw new IllegalArgumentException(INCONSISTENT_STREAM);
+                }
+                final int[] indices = Arrays.stream(w.ranks).mapToInt(r -> (int) (r - w.offset)).toArray();
+                Selection.select(w.data, 0, w.n, indices);
+                for (int i = 0; i < indices.length; i++) {
+                    values[Arrays.binarySearch(ranks, w.ranks[i])] = w.data[indices[i]];
+                }
+                continue;
+            }
+            final long[] h = w.histogram;
+            final int fixed = w.fixed + w.bits;
+            final int shift = KEY_BITS - fixed;
+            long c = w.offset;
+            int b = 0;
+            int i = 0;
+            while (i < w.ranks.length) {
+                final long r = w.ranks[i];
+                // Find the bucket containing the rank
+                while (c + h[b] <= r) {
+                    c += h[b];
+                    if (++b == h.length) {
+                        throw new IllegalArgumentException(INCONSISTENT_STREAM);
+                    }
+                }
+                // Collect all ranks in the bucket
+                final long upper = c + h[b];
+                int j = i + 1;
+                while (j < w.ranks.length && w.ranks[j] < upper) {
+                    j++;
+                }
+                final long lo = w.lo + ((long) b << shift);
+                if (fixed == KEY_BITS) {
+                    // Unique key
+                    final double v = fromKey(lo);
+                    for (int m = i; m < j; m++) {
+                        values[Arrays.binarySearch(ranks, w.ranks[m])] = v;
+                    }
+                } else {
+                    next.add(new Window(lo, fixed, c, h[b], Arrays.copyOfRange(w.ranks, i, j)));
+                }
+                i = j;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Configure the windows for the next pass. The smallest windows collect their
+     * values up to a limit on the total number of values. Other windows create a
+     * histogram with a limit on the total number of buckets.
+     *
+     * @param windows Windows in ascending order of the key range.
+     * @return the windows
+     */
+    private static Window[] configure(List<Window> windows) {
+        final Window[] w = windows.toArray(new Window[0]);
+        final Window[] bySize = w.clone();
+        Arrays.sort(bySize, (a, b) -> Long.compare(a.size, b.size));
+        long budget = COLLECT_LIMIT;
+        int histograms = 0;
+        for (final Window x : bySize) {
+            if (x.size <= budget) {
+                budget -= x.size;
+                x.createData();
+            } else {
+                histograms++;
+            }
+        }
+        if (histograms != 0) {
+            final int ceilLog2 = KEY_BITS - Long.numberOfLeadingZeros(histograms - 1L);
+            final int bits = Math.max(1, Math.min(FIRST_BITS, MAX_BUCKET_BITS - ceilLog2));
+            for (final Window x : w) {
+                if (x.data == null) {
+                    x.createHistogram(bits);
+                }
+            }
+        }
+        return w;
+    }
+
+    /**
+     * Convert the value to an unsigned key with the same ordering as
+     * {@link Double#compare(double, double)}.
+     *
+     * @param value Value (must not be NaN).
+     * @return the key
+     */
+    static long toKey(double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        // Flip the magnitude bits of negative values, then flip the sign bit
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE) ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Convert the unsigned key to a value.
+     *
+     * @param key Key.
+     * @return the value
+     * @see #toKey(double)
+     */
+    static double fromKey(long key) {
+        final long k = key ^ Long.MIN_VALUE;
+        return Double.longBitsToDouble(k ^ ((k >> 63) & Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A table of cells that each hold a (non thread-safe) accumulator guarded by a lock.
+ *
+ * <p>Threads are assigned a cell using a thread-local probe value. If a thread
+ * encounters contention when acquiring the lock for a cell the probe value is
+ * rehashed to move the thread to a different cell. This spreads updates from
+ * concurrent threads across the table in the manner of
+ * {@link java.util.concurrent.atomic.LongAdder LongAdder}. Cells are created
+ * lazily on first use by the recording thread.
+ *
+ * @param <T> the type of the accumulator
+ */
+final class Striped<T> {
+    /** Maximum number of cells. */
+    private static final int MAX_CELLS = 1 << 16;
+    /** Number of attempts to find an uncontended cell before blocking. */
+    private static final int MAX_ATTEMPTS = 3;
+    /** The thread-local probe. This is shared by all instances and is
+     * non-zero after initialization. */
+    private static final ThreadLocal<int[]> PROBE =
+        ThreadLocal.withInitial(() -> new int[] {ThreadLocalRandom.current().nextInt() | 1});
+
+    /** Factory for new accumulators. */
+    private final Supplier<T> factory;
+    /** The cells. The length is a power of 2. */
+    private final AtomicReferenceArray<Cell<T>> cells;
+    /** Mask to convert the probe to an index into the cells. */
+    private final int mask;
+
+    /**
+     * A cell holding an accumulator guarded by the cell lock.
+     *
+     * @param <T> the type of the accumulator
+     */
+    static final class Cell<T> extends ReentrantLock {
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20261016L;
+
+        /** The accumulator. */
+        private final transient T value;
+
+        /**
+         * Create an instance.
+         *
+         * @param value Accumulator.
+         */
+        Cell(T value) {
+            this.value = value;
+        }
+
+        /**
+         * Gets the accumulator. The lock must be held by the current thread.
+         *
+         * @return the accumulator
+         */
+        T get() {
+            return value;
+        }
+    }
+
+    /**
+     * Create an instance.
+     *
+     * @param factory Factory for new accumulators.
+     */
+    Striped(Supplier<T> factory) {
+        this.factory = factory;
+        final int size = cellCount(Runtime.getRuntime().availableProcessors());
+        cells = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Compute the number of cells. This is the smallest power of 2 that is at
+     * least twice the number of processors.
+     *
+     * @param processors Number of processors.
+     * @return the count
+     */
+    static int cellCount(int processors) {
+        final int n = Math.min(Math.max(1, processors), MAX_CELLS >> 1) << 1;
+        return Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Acquire a cell for the current thread. The lock of the returned cell is held by
+     * the current thread and must be released using {@link Cell#unlock()}.
+     *
+     * @return the locked cell
+     */
+    Cell<T> lock() {
+        final int[] probe = PROBE.get();
+        int h = probe[0];
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            final Cell<T> c = getOrCreate(h & mask);
+            if (c.tryLock()) {
+                return c;
+            }
+            // Contended: move to a different cell (xorshift)
+            h ^= h << 13;
+            h ^= h >>> 17;
+            h ^= h << 5;
+            probe[0] = h;
+        }
+        final Cell<T> c = getOrCreate(h & mask);
+        c.lock();
+        return c;
+    }
+
+    /**
+     * Gets the cell at the index, creating it if required.
+     *
+     * @param index Index.
+     * @return the cell
+     */
+    private Cell<T> getOrCreate(int index) {
+        final Cell<T> c = cells.get(index);
+        if (c != null) {
+            return c;
+        }
+        final Cell<T> created = new Cell<>(factory.get());
+        if (cells.compareAndSet(index, null, created)) {
+            return created;
+        }
+        // Lost the race
+        return cells.get(index);
+    }
+
+    /**
+     * Perform the action on the accumulator of each cell that has been created.
+     * The lock for each cell is held while the action is performed.
+     *
+     * @param action Action.
+     */
+    void forEach(Consumer<T> action) {
+        for (int i = 0; i < cells.length(); i++) {
+            final Cell<T> c = cells.get(i);
+            if (c != null) {
+                c.lock();
+                try {
+                    action.accept(c.get());
+                } finally {
+                    c.unlock();
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+
 /**
  * Returns the sum of the available values.
  *
@@ -51,14 +53,14 @@ package org.apache.commons.statistics.descriptive;
  */
 public final class Sum implements DoubleStatistic, StatisticAccumulator<Sum> {
 
-    /** {@link org.apache.commons.numbers.core.Sum Sum} used to compute the sum. */
-    private final org.apache.commons.numbers.core.Sum delegate;
+    /** Extended precision sum used to compute the sum. */
+    private final CompensatedSum delegate;
 
     /**
      * Create an instance.
      */
     private Sum() {
-        this(org.apache.commons.numbers.core.Sum.create());
+        this(CompensatedSum.create());
     }
 
     /**
@@ -66,7 +68,7 @@ public final class Sum implements DoubleStatistic, StatisticAccumulator<Sum> {
      *
      * @param sum Sum.
      */
-    Sum(org.apache.commons.numbers.core.Sum sum) {
+    Sum(CompensatedSum sum) {
         delegate = sum;
     }
 
@@ -93,7 +95,7 @@ public final class Sum implements DoubleStatistic, StatisticAccumulator<Sum> {
      * @return {@code Sum} instance.
      */
     public static Sum of(double... values) {
-        return new Sum(org.apache.commons.numbers.core.Sum.of(values));
+        return new Sum(CompensatedSum.of(values));
     }
 
     /**
@@ -143,4 +145,61 @@ public final class Sum implements DoubleStatistic, StatisticAccumulator<Sum> {
         delegate.add(other.delegate);
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the {@code buffer}.
+     *
+     * <p>The state is written in a compact versioned binary format using the byte order
+     * of the buffer. It can be restored using {@link #readFrom(ByteBuffer)} from a buffer
+     * with the same byte order. The restored instance has the same state as this instance;
+     * the result of a {@link #combine(Sum) combine} with the restored instance is
+     * identical to a combine with this instance.
+     *
+     * @param buffer Buffer.
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 1.4
+     */
+    public void writeTo(ByteBuffer buffer) {
+        StateCodec.writeHeader(buffer, StateCodec.SUM);
+        writeState(buffer);
+    }
+
+    /**
+     * Reads the state of the statistic from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @return {@code Sum} instance.
+     * @throws IllegalArgumentException if the buffer does not contain the state of a
+     * {@code Sum}, or the state version is not supported
+     * @throws java.nio.BufferUnderflowException if there are insufficient bytes in the buffer
+     * @see #writeTo(ByteBuffer)
+     * @since 1.4
+     */
+    public static Sum readFrom(ByteBuffer buffer) {
+        StateCodec.readHeader(buffer, StateCodec.SUM);
+        final Sum s = new Sum();
+        s.readState(buffer);
+        return s;
+    }
+
+    /**
+     * Write the state of the statistic to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        delegate.writeState(buffer);
+    }
+
+    /**
+     * Read the state of the statistic from the {@code buffer}. The statistic should be empty.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        delegate.readState(buffer);
+    }
 }
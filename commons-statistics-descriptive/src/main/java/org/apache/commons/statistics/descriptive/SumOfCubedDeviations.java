@@ -16,6 +16,8 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+
 /**
  * Computes the sum of cubed deviations from the sample mean. This
  * statistic is related to the third moment.
@@ -168,7 +170,7 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
      * @param to Exclusive end of the range.
      * @return {@code SumOfCubedDeviations} instance.
      */
-    static SumOfCubedDeviations createFromRange(org.apache.commons.numbers.core.Sum sum,
+    static SumOfCubedDeviations createFromRange(CompensatedSum sum,
                                                 double[] values, int from, int to) {
         if (from == to) {
             return new SumOfCubedDeviations();
@@ -205,7 +207,22 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
         // n=2: the two deviations from the mean are equal magnitude
         // and opposite sign. So the sum-of-cubed deviations is zero.
         if (ss.n > LENGTH_TWO) {
-            for (int i = from; i < to; i++) {
+            int i = from;
+            if (to - from >= UNROLL_LENGTH) {
+                // Partial sums are computed in blocks using independent accumulators
+                double s0 = 0;
+                double s1 = 0;
+                double s2 = 0;
+                double s3 = 0;
+                for (final int end = to - UNROLL + 1; i < end; i += UNROLL) {
+                    s0 += pow3(values[i] - xbar);
+                    s1 += pow3(values[i + 1] - xbar);
+                    s2 += pow3(values[i + 2] - xbar);
+                    s3 += pow3(values[i + 3] - xbar);
+                }
+                s = (s0 + s1) + (s2 + s3);
+            }
+            for (; i < to; i++) {
                 s += pow3(values[i] - xbar);
             }
         }
@@ -391,4 +408,28 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
         super.combine(other);
         return this;
     }
+
+    /**
+     * Write the state of the moment to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    @Override
+    void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putDouble(sumCubedDev);
+    }
+
+    /**
+     * Read the state of the moment from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    @Override
+    void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        sumCubedDev = buffer.getDouble();
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+
 /**
  * Computes the sum of fourth deviations from the sample mean. This
  * statistic is related to the fourth moment.
@@ -161,7 +163,7 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
      * @param to Exclusive end of the range.
      * @return {@code SumOfFourthDeviations} instance.
      */
-    static SumOfFourthDeviations createFromRange(org.apache.commons.numbers.core.Sum sum,
+    static SumOfFourthDeviations createFromRange(CompensatedSum sum,
                                                  double[] values, int from, int to) {
         if (from == to) {
             return new SumOfFourthDeviations();
@@ -190,7 +192,22 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
         // Compute the sum of fourth (quad) deviations.
         // Note: This handles n=1.
         double s = 0;
-        for (int i = from; i < to; i++) {
+        int i = from;
+        if (to - from >= UNROLL_LENGTH) {
+            // Partial sums are computed in blocks using independent accumulators
+            double s0 = 0;
+            double s1 = 0;
+            double s2 = 0;
+            double s3 = 0;
+            for (final int end = to - UNROLL + 1; i < end; i += UNROLL) {
+                s0 += pow4(values[i] - xbar);
+                s1 += pow4(values[i + 1] - xbar);
+                s2 += pow4(values[i + 2] - xbar);
+                s3 += pow4(values[i + 3] - xbar);
+            }
+            s = (s0 + s1) + (s2 + s3);
+        }
+        for (; i < to; i++) {
             s += pow4(values[i] - xbar);
         }
         return new SumOfFourthDeviations(s, sc);
@@ -401,4 +418,28 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
         super.combine(other);
         return this;
     }
+
+    /**
+     * Write the state of the moment to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    @Override
+    void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putDouble(sumFourthDev);
+    }
+
+    /**
+     * Read the state of the moment from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    @Override
+    void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        sumFourthDev = buffer.getDouble();
+    }
 }
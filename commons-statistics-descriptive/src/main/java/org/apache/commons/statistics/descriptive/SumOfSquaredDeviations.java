@@ -16,6 +16,8 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+
 /**
  * Computes the sum of squared deviations from the sample mean. This
  * statistic is related to the second moment.
@@ -153,7 +155,7 @@ class SumOfSquaredDeviations extends FirstMoment {
      * @param to Exclusive end of the range.
      * @return {@code SumOfSquaredDeviations} instance.
      */
-    static SumOfSquaredDeviations createFromRange(org.apache.commons.numbers.core.Sum sum,
+    static SumOfSquaredDeviations createFromRange(CompensatedSum sum,
                                                   double[] values, int from, int to) {
         if (from == to) {
             return new SumOfSquaredDeviations();
@@ -180,7 +182,35 @@ class SumOfSquaredDeviations extends FirstMoment {
         }
         double s = 0;
         double ss = 0;
-        for (int i = from; i < to; i++) {
+        int i = from;
+        if (to - from >= UNROLL_LENGTH) {
+            // Partial sums are computed in blocks using independent accumulators
+            double s0 = 0;
+            double s1 = 0;
+            double s2 = 0;
+            double s3 = 0;
+            double ss0 = 0;
+            double ss1 = 0;
+            double ss2 = 0;
+            double ss3 = 0;
+            for (final int end = to - UNROLL + 1; i < end; i += UNROLL) {
+                final double dx0 = values[i] - xbar;
+                final double dx1 = values[i + 1] - xbar;
+                final double dx2 = values[i + 2] - xbar;
+                final double dx3 = values[i + 3] - xbar;
+                s0 += dx0;
+                s1 += dx1;
+                s2 += dx2;
+                s3 += dx3;
+                ss0 += dx0 * dx0;
+                ss1 += dx1 * dx1;
+                ss2 += dx2 * dx2;
+                ss3 += dx3 * dx3;
+            }
+            s = (s0 + s1) + (s2 + s3);
+            ss = (ss0 + ss1) + (ss2 + ss3);
+        }
+        for (; i < to; i++) {
             final double dx = values[i] - xbar;
             s += dx;
             ss += dx * dx;
@@ -241,4 +271,28 @@ class SumOfSquaredDeviations extends FirstMoment {
         super.combine(other);
         return this;
     }
+
+    /**
+     * Write the state of the moment to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    @Override
+    void writeState(ByteBuffer buffer) {
+        super.writeState(buffer);
+        buffer.putDouble(sumSquaredDev);
+    }
+
+    /**
+     * Read the state of the moment from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    @Override
+    void readState(ByteBuffer buffer) {
+        super.readState(buffer);
+        sumSquaredDev = buffer.getDouble();
+    }
 }
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Returns the trimmed mean of the available values.
+ *
+ * <p>For values of length {@code n} and a proportion {@code p} in {@code [0, 0.5)},
+ * let {@code g = floor(p * n)}. The trimmed mean is the arithmetic mean of the
+ * sorted values after removing the {@code g} smallest and {@code g} largest values:
+ *
+ * <p>\[ \frac{1}{n - 2g} \sum_{i=g+1}^{n-g} x_{(i)} \]
+ *
+ * <p>where \( x_{(i)} \) is the \( i \)-th order statistic.
+ *
+ * <ul>
+ * <li>The result is {@code NaN} if {@code n = 0}.</li>
+ * <li>The result is the mean if {@code g = 0}.</li>
+ * </ul>
+ *
+ * <p>The default proportion of 0.25 computes the interquartile mean.
+ *
+ * <p>The values are not sorted. Both tails are partitioned from the middle values
+ * using a single selection of the order statistics at the tail boundaries; the mean
+ * is then computed in a linear pass of the middle values.
+ *
+ * <p>This implementation respects the ordering imposed by
+ * {@link Double#compare(double, double)} for {@code NaN} values. If a {@code NaN} occurs
+ * in the middle values of the fully sorted values then the result is {@code NaN}.
+ *
+ * <p>The {@link NaNPolicy} can be used to change the behaviour on {@code NaN} values.
+ *
+ * <p>Instances of this class are immutable and thread-safe.
+ *
+ * @see #with(NaNPolicy)
+ * @see WinsorizedMean
+ * @see <a href="https://en.wikipedia.org/wiki/Truncated_mean">Truncated mean (Wikipedia)</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Interquartile_mean">Interquartile mean (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class TrimmedMean {
+    /** Default proportion. */
+    private static final double DEFAULT_PROPORTION = 0.25;
+    /** Default instance. */
+    private static final TrimmedMean DEFAULT = new TrimmedMean(false, NaNPolicy.INCLUDE, DEFAULT_PROPORTION);
+
+    /** Flag to indicate if the data should be copied. */
+    private final boolean copy;
+    /** NaN policy for floating point data. */
+    private final NaNPolicy nanPolicy;
+    /** Transformer for NaN data. */
+    private final NaNTransformer nanTransformer;
+    /** Proportion of values to remove from each end of the sorted data. */
+    private final double proportion;
+
+    /**
+     * @param copy Flag to indicate if the data should be copied.
+     * @param nanPolicy NaN policy.
+     * @param proportion Proportion of values to remove from each end of the sorted data.
+     */
+    private TrimmedMean(boolean copy, NaNPolicy nanPolicy, double proportion) {
+        this.copy = copy;
+        this.nanPolicy = nanPolicy;
+        this.proportion = proportion;
+        nanTransformer = NaNTransformers.createNaNTransformer(nanPolicy, copy);
+    }
+
+    /**
+     * Return a new instance with the default options.
+     *
+     * <ul>
+     * <li>{@linkplain #withCopy(boolean) Copy = false}</li>
+     * <li>{@linkplain #with(NaNPolicy) NaN policy = include}</li>
+     * <li>{@linkplain #withProportion(double) Proportion = 0.25}</li>
+     * </ul>
+     *
+     * <p>Note: The default options configure for processing in-place and including
+     * {@code NaN} values in the data. This is the most efficient mode and has the
+     * smallest memory consumption.
+     *
+     * @return the trimmed mean implementation
+     * @see #withCopy(boolean)
+     * @see #with(NaNPolicy)
+     * @see #withProportion(double)
+     */
+    public static TrimmedMean withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return an instance with the configured copy behaviour. If {@code false} then
+     * the input array will be modified by the call to evaluate the trimmed mean; otherwise
+     * the computation uses a copy of the data.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public TrimmedMean withCopy(boolean v) {
+        return new TrimmedMean(v, nanPolicy, proportion);
+    }
+
+    /**
+     * Return an instance with the configured {@link NaNPolicy}.
+     *
+     * <p>Note: This implementation respects the ordering imposed by
+     * {@link Double#compare(double, double)} for {@code NaN} values: {@code NaN} is
+     * considered greater than all other values, and all {@code NaN} values are equal. The
+     * {@link NaNPolicy} changes the computation of the statistic in the presence of
+     * {@code NaN} values.
+     *
+     * <ul>
+     * <li>{@link NaNPolicy#INCLUDE}: {@code NaN} values are moved to the end of the data;
+     * the size of the data <em>includes</em> the {@code NaN} values and the trimmed mean will be
+     * {@code NaN} if any of the middle values is {@code NaN}.</li>
+     * <li>{@link NaNPolicy#EXCLUDE}: {@code NaN} values are moved to the end of the data;
+     * the size of the data <em>excludes</em> the {@code NaN} values and the trimmed mean will
+     * never be {@code NaN} for non-zero size. If all data are {@code NaN} then the size is zero
+     * and the result is {@code NaN}.</li>
+     * <li>{@link NaNPolicy#ERROR}: An exception is raised if the data contains {@code NaN}
+     * values.</li>
+     * </ul>
+     *
+     * <p>Note that the result is identical for all policies if no {@code NaN} values are present.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public TrimmedMean with(NaNPolicy v) {
+        return new TrimmedMean(copy, Objects.requireNonNull(v), proportion);
+    }
+
+    /**
+     * Return an instance with the configured proportion of values to remove
+     * from each end of the sorted data.
+     *
+     * @param p Proportion in {@code [0, 0.5)}.
+     * @return an instance
+     * @throws IllegalArgumentException if the proportion is not in the range {@code [0, 0.5)}
+     */
+    public TrimmedMean withProportion(double p) {
+        return new TrimmedMean(copy, nanPolicy, Trimming.checkProportion(p));
+    }
+
+    /**
+     * Evaluate the trimmed mean.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the trimmed mean
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #with(NaNPolicy)
+     */
+    public double evaluate(double[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the trimmed mean of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the trimmed mean
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #with(NaNPolicy)
+     */
+    public double evaluateRange(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the trimmed mean of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the trimmed mean
+     */
+    private double compute(double[] values, int from, int to) {
+        // Floating-point data handling
+        final int[] bounds = new int[2];
+        final double[] x = nanTransformer.apply(values, from, to, bounds);
+        final int start = bounds[0];
+        final int end = bounds[1];
+        final int n = end - start;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final int g = Trimming.tailSize(proportion, n);
+        Trimming.select(x, start, end, g);
+        return FirstMoment.ofRange(x, start + g, end - g).getFirstMoment();
+    }
+
+    /**
+     * Evaluate the trimmed mean.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the trimmed mean
+     */
+    public double evaluate(int[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the trimmed mean of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the trimmed mean
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public double evaluateRange(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the trimmed mean of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the trimmed mean
+     */
+    private double compute(int[] values, int from, int to) {
+        final int[] x;
+        final int start;
+        final int end;
+        if (copy) {
+            x = Arrays.copyOfRange(values, from, to);
+            start = 0;
+            end = to - from;
+        } else {
+            x = values;
+            start = from;
+            end = to;
+        }
+        final int n = end - start;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final int g = Trimming.tailSize(proportion, n);
+        Trimming.select(x, start, end, g);
+        return IntMean.createFromRange(x, start + g, end - g).getAsDouble();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import org.apache.commons.numbers.arrays.Selection;
+
+/**
+ * Support for statistics computed after removing (trimming) or replacing
+ * (winsorizing) a proportion of the values from each end of the sorted data.
+ *
+ * <p>For {@code n} values and a proportion {@code p} the number of values
+ * in each tail is {@code g = floor(p * n)}. Both tails are partitioned
+ * from the values using a single selection of the order statistics
+ * {@code g} and {@code n - g - 1}.
+ *
+ * @since 1.4
+ */
+final class Trimming {
+    /** Message for an invalid proportion. */
+    private static final String INVALID_PROPORTION = "Invalid proportion: ";
+
+    /** No instances. */
+    private Trimming() {}
+
+    /**
+     * Check the proportion {@code p} is in the range {@code [0, 0.5)}.
+     *
+     * @param p Proportion.
+     * @return the proportion
+     * @throws IllegalArgumentException if the proportion is not in the range {@code [0, 0.5)}
+     */
+    static double checkProportion(double p) {
+        // Logic negation will detect NaN
+        if (!(p >= 0 && p < 0.5)) {
+            throw new IllegalArgumentException(INVALID_PROPORTION + p);
+        }
+        return p;
+    }
+
+    /**
+     * Gets the number of values in each tail.
+     *
+     * <p>The result {@code g} satisfies {@code 2g < n} for {@code n > 0}.
+     *
+     * @param p Proportion in {@code [0, 0.5)}.
+     * @param n Number of values.
+     * @return the tail size
+     */
+    static int tailSize(double p, int n) {
+        return (int) (p * n);
+    }
+
+    /**
+     * Partition the values so the range {@code [from + g, to - g)} contains the
+     * middle values of the sorted data. On output {@code x[from + g]} and
+     * {@code x[to - g - 1]} are the order statistics at the tail boundaries.
+     *
+     * <p>Uses the ordering imposed by {@link Double#compare(double, double)}.
+     *
+     * @param x Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param g Tail size.
+     */
+    static void select(double[] x, int from, int to, int g) {
+        if (g == 0) {
+            return;
+        }
+        final int lo = from + g;
+        final int hi = to - g - 1;
+        if (lo == hi) {
+            Selection.select(x, from, to, lo);
+        } else {
+            Selection.select(x, from, to, new int[] {lo, hi});
+        }
+    }
+
+    /**
+     * Partition the values so the range {@code [from + g, to - g)} contains the
+     * middle values of the sorted data. On output {@code x[from + g]} and
+     * {@code x[to - g - 1]} are the order statistics at the tail boundaries.
+     *
+     * @param x Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param g Tail size.
+     */
+    static void select(int[] x, int from, int to, int g) {
+        if (g == 0) {
+            return;
+        }
+        final int lo = from + g;
+        final int hi = to - g - 1;
+        if (lo == hi) {
+            Selection.select(x, from, to, lo);
+        } else {
+            Selection.select(x, from, to, new int[] {lo, hi});
+        }
+    }
+}
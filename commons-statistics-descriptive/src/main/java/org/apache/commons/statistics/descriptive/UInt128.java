@@ -260,4 +260,27 @@ final class UInt128 {
     long hi64() {
         return ab;
     }
+
+    /**
+     * Write the state of the number to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        buffer.putLong(hi64()).putLong(lo64());
+    }
+
+    /**
+     * Read the state of the number from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        ab = buffer.getLong();
+        final long lo = buffer.getLong();
+        c = (int) (lo >>> Integer.SIZE);
+        d = (int) lo;
+    }
 }
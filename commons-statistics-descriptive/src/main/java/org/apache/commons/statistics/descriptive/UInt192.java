@@ -22,7 +22,8 @@ import java.nio.ByteBuffer;
 /**
  * A mutable 192-bit unsigned integer.
  *
- * <p>This is a specialised class to implement an accumulator of squared {@code long} values.
+ * <p>This is a specialised class to implement an accumulator of squared {@code long} values,
+ * or unsigned products of {@code long} values.
  *
  * @since 1.1
  */
@@ -98,9 +99,26 @@ final class UInt192 {
      * @param x Value.
      */
     void addSquare(long x) {
-        final long lo = x * x;
-        final long hi = IntMath.squareHigh(x);
+        add(IntMath.squareHigh(x), x * x);
+    }
 
+    /**
+     * Adds the unsigned product {@code x * y}.
+     *
+     * @param x Value.
+     * @param y Value.
+     */
+    void addUnsignedProduct(long x, long y) {
+        add(IntMath.unsignedMultiplyHigh(x, y), x * y);
+    }
+
+    /**
+     * Adds the unsigned 128-bit value.
+     *
+     * @param hi High 64-bits.
+     * @param lo Low 64-bits.
+     */
+    private void add(long hi, long lo) {
         // Sum with carry.
         long s = (lo & MASK32) + (f & MASK32);
         f = (int) s;
@@ -269,4 +287,30 @@ final class UInt192 {
     long hi64() {
         return ab;
     }
+
+    /**
+     * Write the state of the number to the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see StateCodec
+     */
+    void writeState(ByteBuffer buffer) {
+        buffer.putLong(hi64()).putLong(mid64()).putLong(lo64());
+    }
+
+    /**
+     * Read the state of the number from the {@code buffer}.
+     *
+     * @param buffer Buffer.
+     * @see #writeState(ByteBuffer)
+     */
+    void readState(ByteBuffer buffer) {
+        ab = buffer.getLong();
+        final long mid = buffer.getLong();
+        final long lo = buffer.getLong();
+        c = (int) (mid >>> Integer.SIZE);
+        d = (int) mid;
+        e = (int) (lo >>> Integer.SIZE);
+        f = (int) lo;
+    }
 }
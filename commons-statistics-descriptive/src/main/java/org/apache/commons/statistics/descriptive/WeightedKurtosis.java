@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the weighted kurtosis of the available values.
+ *
+ * <p>Weights are frequency weights: a value with an integer weight \( w \) has the same
+ * effect on the statistic as the value repeated \( w \) times. Weights can be non-integer.
+ * A value with a weight of zero is ignored. Values added using {@link #accept(double)}
+ * have a weight of 1.
+ *
+ * <p>The statistic uses the definition of the {@link Kurtosis} with the number of samples
+ * \( n \) replaced by the sum of the weights \( V = \sum w_i \), and the sample moments
+ * replaced by the weighted sample moments:
+ *
+ * <p>\[ G_2 = \frac{V-1}{(V-2)\,(V-3)} \left[(V+1)\,\frac{m_4}{m_{2}^2} - 3\,(V-1) \right] \]
+ *
+ * <p>where \( m_k = \tfrac{1}{V} \sum_{i=1}^n w_i (x_i-\overline{x}_w)^k \) is the
+ * weighted \( k \)-th sample moment about the {@link WeightedMean weighted mean}
+ * \( \overline{x}_w \).
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if less than 2 values with a non-zero weight are added.</li>
+ *   <li>The result is {@code NaN} if the sum of the weights is not above 3.</li>
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.</li>
+ *   <li>The result is {@code NaN} if the weighted sum of the fourth deviations from the mean
+ *       is infinite.</li>
+ * </ul>
+ *
+ * <p>If the {@link #setBiased(boolean) biased} option is enabled the result is the
+ * method of moments estimator \( g_2 = \frac{m_4}{m_2^2} - 3 \). In this case the
+ * computation only requires 2 values with a non-zero weight are added.
+ *
+ * <p>Note that the computation requires division by the second central moment \( m_2 \).
+ * If this is effectively zero then the result is {@code NaN}. This occurs when the value
+ * \( m_2 \) approaches the machine precision of the mean: \( m_2 \le (m_1 \times 10^{-15})^2 \).
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see Kurtosis
+ * @since 1.4
+ */
+public final class WeightedKurtosis implements DoubleStatistic, StatisticAccumulator<WeightedKurtosis> {
+    /** 2, the length limit where the kurtosis is undefined. */
+    private static final int LENGTH_TWO = 2;
+    /** 3, the limit on the sum of weights where the kurtosis is undefined. */
+    private static final int LENGTH_THREE = 3;
+
+    /**
+     * Moments used to compute the kurtosis.
+     */
+    private final WeightedMoments moments;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Creates an instance with the moments.
+     *
+     * @param moments Moments.
+     */
+    private WeightedKurtosis(WeightedMoments moments) {
+        this.moments = moments;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code WeightedKurtosis} instance.
+     */
+    public static WeightedKurtosis create() {
+        return new WeightedKurtosis(new WeightedMoments(WeightedMoments.FOURTH));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} and {@code weights}.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedKurtosis} instance.
+     * @throws IllegalArgumentException if the values and weights have different lengths;
+     * or any weight is negative or not finite
+     */
+    public static WeightedKurtosis of(double[] values, double[] weights) {
+        return new WeightedKurtosis(WeightedMoments.of(WeightedMoments.FOURTH, values, weights));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with a weight of 1.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        moments.accept(value, 1);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code weight}.
+     *
+     * @param value Value.
+     * @param weight Weight.
+     * @throws IllegalArgumentException if the weight is negative or not finite
+     */
+    public void accept(double value, double weight) {
+        moments.accept(value, weight);
+    }
+
+    /**
+     * Gets the weighted kurtosis of all input values.
+     *
+     * <p>When fewer than 2 values with a non-zero weight have been added, the result is
+     * {@code NaN}.
+     *
+     * @return weighted kurtosis of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        // This method checks the sum of squared or fourth deviations is finite
+        // to provide a consistent NaN when the computation is not possible.
+        final double w = moments.getWeight();
+        // Logic negation will detect NaN
+        if (moments.getN() < LENGTH_TWO || !(biased || w > LENGTH_THREE)) {
+            return Double.NaN;
+        }
+        final double x2 = moments.getSumOfSquaredDeviations();
+        if (!Double.isFinite(x2)) {
+            return Double.NaN;
+        }
+        final double x4 = moments.getSumOfFourthDeviations();
+        if (!Double.isFinite(x4)) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero; for a negligible variance return NaN.
+        final double m2 = x2 / w;
+        if (Statistics.zeroVariance(moments.getFirstMoment(), m2)) {
+            return Double.NaN;
+        }
+        final double m4 = x4 / w;
+        if (biased) {
+            return m4 / (m2 * m2) - 3;
+        }
+        return ((w * w - 1) * m4 / (m2 * m2) - 3 * (w - 1) * (w - 1)) / ((w - 2) * (w - 3));
+    }
+
+    /**
+     * Gets the sum of the weights of all input values.
+     *
+     * @return the sum of the weights
+     */
+    public double getSumOfWeights() {
+        return moments.getWeight();
+    }
+
+    @Override
+    public WeightedKurtosis combine(WeightedKurtosis other) {
+        moments.combine(other.moments);
+        return this;
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     * See {@link WeightedKurtosis} for details on the computing algorithm.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(WeightedKurtosis) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public WeightedKurtosis setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the weighted arithmetic mean of the available values. Uses the following definition
+ * of the <em>weighted sample mean</em>:
+ *
+ * <p>\[ \overline{x}_w = \frac{\sum_{i=1}^n w_i x_i}{\sum_{i=1}^n w_i} \]
+ *
+ * <p>where \( n \) is the number of samples and \( w_i \ge 0 \) is the weight of each value.
+ *
+ * <p>Weights are frequency weights: a value with an integer weight \( w \) has the same
+ * effect on the statistic as the value repeated \( w \) times. Weights can be non-integer.
+ * A value with a weight of zero is ignored. Values added using {@link #accept(double)}
+ * have a weight of 1.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values with a non-zero weight are added.</li>
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}, or the values include
+ *       infinities of opposite sign.</li>
+ *   <li>The result is {@code +/-infinity} if values include infinities of the same sign.</li>
+ * </ul>
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm
+ * with a constant memory requirement. The computation of the mean is protected from
+ * overflow for any finite input.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see Mean
+ * @see <a href="https://en.wikipedia.org/wiki/Weighted_arithmetic_mean">Weighted arithmetic mean (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class WeightedMean implements DoubleStatistic, StatisticAccumulator<WeightedMean> {
+    /**
+     * Moments used to compute the mean.
+     */
+    private final WeightedMoments moments;
+
+    /**
+     * Creates an instance with the moments.
+     *
+     * @param moments Moments.
+     */
+    private WeightedMean(WeightedMoments moments) {
+        this.moments = moments;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code WeightedMean} instance.
+     */
+    public static WeightedMean create() {
+        return new WeightedMean(new WeightedMoments(WeightedMoments.FIRST));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} and {@code weights}.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedMean} instance.
+     * @throws IllegalArgumentException if the values and weights have different lengths;
+     * or any weight is negative or not finite
+     */
+    public static WeightedMean of(double[] values, double[] weights) {
+        return new WeightedMean(WeightedMoments.of(WeightedMoments.FIRST, values, weights));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with a weight of 1.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        moments.accept(value, 1);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code weight}.
+     *
+     * @param value Value.
+     * @param weight Weight.
+     * @throws IllegalArgumentException if the weight is negative or not finite
+     */
+    public void accept(double value, double weight) {
+        moments.accept(value, weight);
+    }
+
+    /**
+     * Gets the weighted mean of all input values.
+     *
+     * <p>When no values with a non-zero weight have been added, the result is {@code NaN}.
+     *
+     * @return weighted mean of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return moments.getFirstMoment();
+    }
+
+    /**
+     * Gets the sum of the weights of all input values.
+     *
+     * @return the sum of the weights
+     */
+    public double getSumOfWeights() {
+        return moments.getWeight();
+    }
+
+    @Override
+    public WeightedMean combine(WeightedMean other) {
+        moments.combine(other.moments);
+        return this;
+    }
+}
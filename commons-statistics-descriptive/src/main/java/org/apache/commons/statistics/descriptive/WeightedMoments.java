@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the weighted first moment (arithmetic mean) and the weighted sums of
+ * squared, cubed and fourth deviations from the mean, up to a configured order.
+ *
+ * <p>Weights are frequency weights: a value with weight {@code w} contributes as if it
+ * were repeated {@code w} times. Weights can be non-integer.
+ *
+ * <p>A weighted value is a sample of sum-of-weights {@code w} with a mean equal to the
+ * value and zero deviations. Each value is added using the pairwise updating formulas
+ * used to combine the moments of two samples, with the sample size replaced by the sum of
+ * the weights. For unit weights the update is the same as that of {@link FirstMoment}
+ * and its subclasses.
+ *
+ * <p>The first moment is stored as a half value to prevent overflow for any finite input.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Pébay (2008)
+ *       Formulas for Robust, One-Pass Parallel Computation of Covariances and Arbitrary-Order
+ *       Statistical Moments.
+ *       Sandia Report SAND2008-6212.
+ *       <a href="https://doi.org/10.2172/1028931">doi: 10.2172/1028931</a></li>
+ * </ul>
+ *
+ * @since 1.4
+ */
+final class WeightedMoments {
+    /** Order of the first moment. */
+    static final int FIRST = 1;
+    /** Order of the sum of squared deviations. */
+    static final int SECOND = 2;
+    /** Order of the sum of cubed deviations. */
+    static final int THIRD = 3;
+    /** Order of the sum of fourth deviations. */
+    static final int FOURTH = 4;
+    /** The downscale constant. Used to avoid overflow for all finite input. */
+    private static final double DOWNSCALE = 0.5;
+    /** The rescale constant. */
+    private static final double RESCALE = 2;
+
+    /** Highest order of the computed moments. */
+    private final int order;
+    /** Count of values with a non-zero weight that have been added. */
+    private long n;
+    /** Sum of the weights. */
+    private double weight;
+    /** First moment of values that have been added. This is stored as a half value. */
+    private double m1;
+    /** Weighted sum of squared deviations. */
+    private double m2;
+    /** Weighted sum of cubed deviations. */
+    private double m3;
+    /** Weighted sum of fourth deviations. */
+    private double m4;
+    /**
+     * Running sum of values seen so far. Used as a return value for the first moment
+     * when it is non-finite.
+     */
+    private double nonFiniteValue;
+
+    /**
+     * Create an instance.
+     *
+     * @param order Highest order of the computed moments.
+     */
+    WeightedMoments(int order) {
+        this.order = order;
+    }
+
+    /**
+     * Returns an instance of the specified {@code order} populated using the input
+     * {@code values} and {@code weights}.
+     *
+     * @param order Highest order of the computed moments.
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedMoments} instance.
+     * @throws IllegalArgumentException if the values and weights have different lengths;
+     * or any weight is negative or not finite
+     */
+    static WeightedMoments of(int order, double[] values, double[] weights) {
+        Statistics.checkWeightsLength(values, weights);
+        final WeightedMoments m = new WeightedMoments(order);
+        for (int i = 0; i < values.length; i++) {
+            m.accept(values[i], weights[i]);
+        }
+        return m;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified weight {@code w}. A value with a weight of zero is ignored.
+     *
+     * @param value Value.
+     * @param w Weight.
+     * @throws IllegalArgumentException if the weight is negative or not finite
+     */
+    void accept(double value, double w) {
+        if (Statistics.checkWeight(w) == 0) {
+            return;
+        }
+        // Scaling down values prevents overflow of finites.
+        nonFiniteValue += value * Double.MIN_NORMAL;
+        add(1, w, value * DOWNSCALE, 0, 0, 0);
+    }
+
+    /**
+     * Gets the count of values with a non-zero weight.
+     *
+     * @return the count
+     */
+    long getN() {
+        return n;
+    }
+
+    /**
+     * Gets the sum of the weights.
+     *
+     * @return the sum of the weights
+     */
+    double getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the weighted first moment of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return {@code First moment} of all values, if it is finite;
+     *         {@code +/-Infinity}, if infinities of the same sign have been encountered;
+     *         {@code NaN} otherwise.
+     */
+    double getFirstMoment() {
+        // Scale back to the original magnitude
+        final double m = m1 * RESCALE;
+        if (Double.isFinite(m)) {
+            return n == 0 ? Double.NaN : m;
+        }
+        // A non-finite value must have been encountered, return nonFiniteValue which represents m1.
+        return nonFiniteValue;
+    }
+
+    /**
+     * Gets the weighted sum of squared deviations of all input values.
+     *
+     * @return sum of squared deviations of all values.
+     */
+    double getSumOfSquaredDeviations() {
+        return Double.isFinite(getFirstMoment()) ? m2 : Double.NaN;
+    }
+
+    /**
+     * Gets the weighted sum of cubed deviations of all input values.
+     *
+     * @return sum of cubed deviations of all values.
+     */
+    double getSumOfCubedDeviations() {
+        return Double.isFinite(getFirstMoment()) ? m3 : Double.NaN;
+    }
+
+    /**
+     * Gets the weighted sum of fourth deviations of all input values.
+     *
+     * @return sum of fourth deviations of all values.
+     */
+    double getSumOfFourthDeviations() {
+        return Double.isFinite(getFirstMoment()) ? m4 : Double.NaN;
+    }
+
+    /**
+     * Combines the state of another {@code WeightedMoments} into this one.
+     * The other instance must have the same order.
+     *
+     * @param other Another {@code WeightedMoments} to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     */
+    WeightedMoments combine(WeightedMoments other) {
+        nonFiniteValue += other.nonFiniteValue;
+        add(other.n, other.weight, other.m1, other.m2, other.m3, other.m4);
+        return this;
+    }
+
+    /**
+     * Add the moments of a sample.
+     *
+     * <p>Uses the pairwise updating formulas of Pébay (2008) equations 3.1 and 3.8
+     * with the sample sizes replaced by the sum of the weights.
+     *
+     * @param nb Count of the sample.
+     * @param wb Sum of the weights of the sample.
+     * @param h1 Half the first moment of the sample.
+     * @param s2 Weighted sum of squared deviations of the sample.
+     * @param s3 Weighted sum of cubed deviations of the sample.
+     * @param s4 Weighted sum of fourth deviations of the sample.
+     */
+    private void add(long nb, double wb, double h1, double s2, double s3, double s4) {
+        if (nb == 0) {
+            return;
+        }
+        n += nb;
+        final double wa = weight;
+        if (wa == 0) {
+            weight = wb;
+            m1 = h1;
+            m2 = s2;
+            m3 = s3;
+            m4 = s4;
+            return;
+        }
+        final double w = wa + wb;
+        final double qa = wa / w;
+        final double qb = wb / w;
+        // Half the difference of the means.
+        // The half-representation ensures the difference is at most MAX_VALUE.
+        final double h = h1 - m1;
+        // Terms are computed using the fractions of the total weight to avoid overflow.
+        // Note: account for the half-deviation representation by scaling by 2^k.
+        // The sum of the weights of the combined deviation is wa * wb / w = wa * qb.
+        final double waqb = wa * qb;
+        if (order >= FOURTH) {
+            final double hh = h * h;
+            m4 = m4 + s4 +
+                (qa * s3 - qb * m3) * h * 8 +
+                (qa * qa * s2 + qb * qb * m2) * hh * 24 +
+                waqb * (qa * qa - qa * qb + qb * qb) * hh * hh * 16;
+        }
+        if (order >= THIRD) {
+            m3 = m3 + s3 +
+                (qa * s2 - qb * m2) * h * 6 +
+                waqb * (qa - qb) * h * h * h * 8;
+        }
+        if (order >= SECOND) {
+            m2 = m2 + s2 + waqb * h * h * 4;
+        }
+        m1 += h * qb;
+        weight = w;
+    }
+}
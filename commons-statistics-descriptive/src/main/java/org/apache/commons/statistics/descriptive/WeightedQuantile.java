@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+
+/**
+ * Computation of quantiles of weighted values.
+ *
+ * <p>Weights are frequency weights. The values with a non-zero weight are sorted
+ * and the quantile is located in the cumulative weights.
+ *
+ * @see Quantile#evaluateWeighted(double[], double[], double...)
+ * @since 1.4
+ */
+final class WeightedQuantile {
+    /** Message when the sum of the weights is not valid. */
+    private static final String INVALID_SUM_OF_WEIGHTS = "Invalid sum of weights: ";
+
+    /** No instances. */
+    private WeightedQuantile() {}
+
+    /**
+     * Compute the {@code p}-th quantiles of the weighted values.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @param p Probabilities for the quantiles to compute. Used to store the result.
+     * @param nanPolicy NaN policy.
+     * @param method Estimation method.
+     * @return the quantiles
+     * @throws IllegalArgumentException if the values and weights have different lengths; any weight
+     * is negative or not finite; the sum of the weights is not finite;
+     * or if the values contain NaN and the policy is {@link NaNPolicy#ERROR}
+     */
+    static double[] compute(double[] values, double[] weights, double[] p,
+                            NaNPolicy nanPolicy, EstimationMethod method) {
+        Statistics.checkWeightsLength(values, weights);
+        // Copy the values with a non-zero weight
+        final double[] x = new double[values.length];
+        final double[] c = new double[values.length];
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            final double v = values[i];
+            final double w = Statistics.checkWeight(weights[i]);
+            if (Double.isNaN(v)) {
+                if (nanPolicy == NaNPolicy.ERROR) {
+                    throw new IllegalArgumentException("NaN at " + i);
+                }
+                if (nanPolicy == NaNPolicy.EXCLUDE) {
+                    continue;
+                }
+            }
+            if (w != 0) {
+                x[size] = v;
+                c[size] = w;
+                size++;
+            }
+        }
+        final double[] q = p;
+        if (size == 0) {
+            Arrays.fill(q, Double.NaN);
+            return q;
+        }
+        sort(x, c, size);
+        // Cumulative weights
+        for (int i = 1; i < size; i++) {
+            c[i] += c[i - 1];
+        }
+        final double total = c[size - 1];
+        if (total == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException(INVALID_SUM_OF_WEIGHTS + total);
+        }
+        for (int k = 0; k < p.length; k++) {
+            // Position in [0, total - 1]. This is clipped to 0 when total < 1.
+            final double pos = Math.max(0, method.index(p[k], total));
+            final double j = Math.floor(pos);
+            int i = searchRank(c, size, j);
+            final double v1 = x[i];
+            if (pos > j) {
+                // Find the value containing the next rank.
+                // This is within the data as j + 1 < total.
+                while (c[i] <= j + 1) {
+                    i++;
+                }
+                q[k] = Interpolation.interpolate(v1, x[i], pos - j);
+            } else {
+                q[k] = v1;
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Sort the values and the associated weights using the ordering imposed by
+     * {@link Double#compare(double, double)} on the values.
+     *
+     * <p>Uses a heap sort. The sort is skipped if the values are already sorted.
+     *
+     * @param x Values.
+     * @param w Weights.
+     * @param n Size of the data.
+     */
+    private static void sort(double[] x, double[] w, int n) {
+        int i = 1;
+        while (i < n && Double.compare(x[i - 1], x[i]) <= 0) {
+            i++;
+        }
+        if (i == n) {
+            return;
+        }
+        for (int k = (n >>> 1) - 1; k >= 0; k--) {
+            siftDown(x, w, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(x, w, 0, end);
+            siftDown(x, w, 0, end);
+        }
+    }
+
+    /**
+     * Sift the element down the max heap.
+     *
+     * @param x Values.
+     * @param w Weights.
+     * @param k Index of the element.
+     * @param n Size of the heap.
+     */
+    private static void siftDown(double[] x, double[] w, int k, int n) {
+        int root = k;
+        for (int child = 2 * root + 1; child < n; child = 2 * root + 1) {
+            if (child + 1 < n && Double.compare(x[child], x[child + 1]) < 0) {
+                child++;
+            }
+            if (Double.compare(x[root], x[child]) >= 0) {
+                return;
+            }
+            swap(x, w, root, child);
+            root = child;
+        }
+    }
+
+    /**
+     * Swap the elements at the specified indices.
+     *
+     * @param x Values.
+     * @param w Weights.
+     * @param i Index.
+     * @param j Index.
+     */
+    private static void swap(double[] x, double[] w, int i, int j) {
+        final double v = x[i];
+        x[i] = x[j];
+        x[j] = v;
+        final double u = w[i];
+        w[i] = w[j];
+        w[j] = u;
+    }
+
+    /**
+     * Find the index of the first cumulative weight that is above the {@code rank}.
+     * The rank must be below the total weight.
+     *
+     * @param c Cumulative weights.
+     * @param n Size of the data.
+     * @param rank Rank.
+     * @return the index
+     */
+    private static int searchRank(double[] c, int n, double rank) {
+        int lo = 0;
+        int hi = n - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (c[mid] > rank) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+}
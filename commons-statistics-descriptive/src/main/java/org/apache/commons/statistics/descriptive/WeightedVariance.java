@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the weighted variance of the available values. The default implementation uses the
+ * following definition of the weighted <em>sample variance</em>:
+ *
+ * <p>\[ \tfrac{1}{V-1} \sum_{i=1}^n w_i (x_i-\overline{x}_w)^2 \]
+ *
+ * <p>where \( \overline{x}_w \) is the {@link WeightedMean weighted mean}, \( n \) is the
+ * number of samples, \( w_i \ge 0 \) is the weight of each value, and \( V = \sum w_i \) is
+ * the sum of the weights.
+ *
+ * <p>Weights are frequency weights: a value with an integer weight \( w \) has the same
+ * effect on the statistic as the value repeated \( w \) times. Weights can be non-integer.
+ * A value with a weight of zero is ignored. Values added using {@link #accept(double)}
+ * have a weight of 1.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values with a non-zero weight are added.</li>
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.</li>
+ *   <li>The result is {@code NaN} if the weighted sum of the squared deviations from the
+ *       mean is infinite.</li>
+ *   <li>The result is zero if there is one finite value with a non-zero weight in the
+ *       data set.</li>
+ *   <li>The result is {@code NaN} if the sum of the weights is not above 1 and there is
+ *       more than one value with a non-zero weight in the data set.</li>
+ * </ul>
+ *
+ * <p>The use of the term \( V − 1 \) is Bessel's correction using the sum of the frequency
+ * weights as the number of samples. If the {@link #setBiased(boolean) biased} option is
+ * enabled the normalisation factor is changed to \( \frac{1}{V} \) for a biased estimator
+ * of the weighted <em>sample variance</em>.
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm based
+ * on West's algorithm.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>West (1979)
+ *       Updating mean and variance estimates: an improved method.
+ *       Communications of the ACM, 22, 532-535.
+ *       <a href="https://doi.org/10.1145/359146.359153">doi: 10.1145/359146.359153</a></li>
+ * </ul>
+ *
+ * @see Variance
+ * @see <a href="https://en.wikipedia.org/wiki/Weighted_arithmetic_mean#Frequency_weights">
+ * Frequency weights (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class WeightedVariance implements DoubleStatistic, StatisticAccumulator<WeightedVariance> {
+    /**
+     * Moments used to compute the variance.
+     */
+    private final WeightedMoments moments;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Creates an instance with the moments.
+     *
+     * @param moments Moments.
+     */
+    private WeightedVariance(WeightedMoments moments) {
+        this.moments = moments;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code WeightedVariance} instance.
+     */
+    public static WeightedVariance create() {
+        return new WeightedVariance(new WeightedMoments(WeightedMoments.SECOND));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} and {@code weights}.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedVariance} instance.
+     * @throws IllegalArgumentException if the values and weights have different lengths;
+     * or any weight is negative or not finite
+     */
+    public static WeightedVariance of(double[] values, double[] weights) {
+        return new WeightedVariance(WeightedMoments.of(WeightedMoments.SECOND, values, weights));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with a weight of 1.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        moments.accept(value, 1);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code weight}.
+     *
+     * @param value Value.
+     * @param weight Weight.
+     * @throws IllegalArgumentException if the weight is negative or not finite
+     */
+    public void accept(double value, double weight) {
+        moments.accept(value, weight);
+    }
+
+    /**
+     * Gets the weighted variance of all input values.
+     *
+     * <p>When no values with a non-zero weight have been added, the result is {@code NaN}.
+     *
+     * @return weighted variance of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        // This method checks the sum of squared is finite
+        // to provide a consistent NaN when the computation is not possible.
+        // Note: The SS checks for n=0 and returns NaN.
+        final double m2 = moments.getSumOfSquaredDeviations();
+        if (!Double.isFinite(m2)) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero
+        if (moments.getN() == 1) {
+            return 0;
+        }
+        final double w = moments.getWeight();
+        if (biased) {
+            return m2 / w;
+        }
+        return w > 1 ? m2 / (w - 1) : Double.NaN;
+    }
+
+    /**
+     * Gets the sum of the weights of all input values.
+     *
+     * @return the sum of the weights
+     */
+    public double getSumOfWeights() {
+        return moments.getWeight();
+    }
+
+    @Override
+    public WeightedVariance combine(WeightedVariance other) {
+        moments.combine(other.moments);
+        return this;
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the weighted sum of squared deviations from the weighted mean is
+     * normalised by {@code V - 1} where {@code V} is the sum of the weights. This is
+     * Bessel's correction using the sum of the frequency weights as the number of samples.
+     *
+     * <p>If {@code true} the weighted sum of squared deviations is normalised by the sum of
+     * the weights {@code V}.
+     *
+     * <p>Note: This option only applies when {@code n > 1}. The variance of {@code n = 1} is
+     * always 0.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(WeightedVariance) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public WeightedVariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+}
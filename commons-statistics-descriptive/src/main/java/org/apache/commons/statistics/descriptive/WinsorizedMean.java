@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Returns the winsorized mean of the available values.
+ *
+ * <p>For values of length {@code n} and a proportion {@code p} in {@code [0, 0.5)},
+ * let {@code g = floor(p * n)}. The winsorized mean is the arithmetic mean of the
+ * sorted values after replacing the {@code g} smallest values with the next smallest
+ * value, and the {@code g} largest values with the next largest value:
+ *
+ * <p>\[ \frac{1}{n} \left( g x_{(g+1)} + \sum_{i=g+1}^{n-g} x_{(i)} + g x_{(n-g)} \right) \]
+ *
+ * <p>where \( x_{(i)} \) is the \( i \)-th order statistic.
+ *
+ * <ul>
+ * <li>The result is {@code NaN} if {@code n = 0}.</li>
+ * <li>The result is the mean if {@code g = 0}.</li>
+ * </ul>
+ *
+ * <p>The values are not sorted. Both tails are partitioned from the middle values
+ * using a single selection of the order statistics at the tail boundaries; the mean
+ * is then computed in a linear pass of the middle values. The replaced values are
+ * not written to the input data.
+ *
+ * <p>This implementation respects the ordering imposed by
+ * {@link Double#compare(double, double)} for {@code NaN} values. If a {@code NaN} occurs
+ * in the middle values of the fully sorted values, or at the tail boundaries,
+ * then the result is {@code NaN}.
+ *
+ * <p>The {@link NaNPolicy} can be used to change the behaviour on {@code NaN} values.
+ *
+ * <p>Instances of this class are immutable and thread-safe.
+ *
+ * @see #with(NaNPolicy)
+ * @see TrimmedMean
+ * @see WinsorizedVariance
+ * @see <a href="https://en.wikipedia.org/wiki/Winsorized_mean">Winsorized mean (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class WinsorizedMean {
+    /** Default proportion. */
+    private static final double DEFAULT_PROPORTION = 0.2;
+    /** Default instance. */
+    private static final WinsorizedMean DEFAULT = new WinsorizedMean(false, NaNPolicy.INCLUDE, DEFAULT_PROPORTION);
+
+    /** Flag to indicate if the data should be copied. */
+    private final boolean copy;
+    /** NaN policy for floating point data. */
+    private final NaNPolicy nanPolicy;
+    /** Transformer for NaN data. */
+    private final NaNTransformer nanTransformer;
+    /** Proportion of values to replace at each end of the sorted data. */
+    private final double proportion;
+
+    /**
+     * @param copy Flag to indicate if the data should be copied.
+     * @param nanPolicy NaN policy.
+     * @param proportion Proportion of values to replace at each end of the sorted data.
+     */
+    private WinsorizedMean(boolean copy, NaNPolicy nanPolicy, double proportion) {
+        this.copy = copy;
+        this.nanPolicy = nanPolicy;
+        this.proportion = proportion;
+        nanTransformer = NaNTransformers.createNaNTransformer(nanPolicy, copy);
+    }
+
+    /**
+     * Return a new instance with the default options.
+     *
+     * <ul>
+     * <li>{@linkplain #withCopy(boolean) Copy = false}</li>
+     * <li>{@linkplain #with(NaNPolicy) NaN policy = include}</li>
+     * <li>{@linkplain #withProportion(double) Proportion = 0.2}</li>
+     * </ul>
+     *
+     * <p>Note: The default options configure for processing in-place and including
+     * {@code NaN} values in the data. This is the most efficient mode and has the
+     * smallest memory consumption.
+     *
+     * @return the winsorized mean implementation
+     * @see #withCopy(boolean)
+     * @see #with(NaNPolicy)
+     * @see #withProportion(double)
+     */
+    public static WinsorizedMean withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return an instance with the configured copy behaviour. If {@code false} then
+     * the input array will be modified by the call to evaluate the winsorized mean; otherwise
+     * the computation uses a copy of the data.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public WinsorizedMean withCopy(boolean v) {
+        return new WinsorizedMean(v, nanPolicy, proportion);
+    }
+
+    /**
+     * Return an instance with the configured {@link NaNPolicy}.
+     *
+     * <p>Note: This implementation respects the ordering imposed by
+     * {@link Double#compare(double, double)} for {@code NaN} values: {@code NaN} is
+     * considered greater than all other values, and all {@code NaN} values are equal. The
+     * {@link NaNPolicy} changes the computation of the statistic in the presence of
+     * {@code NaN} values.
+     *
+     * <ul>
+     * <li>{@link NaNPolicy#INCLUDE}: {@code NaN} values are moved to the end of the data;
+     * the size of the data <em>includes</em> the {@code NaN} values and the winsorized mean will be
+     * {@code NaN} if any of the middle values is {@code NaN}.</li>
+     * <li>{@link NaNPolicy#EXCLUDE}: {@code NaN} values are moved to the end of the data;
+     * the size of the data <em>excludes</em> the {@code NaN} values and the winsorized mean will
+     * never be {@code NaN} for non-zero size. If all data are {@code NaN} then the size is zero
+     * and the result is {@code NaN}.</li>
+     * <li>{@link NaNPolicy#ERROR}: An exception is raised if the data contains {@code NaN}
+     * values.</li>
+     * </ul>
+     *
+     * <p>Note that the result is identical for all policies if no {@code NaN} values are present.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public WinsorizedMean with(NaNPolicy v) {
+        return new WinsorizedMean(copy, Objects.requireNonNull(v), proportion);
+    }
+
+    /**
+     * Return an instance with the configured proportion of values to replace
+     * at each end of the sorted data.
+     *
+     * @param p Proportion in {@code [0, 0.5)}.
+     * @return an instance
+     * @throws IllegalArgumentException if the proportion is not in the range {@code [0, 0.5)}
+     */
+    public WinsorizedMean withProportion(double p) {
+        return new WinsorizedMean(copy, nanPolicy, Trimming.checkProportion(p));
+    }
+
+    /**
+     * Evaluate the winsorized mean.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the winsorized mean
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #with(NaNPolicy)
+     */
+    public double evaluate(double[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the winsorized mean of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the winsorized mean
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #with(NaNPolicy)
+     */
+    public double evaluateRange(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the winsorized mean of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the winsorized mean
+     */
+    private double compute(double[] values, int from, int to) {
+        // Floating-point data handling
+        final int[] bounds = new int[2];
+        final double[] x = nanTransformer.apply(values, from, to, bounds);
+        final int start = bounds[0];
+        final int end = bounds[1];
+        final int n = end - start;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final int g = Trimming.tailSize(proportion, n);
+        Trimming.select(x, start, end, g);
+        return computeMean(x, start, end, g);
+    }
+
+    /**
+     * Compute the winsorized mean of the partitioned range.
+     *
+     * @param x Values partitioned using {@link Trimming#select(double[], int, int, int)}.
+     * @param start Inclusive start of the range.
+     * @param end Exclusive end of the range.
+     * @param g Tail size.
+     * @return the winsorized mean
+     */
+    static double computeMean(double[] x, int start, int end, int g) {
+        final double m = FirstMoment.ofRange(x, start + g, end - g).getFirstMoment();
+        if (g == 0) {
+            return m;
+        }
+        // Combine the mean of the middle values with the replaced tail values
+        // using frequency weights
+        final WeightedMean mean = WeightedMean.create();
+        mean.accept(m, end - start - 2 * g);
+        mean.accept(x[start + g], g);
+        mean.accept(x[end - g - 1], g);
+        return mean.getAsDouble();
+    }
+
+    /**
+     * Evaluate the winsorized mean.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the winsorized mean
+     */
+    public double evaluate(int[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the winsorized mean of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the winsorized mean
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public double evaluateRange(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the winsorized mean of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the winsorized mean
+     */
+    private double compute(int[] values, int from, int to) {
+        final int[] x;
+        final int start;
+        final int end;
+        if (copy) {
+            x = Arrays.copyOfRange(values, from, to);
+            start = 0;
+            end = to - from;
+        } else {
+            x = values;
+            start = from;
+            end = to;
+        }
+        final int n = end - start;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final int g = Trimming.tailSize(proportion, n);
+        Trimming.select(x, start, end, g);
+        return IntMean.computeMean(computeSum(x, start, end, g), n);
+    }
+
+    /**
+     * Compute the sum of the winsorized values of the partitioned range.
+     *
+     * @param x Values partitioned using {@link Trimming#select(int[], int, int, int)}.
+     * @param start Inclusive start of the range.
+     * @param end Exclusive end of the range.
+     * @param g Tail size.
+     * @return the sum
+     */
+    static Int128 computeSum(int[] x, int start, int end, int g) {
+        // Sum of an array cannot exceed a 64-bit long
+        long s = 0;
+        for (int i = start + g; i < end - g; i++) {
+            s += x[i];
+        }
+        final Int128 sum = Int128.of(s);
+        if (g != 0) {
+            sum.add((long) x[start + g] * g);
+            sum.add((long) x[end - g - 1] * g);
+        }
+        return sum;
+    }
+}
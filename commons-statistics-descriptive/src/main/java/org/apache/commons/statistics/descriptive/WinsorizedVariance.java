@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Returns the winsorized variance of the available values.
+ *
+ * <p>For values of length {@code n} and a proportion {@code p} in {@code [0, 0.5)},
+ * let {@code g = floor(p * n)}. The winsorized variance is the sample variance of the
+ * sorted values after replacing the {@code g} smallest values with the next smallest
+ * value, and the {@code g} largest values with the next largest value:
+ *
+ * <p>\[ \frac{1}{n - 1} \sum_{i=1}^n (w_i - \overline{w})^2 \]
+ *
+ * <p>where \( w_i \) are the winsorized values and \( \overline{w} \) is the
+ * {@linkplain WinsorizedMean winsorized mean}.
+ *
+ * <ul>
+ * <li>The result is {@code NaN} if {@code n = 0}.</li>
+ * <li>The result is zero if {@code n = 1}.</li>
+ * <li>The result is the variance if {@code g = 0}.</li>
+ * <li>The result is {@code NaN} if the winsorized values contain an infinite value.</li>
+ * </ul>
+ *
+ * <p>The values are not sorted. Both tails are partitioned from the middle values
+ * using a single selection of the order statistics at the tail boundaries; the variance
+ * is then computed in linear passes of the middle values. The replaced values are
+ * not written to the input data.
+ *
+ * <p>This implementation respects the ordering imposed by
+ * {@link Double#compare(double, double)} for {@code NaN} values. If a {@code NaN} occurs
+ * in the middle values of the fully sorted values, or at the tail boundaries,
+ * then the result is {@code NaN}.
+ *
+ * <p>The {@link NaNPolicy} can be used to change the behaviour on {@code NaN} values.
+ *
+ * <p>Instances of this class are immutable and thread-safe.
+ *
+ * @see #with(NaNPolicy)
+ * @see WinsorizedMean
+ * @see <a href="https://en.wikipedia.org/wiki/Winsorizing">Winsorizing (Wikipedia)</a>
+ * @since 1.4
+ */
+public final class WinsorizedVariance {
+    /** Default proportion. */
+    private static final double DEFAULT_PROPORTION = 0.2;
+    /** Default instance. */
+    private static final WinsorizedVariance DEFAULT =
+        new WinsorizedVariance(false, NaNPolicy.INCLUDE, DEFAULT_PROPORTION);
+
+    /** Flag to indicate if the data should be copied. */
+    private final boolean copy;
+    /** NaN policy for floating point data. */
+    private final NaNPolicy nanPolicy;
+    /** Transformer for NaN data. */
+    private final NaNTransformer nanTransformer;
+    /** Proportion of values to replace at each end of the sorted data. */
+    private final double proportion;
+
+    /**
+     * @param copy Flag to indicate if the data should be copied.
+     * @param nanPolicy NaN policy.
+     * @param proportion Proportion of values to replace at each end of the sorted data.
+     */
+    private WinsorizedVariance(boolean copy, NaNPolicy nanPolicy, double proportion) {
+        this.copy = copy;
+        this.nanPolicy = nanPolicy;
+        this.proportion = proportion;
+        nanTransformer = NaNTransformers.createNaNTransformer(nanPolicy, copy);
+    }
+
+    /**
+     * Return a new instance with the default options.
+     *
+     * <ul>
+     * <li>{@linkplain #withCopy(boolean) Copy = false}</li>
+     * <li>{@linkplain #with(NaNPolicy) NaN policy = include}</li>
+     * <li>{@linkplain #withProportion(double) Proportion = 0.2}</li>
+     * </ul>
+     *
+     * <p>Note: The default options configure for processing in-place and including
+     * {@code NaN} values in the data. This is the most efficient mode and has the
+     * smallest memory consumption.
+     *
+     * @return the winsorized variance implementation
+     * @see #withCopy(boolean)
+     * @see #with(NaNPolicy)
+     * @see #withProportion(double)
+     */
+    public static WinsorizedVariance withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return an instance with the configured copy behaviour. If {@code false} then
+     * the input array will be modified by the call to evaluate the winsorized variance; otherwise
+     * the computation uses a copy of the data.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public WinsorizedVariance withCopy(boolean v) {
+        return new WinsorizedVariance(v, nanPolicy, proportion);
+    }
+
+    /**
+     * Return an instance with the configured {@link NaNPolicy}.
+     *
+     * <p>Note: This implementation respects the ordering imposed by
+     * {@link Double#compare(double, double)} for {@code NaN} values: {@code NaN} is
+     * considered greater than all other values, and all {@code NaN} values are equal. The
+     * {@link NaNPolicy} changes the computation of the statistic in the presence of
+     * {@code NaN} values.
+     *
+     * <ul>
+     * <li>{@link NaNPolicy#INCLUDE}: {@code NaN} values are moved to the end of the data;
+     * the size of the data <em>includes</em> the {@code NaN} values and the winsorized variance will be
+     * {@code NaN} if any of the middle values is {@code NaN}.</li>
+     * <li>{@link NaNPolicy#EXCLUDE}: {@code NaN} values are moved to the end of the data;
+     * the size of the data <em>excludes</em> the {@code NaN} values and the winsorized variance will
+     * never be {@code NaN} for non-zero size. If all data are {@code NaN} then the size is zero
+     * and the result is {@code NaN}.</li>
+     * <li>{@link NaNPolicy#ERROR}: An exception is raised if the data contains {@code NaN}
+     * values.</li>
+     * </ul>
+     *
+     * <p>Note that the result is identical for all policies if no {@code NaN} values are present.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public WinsorizedVariance with(NaNPolicy v) {
+        return new WinsorizedVariance(copy, Objects.requireNonNull(v), proportion);
+    }
+
+    /**
+     * Return an instance with the configured proportion of values to replace
+     * at each end of the sorted data.
+     *
+     * @param p Proportion in {@code [0, 0.5)}.
+     * @return an instance
+     * @throws IllegalArgumentException if the proportion is not in the range {@code [0, 0.5)}
+     */
+    public WinsorizedVariance withProportion(double p) {
+        return new WinsorizedVariance(copy, nanPolicy, Trimming.checkProportion(p));
+    }
+
+    /**
+     * Evaluate the winsorized variance.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the winsorized variance
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @see #with(NaNPolicy)
+     */
+    public double evaluate(double[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the winsorized variance of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the winsorized variance
+     * @throws IllegalArgumentException if the values contain NaN and the configuration is {@link NaNPolicy#ERROR}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #with(NaNPolicy)
+     */
+    public double evaluateRange(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the winsorized variance of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the winsorized variance
+     */
+    private double compute(double[] values, int from, int to) {
+        // Floating-point data handling
+        final int[] bounds = new int[2];
+        final double[] x = nanTransformer.apply(values, from, to, bounds);
+        final int start = bounds[0];
+        final int end = bounds[1];
+        final int n = end - start;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final int g = Trimming.tailSize(proportion, n);
+        Trimming.select(x, start, end, g);
+        return computeVariance(x, start, end, g);
+    }
+
+    /**
+     * Compute the winsorized variance of the partitioned range.
+     *
+     * @param x Values partitioned using {@link Trimming#select(double[], int, int, int)}.
+     * @param start Inclusive start of the range.
+     * @param end Exclusive end of the range.
+     * @param g Tail size.
+     * @return the winsorized variance
+     */
+    private static double computeVariance(double[] x, int start, int end, int g) {
+        final double m = WinsorizedMean.computeMean(x, start, end, g);
+        if (!Double.isFinite(m)) {
+            return Double.NaN;
+        }
+        final int n = end - start;
+        if (n == 1) {
+            return 0;
+        }
+        // Two-pass algorithm with a correction term for the rounding error in the mean
+        double s = 0;
+        double ss = 0;
+        for (int i = start + g; i < end - g; i++) {
+            final double dx = x[i] - m;
+            s += dx;
+            ss += dx * dx;
+        }
+        if (g != 0) {
+            final double dlo = x[start + g] - m;
+            final double dhi = x[end - g - 1] - m;
+            s += g * (dlo + dhi);
+            ss += g * (dlo * dlo + dhi * dhi);
+        }
+        return (ss - s * s / n) / (n - 1);
+    }
+
+    /**
+     * Evaluate the winsorized variance.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the winsorized variance
+     */
+    public double evaluate(int[] values) {
+        return compute(values, 0, values.length);
+    }
+
+    /**
+     * Evaluate the winsorized variance of the specified range.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the winsorized variance
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public double evaluateRange(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return compute(values, from, to);
+    }
+
+    /**
+     * Compute the winsorized variance of the specified range.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the winsorized variance
+     */
+    private double compute(int[] values, int from, int to) {
+        final int[] x;
+        final int start;
+        final int end;
+        if (copy) {
+            x = Arrays.copyOfRange(values, from, to);
+            start = 0;
+            end = to - from;
+        } else {
+            x = values;
+            start = from;
+            end = to;
+        }
+        final int n = end - start;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final int g = Trimming.tailSize(proportion, n);
+        Trimming.select(x, start, end, g);
+        // Sum of an array cannot exceed a 64-bit long
+        long s = 0;
+        final UInt96 ss = UInt96.create();
+        for (int i = start + g; i < end - g; i++) {
+            final long v = x[i];
+            s += v;
+            ss.addPositive(v * v);
+        }
+        final Int128 sum = Int128.of(s);
+        final UInt128 sumSq = UInt128.of(ss);
+        if (g != 0) {
+            final long lo = x[start + g];
+            final long hi = x[end - g - 1];
+            sum.add(lo * g);
+            sum.add(hi * g);
+            sumSq.add(new UInt128(0, lo * lo).unsignedMultiply(g));
+            sumSq.add(new UInt128(0, hi * hi).unsignedMultiply(g));
+        }
+        return IntVariance.computeVarianceOrStd(sumSq, sum, n, false, false);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link BufferSelection}.
+ */
+class BufferSelectionTest {
+    @ParameterizedTest
+    @MethodSource
+    void testSelect(int[] values, int[] k) {
+        final int[] expected = values.clone();
+        Arrays.sort(expected);
+        // Each index
+        for (final int i : k) {
+            final IntBuffer b = TestHelper.directBuffer(values);
+            BufferSelection.select(b, b.position(), b.limit(), i + 1);
+            Assertions.assertEquals(expected[i], b.get(i + 1));
+            assertPartitioned(TestHelper.contents(b), i + 1);
+        }
+        // All indices
+        final int[] indices = Arrays.stream(k).map(i -> i + 1).toArray();
+        final IntBuffer b = TestHelper.directBuffer(values);
+        BufferSelection.select(b, b.position(), b.limit(), indices);
+        for (final int i : k) {
+            Assertions.assertEquals(expected[i], b.get(i + 1));
+        }
+        TestHelper.assertContents(TestHelper.contents(TestHelper.directBuffer(values)), b, true);
+
+        // Same data using long and double
+        final LongBuffer lb = TestHelper.directBuffer(Arrays.stream(values).asLongStream().toArray());
+        BufferSelection.select(lb, lb.position(), lb.limit(), indices);
+        final DoubleBuffer db = TestHelper.directBuffer(Arrays.stream(values).asDoubleStream().toArray());
+        BufferSelection.select(db, db.position(), db.limit(), indices);
+        for (final int i : k) {
+            Assertions.assertEquals(expected[i], lb.get(i + 1));
+            Assertions.assertEquals(expected[i], db.get(i + 1));
+        }
+    }
+
+    static Stream<Arguments> testSelect() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {1, 2, 5, 16, 17, 18, 50, 1000}) {
+            final int[] k = IntStream.of(0, 1, n / 4, n / 2, n - 2, n - 1).filter(i -> i >= 0 && i < n).distinct().toArray();
+            // Random
+            builder.add(Arguments.of(rng.ints(n).toArray(), k));
+            // Many repeats
+            builder.add(Arguments.of(rng.ints(n, 0, 3).toArray(), k));
+            // Constant
+            builder.add(Arguments.of(new int[n], k));
+            // Ascending and descending
+            builder.add(Arguments.of(IntStream.range(0, n).toArray(), k));
+            builder.add(Arguments.of(IntStream.range(0, n).map(i -> n - i).toArray(), k));
+            // Organ pipe
+            builder.add(Arguments.of(IntStream.range(0, n).map(i -> Math.min(i, n - i)).toArray(), k));
+            // Sawtooth
+            builder.add(Arguments.of(IntStream.range(0, n).map(i -> i % 7).toArray(), k));
+            // Median-of-3 killer
+            builder.add(Arguments.of(medianOf3Killer(n), k));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Create data with a bad ordering for a median-of-3 pivot selection.
+     *
+     * @param n Length.
+     * @return the data
+     */
+    private static int[] medianOf3Killer(int n) {
+        final int[] a = new int[n];
+        final int k = n / 2;
+        for (int i = 0; i < k; i++) {
+            a[i] = (i & 1) == 0 ? i + 1 : k + i + (k & 1);
+            a[k + i] = 2 * (i + 1);
+        }
+        if ((n & 1) == 1) {
+            a[n - 1] = n;
+        }
+        return a;
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testSelectManyIndices(int[] values, int[] k) {
+        final int[] expected = values.clone();
+        Arrays.sort(expected);
+        final IntBuffer b = IntBuffer.wrap(values.clone());
+        BufferSelection.select(b, 0, values.length, k);
+        final int[] x = TestHelper.contents(b);
+        for (final int i : k) {
+            Assertions.assertEquals(expected[i], x[i]);
+            for (int j = 0; j < i; j++) {
+                Assertions.assertTrue(x[j] <= x[i], "lower");
+            }
+            for (int j = i + 1; j < x.length; j++) {
+                Assertions.assertTrue(x[j] >= x[i], "upper");
+            }
+        }
+        final long[] lx = Arrays.stream(values).asLongStream().toArray();
+        final LongBuffer lb = LongBuffer.wrap(lx);
+        BufferSelection.select(lb, 0, values.length, k);
+        final DoubleBuffer db = DoubleBuffer.wrap(Arrays.stream(values).asDoubleStream().toArray());
+        BufferSelection.select(db, 0, values.length, k);
+        for (final int i : k) {
+            Assertions.assertEquals(expected[i], lb.get(i));
+            Assertions.assertEquals(expected[i], db.get(i));
+        }
+    }
+
+    static Stream<Arguments> testSelectManyIndices() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = 500;
+        for (final int[] values : new int[][] {rng.ints(n).toArray(), rng.ints(n, 0, 10).toArray()}) {
+            // Random with duplicates
+            builder.add(Arguments.of(values, rng.ints(100, 0, n).toArray()));
+            // Dense range
+            builder.add(Arguments.of(values, IntStream.range(200, 300).toArray()));
+            // All indices
+            builder.add(Arguments.of(values, IntStream.range(0, n).toArray()));
+            // Clustered at the ends
+            builder.add(Arguments.of(values, new int[] {0, 1, 2, 3, n - 3, n - 2, n - 1}));
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testSelectIgnoresIndicesOutsideRange() {
+        final int[] values = {5, 4, 3, 2, 1};
+        final IntBuffer b = IntBuffer.wrap(values.clone());
+        BufferSelection.select(b, 1, 4, 0, 4, 5);
+        Assertions.assertArrayEquals(values, TestHelper.contents(b));
+        BufferSelection.select(b, 1, 4, 0, 2, 4);
+        Assertions.assertArrayEquals(new int[] {5, 2, 3, 4, 1}, TestHelper.contents(b));
+    }
+
+    @Test
+    void testSelectSignedZeros() {
+        final double[] values = {0.0, -0.0, 0.0, -0.0, 1, -1, 0.0, -0.0};
+        final double[] expected = values.clone();
+        Arrays.sort(expected);
+        for (int i = 0; i < values.length; i++) {
+            final DoubleBuffer b = DoubleBuffer.wrap(values.clone());
+            BufferSelection.select(b, 0, values.length, i);
+            Assertions.assertEquals(expected[i], b.get(i));
+        }
+    }
+
+    @Test
+    void testMoveNaN() {
+        final double nan = Double.NaN;
+        final double[] values = {nan, 1, nan, 2, 3, nan, 4};
+        final double[] data = TestHelper.concatenate(new double[] {nan}, values, new double[] {nan});
+        for (final NaNPolicy policy : new NaNPolicy[] {NaNPolicy.INCLUDE, NaNPolicy.EXCLUDE}) {
+            final DoubleBuffer b = DoubleBuffer.wrap(data.clone());
+            final int end = BufferSelection.moveNaN(b, 1, 1 + values.length, policy);
+            Assertions.assertEquals(5, end);
+            final double[] x = TestHelper.contents(b);
+            Assertions.assertTrue(Arrays.stream(x, 1, end).noneMatch(Double::isNaN));
+            Assertions.assertTrue(Arrays.stream(x, end, x.length).allMatch(Double::isNaN));
+            Assertions.assertTrue(Double.isNaN(x[0]));
+        }
+        final DoubleBuffer b = DoubleBuffer.wrap(data.clone());
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> BufferSelection.moveNaN(b, 1, 1 + values.length, NaNPolicy.ERROR));
+        Assertions.assertArrayEquals(data, TestHelper.contents(b));
+        Assertions.assertEquals(6, BufferSelection.moveNaN(b, 4, 6, NaNPolicy.ERROR));
+    }
+
+    /**
+     * Assert the data is partitioned around index {@code k}.
+     *
+     * @param x Data.
+     * @param k Index.
+     */
+    private static void assertPartitioned(int[] x, int k) {
+        final int v = x[k];
+        // Ignore the padding at the ends of the data
+        for (int i = 1; i < k; i++) {
+            Assertions.assertTrue(x[i] <= v, "lower");
+        }
+        for (int i = k + 1; i < x.length - 1; i++) {
+            Assertions.assertTrue(x[i] >= v, "upper");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.nio.ByteBuffer;
+import org.apache.commons.numbers.core.Sum;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link CompensatedSum}.
+ */
+class CompensatedSumTest {
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(0.0, CompensatedSum.create().getAsDouble());
+        Assertions.assertEquals(0.0, CompensatedSum.of().getAsDouble());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1, 1e-10, 1e10, 1e300})
+    void testSum(double scale) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] a = rng.doubles(100, -scale, scale).toArray();
+        final double[] b = rng.doubles(50, -scale, scale).toArray();
+        // The sum is identical to the reference implementation
+        final CompensatedSum s1 = CompensatedSum.of(a);
+        final Sum s2 = Sum.of(a);
+        Assertions.assertEquals(s2.getAsDouble(), s1.getAsDouble());
+        for (final double x : b) {
+            s1.accept(x);
+            s2.accept(x);
+        }
+        Assertions.assertEquals(s2.getAsDouble(), s1.getAsDouble());
+        s1.add(CompensatedSum.of(a));
+        s2.add(Sum.of(a));
+        Assertions.assertEquals(s2.getAsDouble(), s1.getAsDouble());
+        // Add to itself
+        s1.add(s1);
+        s2.add(s2);
+        Assertions.assertEquals(s2.getAsDouble(), s1.getAsDouble());
+    }
+
+    @Test
+    void testNonFinite() {
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, CompensatedSum.of(1, Double.POSITIVE_INFINITY).getAsDouble());
+        Assertions.assertEquals(Double.NaN, CompensatedSum.of(1, Double.NaN).getAsDouble());
+        Assertions.assertEquals(Double.NaN,
+            CompensatedSum.of(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY).getAsDouble());
+        // Overflow of the high-precision sum
+        Assertions.assertEquals(Double.MAX_VALUE, CompensatedSum.of(Double.MAX_VALUE, 1).getAsDouble());
+    }
+
+    @Test
+    void testWriteReadState() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] a = rng.doubles(100, 0.5, 1.5).toArray();
+        final double[] b = rng.doubles(50, 0.5, 1.5).toArray();
+        final CompensatedSum s1 = CompensatedSum.of(a);
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        s1.writeState(buffer);
+        Assertions.assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        final CompensatedSum s2 = CompensatedSum.create();
+        s2.readState(buffer);
+        Assertions.assertFalse(buffer.hasRemaining());
+        Assertions.assertEquals(s1.getAsDouble(), s2.getAsDouble());
+        // The restored state is exact
+        for (final double x : b) {
+            s1.accept(x);
+            s2.accept(x);
+            Assertions.assertEquals(s1.getAsDouble(), s2.getAsDouble());
+        }
+        final CompensatedSum s3 = CompensatedSum.of(b);
+        Assertions.assertEquals(s1.add(s3).getAsDouble(), s2.add(s3).getAsDouble());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ConcurrentLongStatistics}.
+ */
+class ConcurrentLongStatisticsTest {
+    /** The statistics to compute. */
+    private static final Statistic[] STATISTICS = {
+        Statistic.MIN, Statistic.MAX, Statistic.MEAN, Statistic.VARIANCE, Statistic.SUM,
+    };
+
+    @Test
+    void testOfThrows() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrentLongStatistics.of());
+        Assertions.assertThrows(NullPointerException.class, () -> ConcurrentLongStatistics.of(new Statistic[1]));
+        final ConcurrentLongStatistics s = ConcurrentLongStatistics.of(Statistic.MIN);
+        Assertions.assertThrows(NullPointerException.class, () -> s.setConfiguration(null));
+    }
+
+    @Test
+    void testEmpty() {
+        final LongStatistics s = ConcurrentLongStatistics.of(STATISTICS).snapshot();
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(Double.NaN, s.getAsDouble(Statistic.MEAN));
+        Assertions.assertEquals(Long.MAX_VALUE, s.getAsDouble(Statistic.MIN));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 16})
+    void testConcurrentRecording(int threads) throws InterruptedException, ExecutionException, TimeoutException {
+        final long[] values = TestHelper.createRNG().longs(10000, -100, 100).toArray();
+        final ConcurrentLongStatistics stats = ConcurrentLongStatistics.of(STATISTICS);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            final int size = values.length / threads;
+            for (int i = 0; i < threads; i++) {
+                final int from = i * size;
+                final int to = i == threads - 1 ? values.length : from + size;
+                futures.add(executor.submit(() -> Arrays.stream(values, from, to).forEach(stats)));
+            }
+            for (final Future<?> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertStatistics(LongStatistics.builder(STATISTICS).build(values), stats.snapshot());
+    }
+
+    @Test
+    void testCombine() {
+        final long[] values = TestHelper.createRNG().longs(100, 0, 1000).toArray();
+        final ConcurrentLongStatistics stats = ConcurrentLongStatistics.of(STATISTICS);
+        Arrays.stream(values, 0, 50).forEach(stats);
+        Assertions.assertSame(stats, stats.combine(LongStatistics.builder(STATISTICS).build(values, 50, 100)));
+        assertStatistics(LongStatistics.builder(STATISTICS).build(values), stats.snapshot());
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> stats.combine(LongStatistics.of(Statistic.MIN)));
+    }
+
+    @Test
+    void testSnapshotIsIndependent() {
+        final ConcurrentLongStatistics stats = ConcurrentLongStatistics.of(STATISTICS);
+        stats.accept(1);
+        stats.accept(2);
+        final LongStatistics s1 = stats.snapshot();
+        stats.accept(3);
+        final LongStatistics s2 = stats.snapshot();
+        Assertions.assertEquals(2, s1.getCount());
+        Assertions.assertEquals(3, s2.getCount());
+        Assertions.assertEquals(1.5, s1.getAsDouble(Statistic.MEAN));
+        Assertions.assertEquals(2, s2.getAsDouble(Statistic.MEAN));
+        // Modification of the snapshot does not change the recorder
+        s1.accept(10);
+        Assertions.assertEquals(3, stats.snapshot().getCount());
+    }
+
+    @Test
+    void testConfiguration() {
+        final long[] values = {1, 2, 3, 4, 5};
+        final ConcurrentLongStatistics stats = ConcurrentLongStatistics.of(STATISTICS);
+        Arrays.stream(values).forEach(stats);
+        Assertions.assertEquals(LongVariance.of(values).getAsDouble(), stats.snapshot().getAsDouble(Statistic.VARIANCE));
+        final StatisticsConfiguration c = StatisticsConfiguration.withDefaults().withBiased(true);
+        Assertions.assertSame(stats, stats.setConfiguration(c));
+        Assertions.assertEquals(LongVariance.of(values).setBiased(true).getAsDouble(),
+            stats.snapshot().getAsDouble(Statistic.VARIANCE));
+    }
+
+    private static void assertStatistics(LongStatistics expected, LongStatistics actual) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MIN), actual.getAsDouble(Statistic.MIN));
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MAX), actual.getAsDouble(Statistic.MAX));
+        for (final Statistic s : STATISTICS) {
+            final double e = expected.getAsDouble(s);
+            Assertions.assertEquals(e, actual.getAsDouble(s), Math.abs(e) * 1e-10, s::toString);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link CountingSelection}.
+ */
+class CountingSelectionTest {
+    @Test
+    void testSmallLength() {
+        final int[] x = new int[CountingSelection.MIN_LENGTH - 1];
+        Assertions.assertNull(CountingSelection.of(x, 0, x.length, new QuantileWorkspace()));
+        final int[] y = new int[CountingSelection.MIN_LENGTH];
+        Assertions.assertNotNull(CountingSelection.of(y, 0, y.length, new QuantileWorkspace()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        // Span up to the length
+        "100, 0, 100",
+        "100, -50, 50",
+        "1000, 0, 10",
+        "1000, 0, 1",
+        // Span up to the maximum
+        "100000, 0, 65536",
+        // Extreme values
+        "100, 2147483547, 2147483647",
+        "100, -2147483648, -2147483548",
+    })
+    void testSelection(int n, int lower, int upper) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final QuantileWorkspace w = new QuantileWorkspace();
+        for (int i = 0; i < 5; i++) {
+            final int[] x = rng.ints(n, lower, upper).toArray();
+            final int[] original = x.clone();
+            final CountingSelection c = CountingSelection.of(x, 0, n, w);
+            Assertions.assertNotNull(c);
+            Assertions.assertArrayEquals(original, x, "Data is modified");
+            final int[] sorted = original.clone();
+            Arrays.sort(sorted);
+            for (int k = 0; k < n; k++) {
+                Assertions.assertEquals(sorted[k], c.get(k));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        // Span above the length
+        "100, 0, 101",
+        "100, -50, 51",
+        // Span above the maximum
+        "100000, 0, 65537",
+        // Span above the integer range
+        "100, -2147483648, 2147483647",
+    })
+    void testWideSpan(int n, int lower, int upper) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] x = rng.ints(n, lower, upper).toArray();
+        // Require the full span
+        x[rng.nextInt(n)] = lower;
+        x[rng.nextInt(n)] = upper;
+        Assertions.assertNull(CountingSelection.of(x, 0, n, new QuantileWorkspace()));
+    }
+
+    @Test
+    void testRange() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] x = rng.ints(500, 0, 1000).toArray();
+        // Range with a small span
+        final int from = 100;
+        final int to = 400;
+        for (int i = from; i < to; i++) {
+            x[i] = rng.nextInt(10);
+        }
+        final QuantileWorkspace w = new QuantileWorkspace();
+        Assertions.assertNull(CountingSelection.of(x, 0, x.length, w));
+        final CountingSelection c = CountingSelection.of(x, from, to, w);
+        Assertions.assertNotNull(c);
+        final int[] sorted = Arrays.copyOfRange(x, from, to);
+        Arrays.sort(sorted);
+        for (int k = 0; k < sorted.length; k++) {
+            Assertions.assertEquals(sorted[k], c.get(k));
+        }
+    }
+
+    @Test
+    void testSparseCounts() {
+        // Values at the ends of the span with no values between
+        final int[] x = new int[200];
+        Arrays.fill(x, 0, 50, 3);
+        Arrays.fill(x, 50, 200, 150);
+        final CountingSelection c = CountingSelection.of(x, 0, x.length, new QuantileWorkspace());
+        Assertions.assertNotNull(c);
+        Assertions.assertEquals(3, c.get(0));
+        Assertions.assertEquals(3, c.get(49));
+        Assertions.assertEquals(150, c.get(50));
+        Assertions.assertEquals(150, c.get(199));
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link CovarianceMatrix}.
+ */
+class CovarianceMatrixTest {
+    @Test
+    void testEmpty() {
+        final CovarianceMatrix s = CovarianceMatrix.create(3);
+        Assertions.assertEquals(3, s.getDimension());
+        Assertions.assertEquals(0, s.getCount());
+        assertAll(Double.NaN, s.getMean());
+        for (final double[] r : s.getCovariance()) {
+            assertAll(Double.NaN, r);
+        }
+        for (final double[] r : s.getCorrelation()) {
+            assertAll(Double.NaN, r);
+        }
+        Assertions.assertEquals(0, CovarianceMatrix.of(3, new double[0][]).getCount());
+        s.accept(new double[] {1, 2, 3});
+        Assertions.assertEquals(1, s.getCount());
+        Assertions.assertArrayEquals(new double[] {1, 2, 3}, s.getMean());
+        for (final double[] r : s.getCovariance()) {
+            assertAll(0, r);
+        }
+        for (final double[] r : s.getCorrelation()) {
+            assertAll(Double.NaN, r);
+        }
+    }
+
+    @Test
+    void testInvalidArgumentsThrows() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CovarianceMatrix.create(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CovarianceMatrix.create(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CovarianceMatrix.create(1 << 16));
+        final CovarianceMatrix s = CovarianceMatrix.create(2);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.accept(new double[1]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.accept(new double[3]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.combine(CovarianceMatrix.create(3)));
+        final double[][] rows = {{1, 2}, {3}};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CovarianceMatrix.of(2, rows));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CovarianceMatrix.of(0, rows));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testCovariance(double[][] rows) {
+        final int n = rows.length;
+        final int p = rows[0].length;
+        final double[][] columns = new double[p][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < p; j++) {
+                columns[j][i] = rows[i][j];
+            }
+        }
+        final BigDecimal[][] bc = Arrays.stream(columns)
+            .map(c -> Arrays.stream(c).mapToObj(BigDecimal::new).toArray(BigDecimal[]::new))
+            .toArray(BigDecimal[][]::new);
+        for (final boolean biased : new boolean[] {false, true}) {
+            final double[][] expected = new double[p][p];
+            for (int j = 0; j < p; j++) {
+                for (int k = 0; k < p; k++) {
+                    expected[j][k] = TestHelper.computeExpectedCovariance(bc[j], bc[k], biased);
+                }
+            }
+            final CovarianceMatrix s = CovarianceMatrix.create(p).setBiased(biased);
+            for (final double[] r : rows) {
+                s.accept(r);
+            }
+            Assertions.assertEquals(n, s.getCount());
+            assertCovariance(expected, s.getCovariance(), 1e-11);
+            assertCovariance(expected, CovarianceMatrix.of(p, rows).setBiased(biased).getCovariance(), 1e-11);
+            for (final int split : new int[] {0, 1, n / 3, n}) {
+                final CovarianceMatrix s1 = CovarianceMatrix.of(p, Arrays.copyOf(rows, split)).setBiased(biased);
+                final CovarianceMatrix s2 = CovarianceMatrix.create(p);
+                for (int i = split; i < n; i++) {
+                    s2.accept(rows[i]);
+                }
+                Assertions.assertSame(s1, s1.combine(s2));
+                Assertions.assertEquals(n, s1.getCount());
+                assertCovariance(expected, s1.getCovariance(), 1e-11);
+            }
+        }
+        // Compare to the statistics of each variable
+        final CovarianceMatrix s = CovarianceMatrix.of(p, rows);
+        final double[] mean = s.getMean();
+        final double[][] corr = s.getCorrelation();
+        for (int j = 0; j < p; j++) {
+            Assertions.assertEquals(Mean.of(columns[j]).getAsDouble(), mean[j],
+                Math.abs(mean[j]) * 1e-14 + 1e-15, "mean");
+            for (int k = 0; k < p; k++) {
+                final double e = TestHelper.computeExpectedCorrelation(bc[j], bc[k]);
+                Assertions.assertEquals(e, corr[j][k], Math.abs(e) * 1e-11 + 1e-14, "correlation");
+            }
+        }
+    }
+
+    static Stream<Arguments> testCovariance() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int p : new int[] {1, 2, 5}) {
+            for (final int n : new int[] {2, 3, CovarianceMatrix.BLOCK_SIZE - 1, CovarianceMatrix.BLOCK_SIZE,
+                CovarianceMatrix.BLOCK_SIZE + 1, 500}) {
+                final double[][] rows = new double[n][p];
+                for (final double[] r : rows) {
+                    final double x = rng.nextDouble(-1, 1);
+                    for (int j = 0; j < p; j++) {
+                        // Correlated variables with different offsets and scales
+                        r[j] = (j + 1) * 1e3 + (j % 2 == 0 ? x : -x) * (j + 1) + rng.nextDouble();
+                    }
+                }
+                builder.add(Arguments.of((Object) rows));
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testParallel() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int p = 4;
+        final double[][] rows = new double[50000][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = rng.doubles(p, -10, 10).toArray();
+        }
+        final CovarianceMatrix s1 = CovarianceMatrix.of(p, rows);
+        final CovarianceMatrix s2 = CovarianceMatrix.of(p, rows, true);
+        Assertions.assertEquals(rows.length, s2.getCount());
+        assertCovariance(s1.getCovariance(), s2.getCovariance(), 1e-12);
+        final double[] m1 = s1.getMean();
+        final double[] m2 = s2.getMean();
+        for (int j = 0; j < p; j++) {
+            Assertions.assertEquals(m1[j], m2[j], 1e-14);
+        }
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        for (final double v : new double[] {inf, -inf, Double.NaN}) {
+            final CovarianceMatrix s = CovarianceMatrix.of(2, new double[][] {{1, 2}, {v, 3}, {4, 5}});
+            final double[][] c = s.getCovariance();
+            Assertions.assertEquals(Double.NaN, c[0][0]);
+            Assertions.assertEquals(Double.NaN, c[0][1]);
+            Assertions.assertEquals(Double.NaN, c[1][0]);
+            Assertions.assertEquals(Variance.of(2, 3, 5).getAsDouble(), c[1][1], 1e-15);
+            Assertions.assertEquals(Double.NaN, s.getCorrelation()[0][1]);
+        }
+    }
+
+    @Test
+    void testCombineSelf() {
+        final double[][] rows = {{1, 2}, {3, 5}, {4, 3}};
+        final CovarianceMatrix s1 = CovarianceMatrix.of(2, rows);
+        final CovarianceMatrix s2 = CovarianceMatrix.of(2,
+            Stream.concat(Arrays.stream(rows), Arrays.stream(rows)).toArray(double[][]::new));
+        s1.combine(s1);
+        Assertions.assertEquals(6, s1.getCount());
+        assertCovariance(s2.getCovariance(), s1.getCovariance(), 1e-15);
+    }
+
+    private static void assertAll(double expected, double[] actual) {
+        for (final double v : actual) {
+            Assertions.assertEquals(expected, v);
+        }
+    }
+
+    private static void assertCovariance(double[][] expected, double[][] actual, double relError) {
+        Assertions.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected.length; j++) {
+                final double e = expected[i][j];
+                if (Double.isNaN(e)) {
+                    Assertions.assertEquals(e, actual[i][j]);
+                } else {
+                    Assertions.assertEquals(e, actual[i][j], Math.abs(e) * relError + 1e-15,
+                        () -> "covariance " + Arrays.deepToString(actual));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link Covariance}.
+ */
+class CovarianceTest {
+    @Test
+    void testEmpty() {
+        final Covariance s = Covariance.create();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(Double.NaN, Covariance.of(new double[0], new double[0]).getAsDouble());
+        s.accept(1, 2);
+        Assertions.assertEquals(0, s.getAsDouble());
+        Assertions.assertEquals(1, s.getCount());
+    }
+
+    @Test
+    void testInvalidArgumentsThrows() {
+        final double[] x = {1, 2, 3};
+        final double[] y = {1, 2};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Covariance.of(x, y));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Covariance.ofRange(x, y, 0, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Covariance.ofRange(x, x, 0, 4));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Covariance.ofRange(x, x, 2, 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testCovariance(double[] x, double[] y) {
+        final BigDecimal[] bx = Arrays.stream(x).mapToObj(BigDecimal::new).toArray(BigDecimal[]::new);
+        final BigDecimal[] by = Arrays.stream(y).mapToObj(BigDecimal::new).toArray(BigDecimal[]::new);
+        final int n = x.length;
+        final double[] xx = TestHelper.concatenate(new double[] {Double.NaN}, x, new double[] {Double.NaN});
+        final double[] yy = TestHelper.concatenate(new double[] {Double.NaN}, y, new double[] {Double.NaN});
+        for (final boolean biased : new boolean[] {false, true}) {
+            final double expected = TestHelper.computeExpectedCovariance(bx, by, biased);
+            assertCovariance(expected, Covariance.of(x, y).setBiased(biased).getAsDouble(), 1e-14);
+            assertCovariance(expected, Covariance.ofRange(xx, yy, 1, n + 1).setBiased(biased).getAsDouble(), 1e-14);
+            final Covariance s = Covariance.create().setBiased(biased);
+            for (int i = 0; i < n; i++) {
+                s.accept(x[i], y[i]);
+            }
+            Assertions.assertEquals(n, s.getCount());
+            assertCovariance(expected, s.getAsDouble(), 1e-10);
+            for (final int split : new int[] {0, 1, n / 3, n}) {
+                final Covariance s1 = Covariance.of(Arrays.copyOf(x, split), Arrays.copyOf(y, split))
+                    .setBiased(biased);
+                final Covariance s2 = Covariance.create();
+                for (int i = split; i < n; i++) {
+                    s2.accept(x[i], y[i]);
+                }
+                Assertions.assertSame(s1, s1.combine(s2));
+                Assertions.assertEquals(n, s1.getCount());
+                assertCovariance(expected, s1.getAsDouble(), 1e-10);
+            }
+        }
+    }
+
+    static Stream<Arguments> testCovariance() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {2, 3, 10, 100, 1000}) {
+            final double[] x = rng.doubles(n, -1, 1).toArray();
+            final double[] y = Arrays.stream(x).map(v -> 0.75 * v + rng.nextDouble()).toArray();
+            builder.add(Arguments.of(x, y));
+            // Negative correlation with an offset mean
+            builder.add(Arguments.of(Arrays.stream(x).map(v -> v + 1e3).toArray(),
+                Arrays.stream(y).map(v -> 1e6 - v * 42).toArray()));
+            // Independent
+            builder.add(Arguments.of(x, rng.doubles(n, -1e10, 1e10).toArray()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * The covariance of a variable with itself is the variance. This uses the same
+     * algorithms and the result should be identical.
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testVariance(double[] x) {
+        for (final boolean biased : new boolean[] {false, true}) {
+            Assertions.assertEquals(Variance.of(x).setBiased(biased).getAsDouble(),
+                Covariance.of(x, x).setBiased(biased).getAsDouble(), "of");
+            final Variance v = Variance.create().setBiased(biased);
+            final Covariance c = Covariance.create().setBiased(biased);
+            for (final double a : x) {
+                v.accept(a);
+                c.accept(a, a);
+            }
+            Assertions.assertEquals(v.getAsDouble(), c.getAsDouble(), "accept");
+            v.combine(Variance.of(x));
+            c.combine(Covariance.of(x, x));
+            Assertions.assertEquals(v.getAsDouble(), c.getAsDouble(), "combine");
+        }
+    }
+
+    static Stream<double[]> testVariance() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double max = Double.MAX_VALUE;
+        return Stream.of(
+            new double[] {1},
+            new double[] {1, 2, 3},
+            rng.doubles(100).toArray(),
+            rng.doubles(1000, -1e300, 1e300).toArray(),
+            // Overflow of the sum
+            new double[] {max, max, max * 0.5},
+            new double[] {max, -max, 1},
+            new double[] {1, 2, Double.POSITIVE_INFINITY},
+            new double[] {1, 2, Double.NaN}
+        );
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        for (final double v : new double[] {inf, -inf, Double.NaN}) {
+            final double[] x = {1, 2, 3, v, 4};
+            final double[] y = {1, 3, 2, 5, 4};
+            Assertions.assertEquals(Double.NaN, Covariance.of(x, y).getAsDouble());
+            Assertions.assertEquals(Double.NaN, Covariance.of(y, x).getAsDouble());
+            final Covariance s = Covariance.create();
+            for (int i = 0; i < x.length; i++) {
+                s.accept(y[i], x[i]);
+            }
+            Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        }
+    }
+
+    private static void assertCovariance(double expected, double actual, double relError) {
+        if (Double.isNaN(expected)) {
+            Assertions.assertEquals(expected, actual);
+        } else {
+            Assertions.assertEquals(expected, actual, Math.abs(expected) * relError + 1e-15);
+        }
+    }
+}
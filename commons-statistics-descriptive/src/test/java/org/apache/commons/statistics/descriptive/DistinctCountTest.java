@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.stream.LongStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link DistinctCount}.
+ */
+class DistinctCountTest {
+    @Test
+    void testEmpty() {
+        final DistinctCount s = DistinctCount.create();
+        Assertions.assertEquals(14, s.getPrecision());
+        Assertions.assertEquals(0, s.getAsDouble());
+        Assertions.assertEquals(0, s.getAsLong());
+        Assertions.assertEquals(0, DistinctCount.of(new int[0]).getAsDouble());
+        Assertions.assertEquals(0, DistinctCount.of(new long[0]).getAsDouble());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 19, -1})
+    void testInvalidPrecisionThrows(int precision) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DistinctCount.create(precision));
+    }
+
+    @Test
+    void testCombineThrows() {
+        final DistinctCount s = DistinctCount.create(10);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.combine(DistinctCount.create(11)));
+    }
+
+    @Test
+    void testSmall() {
+        // Linear counting is close to exact when the count is small
+        final DistinctCount s = DistinctCount.of(1, 2, 3, 2, 1, 3, 3);
+        Assertions.assertEquals(3, s.getAsLong());
+        // The int and long representation are the same value
+        s.accept(2L);
+        s.accept(-1);
+        s.accept(-1L);
+        Assertions.assertEquals(4, s.getAsLong());
+        Assertions.assertEquals(4, DistinctCount.of(1L, 2L, 3L, -1L).getAsLong());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "4, 1000",
+        "10, 100",
+        "10, 10000",
+        "10, 100000",
+        "14, 1000",
+        "14, 100000",
+        "14, 1000000",
+        "16, 10000",
+    })
+    void testEstimate(int precision, int n) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        // Tolerance of 4 standard errors
+        final double error = 4 * 1.04 / Math.sqrt(1 << precision);
+        final long start = rng.nextLong();
+        // Sequential values
+        final DistinctCount s1 = DistinctCount.create(precision);
+        LongStream.range(start, start + n).forEach(s1);
+        assertEstimate(n, s1.getAsDouble(), error);
+        // Random values with repeats of each value
+        final long[] values = rng.longs(n).toArray();
+        final DistinctCount s2 = DistinctCount.create(precision);
+        for (final long v : values) {
+            s2.accept(v);
+        }
+        final double e = s2.getAsDouble();
+        assertEstimate(n, e, error);
+        for (int i = 0; i < values.length; i += 3) {
+            s2.accept(values[i]);
+        }
+        Assertions.assertEquals(e, s2.getAsDouble(), "Repeat values");
+        // Combine: The union of two sets is the same as adding all values
+        final int split = n / 3;
+        final DistinctCount a = DistinctCount.create(precision);
+        final DistinctCount b = DistinctCount.create(precision);
+        for (int i = 0; i < values.length; i++) {
+            (i < split ? a : b).accept(values[i]);
+        }
+        Assertions.assertSame(a, a.combine(b));
+        Assertions.assertEquals(e, a.getAsDouble(), "combine");
+        // Overlap
+        b.combine(DistinctCount.create(precision));
+        for (int i = 0; i < split; i++) {
+            b.accept(values[i]);
+        }
+        Assertions.assertEquals(e, b.getAsDouble(), "overlap");
+        Assertions.assertEquals(e, a.combine(a).getAsDouble(), "self");
+    }
+
+    private static void assertEstimate(double expected, double actual, double relError) {
+        Assertions.assertEquals(expected, actual, expected * relError);
+    }
+}
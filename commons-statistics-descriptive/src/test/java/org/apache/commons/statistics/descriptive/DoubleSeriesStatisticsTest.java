@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.EnumSet;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link DoubleSeriesStatistics}.
+ */
+class DoubleSeriesStatisticsTest {
+    /** The supported statistics. */
+    private static final Statistic[] SUPPORTED = {Statistic.MIN, Statistic.MAX, Statistic.MEAN,
+        Statistic.VARIANCE, Statistic.STANDARD_DEVIATION};
+
+    @Test
+    void testOfThrows() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleSeriesStatistics.of(-1, Statistic.MIN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleSeriesStatistics.of(10));
+        for (final Statistic s : EnumSet.complementOf(EnumSet.of(Statistic.MIN, Statistic.MAX, Statistic.MEAN,
+                Statistic.VARIANCE, Statistic.STANDARD_DEVIATION))) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleSeriesStatistics.of(10, s),
+                s::toString);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testIsSupported(Statistic[] stats, Statistic[] supported) {
+        final DoubleSeriesStatistics s = DoubleSeriesStatistics.of(3, stats);
+        final EnumSet<Statistic> set = EnumSet.noneOf(Statistic.class);
+        for (final Statistic st : supported) {
+            set.add(st);
+        }
+        for (final Statistic st : Statistic.values()) {
+            Assertions.assertEquals(set.contains(st), s.isSupported(st), st::toString);
+            if (!set.contains(st)) {
+                Assertions.assertThrows(IllegalArgumentException.class, () -> s.getAsDouble(0, st));
+                Assertions.assertThrows(IllegalArgumentException.class, () -> s.getAsDouble(st, new double[3]));
+            }
+        }
+    }
+
+    static Stream<Arguments> testIsSupported() {
+        return Stream.of(
+            Arguments.of(new Statistic[] {Statistic.MIN}, new Statistic[] {Statistic.MIN}),
+            Arguments.of(new Statistic[] {Statistic.MAX}, new Statistic[] {Statistic.MAX}),
+            Arguments.of(new Statistic[] {Statistic.MEAN}, new Statistic[] {Statistic.MEAN}),
+            Arguments.of(new Statistic[] {Statistic.VARIANCE},
+                new Statistic[] {Statistic.MEAN, Statistic.VARIANCE, Statistic.STANDARD_DEVIATION}),
+            Arguments.of(new Statistic[] {Statistic.STANDARD_DEVIATION, Statistic.MIN},
+                new Statistic[] {Statistic.MIN, Statistic.MEAN, Statistic.VARIANCE, Statistic.STANDARD_DEVIATION}),
+            Arguments.of(SUPPORTED, SUPPORTED)
+        );
+    }
+
+    @Test
+    void testEmpty() {
+        final DoubleSeriesStatistics s = DoubleSeriesStatistics.of(2, SUPPORTED);
+        final DoubleStatistics e = DoubleStatistics.of(SUPPORTED);
+        Assertions.assertEquals(2, s.size());
+        for (final Statistic st : SUPPORTED) {
+            Assertions.assertEquals(e.getAsDouble(st), s.getAsDouble(1, st), st::toString);
+        }
+        Assertions.assertEquals(0, s.getCount(0));
+        Assertions.assertEquals(0, DoubleSeriesStatistics.of(0, Statistic.MIN).size());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> s.accept(2, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> s.getCount(-1));
+    }
+
+    @Test
+    void testAccept() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int size = 50;
+        final DoubleSeriesStatistics s = DoubleSeriesStatistics.of(size, SUPPORTED);
+        final DoubleStatistics[] expected = new DoubleStatistics[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = DoubleStatistics.of(SUPPORTED);
+        }
+        for (int i = 0; i < 2000; i++) {
+            final int series = rng.nextInt(size - 2);
+            final double v = rng.nextDouble() * 10 - 5;
+            s.accept(series, v);
+            expected[series].accept(v);
+        }
+        // Large values
+        for (int i = 0; i < 3; i++) {
+            s.accept(size - 3, Double.MAX_VALUE);
+            expected[size - 3].accept(Double.MAX_VALUE);
+        }
+        // Non-finite values
+        s.accept(size - 2, Double.POSITIVE_INFINITY);
+        expected[size - 2].accept(Double.POSITIVE_INFINITY);
+        s.accept(size - 2, 1);
+        expected[size - 2].accept(1);
+        s.accept(size - 1, Double.NaN);
+        expected[size - 1].accept(Double.NaN);
+        assertEquals(expected, s);
+        // Configuration
+        final StatisticsConfiguration c = StatisticsConfiguration.withDefaults().withBiased(true);
+        Assertions.assertSame(s, s.setConfiguration(c));
+        for (final DoubleStatistics e : expected) {
+            e.setConfiguration(c);
+        }
+        assertEquals(expected, s);
+        Assertions.assertThrows(NullPointerException.class, () -> s.setConfiguration(null));
+    }
+
+    @Test
+    void testCombine() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int size = 20;
+        final DoubleSeriesStatistics s1 = DoubleSeriesStatistics.of(size, SUPPORTED);
+        final DoubleSeriesStatistics s2 = DoubleSeriesStatistics.of(size, SUPPORTED);
+        final DoubleStatistics[] e1 = new DoubleStatistics[size];
+        final DoubleStatistics[] e2 = new DoubleStatistics[size];
+        for (int i = 0; i < size; i++) {
+            e1[i] = DoubleStatistics.of(SUPPORTED);
+            e2[i] = DoubleStatistics.of(SUPPORTED);
+        }
+        // Series 0 is empty in s1; series 1 is empty in s2
+        for (int i = 0; i < 500; i++) {
+            final int series = rng.nextInt(size);
+            final double v = rng.nextDouble();
+            if (series != 0) {
+                s1.accept(series, v);
+                e1[series].accept(v);
+            }
+            if (series != 1) {
+                s2.accept(series, -v);
+                e2[series].accept(-v);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            e1[i].combine(e2[i]);
+        }
+        Assertions.assertSame(s1, s1.combine(s2));
+        assertEquals(e1, s1);
+    }
+
+    @Test
+    void testCombineThrows() {
+        final DoubleSeriesStatistics s1 = DoubleSeriesStatistics.of(3, Statistic.MIN, Statistic.VARIANCE);
+        s1.accept(0, 1);
+        // Size
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> s1.combine(DoubleSeriesStatistics.of(4, Statistic.MIN, Statistic.VARIANCE)));
+        // Statistics
+        for (final Statistic[] stats : new Statistic[][] {
+            {Statistic.MIN}, {Statistic.VARIANCE}, {Statistic.MAX, Statistic.MEAN}}) {
+            final DoubleSeriesStatistics s2 = DoubleSeriesStatistics.of(3, stats);
+            s2.accept(0, 2);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> s1.combine(s2));
+        }
+        Assertions.assertEquals(1, s1.getCount(0));
+        // Superset is compatible
+        final DoubleSeriesStatistics s2 = DoubleSeriesStatistics.of(3, SUPPORTED);
+        s2.accept(0, 3);
+        s1.combine(s2);
+        Assertions.assertEquals(2, s1.getCount(0));
+        Assertions.assertEquals(2, s1.getAsDouble(0, Statistic.VARIANCE));
+    }
+
+    @Test
+    void testGetAsDoubleThrows() {
+        final DoubleSeriesStatistics s = DoubleSeriesStatistics.of(3, Statistic.MIN);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.getAsDouble(Statistic.MIN, new double[2]));
+        // Output may be larger
+        final double[] r = {1, 2, 3, 4};
+        s.getAsDouble(Statistic.MIN, r);
+        Assertions.assertArrayEquals(new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.POSITIVE_INFINITY, 4}, r);
+    }
+
+    private static void assertEquals(DoubleStatistics[] expected, DoubleSeriesStatistics actual) {
+        final double[] r = new double[expected.length];
+        for (final Statistic s : SUPPORTED) {
+            actual.getAsDouble(s, r);
+            for (int i = 0; i < expected.length; i++) {
+                final int series = i;
+                final double e = expected[i].getAsDouble(s);
+                Assertions.assertEquals(e, actual.getAsDouble(i, s), () -> s + " " + series);
+                Assertions.assertEquals(e, r[i], () -> s + " " + series);
+                Assertions.assertEquals(expected[i].getCount(), actual.getCount(i));
+            }
+        }
+    }
+}
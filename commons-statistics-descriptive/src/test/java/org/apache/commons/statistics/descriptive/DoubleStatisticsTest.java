@@ -17,6 +17,9 @@
 
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
@@ -40,6 +43,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * Test for {@link DoubleStatistics}.
@@ -528,6 +532,10 @@ class DoubleStatisticsTest {
         final double[] values = stat1.stream().mapToDouble(statistics::getAsDouble).toArray();
         Assertions.assertThrows(IllegalArgumentException.class, () -> statistics.combine(other),
             () -> stat1 + " " + stat2);
+        final DoubleStatistics.Factory factory =
+            new DoubleStatistics.Factory(DoubleStatistics.builder(stat1.toArray(EMPTY_STATISTIC_ARRAY)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> factory.checkCombineCompatible(other),
+            () -> stat1 + " " + stat2);
         // Values should be unchanged
         final int[] i = {0};
         stat1.stream().forEach(
@@ -556,6 +564,8 @@ class DoubleStatisticsTest {
         // This should work
         statistics1.combine(other1);
         // This should be compatible
+        new DoubleStatistics.Factory(DoubleStatistics.builder(stat1.toArray(EMPTY_STATISTIC_ARRAY)))
+            .checkCombineCompatible(other2);
         statistics2.combine(other2);
         // The stats should be the same
         for (final Statistic s : stat1) {
@@ -577,10 +587,201 @@ class DoubleStatisticsTest {
         );
     }
 
+    /**
+     * Test the parallel evaluation of an array matches the sequential evaluation.
+     */
+    @Test
+    void testParallel() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        // Values close to 1 to create a finite product
+        final double[] values = rng.doubles(RangeTask.MIN_CHUNK_SIZE * 20L, 0.99, 1.01).toArray();
+        final Statistic[] stats = Statistic.values();
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(stats);
+        final DoubleStatistics expected = builder.build(values);
+        final DoubleStatistics actual = builder.setParallel(true).build(values);
+        assertParallel(expected, actual, stats);
+        // Range
+        final int from = 13;
+        final int to = values.length - 42;
+        assertParallel(builder.setParallel(false).build(values, from, to),
+            builder.setParallel(true).build(values, from, to), stats);
+        // Small array is sequential
+        final double[] small = Arrays.copyOf(values, 100);
+        final DoubleStatistics s1 = builder.setParallel(false).build(small);
+        final DoubleStatistics s2 = builder.setParallel(true).build(small);
+        for (final Statistic s : stats) {
+            Assertions.assertEquals(s1.getAsDouble(s), s2.getAsDouble(s), s::toString);
+        }
+        // Configuration
+        final StatisticsConfiguration c = StatisticsConfiguration.withDefaults().withBiased(true);
+        assertParallel(builder.setParallel(false).setConfiguration(c).build(values),
+            builder.setParallel(true).build(values), stats);
+        final double v = Variance.of(values).setBiased(true).getAsDouble();
+        Assertions.assertEquals(v, builder.build(values).getAsDouble(Statistic.VARIANCE), v * 1e-10);
+    }
+
+    private static void assertParallel(DoubleStatistics expected, DoubleStatistics actual, Statistic[] stats) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        for (final Statistic s : stats) {
+            final double e = expected.getAsDouble(s);
+            assertFinite(e, s);
+            Assertions.assertEquals(e, actual.getAsDouble(s), Math.abs(e) * 1e-10, s::toString);
+        }
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MIN), actual.getAsDouble(Statistic.MIN));
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MAX), actual.getAsDouble(Statistic.MAX));
+    }
+
     private static void assertFinite(double value, Statistic s) {
         Assertions.assertTrue(Double.isFinite(value), () -> s.toString() + " isFinite");
     }
 
+    /**
+     * Test the deferred evaluation mode computes the same statistics as the array of values.
+     * Values are added in chunks that must be computed when the chunk is full, and when
+     * any result is required.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 15, 16, 17, 100, 1023, 1024, 1025, 5000})
+    void testDeferred(int n) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        // Values close to 1 to create a finite product
+        final double[] values = rng.doubles(n, 0.99, 1.01).toArray();
+        final Statistic[] stats = Statistic.values();
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(stats);
+        final DoubleStatistics expected = builder.build(values);
+        final DoubleStatistics actual = builder.setDeferred(true).build();
+        // Results created before the values are added must be updated
+        final StatisticResult[] results = Arrays.stream(stats).map(actual::getResult)
+            .toArray(StatisticResult[]::new);
+        Arrays.stream(values).forEach(actual);
+        assertDeferred(expected, actual, results, stats);
+        // Values added after a result is computed
+        final double[] more = rng.doubles(50, 0.99, 1.01).toArray();
+        final double[] all = TestHelper.concatenate(values, more);
+        Arrays.stream(more).forEach(actual);
+        assertDeferred(builder.setDeferred(false).build(all), actual, results, stats);
+        // Values added to an instance built from an array
+        final DoubleStatistics actual2 = builder.setDeferred(true).build(values);
+        Arrays.stream(more).forEach(actual2);
+        assertDeferred(builder.setDeferred(false).build(all), actual2, null, stats);
+
+        // Combine with values that have not been computed
+        final DoubleStatistics s1 = builder.setDeferred(true).build();
+        final DoubleStatistics s2 = builder.build();
+        Arrays.stream(values).forEach(s1);
+        Arrays.stream(more).forEach(s2);
+        assertDeferred(builder.setDeferred(false).build(all), s1.combine(s2), null, stats);
+        final DoubleStatistics s3 = builder.setDeferred(true).build();
+        Arrays.stream(more).forEach(s3);
+        assertDeferred(builder.setDeferred(false).build(all), builder.build(values).combine(s3), null, stats);
+
+        // State includes values that have not been computed
+        final DoubleStatistics s4 = builder.setDeferred(true).build();
+        Arrays.stream(values).forEach(s4);
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        s4.writeTo(buffer);
+        buffer.flip();
+        assertDeferred(expected, DoubleStatistics.readFrom(buffer), null, stats);
+    }
+
+    private static void assertDeferred(DoubleStatistics expected, DoubleStatistics actual,
+        StatisticResult[] results, Statistic[] stats) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        for (int i = 0; i < stats.length; i++) {
+            final Statistic s = stats[i];
+            final double e = expected.getAsDouble(s);
+            final double delta = Double.isFinite(e) ? Math.abs(e) * 1e-10 : 0;
+            Assertions.assertEquals(e, actual.getAsDouble(s), delta, s::toString);
+            if (results != null) {
+                Assertions.assertEquals(e, results[i].getAsDouble(), delta, s::toString);
+            }
+        }
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MIN), actual.getAsDouble(Statistic.MIN));
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MAX), actual.getAsDouble(Statistic.MAX));
+    }
+
+    /**
+     * Test the state can be written and read to restore the statistics.
+     */
+    @Test
+    void testWriteReadState() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] a = rng.doubles(100, 0.5, 1.5).toArray();
+        final double[] b = rng.doubles(50, 0.5, 1.5).toArray();
+        final List<Statistic[]> list = new ArrayList<>();
+        for (final Statistic s : Statistic.values()) {
+            list.add(new Statistic[] {s});
+        }
+        list.add(Statistic.values());
+        for (final Statistic[] stats : list) {
+            final DoubleStatistics.Builder builder = DoubleStatistics.builder(stats);
+            for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+                final DoubleStatistics s1 = builder.build(a);
+                final ByteBuffer buffer = ByteBuffer.allocate(256).order(order);
+                s1.writeTo(buffer);
+                buffer.flip();
+                final DoubleStatistics s2 = DoubleStatistics.readFrom(buffer);
+                Assertions.assertFalse(buffer.hasRemaining());
+                assertSameState(s1, s2);
+                // Empty
+                buffer.clear();
+                builder.build().writeTo(buffer);
+                buffer.flip();
+                assertSameState(builder.build(), DoubleStatistics.readFrom(buffer));
+                // Combine. The restored state is exact so the results are bit-identical.
+                assertSameState(builder.build(b).combine(s1), builder.build(b).combine(s2));
+                assertSameState(s1.combine(builder.build(b)), s2.combine(builder.build(b)));
+            }
+        }
+    }
+
+    @Test
+    void testReadStateThrows() {
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        DoubleStatistics.of(Statistic.MIN, Statistic.MEAN).writeTo(buffer);
+        buffer.flip();
+        // Type
+        buffer.put(0, (byte) (buffer.get(0) + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleStatistics.readFrom(buffer.duplicate()));
+        buffer.put(0, (byte) (buffer.get(0) - 1));
+        // Version
+        buffer.put(1, (byte) (buffer.get(1) + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleStatistics.readFrom(buffer.duplicate()));
+        buffer.put(1, (byte) (buffer.get(1) - 1));
+        // Statistics
+        final int flags = 2 + Long.BYTES;
+        final byte b = buffer.get(flags);
+        final byte order = buffer.get(flags + 1);
+        buffer.put(flags, (byte) -1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleStatistics.readFrom(buffer.duplicate()));
+        buffer.put(flags, (byte) 0).put(flags + 1, (byte) 0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleStatistics.readFrom(buffer.duplicate()));
+        buffer.put(flags + 1, (byte) 5);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleStatistics.readFrom(buffer.duplicate()));
+        buffer.put(flags, b).put(flags + 1, order);
+        // Truncated
+        final ByteBuffer truncated = buffer.duplicate();
+        truncated.limit(truncated.limit() - 1);
+        Assertions.assertThrows(BufferUnderflowException.class, () -> DoubleStatistics.readFrom(truncated));
+        // Valid
+        Assertions.assertEquals(0, DoubleStatistics.readFrom(buffer).getCount());
+        // Wrong type
+        buffer.clear();
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleStatistics.readFrom(buffer));
+    }
+
+    private static void assertSameState(DoubleStatistics expected, DoubleStatistics actual) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        for (final Statistic s : Statistic.values()) {
+            Assertions.assertEquals(expected.isSupported(s), actual.isSupported(s), s::toString);
+            if (expected.isSupported(s)) {
+                Assertions.assertEquals(expected.getAsDouble(s), actual.getAsDouble(s), s::toString);
+            }
+        }
+    }
+
     @ParameterizedTest
     @MethodSource
     void testBiased(Statistic stat, double[] values, boolean[] options, double[] results) {
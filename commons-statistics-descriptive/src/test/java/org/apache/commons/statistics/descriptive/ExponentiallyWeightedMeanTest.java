@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ExponentiallyWeightedMean}.
+ */
+class ExponentiallyWeightedMeanTest {
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -0.5, 1, 1.5, Double.NaN, Double.POSITIVE_INFINITY})
+    void testInvalidAlphaThrows(double alpha) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExponentiallyWeightedMean.ofAlpha(alpha));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -1, 1e-3, Double.NaN, Double.POSITIVE_INFINITY})
+    void testInvalidHalfLifeThrows(double halfLife) {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> ExponentiallyWeightedMean.ofHalfLife(halfLife));
+    }
+
+    @Test
+    void testHalfLife() {
+        Assertions.assertEquals(0.5, ExponentiallyWeightedMean.ofHalfLife(1).getAlpha(), 1e-15);
+        final double h = 12.5;
+        final double alpha = ExponentiallyWeightedMean.ofHalfLife(h).getAlpha();
+        Assertions.assertEquals(0.5, Math.pow(1 - alpha, h), 1e-15);
+        Assertions.assertEquals(0.25, ExponentiallyWeightedMean.ofAlpha(0.25).getAlpha());
+    }
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, ExponentiallyWeightedMean.ofAlpha(0.5).getAsDouble());
+    }
+
+    @Test
+    void testSingleValue() {
+        final ExponentiallyWeightedMean m = ExponentiallyWeightedMean.ofAlpha(0.5);
+        m.accept(1.25);
+        Assertions.assertEquals(1.25, m.getAsDouble());
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testAccept(double alpha, double[] values) {
+        final ExponentiallyWeightedMean m = ExponentiallyWeightedMean.ofAlpha(alpha);
+        Arrays.stream(values).forEach(m);
+        assertMean(computeExpected(alpha, values), m.getAsDouble());
+    }
+
+    static Stream<Arguments> testAccept() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        for (final double alpha : new double[] {0.01, 0.1, 0.5, 0.9}) {
+            builder.add(Arguments.of(alpha, new double[] {1, 2, 3, 4, 5}));
+            builder.add(Arguments.of(alpha, rng.doubles(10, -5, 5).toArray()));
+            builder.add(Arguments.of(alpha, rng.doubles(500, -5, 5).toArray()));
+            builder.add(Arguments.of(alpha, rng.doubles(100, 1e10, 1e10 + 1).toArray()));
+        }
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @MethodSource("testAccept")
+    void testCombine(double alpha, double[] values) {
+        final double expected = computeExpected(alpha, values);
+        for (final int split : new int[] {0, 1, values.length / 3, values.length - 1, values.length}) {
+            final ExponentiallyWeightedMean m1 = ExponentiallyWeightedMean.ofAlpha(alpha);
+            final ExponentiallyWeightedMean m2 = ExponentiallyWeightedMean.ofAlpha(alpha);
+            Arrays.stream(values, 0, split).forEach(m1);
+            Arrays.stream(values, split, values.length).forEach(m2);
+            Assertions.assertSame(m1, m1.combine(m2));
+            assertMean(expected, m1.getAsDouble());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("testAccept")
+    void testParallelStream(double alpha, double[] values) {
+        final double expected = computeExpected(alpha, values);
+        final ExponentiallyWeightedMean m = Arrays.stream(values).parallel().collect(
+            () -> ExponentiallyWeightedMean.ofAlpha(alpha),
+            ExponentiallyWeightedMean::accept,
+            ExponentiallyWeightedMean::combine);
+        assertMean(expected, m.getAsDouble());
+    }
+
+    @Test
+    void testCombineThrows() {
+        final ExponentiallyWeightedMean m = ExponentiallyWeightedMean.ofAlpha(0.5);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> m.combine(ExponentiallyWeightedMean.ofAlpha(0.25)));
+    }
+
+    @Test
+    void testCombineDecaysToZero() {
+        // The weight of the first instance underflows
+        final ExponentiallyWeightedMean m1 = ExponentiallyWeightedMean.ofAlpha(0.5);
+        final ExponentiallyWeightedMean m2 = ExponentiallyWeightedMean.ofAlpha(0.5);
+        m1.accept(1e300);
+        for (int i = 0; i < 2000; i++) {
+            m2.accept(1);
+        }
+        Assertions.assertEquals(1, m1.combine(m2).getAsDouble());
+    }
+
+    @Test
+    void testOverflow() {
+        final double max = Double.MAX_VALUE;
+        final ExponentiallyWeightedMean m = ExponentiallyWeightedMean.ofAlpha(0.5);
+        m.accept(max);
+        m.accept(-max);
+        m.accept(max);
+        // weights: 0.25, 0.5, 1
+        assertMean(max * (0.25 - 0.5 + 1) / 1.75, m.getAsDouble());
+        m.accept(max);
+        Assertions.assertTrue(Double.isFinite(m.getAsDouble()));
+        Assertions.assertTrue(m.getAsDouble() <= max);
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        assertNonFinite(inf, 1, inf, 2);
+        assertNonFinite(-inf, 1, -inf, 2, -inf);
+        assertNonFinite(Double.NaN, 1, inf, 2, -inf);
+        assertNonFinite(Double.NaN, 1, Double.NaN, 2);
+    }
+
+    private static void assertNonFinite(double expected, double... values) {
+        final ExponentiallyWeightedMean m = ExponentiallyWeightedMean.ofAlpha(0.5);
+        Arrays.stream(values).forEach(m);
+        Assertions.assertEquals(expected, m.getAsDouble());
+        // Combine
+        final ExponentiallyWeightedMean m1 = ExponentiallyWeightedMean.ofAlpha(0.5);
+        final ExponentiallyWeightedMean m2 = ExponentiallyWeightedMean.ofAlpha(0.5);
+        Arrays.stream(values, 0, 2).forEach(m1);
+        Arrays.stream(values, 2, values.length).forEach(m2);
+        Assertions.assertEquals(expected, m1.combine(m2).getAsDouble());
+    }
+
+    /**
+     * Compute the expected weighted mean using the definitional formula.
+     *
+     * @param alpha Smoothing factor.
+     * @param values Values.
+     * @return the mean
+     */
+    static double computeExpected(double alpha, double[] values) {
+        double w = 1;
+        double sw = 0;
+        double swx = 0;
+        for (int i = values.length; --i >= 0;) {
+            sw += w;
+            swx += w * values[i];
+            w *= 1 - alpha;
+        }
+        return swx / sw;
+    }
+
+    private static void assertMean(double expected, double actual) {
+        Assertions.assertEquals(expected, actual, Math.abs(expected) * 1e-12);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ExponentiallyWeightedVariance}.
+ */
+class ExponentiallyWeightedVarianceTest {
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -0.5, 1, 1.5, Double.NaN})
+    void testInvalidAlphaThrows(double alpha) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExponentiallyWeightedVariance.ofAlpha(alpha));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -1, 1e-3, Double.NaN, Double.POSITIVE_INFINITY})
+    void testInvalidHalfLifeThrows(double halfLife) {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> ExponentiallyWeightedVariance.ofHalfLife(halfLife));
+    }
+
+    @Test
+    void testHalfLife() {
+        Assertions.assertEquals(ExponentiallyWeightedMean.ofHalfLife(7).getAlpha(),
+            ExponentiallyWeightedVariance.ofHalfLife(7).getAlpha());
+    }
+
+    @Test
+    void testEmpty() {
+        final ExponentiallyWeightedVariance v = ExponentiallyWeightedVariance.ofAlpha(0.5);
+        Assertions.assertEquals(Double.NaN, v.getAsDouble());
+        Assertions.assertEquals(Double.NaN, v.getMean());
+    }
+
+    @Test
+    void testSingleValue() {
+        final ExponentiallyWeightedVariance v = ExponentiallyWeightedVariance.ofAlpha(0.5);
+        v.accept(1.25);
+        Assertions.assertEquals(0, v.getAsDouble());
+        Assertions.assertEquals(0, v.setBiased(true).getAsDouble());
+        Assertions.assertEquals(1.25, v.getMean());
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testAccept(double alpha, double[] values) {
+        final ExponentiallyWeightedVariance v = ExponentiallyWeightedVariance.ofAlpha(alpha);
+        Arrays.stream(values).forEach(v);
+        assertVariance(alpha, values, v);
+    }
+
+    static Stream<Arguments> testAccept() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        for (final double alpha : new double[] {0.01, 0.1, 0.5, 0.9}) {
+            builder.add(Arguments.of(alpha, new double[] {1, 2, 3, 4, 5}));
+            builder.add(Arguments.of(alpha, rng.doubles(10, -5, 5).toArray()));
+            builder.add(Arguments.of(alpha, rng.doubles(500, -5, 5).toArray()));
+            // Large mean with a small variance
+            builder.add(Arguments.of(alpha, rng.doubles(100, 1e3, 1e3 + 1).toArray()));
+        }
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @MethodSource("testAccept")
+    void testCombine(double alpha, double[] values) {
+        for (final int split : new int[] {0, 1, values.length / 3, values.length - 1, values.length}) {
+            final ExponentiallyWeightedVariance v1 = ExponentiallyWeightedVariance.ofAlpha(alpha);
+            final ExponentiallyWeightedVariance v2 = ExponentiallyWeightedVariance.ofAlpha(alpha);
+            Arrays.stream(values, 0, split).forEach(v1);
+            Arrays.stream(values, split, values.length).forEach(v2);
+            Assertions.assertSame(v1, v1.combine(v2));
+            assertVariance(alpha, values, v1);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("testAccept")
+    void testParallelStream(double alpha, double[] values) {
+        final ExponentiallyWeightedVariance v = Arrays.stream(values).parallel().collect(
+            () -> ExponentiallyWeightedVariance.ofAlpha(alpha),
+            ExponentiallyWeightedVariance::accept,
+            ExponentiallyWeightedVariance::combine);
+        assertVariance(alpha, values, v);
+    }
+
+    @Test
+    void testCombineThrows() {
+        final ExponentiallyWeightedVariance v = ExponentiallyWeightedVariance.ofAlpha(0.5);
+        v.accept(1);
+        final ExponentiallyWeightedVariance other = ExponentiallyWeightedVariance.ofAlpha(0.25);
+        other.accept(2);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> v.combine(other));
+        // State is unchanged
+        Assertions.assertEquals(1, v.getMean());
+        Assertions.assertEquals(0, v.getAsDouble());
+    }
+
+    @Test
+    void testCombineDecaysToZero() {
+        // The weight of the first instance underflows
+        final ExponentiallyWeightedVariance v1 = ExponentiallyWeightedVariance.ofAlpha(0.5);
+        final ExponentiallyWeightedVariance v2 = ExponentiallyWeightedVariance.ofAlpha(0.5);
+        v1.accept(1e300);
+        v1.accept(-1e300);
+        final double[] values = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        for (int i = 0; i < 200; i++) {
+            Arrays.stream(values).forEach(v2);
+        }
+        Assertions.assertEquals(v2.getAsDouble(), v1.combine(v2).getAsDouble());
+    }
+
+    @Test
+    void testOverflow() {
+        final double max = Double.MAX_VALUE;
+        final ExponentiallyWeightedVariance v = ExponentiallyWeightedVariance.ofAlpha(0.5);
+        v.accept(max);
+        v.accept(max);
+        v.accept(max);
+        Assertions.assertEquals(max, v.getMean());
+        Assertions.assertEquals(0, v.getAsDouble());
+        v.accept(-max);
+        Assertions.assertTrue(Double.isFinite(v.getMean()));
+        // The sum of squared deviations overflows
+        Assertions.assertEquals(Double.NaN, v.getAsDouble());
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        for (final double x : new double[] {inf, -inf, Double.NaN}) {
+            final ExponentiallyWeightedVariance v = ExponentiallyWeightedVariance.ofAlpha(0.5);
+            v.accept(1);
+            v.accept(x);
+            v.accept(2);
+            Assertions.assertEquals(Double.NaN, v.getAsDouble());
+        }
+    }
+
+    /**
+     * Assert the variance and mean using the definitional formula.
+     *
+     * @param alpha Smoothing factor.
+     * @param values Values.
+     * @param v Variance.
+     */
+    private static void assertVariance(double alpha, double[] values, ExponentiallyWeightedVariance v) {
+        final double mean = ExponentiallyWeightedMeanTest.computeExpected(alpha, values);
+        double w = 1;
+        double v1 = 0;
+        double v2 = 0;
+        double ss = 0;
+        for (int i = values.length; --i >= 0;) {
+            final double d = values[i] - mean;
+            v1 += w;
+            v2 += w * w;
+            ss += w * d * d;
+            w *= 1 - alpha;
+        }
+        Assertions.assertEquals(mean, v.getMean(), Math.abs(mean) * 1e-12, "mean");
+        final double unbiased = values.length == 1 ? 0 : ss / (v1 - v2 / v1);
+        final double biased = ss / v1;
+        Assertions.assertEquals(unbiased, v.setBiased(false).getAsDouble(), unbiased * 1e-10, "unbiased");
+        Assertions.assertEquals(biased, v.setBiased(true).getAsDouble(), biased * 1e-10, "biased");
+        v.setBiased(false);
+    }
+}
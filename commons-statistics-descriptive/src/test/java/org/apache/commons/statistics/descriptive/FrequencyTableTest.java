@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link FrequencyTable}.
+ */
+class FrequencyTableTest {
+    @Test
+    void testEmpty() {
+        final FrequencyTable f = FrequencyTable.create();
+        Assertions.assertEquals(0, f.getCount());
+        Assertions.assertEquals(0, f.getDistinctCount());
+        Assertions.assertEquals(0, f.getFrequency(0));
+        Assertions.assertEquals(0, f.getCumulativeFrequency(0));
+        Assertions.assertArrayEquals(new long[0], f.getValues());
+        Assertions.assertArrayEquals(new long[0], f.getFrequencies());
+        Assertions.assertArrayEquals(new long[0], f.getCumulativeFrequencies());
+        Assertions.assertArrayEquals(new long[0], f.getModes());
+        Assertions.assertEquals(0, f.getModeFrequency());
+        Assertions.assertEquals(Double.NaN, f.getEntropy());
+        Assertions.assertEquals(Double.NaN, f.getQuantile(0.5).getAsDouble());
+        Assertions.assertThrows(ArithmeticException.class, () -> f.getQuantile(0.5).getAsLong());
+    }
+
+    @Test
+    void testInvalidArgumentsThrows() {
+        final FrequencyTable f = FrequencyTable.of(1, 2, 3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> f.accept(1, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> f.getQuantile(-0.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> f.getQuantile(1.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> f.getQuantiles(new double[0], EstimationMethod.HF1));
+    }
+
+    @Test
+    void testExample() {
+        final FrequencyTable f = FrequencyTable.of(3, 1, 2, 3, 2, 5);
+        Assertions.assertEquals(6, f.getCount());
+        Assertions.assertEquals(4, f.getDistinctCount());
+        Assertions.assertArrayEquals(new long[] {1, 2, 3, 5}, f.getValues());
+        Assertions.assertArrayEquals(new long[] {1, 2, 2, 1}, f.getFrequencies());
+        Assertions.assertArrayEquals(new long[] {1, 3, 5, 6}, f.getCumulativeFrequencies());
+        Assertions.assertArrayEquals(new long[] {2, 3}, f.getModes());
+        Assertions.assertEquals(2, f.getModeFrequency());
+        Assertions.assertEquals(3, f.getCumulativeFrequency(2));
+        Assertions.assertEquals(5, f.getCumulativeFrequency(4));
+        final double expected = -(2 * Math.log(1.0 / 6) + 4 * Math.log(2.0 / 6)) / 6;
+        Assertions.assertEquals(expected, f.getEntropy(), 1e-15);
+        // int and long are the same value
+        f.accept(5L);
+        f.accept(5, 2);
+        f.accept(7, 0);
+        Assertions.assertEquals(4, f.getFrequency(5));
+        Assertions.assertEquals(0, f.getFrequency(7));
+        Assertions.assertArrayEquals(new long[] {5}, f.getModes());
+        // Single value
+        Assertions.assertEquals(0, FrequencyTable.of(42, 42).getEntropy());
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testFrequencies(long[] values) {
+        final FrequencyTable f = FrequencyTable.of(values);
+        final TreeMap<Long, Long> expected = new TreeMap<>();
+        for (final long v : values) {
+            expected.merge(v, 1L, Long::sum);
+        }
+        Assertions.assertEquals(values.length, f.getCount());
+        Assertions.assertEquals(expected.size(), f.getDistinctCount());
+        Assertions.assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).toArray(), f.getValues());
+        Assertions.assertArrayEquals(expected.values().stream().mapToLong(Long::longValue).toArray(), f.getFrequencies());
+        final long[] cf = f.getCumulativeFrequencies();
+        long c = 0;
+        int i = 0;
+        for (final Map.Entry<Long, Long> e : expected.entrySet()) {
+            c += e.getValue();
+            Assertions.assertEquals(c, cf[i++]);
+            Assertions.assertEquals(c, f.getCumulativeFrequency(e.getKey()));
+            Assertions.assertEquals(e.getValue(), f.getFrequency(e.getKey()));
+        }
+        final long max = expected.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        Assertions.assertEquals(max, f.getModeFrequency());
+        Assertions.assertArrayEquals(expected.entrySet().stream().filter(e -> e.getValue() == max)
+            .mapToLong(Map.Entry::getKey).toArray(), f.getModes());
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testFrequencies"})
+    void testQuantiles(long[] values) {
+        final FrequencyTable f = FrequencyTable.of(values);
+        final double[] p = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.99, 1};
+        for (final EstimationMethod method : EstimationMethod.values()) {
+            final Quantile q = Quantile.withDefaults().with(method).withCopy(true);
+            final StatisticResult[] expected = q.evaluate(values, p);
+            final StatisticResult[] actual = f.getQuantiles(p, method);
+            for (int i = 0; i < p.length; i++) {
+                Assertions.assertEquals(expected[i].getAsDouble(), actual[i].getAsDouble());
+                Assertions.assertEquals(expected[i].getAsLong(), actual[i].getAsLong());
+                Assertions.assertEquals(expected[i].getAsDouble(), f.getQuantile(p[i], method).getAsDouble());
+            }
+        }
+        Assertions.assertEquals(Quantile.withDefaults().withCopy(true).evaluate(values, 0.5).getAsDouble(),
+            f.getQuantile(0.5).getAsDouble());
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testFrequencies"})
+    void testCombine(long[] values) {
+        final FrequencyTable expected = FrequencyTable.of(values);
+        final int n = values.length;
+        for (final int m : new int[] {0, n / 3, n}) {
+            final FrequencyTable f1 = FrequencyTable.of(Arrays.copyOf(values, m));
+            final FrequencyTable f2 = FrequencyTable.of(Arrays.copyOfRange(values, m, n));
+            Assertions.assertSame(f1, f1.combine(f2));
+            Assertions.assertEquals(expected.getCount(), f1.getCount());
+            Assertions.assertArrayEquals(expected.getValues(), f1.getValues());
+            Assertions.assertArrayEquals(expected.getFrequencies(), f1.getFrequencies());
+        }
+        // Combine with self
+        final FrequencyTable f = FrequencyTable.of(values);
+        f.combine(f);
+        Assertions.assertEquals(2L * n, f.getCount());
+        Assertions.assertArrayEquals(expected.getValues(), f.getValues());
+        Assertions.assertArrayEquals(Arrays.stream(expected.getFrequencies()).map(x -> 2 * x).toArray(),
+            f.getFrequencies());
+    }
+
+    static Stream<Arguments> testFrequencies() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        builder.add(Arguments.of((Object) new long[] {Long.MIN_VALUE, Long.MAX_VALUE, 0, Long.MAX_VALUE}));
+        for (final int n : new int[] {1, 2, 5, 50, 1000}) {
+            builder.add(Arguments.of((Object) rng.longs(n, 0, 5).toArray()));
+            builder.add(Arguments.of((Object) rng.longs(n, -100, 100).toArray()));
+            builder.add(Arguments.of((Object) rng.longs(n).toArray()));
+            builder.add(Arguments.of((Object) LongStream.range(0, n).map(i -> i * i).toArray()));
+        }
+        return builder.build();
+    }
+}
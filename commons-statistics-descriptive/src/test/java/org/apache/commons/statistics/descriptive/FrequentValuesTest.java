@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link FrequentValues}.
+ */
+class FrequentValuesTest {
+    @Test
+    void testEmpty() {
+        final FrequentValues s = FrequentValues.create(3);
+        Assertions.assertEquals(3, s.getCapacity());
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertArrayEquals(new long[0], s.getValues());
+        Assertions.assertEquals(0, s.getFrequency(42));
+        Assertions.assertEquals(0, s.getFrequencyError(42));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, (1 << 28) + 1})
+    void testInvalidCapacityThrows(int capacity) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FrequentValues.create(capacity));
+    }
+
+    @Test
+    void testCombineThrows() {
+        final FrequentValues s = FrequentValues.create(3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.combine(FrequentValues.create(4)));
+    }
+
+    @Test
+    void testExact() {
+        // Not all counters are used
+        final FrequentValues s = FrequentValues.create(5);
+        for (final int v : new int[] {3, 1, 2, 3, 3, 1}) {
+            s.accept(v);
+        }
+        s.accept(-1L);
+        Assertions.assertEquals(7, s.getCount());
+        Assertions.assertArrayEquals(new long[] {3, 1, -1, 2}, s.getValues());
+        Assertions.assertEquals(3, s.getFrequency(3));
+        Assertions.assertEquals(2, s.getFrequency(1));
+        Assertions.assertEquals(1, s.getFrequency(-1));
+        Assertions.assertEquals(0, s.getFrequencyError(3));
+        Assertions.assertEquals(0, s.getFrequency(4));
+        s.accept(7);
+        Assertions.assertEquals(5, s.getValues().length);
+        Assertions.assertEquals(1, s.getFrequency(4));
+        Assertions.assertEquals(1, s.getFrequencyError(4));
+        // Replace the minimum
+        s.accept(8);
+        Assertions.assertEquals(5, s.getValues().length);
+        Assertions.assertEquals(2, s.getFrequency(8));
+        Assertions.assertEquals(1, s.getFrequencyError(8));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testFrequentValues(long[] values, int capacity) {
+        final int n = values.length;
+        final FrequentValues s = FrequentValues.create(capacity);
+        for (final long v : values) {
+            s.accept(v);
+        }
+        Assertions.assertEquals(n, s.getCount());
+        assertFrequentValues(values, s);
+        // Combine
+        for (final int split : new int[] {0, 1, n / 3, n / 2, n}) {
+            final FrequentValues s1 = FrequentValues.create(capacity);
+            final FrequentValues s2 = FrequentValues.create(capacity);
+            for (int i = 0; i < n; i++) {
+                (i < split ? s1 : s2).accept(values[i]);
+            }
+            Assertions.assertSame(s1, s1.combine(s2));
+            Assertions.assertEquals(n, s1.getCount());
+            assertFrequentValues(values, s1);
+        }
+        // Combine with self
+        final long[] doubled = TestHelper.concatenate(values, values);
+        assertFrequentValues(doubled, s.combine(s));
+    }
+
+    static Stream<Arguments> testFrequentValues() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {10, 100, 1000, 10000}) {
+            for (final int capacity : new int[] {1, 5, 20, 100}) {
+                // Skewed frequencies
+                builder.add(Arguments.of(rng.longs(n).map(x -> Long.numberOfTrailingZeros(x) * 7919L).toArray(),
+                    capacity));
+                builder.add(Arguments.of(rng.ints(n, 0, 50).mapToLong(x -> x * (long) x / 13).toArray(), capacity));
+                // Uniform
+                builder.add(Arguments.of(rng.longs(n, -20, 20).toArray(), capacity));
+                builder.add(Arguments.of(rng.longs(n).toArray(), capacity));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Assert the error guarantees of the summary.
+     *
+     * @param values Values.
+     * @param s Summary.
+     */
+    private static void assertFrequentValues(long[] values, FrequentValues s) {
+        final long n = values.length;
+        final Map<Long, Long> freq = new HashMap<>();
+        for (final long v : values) {
+            freq.merge(v, 1L, Long::sum);
+        }
+        final long[] tracked = s.getValues();
+        Assertions.assertTrue(tracked.length <= s.getCapacity());
+        Assertions.assertEquals(tracked.length, Arrays.stream(tracked).distinct().count(), "Duplicate values");
+        // Ordered by frequency
+        for (int i = 1; i < tracked.length; i++) {
+            Assertions.assertTrue(s.getFrequency(tracked[i - 1]) >= s.getFrequency(tracked[i]));
+        }
+        final long bound = n / s.getCapacity();
+        freq.forEach((v, f) -> {
+            final long e = s.getFrequency(v);
+            final long err = s.getFrequencyError(v);
+            Assertions.assertTrue(f <= e, () -> "Underestimate: " + v);
+            Assertions.assertTrue(e - err <= f, () -> "Error: " + v);
+            Assertions.assertTrue(err <= bound, () -> "Error bound: " + v);
+            if (f > bound) {
+                Assertions.assertTrue(Arrays.stream(tracked).anyMatch(x -> x == v), () -> "Not tracked: " + v);
+            }
+        });
+    }
+}
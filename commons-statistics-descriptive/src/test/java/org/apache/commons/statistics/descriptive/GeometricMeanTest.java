@@ -18,11 +18,14 @@ package org.apache.commons.statistics.descriptive;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link GeometricMean}.
@@ -111,4 +114,29 @@ final class GeometricMeanTest extends BaseDoubleStatisticTest<GeometricMean> {
         builder.accept(addReference(0.0022133638394006435, DoubleTolerances.ulps(3), 0.001, 0.002, 0.003, 0.004));
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            GeometricMean.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final GeometricMean s = GeometricMean.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(GeometricMean.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(GeometricMean.of(1, 2, 3, 4, 5.5).combine(GeometricMean.of(7, 8.25)).getAsDouble(),
+                s.combine(GeometricMean.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            GeometricMean.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(GeometricMean.create().getAsDouble(), GeometricMean.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GeometricMean.readFrom(buffer));
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link GroupedLongStatistics}.
+ */
+class GroupedLongStatisticsTest {
+    /** All statistics. */
+    private static final Statistic[] STATS = Statistic.values();
+
+    @Test
+    void testEmpty() {
+        final GroupedLongStatistics s = GroupedLongStatistics.of(Statistic.MIN);
+        Assertions.assertEquals(0, s.size());
+        Assertions.assertArrayEquals(new int[0], s.getKeys());
+        Assertions.assertNull(s.get(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GroupedLongStatistics.of());
+    }
+
+    @Test
+    void testAccept() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] keys = rng.ints(1000, -20, 20).toArray();
+        final long[] values = rng.longs(keys.length, 1, 1000).toArray();
+        final GroupedLongStatistics s = GroupedLongStatistics.of(STATS);
+        for (int i = 0; i < keys.length; i++) {
+            s.accept(keys[i], values[i]);
+        }
+        final int[] expectedKeys = Arrays.stream(keys).distinct().toArray();
+        Assertions.assertArrayEquals(expectedKeys, s.getKeys());
+        Assertions.assertEquals(expectedKeys.length, s.size());
+        for (final int key : expectedKeys) {
+            assertEquals(expected(keys, values, key), s.get(key));
+        }
+        Assertions.assertNull(s.get(20));
+        // Sequential build is the same
+        final GroupedLongStatistics s2 = LongStatistics.builder(STATS).buildGrouped(keys, values);
+        Assertions.assertArrayEquals(expectedKeys, s2.getKeys());
+        for (final int key : expectedKeys) {
+            assertEquals(s.get(key), s2.get(key));
+        }
+    }
+
+    @Test
+    void testBuildGroupedRange() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] keys = rng.ints(500, 0, 10).toArray();
+        final long[] values = rng.longs(keys.length, 1, 1000).toArray();
+        final int from = 13;
+        final int to = 411;
+        final GroupedLongStatistics s = LongStatistics.builder(STATS).buildGrouped(keys, values, from, to);
+        final int[] k = Arrays.copyOfRange(keys, from, to);
+        final long[] v = Arrays.copyOfRange(values, from, to);
+        Assertions.assertArrayEquals(Arrays.stream(k).distinct().toArray(), s.getKeys());
+        for (final int key : s.getKeys()) {
+            assertEquals(expected(k, v, key), s.get(key));
+        }
+    }
+
+    @Test
+    void testBuildGroupedThrows() {
+        final LongStatistics.Builder b = LongStatistics.builder(Statistic.MIN);
+        final int[] keys = new int[10];
+        Assertions.assertThrows(IllegalArgumentException.class, () -> b.buildGrouped(keys, new long[9]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> b.buildGrouped(keys, new long[11], 0, 5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> b.buildGrouped(keys, new long[10], 0, 11));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> b.buildGrouped(keys, new long[10], 5, 4));
+    }
+
+    @Test
+    void testParallel() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = RangeTask.MIN_CHUNK_SIZE * 20;
+        // Many keys with a skewed frequency
+        final int[] keys = IntStream.range(0, n).map(i -> (int) Math.sqrt(rng.nextInt(10000)) * 31).toArray();
+        final long[] values = rng.longs(n, 1, 1000).toArray();
+        final LongStatistics.Builder builder = LongStatistics.builder(STATS);
+        final GroupedLongStatistics expected = builder.buildGrouped(keys, values);
+        final GroupedLongStatistics actual = builder.setParallel(true).buildGrouped(keys, values);
+        // Keys are in the same order
+        Assertions.assertArrayEquals(expected.getKeys(), actual.getKeys());
+        for (final int key : expected.getKeys()) {
+            assertParallel(expected.get(key), actual.get(key));
+        }
+        // Configuration
+        final StatisticsConfiguration c = StatisticsConfiguration.withDefaults().withBiased(true);
+        final GroupedLongStatistics biased = builder.setConfiguration(c).buildGrouped(keys, values, 10, n - 10);
+        final GroupedLongStatistics unbiased = builder.setParallel(false)
+            .setConfiguration(StatisticsConfiguration.withDefaults()).buildGrouped(keys, values, 10, n - 10)
+            .setConfiguration(c);
+        for (final int key : biased.getKeys()) {
+            assertParallel(unbiased.get(key), biased.get(key));
+        }
+    }
+
+    @Test
+    void testCombine() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] keys = rng.ints(300, 0, 30).toArray();
+        final long[] values = rng.longs(keys.length, 1, 1000).toArray();
+        final LongStatistics.Builder builder = LongStatistics.builder(STATS);
+        final GroupedLongStatistics expected = builder.buildGrouped(keys, values);
+        final GroupedLongStatistics s1 = builder.buildGrouped(keys, values, 0, 100);
+        final GroupedLongStatistics s2 = builder.buildGrouped(keys, values, 100, keys.length);
+        Assertions.assertSame(s1, s1.combine(s2));
+        Assertions.assertArrayEquals(expected.getKeys(), s1.getKeys());
+        for (final int key : expected.getKeys()) {
+            assertParallel(expected.get(key), s1.get(key));
+        }
+        // The other instance is not shared
+        final int key = s2.getKeys()[0];
+        final long count = s1.get(key).getCount();
+        s2.accept(key, 1);
+        Assertions.assertEquals(count, s1.get(key).getCount());
+        // Combine with empty
+        final GroupedLongStatistics empty = builder.buildGrouped();
+        Assertions.assertSame(s1, s1.combine(empty));
+        empty.combine(s1);
+        Assertions.assertArrayEquals(s1.getKeys(), empty.getKeys());
+    }
+
+    @Test
+    void testCombineThrows() {
+        final GroupedLongStatistics s1 = GroupedLongStatistics.of(Statistic.MIN, Statistic.MAX);
+        final GroupedLongStatistics s2 = GroupedLongStatistics.of(Statistic.MIN);
+        s1.accept(1, 2);
+        s2.accept(1, 3);
+        s2.accept(2, 1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s1.combine(s2));
+        // Not modified
+        Assertions.assertEquals(1, s1.size());
+        Assertions.assertEquals(2, s1.get(1).getAsDouble(Statistic.MIN));
+        // Other is compatible
+        s2.combine(s1);
+        Assertions.assertEquals(2, s2.get(1).getAsDouble(Statistic.MIN));
+        Assertions.assertEquals(2, s2.get(1).getCount());
+    }
+
+    @Test
+    void testSetConfiguration() {
+        final GroupedLongStatistics s = GroupedLongStatistics.of(Statistic.VARIANCE);
+        s.accept(1, 2);
+        s.accept(1, 4);
+        Assertions.assertEquals(2, s.get(1).getAsDouble(Statistic.VARIANCE));
+        final StatisticsConfiguration c = StatisticsConfiguration.withDefaults().withBiased(true);
+        Assertions.assertSame(s, s.setConfiguration(c));
+        Assertions.assertEquals(1, s.get(1).getAsDouble(Statistic.VARIANCE));
+        // New keys use the configuration
+        s.accept(2, 2);
+        s.accept(2, 4);
+        Assertions.assertEquals(1, s.get(2).getAsDouble(Statistic.VARIANCE));
+        Assertions.assertThrows(NullPointerException.class, () -> s.setConfiguration(null));
+    }
+
+    @Test
+    void testBuilderChangedAfterBuildGrouped() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] keys = rng.ints(200, 0, 10).toArray();
+        final long[] values = rng.longs(keys.length, 1, 1000).toArray();
+        final LongStatistics.Builder builder = LongStatistics.builder(STATS);
+        final GroupedLongStatistics s = builder.buildGrouped();
+        s.accept(keys[0], values[0]);
+        // Changes to the builder do not affect the grouped statistics
+        builder.setConfiguration(StatisticsConfiguration.withDefaults().withBiased(true));
+        for (int i = 1; i < keys.length; i++) {
+            s.accept(keys[i], values[i]);
+        }
+        for (final int key : s.getKeys()) {
+            assertEquals(expected(keys, values, key), s.get(key));
+        }
+    }
+
+    private static LongStatistics expected(int[] keys, long[] values, int key) {
+        final LongStatistics s = LongStatistics.of(STATS);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) {
+                s.accept(values[i]);
+            }
+        }
+        return s;
+    }
+
+    private static void assertEquals(LongStatistics expected, LongStatistics actual) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        for (final Statistic s : STATS) {
+            Assertions.assertEquals(expected.getAsDouble(s), actual.getAsDouble(s), s::toString);
+        }
+    }
+
+    private static void assertParallel(LongStatistics expected, LongStatistics actual) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        for (final Statistic s : STATS) {
+            // Skewness and kurtosis are NaN for small groups
+            final double e = expected.getAsDouble(s);
+            Assertions.assertEquals(e, actual.getAsDouble(s), Double.isNaN(e) ? 0 : Math.abs(e) * 1e-10, s::toString);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link IntCovariance}.
+ */
+class IntCovarianceTest {
+    @Test
+    void testEmpty() {
+        final IntCovariance s = IntCovariance.create();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(Double.NaN, IntCovariance.of(new int[0], new int[0]).getAsDouble());
+        s.accept(1, 2);
+        Assertions.assertEquals(0, s.getAsDouble());
+        Assertions.assertEquals(1, s.getCount());
+    }
+
+    @Test
+    void testInvalidArgumentsThrows() {
+        final int[] x = {1, 2, 3};
+        final int[] y = {1, 2};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IntCovariance.of(x, y));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IntCovariance.ofRange(x, y, 0, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> IntCovariance.ofRange(x, x, 0, 4));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> IntCovariance.ofRange(x, x, 2, 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testCovariance(int[] x, int[] y) {
+        final BigDecimal[] bx = Arrays.stream(x).mapToObj(BigDecimal::valueOf).toArray(BigDecimal[]::new);
+        final BigDecimal[] by = Arrays.stream(y).mapToObj(BigDecimal::valueOf).toArray(BigDecimal[]::new);
+        final int n = x.length;
+        final int[] xx = TestHelper.concatenate(new int[] {42}, x, new int[] {-13});
+        final int[] yy = TestHelper.concatenate(new int[] {7}, y, new int[] {99});
+        for (final boolean biased : new boolean[] {false, true}) {
+            final double expected = TestHelper.computeExpectedCovariance(bx, by, biased);
+            assertCovariance(expected, IntCovariance.of(x, y).setBiased(biased).getAsDouble());
+            assertCovariance(expected, IntCovariance.ofRange(xx, yy, 1, n + 1).setBiased(biased).getAsDouble());
+            final IntCovariance s = IntCovariance.create().setBiased(biased);
+            for (int i = 0; i < n; i++) {
+                s.accept(x[i], y[i]);
+            }
+            Assertions.assertEquals(n, s.getCount());
+            assertCovariance(expected, s.getAsDouble());
+            for (final int split : new int[] {0, 1, n / 3, n}) {
+                final IntCovariance s1 = IntCovariance.of(Arrays.copyOf(x, split), Arrays.copyOf(y, split))
+                    .setBiased(biased);
+                final IntCovariance s2 = IntCovariance.create();
+                for (int i = split; i < n; i++) {
+                    s2.accept(x[i], y[i]);
+                }
+                Assertions.assertSame(s1, s1.combine(s2));
+                Assertions.assertEquals(n, s1.getCount());
+                assertCovariance(expected, s1.getAsDouble());
+            }
+            // The covariance of a variable with itself is the variance
+            Assertions.assertEquals(IntVariance.of(x).setBiased(biased).getAsDouble(),
+                IntCovariance.of(x, x).setBiased(biased).getAsDouble());
+        }
+    }
+
+    static Stream<Arguments> testCovariance() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {2, 3, 10, 100, 1000}) {
+            final int[] x = rng.ints(n, -100, 100).toArray();
+            final int[] y = Arrays.stream(x).map(v -> 3 * v + rng.nextInt(50)).toArray();
+            builder.add(Arguments.of(x, y));
+            builder.add(Arguments.of(x, Arrays.stream(y).map(v -> 1000 - v).toArray()));
+            // Full range
+            builder.add(Arguments.of(rng.ints(n).toArray(), rng.ints(n).toArray()));
+        }
+        // Extreme values
+        final int min = Integer.MIN_VALUE;
+        final int max = Integer.MAX_VALUE;
+        builder.add(Arguments.of(new int[] {min, min, min, max}, new int[] {min, min, max, min}));
+        builder.add(Arguments.of(new int[] {max, max, max, max - 1}, new int[] {min, min, min, min + 1}));
+        return builder.build();
+    }
+
+    private static void assertCovariance(double expected, double actual) {
+        if (Double.isNaN(expected)) {
+            Assertions.assertEquals(expected, actual);
+        } else {
+            // Rounding of the sum precursor and the division
+            Assertions.assertEquals(expected, actual, Math.abs(expected) * 0x1.0p-51);
+        }
+    }
+}
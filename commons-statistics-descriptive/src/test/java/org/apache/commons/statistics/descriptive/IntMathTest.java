@@ -76,6 +76,15 @@ class IntMathTest {
             () -> String.format("double %s * %s", bi1, bi2));
     }
 
+    @ParameterizedTest
+    @MethodSource(value = {"testUnsignedMultiplyHigh"})
+    void testMultiplyHigh(long a, long b) {
+        final long actual = IntMath.multiplyHigh(a, b);
+        final BigInteger expected = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b));
+        Assertions.assertEquals(expected.shiftRight(Long.SIZE).longValue(), actual,
+            () -> String.format("%d * %d", a, b));
+    }
+
     static Stream<Arguments> testUnsignedMultiplyHigh() {
         final UniformRandomProvider rng = TestHelper.createRNG();
         final Stream.Builder<Arguments> builder = Stream.builder();
@@ -16,11 +16,14 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -113,4 +116,30 @@ final class IntMeanTest extends BaseIntStatisticTest<IntMean> {
             Assertions.assertEquals(mean, s.getAsDouble());
         }
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            IntMean.of(1, 2, 3, 4, Integer.MAX_VALUE).writeTo(buffer);
+            buffer.flip();
+            final IntMean s = IntMean.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(IntMean.of(1, 2, 3, 4, Integer.MAX_VALUE).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                IntMean.of(1, 2, 3, 4, Integer.MAX_VALUE).combine(IntMean.of(7, Integer.MIN_VALUE)).getAsDouble(),
+                s.combine(IntMean.of(7, Integer.MIN_VALUE)).getAsDouble());
+            // Empty
+            buffer.clear();
+            IntMean.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(IntMean.create().getAsDouble(), IntMean.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IntMean.readFrom(buffer));
+    }
 }
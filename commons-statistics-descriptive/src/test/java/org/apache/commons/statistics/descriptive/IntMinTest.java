@@ -16,10 +16,14 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link IntMin}.
@@ -75,4 +79,30 @@ final class IntMinTest extends BaseIntStatisticTest<IntMin> {
             addCase(Integer.MIN_VALUE + 1)
         );
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            IntMin.of(1, 2, 3, 4, Integer.MAX_VALUE).writeTo(buffer);
+            buffer.flip();
+            final IntMin s = IntMin.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(IntMin.of(1, 2, 3, 4, Integer.MAX_VALUE).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                IntMin.of(1, 2, 3, 4, Integer.MAX_VALUE).combine(IntMin.of(7, Integer.MIN_VALUE)).getAsDouble(),
+                s.combine(IntMin.of(7, Integer.MIN_VALUE)).getAsDouble());
+            // Empty
+            buffer.clear();
+            IntMin.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(IntMin.create().getAsDouble(), IntMin.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IntMin.readFrom(buffer));
+    }
 }
@@ -19,12 +19,15 @@ package org.apache.commons.statistics.descriptive;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.apache.commons.statistics.distribution.TestUtils;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -194,4 +197,33 @@ final class IntStandardDeviationTest extends BaseIntStatisticTest<IntStandardDev
             TestUtils.assertEquals(expected, s.getAsDouble(), tol);
         }
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            IntStandardDeviation.of(1, 2, 3, 4, Integer.MAX_VALUE).writeTo(buffer);
+            buffer.flip();
+            final IntStandardDeviation s = IntStandardDeviation.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(IntStandardDeviation.of(1, 2, 3, 4, Integer.MAX_VALUE).getAsDouble(),
+                s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                IntStandardDeviation.of(1, 2, 3, 4, Integer.MAX_VALUE)
+                    .combine(IntStandardDeviation.of(7, Integer.MIN_VALUE)).getAsDouble(),
+                s.combine(IntStandardDeviation.of(7, Integer.MIN_VALUE)).getAsDouble());
+            // Empty
+            buffer.clear();
+            IntStandardDeviation.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(IntStandardDeviation.create().getAsDouble(),
+                IntStandardDeviation.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IntStandardDeviation.readFrom(buffer));
+    }
 }
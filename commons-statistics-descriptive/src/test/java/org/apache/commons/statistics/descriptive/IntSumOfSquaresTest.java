@@ -17,12 +17,15 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -116,4 +119,32 @@ final class IntSumOfSquaresTest extends BaseIntStatisticTest<IntSumOfSquares> {
             Assertions.assertEquals(sum, s.getAsBigInteger());
         }
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            IntSumOfSquares.of(1, 2, 3, 4, Integer.MAX_VALUE).writeTo(buffer);
+            buffer.flip();
+            final IntSumOfSquares s = IntSumOfSquares.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(IntSumOfSquares.of(1, 2, 3, 4, Integer.MAX_VALUE).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                IntSumOfSquares.of(1, 2, 3, 4, Integer.MAX_VALUE)
+                    .combine(IntSumOfSquares.of(7, Integer.MIN_VALUE)).getAsDouble(),
+                s.combine(IntSumOfSquares.of(7, Integer.MIN_VALUE)).getAsDouble());
+            // Empty
+            buffer.clear();
+            IntSumOfSquares.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(IntSumOfSquares.create().getAsDouble(),
+                IntSumOfSquares.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IntSumOfSquares.readFrom(buffer));
+    }
 }
@@ -17,12 +17,15 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -120,4 +123,30 @@ final class IntSumTest extends BaseIntStatisticTest<IntSum> {
             Arguments.of(2147483647, 2147483646, 61),
             Arguments.of(-2147483648, -2147483647, 61));
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            IntSum.of(1, 2, 3, 4, Integer.MAX_VALUE).writeTo(buffer);
+            buffer.flip();
+            final IntSum s = IntSum.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(IntSum.of(1, 2, 3, 4, Integer.MAX_VALUE).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                IntSum.of(1, 2, 3, 4, Integer.MAX_VALUE).combine(IntSum.of(7, Integer.MIN_VALUE)).getAsDouble(),
+                s.combine(IntSum.of(7, Integer.MIN_VALUE)).getAsDouble());
+            // Empty
+            buffer.clear();
+            IntSum.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(IntSum.create().getAsDouble(), IntSum.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> IntSum.readFrom(buffer));
+    }
 }
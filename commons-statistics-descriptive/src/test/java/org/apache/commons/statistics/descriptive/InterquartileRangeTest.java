@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link InterquartileRange}.
+ */
+class InterquartileRangeTest {
+    @Test
+    void testNullPropertyThrows() {
+        final InterquartileRange m = InterquartileRange.withDefaults();
+        Assertions.assertThrows(NullPointerException.class, () -> m.with((NaNPolicy) null));
+        Assertions.assertThrows(NullPointerException.class, () -> m.with((EstimationMethod) null));
+    }
+
+    @Test
+    void testEmpty() {
+        final InterquartileRange m = InterquartileRange.withDefaults();
+        Assertions.assertEquals(Double.NaN, m.evaluate(new double[0]));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new int[0]));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new long[0]));
+        Assertions.assertEquals(0, m.evaluate(new double[] {42}));
+    }
+
+    @Test
+    void testNaN() {
+        final double[] x = {1, 2, 3, 4, Double.NaN};
+        Assertions.assertEquals(Double.NaN, InterquartileRange.withDefaults().evaluate(x.clone()));
+        Assertions.assertEquals(Quantile.withDefaults().evaluate(new double[] {1, 2, 3, 4}, 0.75) -
+            Quantile.withDefaults().evaluate(new double[] {1, 2, 3, 4}, 0.25),
+            InterquartileRange.withDefaults().with(NaNPolicy.EXCLUDE).evaluate(x.clone()));
+        final InterquartileRange m = InterquartileRange.withDefaults().with(NaNPolicy.ERROR);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.evaluate(x));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testInterquartileRange(double[] values, EstimationMethod method) {
+        final Quantile q = Quantile.withDefaults().with(method);
+        final InterquartileRange m = InterquartileRange.withDefaults().with(method);
+        final double[] p = {0.25, 0.75};
+        final int n = values.length;
+        // double
+        double[] r = q.evaluate(values.clone(), p);
+        final double[] x = values.clone();
+        Assertions.assertEquals(r[1] - r[0], m.withCopy(true).evaluate(x));
+        Assertions.assertArrayEquals(values, x, "Copy modified the input");
+        Assertions.assertEquals(r[1] - r[0], m.evaluate(x));
+        final double[] y = TestHelper.concatenate(new double[] {-1e300}, values, new double[] {1e300});
+        Assertions.assertEquals(r[1] - r[0], m.evaluateRange(y, 1, n + 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(y, 1, n + 3));
+        // int
+        final int[] a = Arrays.stream(values).mapToInt(v -> (int) Math.floor(v * 100)).toArray();
+        r = q.evaluate(a.clone(), p);
+        Assertions.assertEquals(r[1] - r[0], m.evaluate(a.clone()));
+        Assertions.assertEquals(r[1] - r[0], m.evaluateRange(a, 0, n));
+        // long
+        final long[] b = Arrays.stream(a).asLongStream().toArray();
+        final StatisticResult[] s = q.evaluate(b.clone(), p);
+        Assertions.assertEquals(s[1].getAsDouble() - s[0].getAsDouble(), m.evaluate(b.clone()));
+        Assertions.assertEquals(s[1].getAsDouble() - s[0].getAsDouble(), m.evaluateRange(b, 0, n));
+    }
+
+    static Stream<Arguments> testInterquartileRange() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {1, 2, 3, 4, 5, 10, 51, 200}) {
+            for (final EstimationMethod method : EstimationMethod.values()) {
+                builder.add(Arguments.of(rng.doubles(n, -10, 10).toArray(), method));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -18,11 +18,14 @@ package org.apache.commons.statistics.descriptive;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.apache.commons.statistics.distribution.TestUtils;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -177,4 +180,29 @@ final class KurtosisTest extends BaseDoubleStatisticTest<Kurtosis> {
         builder.accept(Arguments.of(new double[] {1, 3, 7, 9, 11}, -1.4908058409951321, -1.9632233639805285, tol));
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            Kurtosis.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final Kurtosis s = Kurtosis.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(Kurtosis.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(Kurtosis.of(1, 2, 3, 4, 5.5).combine(Kurtosis.of(7, 8.25)).getAsDouble(),
+                s.combine(Kurtosis.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            Kurtosis.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(Kurtosis.create().getAsDouble(), Kurtosis.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Kurtosis.readFrom(buffer));
+    }
 }
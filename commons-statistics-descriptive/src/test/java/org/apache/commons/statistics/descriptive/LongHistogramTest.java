@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link LongHistogram}.
+ */
+class LongHistogramTest {
+    /** Probabilities used for testing. */
+    private static final double[] PROBABILITIES = {
+        0, 0.001, 0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1,
+    };
+
+    @Test
+    void testInvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongHistogram.create(0, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongHistogram.create(100, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongHistogram.create(100, 6));
+        final LongHistogram h = LongHistogram.create(1000, 2);
+        Assertions.assertThrows(NullPointerException.class, () -> h.setEstimationMethod(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.accept(-1L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.accept(1001L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.accept(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.getQuantile(-0.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.getQuantile(1.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.getQuantiles());
+        Assertions.assertEquals(0, h.getCount());
+    }
+
+    @Test
+    void testEmpty() {
+        final LongHistogram h = LongHistogram.create(Long.MAX_VALUE, 3);
+        Assertions.assertEquals(Double.NaN, h.getAsDouble());
+        Assertions.assertEquals(Double.NaN, h.getQuantile(0).getAsDouble());
+        Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN}, toDouble(h.getQuantiles(0, 1)));
+        Assertions.assertThrows(ArithmeticException.class, h::getAsLong);
+        Assertions.assertEquals(Double.NaN, h.combine(LongHistogram.create(10, 3)).getAsDouble());
+    }
+
+    /**
+     * Test the histogram is exact when all values have single unit resolution.
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testExact(long[] values, int digits) {
+        for (final EstimationMethod m : EstimationMethod.values()) {
+            final Quantile q = Quantile.withDefaults().with(m);
+            final LongHistogram h = LongHistogram.create(Long.MAX_VALUE, digits).setEstimationMethod(m);
+            Arrays.stream(values).forEach(h);
+            Assertions.assertEquals(values.length, h.getCount());
+            Assertions.assertArrayEquals(toDouble(q.evaluate(values.clone(), PROBABILITIES)),
+                toDouble(h.getQuantiles(PROBABILITIES)),
+                () -> m.toString());
+            for (final double p : PROBABILITIES) {
+                final StatisticResult expected = q.evaluate(values.clone(), p);
+                final StatisticResult actual = h.getQuantile(p);
+                Assertions.assertEquals(expected.getAsDouble(), actual.getAsDouble());
+                Assertions.assertEquals(expected.getAsLong(), actual.getAsLong());
+            }
+            Assertions.assertEquals(q.evaluate(values.clone(), 0.5).getAsLong(), h.getAsLong());
+        }
+    }
+
+    static Stream<Arguments> testExact() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new long[] {42}, 2));
+        builder.add(Arguments.of(new long[] {1, 2}, 0));
+        builder.add(Arguments.of(new long[] {3, 0, 2}, 1));
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create();
+        for (final int n : new int[] {5, 10, 51, 100, 1000}) {
+            builder.add(Arguments.of(rng.longs(n, 0, 200).toArray(), 2));
+            builder.add(Arguments.of(rng.longs(n, 0, 2000).toArray(), 3));
+            builder.add(Arguments.of(rng.longs(n, 1000, 1100).toArray(), 3));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Test the relative error of the quantiles is bounded by the precision.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 4, 5})
+    void testRelativeError(int digits) {
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create();
+        final long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-uniform spread of magnitudes
+            values[i] = rng.nextLong(1L << rng.nextInt(1, 62));
+        }
+        final LongHistogram h = LongHistogram.create(Long.MAX_VALUE, digits);
+        Arrays.stream(values).forEach(h);
+        final double tolerance = Math.pow(10, -digits);
+        final Quantile q = Quantile.withDefaults().with(EstimationMethod.HF1);
+        h.setEstimationMethod(EstimationMethod.HF1);
+        for (final double p : PROBABILITIES) {
+            final long expected = q.evaluate(values.clone(), p).getAsLong();
+            final long actual = h.getQuantile(p).getAsLong();
+            Assertions.assertEquals(expected, actual, Math.max(1, expected * tolerance), () -> "p=" + p);
+        }
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        Assertions.assertEquals(sorted[0], h.getQuantile(0).getAsLong());
+        Assertions.assertEquals(sorted[sorted.length - 1], h.getQuantile(1).getAsLong());
+    }
+
+    @Test
+    void testIntValues() {
+        final int[] values = RandomSource.XO_SHI_RO_128_PP.create().ints(100, 0, 100).toArray();
+        final LongHistogram h = LongHistogram.create(Integer.MAX_VALUE, 3);
+        Arrays.stream(values).forEach(h);
+        Assertions.assertArrayEquals(Quantile.withDefaults().evaluate(values, PROBABILITIES),
+            toDouble(h.getQuantiles(PROBABILITIES)));
+    }
+
+    @Test
+    void testCombine() {
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create();
+        final long[] values = rng.longs(5000, 0, 1L << 40).toArray();
+        final LongHistogram expected = LongHistogram.create(1L << 40, 3);
+        Arrays.stream(values).forEach(expected);
+        final LongHistogram h = LongHistogram.create(1L << 40, 3);
+        // Parts using a different highest trackable value
+        final LongHistogram h1 = LongHistogram.create(1L << 50, 3);
+        Arrays.stream(values, 0, 2000).forEach(h1);
+        final LongHistogram h2 = LongHistogram.create(1L << 40, 3);
+        Arrays.stream(values, 2000, values.length).forEach(h2);
+        Assertions.assertSame(h, h.combine(h1));
+        h.combine(h2);
+        Assertions.assertEquals(values.length, h.getCount());
+        Assertions.assertArrayEquals(toDouble(expected.getQuantiles(PROBABILITIES)), toDouble(h.getQuantiles(PROBABILITIES)));
+        // Stream collector
+        final LongHistogram h3 = Arrays.stream(values).parallel()
+            .collect(() -> LongHistogram.create(1L << 40, 3), LongHistogram::accept, LongHistogram::combine);
+        Assertions.assertArrayEquals(toDouble(expected.getQuantiles(PROBABILITIES)), toDouble(h3.getQuantiles(PROBABILITIES)));
+        // Self combine
+        final LongHistogram doubled = LongHistogram.create(1L << 40, 3);
+        Arrays.stream(values).forEach(doubled);
+        Arrays.stream(values).forEach(doubled);
+        expected.combine(expected);
+        Assertions.assertEquals(doubled.getCount(), expected.getCount());
+        Assertions.assertArrayEquals(toDouble(doubled.getQuantiles(PROBABILITIES)), toDouble(expected.getQuantiles(PROBABILITIES)));
+    }
+
+    @Test
+    void testCombineThrows() {
+        final LongHistogram h = LongHistogram.create(1000, 3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.combine(LongHistogram.create(1000, 2)));
+        final LongHistogram h2 = LongHistogram.create(10000, 3);
+        // Empty is allowed
+        h.combine(h2);
+        h2.accept(1001);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.combine(h2));
+        Assertions.assertEquals(0, h.getCount());
+    }
+
+    private static double[] toDouble(StatisticResult[] r) {
+        return Arrays.stream(r).mapToDouble(StatisticResult::getAsDouble).toArray();
+    }
+}
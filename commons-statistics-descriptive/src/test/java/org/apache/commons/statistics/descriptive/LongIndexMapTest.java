@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link LongIndexMap}.
+ */
+class LongIndexMapTest {
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 10, 1000})
+    void testAdd(int capacity) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final LongIndexMap m = new LongIndexMap(capacity);
+        final Map<Long, Integer> expected = new HashMap<>();
+        // Special keys and random keys with repeats
+        final long[] keys = Arrays.copyOf(new long[] {0, -1, Long.MIN_VALUE, Long.MAX_VALUE}, 5000);
+        for (int i = 4; i < keys.length; i++) {
+            keys[i] = (i & 1) == 0 ? rng.nextLong() : (long) rng.nextInt(1000) << 40;
+        }
+        for (final long key : keys) {
+            final Integer e = expected.get(key);
+            final int index = m.add(key);
+            if (e == null) {
+                Assertions.assertEquals(expected.size(), index);
+                expected.put(key, index);
+            } else {
+                Assertions.assertEquals(e, index);
+            }
+            Assertions.assertEquals(expected.size(), m.size());
+        }
+        expected.forEach((k, v) -> {
+            Assertions.assertEquals(v, m.indexOf(k));
+            Assertions.assertEquals(k, m.key(v));
+        });
+        final long[] actual = m.keys();
+        Assertions.assertArrayEquals(Arrays.stream(keys).distinct().toArray(), actual);
+        // Missing keys
+        for (int i = 0; i < 100; i++) {
+            final long key = rng.nextLong();
+            if (!expected.containsKey(key)) {
+                Assertions.assertEquals(-1, m.indexOf(key));
+            }
+        }
+        m.clear();
+        Assertions.assertEquals(0, m.size());
+        Assertions.assertEquals(-1, m.indexOf(keys[0]));
+        Assertions.assertEquals(0, m.add(keys[1]));
+    }
+}
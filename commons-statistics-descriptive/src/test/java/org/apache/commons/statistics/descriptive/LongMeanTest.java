@@ -19,11 +19,14 @@ package org.apache.commons.statistics.descriptive;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -121,4 +124,30 @@ final class LongMeanTest extends BaseLongStatisticTest<LongMean> {
             Assertions.assertEquals(mean, s.getAsDouble());
         }
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            LongMean.of(1, 2, 3, 4, Long.MAX_VALUE).writeTo(buffer);
+            buffer.flip();
+            final LongMean s = LongMean.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(LongMean.of(1, 2, 3, 4, Long.MAX_VALUE).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                LongMean.of(1, 2, 3, 4, Long.MAX_VALUE).combine(LongMean.of(7, Long.MIN_VALUE)).getAsDouble(),
+                s.combine(LongMean.of(7, Long.MIN_VALUE)).getAsDouble());
+            // Empty
+            buffer.clear();
+            LongMean.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(LongMean.create().getAsDouble(), LongMean.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongMean.readFrom(buffer));
+    }
 }
@@ -16,10 +16,14 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link LongMin}.
@@ -75,4 +79,30 @@ final class LongMinTest extends BaseLongStatisticTest<LongMin> {
             addCase(Long.MIN_VALUE + 1)
         );
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            LongMin.of(1, 2, 3, 4, Long.MAX_VALUE).writeTo(buffer);
+            buffer.flip();
+            final LongMin s = LongMin.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(LongMin.of(1, 2, 3, 4, Long.MAX_VALUE).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                LongMin.of(1, 2, 3, 4, Long.MAX_VALUE).combine(LongMin.of(7, Long.MIN_VALUE)).getAsDouble(),
+                s.combine(LongMin.of(7, Long.MIN_VALUE)).getAsDouble());
+            // Empty
+            buffer.clear();
+            LongMin.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(LongMin.create().getAsDouble(), LongMin.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongMin.readFrom(buffer));
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link LongPearsonCorrelation}.
+ */
+class LongPearsonCorrelationTest {
+    @Test
+    void testEmpty() {
+        final LongPearsonCorrelation s = LongPearsonCorrelation.create();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(Double.NaN, LongPearsonCorrelation.of(new long[0], new long[0]).getAsDouble());
+        s.accept(1, 2);
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        Assertions.assertEquals(1, s.getCount());
+        s.accept(2, 3);
+        Assertions.assertEquals(1, s.getAsDouble());
+        // Zero variance
+        Assertions.assertEquals(Double.NaN,
+            LongPearsonCorrelation.of(new long[] {1, 2, 3}, new long[] {4, 4, 4}).getAsDouble());
+    }
+
+    @Test
+    void testInvalidArgumentsThrows() {
+        final long[] x = {1, 2, 3};
+        final long[] y = {1, 2};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongPearsonCorrelation.of(x, y));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongPearsonCorrelation.ofRange(x, y, 0, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> LongPearsonCorrelation.ofRange(x, x, 0, 4));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> LongPearsonCorrelation.ofRange(x, x, 2, 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testCorrelation(long[] x, long[] y) {
+        final BigDecimal[] bx = Arrays.stream(x).mapToObj(BigDecimal::valueOf).toArray(BigDecimal[]::new);
+        final BigDecimal[] by = Arrays.stream(y).mapToObj(BigDecimal::valueOf).toArray(BigDecimal[]::new);
+        final int n = x.length;
+        final double expected = TestHelper.computeExpectedCorrelation(bx, by);
+        final long[] xx = TestHelper.concatenate(new long[] {42}, x, new long[] {-13});
+        final long[] yy = TestHelper.concatenate(new long[] {7}, y, new long[] {99});
+        // The expected value uses the same final computation in double precision
+        Assertions.assertEquals(expected, LongPearsonCorrelation.of(x, y).getAsDouble());
+        Assertions.assertEquals(expected, LongPearsonCorrelation.ofRange(xx, yy, 1, n + 1).getAsDouble());
+        final LongPearsonCorrelation s = LongPearsonCorrelation.create();
+        for (int i = 0; i < n; i++) {
+            s.accept(x[i], y[i]);
+        }
+        Assertions.assertEquals(n, s.getCount());
+        Assertions.assertEquals(expected, s.getAsDouble());
+        for (final int split : new int[] {0, 1, n / 3, n}) {
+            final LongPearsonCorrelation s1 = LongPearsonCorrelation.of(Arrays.copyOf(x, split), Arrays.copyOf(y, split));
+            final LongPearsonCorrelation s2 = LongPearsonCorrelation.create();
+            for (int i = split; i < n; i++) {
+                s2.accept(x[i], y[i]);
+            }
+            Assertions.assertSame(s1, s1.combine(s2));
+            Assertions.assertEquals(n, s1.getCount());
+            Assertions.assertEquals(expected, s1.getAsDouble());
+        }
+    }
+
+    static Stream<Arguments> testCorrelation() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {2, 3, 10, 100, 1000}) {
+            final long[] x = rng.longs(n, -100, 100).toArray();
+            final long[] y = Arrays.stream(x).map(v -> 3 * v + rng.nextInt(50)).toArray();
+            builder.add(Arguments.of(x, y));
+            builder.add(Arguments.of(x, Arrays.stream(y).map(v -> 1000 - v).toArray()));
+            // Full range
+            builder.add(Arguments.of(rng.longs(n).toArray(), rng.longs(n).toArray()));
+            builder.add(Arguments.of(rng.ints(n).asLongStream().toArray(), rng.longs(n).toArray()));
+        }
+        // Extreme values
+        final long min = Long.MIN_VALUE;
+        final long max = Long.MAX_VALUE;
+        builder.add(Arguments.of(new long[] {min, min, min, max}, new long[] {min, min, max, min}));
+        builder.add(Arguments.of(new long[] {max, max, max, max - 1}, new long[] {min, min, min, min + 1}));
+        builder.add(Arguments.of(new long[] {min, max, 0}, new long[] {min, max, 0}));
+        return builder.build();
+    }
+}
@@ -17,6 +17,9 @@
 
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
@@ -582,6 +585,10 @@ class LongStatisticsTest {
         final double[] values = stat1.stream().mapToDouble(statistics::getAsDouble).toArray();
         Assertions.assertThrows(IllegalArgumentException.class, () -> statistics.combine(other),
             () -> stat1 + " " + stat2);
+        final LongStatistics.Factory factory =
+            new LongStatistics.Factory(LongStatistics.builder(stat1.toArray(EMPTY_STATISTIC_ARRAY)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> factory.checkCombineCompatible(other),
+            () -> stat1 + " " + stat2);
         // Values should be unchanged
         final int[] i = {0};
         stat1.stream().forEach(
@@ -610,6 +617,8 @@ class LongStatisticsTest {
         // This should work
         statistics1.combine(other1);
         // This should be compatible
+        new LongStatistics.Factory(LongStatistics.builder(stat1.toArray(EMPTY_STATISTIC_ARRAY)))
+            .checkCombineCompatible(other2);
         statistics2.combine(other2);
         // The stats should be the same
         for (final Statistic s : stat1) {
@@ -631,10 +640,141 @@ class LongStatisticsTest {
         );
     }
 
+    /**
+     * Test the parallel evaluation of an array matches the sequential evaluation.
+     */
+    @Test
+    void testParallel() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final long[] values = rng.longs(RangeTask.MIN_CHUNK_SIZE * 20L, 1, 1L << 50).toArray();
+        // Exclude the product which is not finite
+        final Statistic[] stats = EnumSet.complementOf(EnumSet.of(Statistic.PRODUCT)).toArray(new Statistic[0]);
+        final LongStatistics.Builder builder = LongStatistics.builder(stats);
+        final LongStatistics expected = builder.build(values);
+        final LongStatistics actual = builder.setParallel(true).build(values);
+        assertParallel(expected, actual, stats);
+        // Range
+        final int from = 13;
+        final int to = values.length - 42;
+        assertParallel(builder.setParallel(false).build(values, from, to),
+            builder.setParallel(true).build(values, from, to), stats);
+        // Small array is sequential
+        final long[] small = Arrays.copyOf(values, 100);
+        final LongStatistics s1 = builder.setParallel(false).build(small);
+        final LongStatistics s2 = builder.setParallel(true).build(small);
+        for (final Statistic s : stats) {
+            Assertions.assertEquals(s1.getAsDouble(s), s2.getAsDouble(s), s::toString);
+        }
+        // Configuration
+        final StatisticsConfiguration c = StatisticsConfiguration.withDefaults().withBiased(true);
+        assertParallel(builder.setParallel(false).setConfiguration(c).build(values),
+            builder.setParallel(true).build(values), stats);
+        Assertions.assertEquals(
+            LongVariance.of(values).setBiased(true).getAsDouble(),
+            builder.build(values).getAsDouble(Statistic.VARIANCE));
+    }
+
+    private static void assertParallel(LongStatistics expected, LongStatistics actual, Statistic[] stats) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        for (final Statistic s : stats) {
+            final double e = expected.getAsDouble(s);
+            assertFinite(e, s);
+            Assertions.assertEquals(e, actual.getAsDouble(s), Math.abs(e) * 1e-10, s::toString);
+        }
+        // Exact integer computations
+        for (final Statistic s : new Statistic[] {Statistic.MIN, Statistic.MAX, Statistic.SUM,
+            Statistic.SUM_OF_SQUARES, Statistic.MEAN, Statistic.VARIANCE}) {
+            Assertions.assertEquals(expected.getAsDouble(s), actual.getAsDouble(s), s::toString);
+        }
+        Assertions.assertEquals(expected.getAsBigInteger(Statistic.SUM), actual.getAsBigInteger(Statistic.SUM));
+    }
+
     private static void assertFinite(double value, Statistic s) {
         Assertions.assertTrue(Double.isFinite(value), () -> s.toString() + " isFinite");
     }
 
+    /**
+     * Test the state can be written and read to restore the statistics.
+     */
+    @Test
+    void testWriteReadState() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final long[] a = rng.longs(100).toArray();
+        final long[] b = rng.longs(50, 1, 10).toArray();
+        final List<Statistic[]> list = new ArrayList<>();
+        for (final Statistic s : Statistic.values()) {
+            list.add(new Statistic[] {s});
+        }
+        list.add(Statistic.values());
+        for (final Statistic[] stats : list) {
+            final LongStatistics.Builder builder = LongStatistics.builder(stats);
+            for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+                final LongStatistics s1 = builder.build(a);
+                final ByteBuffer buffer = ByteBuffer.allocate(256).order(order);
+                s1.writeTo(buffer);
+                buffer.flip();
+                final LongStatistics s2 = LongStatistics.readFrom(buffer);
+                Assertions.assertFalse(buffer.hasRemaining());
+                assertSameState(s1, s2);
+                // Empty
+                buffer.clear();
+                builder.build().writeTo(buffer);
+                buffer.flip();
+                assertSameState(builder.build(), LongStatistics.readFrom(buffer));
+                // Combine. The restored state is exact so the results are bit-identical.
+                assertSameState(builder.build(b).combine(s1), builder.build(b).combine(s2));
+                assertSameState(s1.combine(builder.build(b)), s2.combine(builder.build(b)));
+            }
+        }
+    }
+
+    @Test
+    void testReadStateThrows() {
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        LongStatistics.of(Statistic.MIN, Statistic.MEAN).writeTo(buffer);
+        buffer.flip();
+        // Type
+        buffer.put(0, (byte) (buffer.get(0) + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongStatistics.readFrom(buffer.duplicate()));
+        buffer.put(0, (byte) (buffer.get(0) - 1));
+        // Version
+        buffer.put(1, (byte) (buffer.get(1) + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongStatistics.readFrom(buffer.duplicate()));
+        buffer.put(1, (byte) (buffer.get(1) - 1));
+        // Statistics
+        final int flags = 2 + Long.BYTES;
+        final byte b = buffer.get(flags);
+        final byte order = buffer.get(flags + 1);
+        buffer.put(flags, (byte) -1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongStatistics.readFrom(buffer.duplicate()));
+        buffer.put(flags, (byte) 0).put(flags + 1, (byte) 0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongStatistics.readFrom(buffer.duplicate()));
+        buffer.put(flags + 1, (byte) 5);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongStatistics.readFrom(buffer.duplicate()));
+        buffer.put(flags, b).put(flags + 1, order);
+        // Truncated
+        final ByteBuffer truncated = buffer.duplicate();
+        truncated.limit(truncated.limit() - 1);
+        Assertions.assertThrows(BufferUnderflowException.class, () -> LongStatistics.readFrom(truncated));
+        // Valid
+        Assertions.assertEquals(0, LongStatistics.readFrom(buffer).getCount());
+        // Wrong type
+        buffer.clear();
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongStatistics.readFrom(buffer));
+    }
+
+    private static void assertSameState(LongStatistics expected, LongStatistics actual) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        for (final Statistic s : Statistic.values()) {
+            Assertions.assertEquals(expected.isSupported(s), actual.isSupported(s), s::toString);
+            if (expected.isSupported(s)) {
+                Assertions.assertEquals(expected.getAsDouble(s), actual.getAsDouble(s), s::toString);
+            }
+        }
+    }
+
     @ParameterizedTest
     @MethodSource
     void testBiased(Statistic stat, long[] values, boolean[] options, double[] results) {
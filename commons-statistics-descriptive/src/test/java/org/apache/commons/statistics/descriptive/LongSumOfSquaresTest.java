@@ -17,12 +17,15 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -120,4 +123,32 @@ final class LongSumOfSquaresTest extends BaseLongStatisticTest<LongSumOfSquares>
             Assertions.assertEquals(sum, s.getAsBigInteger());
         }
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            LongSumOfSquares.of(1, 2, 3, 4, Long.MAX_VALUE).writeTo(buffer);
+            buffer.flip();
+            final LongSumOfSquares s = LongSumOfSquares.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(LongSumOfSquares.of(1, 2, 3, 4, Long.MAX_VALUE).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                LongSumOfSquares.of(1, 2, 3, 4, Long.MAX_VALUE)
+                    .combine(LongSumOfSquares.of(7, Long.MIN_VALUE)).getAsDouble(),
+                s.combine(LongSumOfSquares.of(7, Long.MIN_VALUE)).getAsDouble());
+            // Empty
+            buffer.clear();
+            LongSumOfSquares.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(LongSumOfSquares.create().getAsDouble(),
+                LongSumOfSquares.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LongSumOfSquares.readFrom(buffer));
+    }
 }
@@ -16,10 +16,14 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link Max}.
@@ -74,4 +78,29 @@ final class MaxTest extends BaseDoubleStatisticTest<Max> {
             addCase(1, 2, 3, 4, Double.MAX_VALUE)
         );
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            Max.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final Max s = Max.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(Max.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(Max.of(1, 2, 3, 4, 5.5).combine(Max.of(7, 8.25)).getAsDouble(),
+                s.combine(Max.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            Max.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(Max.create().getAsDouble(), Max.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Max.readFrom(buffer));
+    }
 }
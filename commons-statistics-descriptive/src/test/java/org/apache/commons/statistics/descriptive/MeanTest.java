@@ -16,11 +16,14 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -92,6 +95,10 @@ final class MeanTest extends BaseDoubleStatisticTest<Mean> {
     protected Stream<StatisticTestData> streamTestData() {
         final Stream.Builder<StatisticTestData> builder = Stream.builder();
         TestData.momentTestData().forEach(x -> builder.accept(addCase(x)));
+        // The accept method uses a rolling algorithm with a larger error on long arrays
+        final DoubleTolerance tol = TestHelper.equalsOrNonFinite(createRelTolerance(1e-14));
+        TestData.longMomentTestData().forEach(x -> builder.accept(addCase(
+            tol, getToleranceArray(), tol, getToleranceArrayAndCombine(), x)));
         // Python Numpy v1.25.1: numpy.mean
         builder.accept(addReference(2.5, DoubleTolerances.ulps(1), 1, 2, 3, 4));
         builder.accept(addReference(12.0, DoubleTolerances.ulps(1), 5, 9, 13, 14, 10, 12, 11, 15, 19));
@@ -146,4 +153,29 @@ final class MeanTest extends BaseDoubleStatisticTest<Mean> {
         builder.accept(Arguments.of(new double[] {0, inf}));
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            Mean.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final Mean s = Mean.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(Mean.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(Mean.of(1, 2, 3, 4, 5.5).combine(Mean.of(7, 8.25)).getAsDouble(),
+                s.combine(Mean.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            Mean.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(Mean.create().getAsDouble(), Mean.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Mean.readFrom(buffer));
+    }
 }
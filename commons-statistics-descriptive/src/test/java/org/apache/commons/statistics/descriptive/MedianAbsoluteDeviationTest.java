@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link MedianAbsoluteDeviation}.
+ */
+class MedianAbsoluteDeviationTest {
+    @Test
+    void testNullPropertyThrows() {
+        final MedianAbsoluteDeviation m = MedianAbsoluteDeviation.withDefaults();
+        Assertions.assertThrows(NullPointerException.class, () -> m.with((NaNPolicy) null));
+    }
+
+    @Test
+    void testEmpty() {
+        final MedianAbsoluteDeviation m = MedianAbsoluteDeviation.withDefaults();
+        Assertions.assertEquals(Double.NaN, m.evaluate(new double[0]));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new int[0]));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new long[0]));
+        Assertions.assertEquals(Double.NaN, m.with(NaNPolicy.EXCLUDE).evaluate(new double[] {Double.NaN}));
+    }
+
+    @Test
+    void testExample() {
+        // median = 2; deviations {1, 1, 0, 0, 2, 4, 7}
+        final double[] x = {1, 1, 2, 2, 4, 6, 9};
+        Assertions.assertEquals(1, MedianAbsoluteDeviation.withDefaults().evaluate(x));
+        Assertions.assertEquals(1, MedianAbsoluteDeviation.withDefaults().evaluate(new int[] {9, 6, 4, 2, 2, 1, 1}));
+        Assertions.assertEquals(1, MedianAbsoluteDeviation.withDefaults().evaluate(new long[] {9, 6, 4, 2, 2, 1, 1}));
+        // median = 2.5; deviations {1.5, 0.5, 0.5, 1.5}
+        Assertions.assertEquals(1, MedianAbsoluteDeviation.withDefaults().evaluate(new double[] {1, 2, 3, 4}));
+        Assertions.assertEquals(1, MedianAbsoluteDeviation.withDefaults().evaluate(new int[] {4, 3, 2, 1}));
+        // median = 2; deviations {2, 0, 0, 98}
+        Assertions.assertEquals(1, MedianAbsoluteDeviation.withDefaults().evaluate(new int[] {0, 2, 2, 100}));
+    }
+
+    @Test
+    void testNaN() {
+        final double[] x = {1, 2, 3, 4, Double.NaN};
+        // median = 3; deviations {2, 1, 0, 1, NaN}
+        Assertions.assertEquals(1, MedianAbsoluteDeviation.withDefaults().evaluate(x.clone()));
+        // median = 2.5; deviations {1.5, 0.5, 0.5, 1.5}
+        Assertions.assertEquals(1, MedianAbsoluteDeviation.withDefaults().with(NaNPolicy.EXCLUDE).evaluate(x.clone()));
+        Assertions.assertEquals(Double.NaN, MedianAbsoluteDeviation.withDefaults()
+            .evaluate(new double[] {1, Double.NaN, Double.NaN}));
+        final MedianAbsoluteDeviation m = MedianAbsoluteDeviation.withDefaults().with(NaNPolicy.ERROR);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.evaluate(x));
+    }
+
+    @Test
+    void testExtremeValues() {
+        Assertions.assertEquals(0x1.0p31,
+            MedianAbsoluteDeviation.withDefaults().evaluate(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE}));
+        Assertions.assertEquals(0x1.0p63,
+            MedianAbsoluteDeviation.withDefaults().evaluate(new long[] {Long.MIN_VALUE, Long.MAX_VALUE}));
+        // median = MAX_VALUE - 1; deviations {2^64 - 2, 1, 0}
+        Assertions.assertEquals(1,
+            MedianAbsoluteDeviation.withDefaults().evaluate(new long[] {Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE - 1}));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testMedianAbsoluteDeviation(double[] values) {
+        final double expected = expected(values);
+        final MedianAbsoluteDeviation m = MedianAbsoluteDeviation.withDefaults();
+        final double[] x = values.clone();
+        Assertions.assertEquals(expected, m.withCopy(true).evaluate(x));
+        Assertions.assertArrayEquals(values, x, "Copy modified the input");
+        Assertions.assertEquals(expected, m.evaluate(x));
+        // The input is partially sorted and not overwritten
+        Arrays.sort(x);
+        final double[] y = values.clone();
+        Arrays.sort(y);
+        Assertions.assertArrayEquals(y, x, "Input values were changed");
+        // Range
+        final int n = values.length;
+        final double[] z = TestHelper.concatenate(new double[] {-1e300}, values, new double[] {1e300});
+        Assertions.assertEquals(expected, m.evaluateRange(z, 1, n + 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(z, 1, n + 3));
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testMedianAbsoluteDeviation"})
+    void testIntMedianAbsoluteDeviation(double[] values) {
+        final int[] x = Arrays.stream(values).mapToInt(v -> (int) Math.floor(v * 1e8)).toArray();
+        final double expected = expected(Arrays.stream(x).asDoubleStream().toArray());
+        final MedianAbsoluteDeviation m = MedianAbsoluteDeviation.withDefaults();
+        final int[] y = x.clone();
+        Assertions.assertEquals(expected, m.withCopy(true).evaluate(y));
+        Assertions.assertArrayEquals(x, y, "Copy modified the input");
+        Assertions.assertEquals(expected, m.evaluate(y));
+        Arrays.sort(x);
+        Arrays.sort(y);
+        Assertions.assertArrayEquals(x, y, "Input values were changed");
+        final int n = x.length;
+        final int[] z = TestHelper.concatenate(new int[] {Integer.MIN_VALUE}, x, new int[] {Integer.MAX_VALUE});
+        Assertions.assertEquals(expected, m.evaluateRange(z, 1, n + 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(z, 1, n + 3));
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testMedianAbsoluteDeviation"})
+    void testLongMedianAbsoluteDeviation(double[] values) {
+        final long[] x = Arrays.stream(values).mapToLong(v -> (long) Math.floor(v * 1e8)).toArray();
+        final double expected = expected(Arrays.stream(x).asDoubleStream().toArray());
+        final MedianAbsoluteDeviation m = MedianAbsoluteDeviation.withDefaults();
+        final long[] y = x.clone();
+        Assertions.assertEquals(expected, m.withCopy(true).evaluate(y));
+        Assertions.assertArrayEquals(x, y, "Copy modified the input");
+        Assertions.assertEquals(expected, m.evaluate(y));
+        Arrays.sort(x);
+        Arrays.sort(y);
+        Assertions.assertArrayEquals(x, y, "Input values were changed");
+        final int n = x.length;
+        final long[] z = TestHelper.concatenate(new long[] {Long.MIN_VALUE}, x, new long[] {Long.MAX_VALUE});
+        Assertions.assertEquals(expected, m.evaluateRange(z, 1, n + 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(z, 1, n + 3));
+    }
+
+    static Stream<Arguments> testMedianAbsoluteDeviation() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {1, 2, 3, 4, 5, 10, 51, 200}) {
+            for (int i = 0; i < 3; i++) {
+                builder.add(Arguments.of((Object) rng.doubles(n, -10, 10).toArray()));
+            }
+            // Repeated values
+            builder.add(Arguments.of((Object) rng.ints(n, 0, 5).asDoubleStream().toArray()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compute the expected median absolute deviation using a full sort.
+     *
+     * @param values Values.
+     * @return the median absolute deviation
+     */
+    private static double expected(double[] values) {
+        final double m = median(values);
+        return median(Arrays.stream(values).map(x -> Math.abs(x - m)).toArray());
+    }
+
+    /**
+     * Compute the median using a full sort.
+     *
+     * @param values Values.
+     * @return the median
+     */
+    private static double median(double[] values) {
+        final double[] x = values.clone();
+        Arrays.sort(x);
+        final int k = x.length >>> 1;
+        return (x.length & 0x1) == 1 ? x[k] : (x[k - 1] + x[k]) / 2;
+    }
+}
@@ -17,8 +17,12 @@
 
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.rng.sampling.ArraySampler;
@@ -169,6 +173,81 @@ class MedianTest {
         return Interpolation.mean(x[m - 1], x[m]);
     }
 
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleMedian"})
+    void testDoubleMedianDirectBuffer(double[] values, double expected) {
+        Assertions.assertEquals(expected, Median.withDefaults().evaluate(TestHelper.directBuffer(values)));
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleMedian"})
+    void testDoubleMedianDirectBufferExcludeNaN(double[] values, double expected) {
+        // If NaN is present then the result will change from expected so ignore this
+        Assumptions.assumeFalse(Arrays.stream(values).anyMatch(Double::isNaN));
+        final Median m = Median.withDefaults().with(NaNPolicy.EXCLUDE);
+        for (final int pos : new int[] {0, values.length >>> 1, values.length}) {
+            final double[] x = new double[values.length + 1];
+            System.arraycopy(values, 0, x, 0, pos);
+            x[pos] = Double.NaN;
+            System.arraycopy(values, pos, x, pos + 1, values.length - pos);
+            Assertions.assertEquals(expected, m.evaluate(TestHelper.directBuffer(x)));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleMedian"})
+    void testDoubleMedianDirectBufferErrorNaN(double[] values, double expected) {
+        final Median m = Median.withDefaults().with(NaNPolicy.ERROR);
+        final DoubleBuffer b = TestHelper.directBuffer(values);
+        if (Arrays.stream(values).anyMatch(Double::isNaN)) {
+            final double[] y = TestHelper.contents(b);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> m.evaluate(b));
+            TestHelper.assertContents(y, b, false);
+        } else {
+            Assertions.assertEquals(expected, m.evaluate(b));
+        }
+    }
+
+    /**
+     * Test the median of heap, sliced, read-only and direct buffers match the
+     * result of the array. The buffer position and limit must be unchanged and
+     * content outside the buffer range must not be modified.
+     */
+    @Test
+    void testDoubleMedianBuffer() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {0, 1, 2, 3, 5, 50, 51, 1000}) {
+            // Repeated values, signed zeros and NaN
+            final double[] values = rng.ints(n, -10, 10).mapToDouble(i -> {
+                if (i == 0) {
+                    return rng.nextBoolean() ? -0.0 : 0.0;
+                }
+                return i == 9 ? Double.NaN : i;
+            }).toArray();
+            final double[] data = TestHelper.concatenate(new double[] {-1}, values, new double[] {-1});
+            for (final NaNPolicy policy : new NaNPolicy[] {NaNPolicy.INCLUDE, NaNPolicy.EXCLUDE}) {
+                final double expected = Median.withDefaults().with(policy).withCopy(true).evaluate(values);
+                for (final boolean copy : new boolean[] {true, false}) {
+                    final Median m = Median.withDefaults().with(policy).withCopy(copy);
+                    assertMedian(m, DoubleBuffer.wrap(data.clone(), 1, n), expected, !copy);
+                    assertMedian(m, DoubleBuffer.wrap(data.clone(), 1, n).slice(), expected, !copy);
+                    assertMedian(m, DoubleBuffer.wrap(data.clone(), 1, n).asReadOnlyBuffer(), expected, false);
+                    assertMedian(m, TestHelper.directBuffer(values), expected, !copy);
+                }
+            }
+        }
+    }
+
+    private static void assertMedian(Median m, DoubleBuffer b, double expected, boolean modified) {
+        final int position = b.position();
+        final int limit = b.limit();
+        final double[] original = TestHelper.contents(b);
+        Assertions.assertEquals(expected, m.evaluate(b));
+        Assertions.assertEquals(position, b.position(), "position");
+        Assertions.assertEquals(limit, b.limit(), "limit");
+        TestHelper.assertContents(original, b, modified);
+    }
+
     @Test
     void testDoubleMedianWithCopy() {
         assertMedianWithCopy(new double[] {2, 1}, 1.5);
@@ -321,6 +400,44 @@ class MedianTest {
         return 0.5 * x[m - 1] + 0.5 * x[m];
     }
 
+    @ParameterizedTest
+    @MethodSource(value = {"testIntMedian"})
+    void testIntMedianDirectBuffer(int[] values, double expected) {
+        Assertions.assertEquals(expected, Median.withDefaults().evaluate(TestHelper.directBuffer(values)));
+    }
+
+    /**
+     * Test the median of heap, sliced, read-only and direct buffers match the
+     * result of the array. The buffer position and limit must be unchanged and
+     * content outside the buffer range must not be modified.
+     */
+    @Test
+    void testIntMedianBuffer() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {0, 1, 2, 3, 5, 50, 51, 1000}) {
+            final int[] values = rng.ints(n, -10, 10).toArray();
+            final int[] data = TestHelper.concatenate(new int[] {-1}, values, new int[] {-1});
+            final double expected = Median.withDefaults().withCopy(true).evaluate(values);
+            for (final boolean copy : new boolean[] {true, false}) {
+                final Median m = Median.withDefaults().withCopy(copy);
+                assertMedian(m, IntBuffer.wrap(data.clone(), 1, n), expected, !copy);
+                assertMedian(m, IntBuffer.wrap(data.clone(), 1, n).slice(), expected, !copy);
+                assertMedian(m, IntBuffer.wrap(data.clone(), 1, n).asReadOnlyBuffer(), expected, false);
+                assertMedian(m, TestHelper.directBuffer(values), expected, !copy);
+            }
+        }
+    }
+
+    private static void assertMedian(Median m, IntBuffer b, double expected, boolean modified) {
+        final int position = b.position();
+        final int limit = b.limit();
+        final int[] original = TestHelper.contents(b);
+        Assertions.assertEquals(expected, m.evaluate(b));
+        Assertions.assertEquals(position, b.position(), "position");
+        Assertions.assertEquals(limit, b.limit(), "limit");
+        TestHelper.assertContents(original, b, modified);
+    }
+
     @Test
     void testIntMedianWithCopy() {
         assertMedianWithCopy(new int[] {2, 1}, 1.5);
@@ -337,6 +454,44 @@ class MedianTest {
         Assertions.assertFalse(Arrays.equals(original, values));
     }
 
+    /**
+     * Test data with a small span of values evaluates the same as the {@code double} data.
+     * This data is evaluated using a count of the values and the input is not modified.
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testIntMedianSmallSpan(int n, int lower, int upper) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int size : new int[] {n, n + 1}) {
+            final int[] x = rng.ints(size, lower, upper).toArray();
+            final double[] y = Arrays.stream(x).asDoubleStream().toArray();
+            final int[] values = x.clone();
+            final Median m = Median.withDefaults();
+            Assertions.assertEquals(m.withCopy(true).evaluate(y), m.evaluate(values));
+            Assertions.assertArrayEquals(x, values, "Data is modified");
+            // Range
+            final int from = size / 4;
+            final int to = size - from;
+            Assertions.assertEquals(m.withCopy(true).evaluateRange(y, from, to),
+                m.evaluateRange(values, from, to));
+        }
+    }
+
+    static Stream<Arguments> testIntMedianSmallSpan() {
+        return Stream.of(
+            // Byte data
+            Arguments.of(1000, -128, 128),
+            Arguments.of(300, 0, 256),
+            // Categorical codes
+            Arguments.of(100, 1, 6),
+            Arguments.of(5000, 200, 600),
+            Arguments.of(1000, 42, 43),
+            // Extreme values
+            Arguments.of(500, Integer.MIN_VALUE, Integer.MIN_VALUE + 300),
+            Arguments.of(500, Integer.MAX_VALUE - 300, Integer.MAX_VALUE)
+        );
+    }
+
     @ParameterizedTest
     @MethodSource(value = {"org.apache.commons.statistics.descriptive.TestData#arrayRangeTestData"})
     final void testIntMedianRangeThrows(int from, int to, int length) {
@@ -452,6 +607,45 @@ class MedianTest {
         return TestHelper.interpolate(x[m - 1], x[m], 0.5);
     }
 
+    @ParameterizedTest
+    @MethodSource(value = {"testLongMedian"})
+    void testLongMedianDirectBuffer(long[] values, StatisticResult expected) {
+        TestHelper.assertEquals(expected, Median.withDefaults().evaluate(TestHelper.directBuffer(values)),
+            null, () -> "median");
+    }
+
+    /**
+     * Test the median of heap, sliced, read-only and direct buffers match the
+     * result of the array. The buffer position and limit must be unchanged and
+     * content outside the buffer range must not be modified.
+     */
+    @Test
+    void testLongMedianBuffer() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {0, 1, 2, 3, 5, 50, 51, 1000}) {
+            final long[] values = rng.longs(n, Long.MIN_VALUE >> 1, Long.MAX_VALUE).toArray();
+            final long[] data = TestHelper.concatenate(new long[] {-1}, values, new long[] {-1});
+            final StatisticResult expected = Median.withDefaults().withCopy(true).evaluate(values);
+            for (final boolean copy : new boolean[] {true, false}) {
+                final Median m = Median.withDefaults().withCopy(copy);
+                assertMedian(m, LongBuffer.wrap(data.clone(), 1, n), expected, !copy);
+                assertMedian(m, LongBuffer.wrap(data.clone(), 1, n).slice(), expected, !copy);
+                assertMedian(m, LongBuffer.wrap(data.clone(), 1, n).asReadOnlyBuffer(), expected, false);
+                assertMedian(m, TestHelper.directBuffer(values), expected, !copy);
+            }
+        }
+    }
+
+    private static void assertMedian(Median m, LongBuffer b, StatisticResult expected, boolean modified) {
+        final int position = b.position();
+        final int limit = b.limit();
+        final long[] original = TestHelper.contents(b);
+        TestHelper.assertEquals(expected, m.evaluate(b), null, () -> "median");
+        Assertions.assertEquals(position, b.position(), "position");
+        Assertions.assertEquals(limit, b.limit(), "limit");
+        TestHelper.assertContents(original, b, modified);
+    }
+
     @Test
     void testLongMedianWithCopy() {
         assertMedianWithCopy(new long[] {2, 1}, () -> 1.5);
@@ -535,4 +729,179 @@ class MedianTest {
         final StatisticResult r2 = m.evaluateRange(new long[] {Long.MAX_VALUE}, 0, 1);
         Assertions.assertThrows(ArithmeticException.class, r2::getAsInt, "overflow range");
     }
+
+    @ParameterizedTest
+    @MethodSource(value = "testMedianRanges")
+    void testDoubleMedianRanges(int n, int ranges) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] b = TestHelper.randomBoundaries(rng, n, ranges);
+        final double[] values = rng.doubles(n).toArray();
+        for (final NaNPolicy policy : NaNPolicy.values()) {
+            assertMedianRanges(values, b, policy);
+        }
+        // Add NaN
+        for (int i = 0; i < n; i += 7) {
+            values[i] = Double.NaN;
+        }
+        assertMedianRanges(values, b, NaNPolicy.INCLUDE);
+        assertMedianRanges(values, b, NaNPolicy.EXCLUDE);
+        if (IntStream.range(0, ranges).anyMatch(i -> b[i] < b[i + 1] &&
+                Arrays.stream(values, b[i], b[i + 1]).anyMatch(Double::isNaN))) {
+            final Median m = Median.withDefaults().with(NaNPolicy.ERROR);
+            Assertions.assertThrows(IllegalArgumentException.class,
+                () -> m.evaluateRanges(values.clone(), b, new double[ranges]));
+        }
+    }
+
+    private static void assertMedianRanges(double[] values, int[] b, NaNPolicy policy) {
+        final int ranges = b.length - 1;
+        final Median m = Median.withDefaults().with(policy);
+        // Reference result on each range. The ranges do not overlap so can use the same copy.
+        final double[] expected = new double[ranges];
+        final double[] x1 = values.clone();
+        for (int i = 0; i < ranges; i++) {
+            expected[i] = m.evaluateRange(x1, b[i], b[i + 1]);
+        }
+        for (final boolean copy : new boolean[] {false, true}) {
+            for (final boolean parallel : new boolean[] {false, true}) {
+                final Supplier<String> msg = () -> String.format("%s, copy=%b, parallel=%b", policy, copy, parallel);
+                // Output may be larger than required
+                final double[] r = new double[ranges + 1];
+                r[ranges] = 42;
+                final double[] x = values.clone();
+                m.withCopy(copy).withParallel(parallel).evaluateRanges(x, b, r);
+                Assertions.assertArrayEquals(expected, Arrays.copyOf(r, ranges), msg);
+                Assertions.assertEquals(42, r[ranges], msg);
+                if (copy) {
+                    Assertions.assertArrayEquals(values, x, msg);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testMedianRanges")
+    void testIntMedianRanges(int n, int ranges) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] b = TestHelper.randomBoundaries(rng, n, ranges);
+        final int[] values = rng.ints(n, -100, 100).toArray();
+        final Median m = Median.withDefaults();
+        // Reference result on each range. The ranges do not overlap so can use the same copy.
+        final double[] expected = new double[ranges];
+        final int[] x1 = values.clone();
+        for (int i = 0; i < ranges; i++) {
+            expected[i] = m.evaluateRange(x1, b[i], b[i + 1]);
+        }
+        for (final boolean copy : new boolean[] {false, true}) {
+            for (final boolean parallel : new boolean[] {false, true}) {
+                final Supplier<String> msg = () -> String.format("copy=%b, parallel=%b", copy, parallel);
+                final double[] r = new double[ranges];
+                final int[] x = values.clone();
+                m.withCopy(copy).withParallel(parallel).evaluateRanges(x, b, r);
+                Assertions.assertArrayEquals(expected, r, msg);
+                if (copy) {
+                    Assertions.assertArrayEquals(values, x, msg);
+                }
+            }
+        }
+    }
+
+    static Stream<Arguments> testMedianRanges() {
+        return Stream.of(
+            Arguments.of(0, 0),
+            Arguments.of(0, 3),
+            Arguments.of(10, 3),
+            Arguments.of(100, 20),
+            Arguments.of(1000, 50),
+            // Large enough to be split for parallel evaluation
+            Arguments.of(20000, 100),
+            Arguments.of(20000, 1000)
+        );
+    }
+
+    @Test
+    void testMedianRangesThrows() {
+        final double[] x = new double[10];
+        final int[] y = new int[10];
+        final double[] r = new double[2];
+        final Median m = Median.withDefaults();
+        // Invalid ranges
+        for (final int[] b : new int[][] {{-1, 2}, {0, 11}, {5, 4}, {0, 5, 4}}) {
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRanges(x, b, r));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRanges(y, b, r));
+        }
+        // Output too small
+        final int[] b = {0, 2, 4, 6};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.evaluateRanges(x, b, r));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.evaluateRanges(y, b, r));
+        // No ranges
+        m.evaluateRanges(x, new int[0], new double[0]);
+        m.evaluateRanges(y, new int[] {3}, new double[0]);
+    }
+
+    static Stream<Arguments> testMedianWorkspace() {
+        // Exclude large data used for parallel evaluation
+        return testMedianRanges().filter(a -> (int) a.get()[0] <= 1000);
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testMedianWorkspace")
+    void testMedianWorkspace(int n, int ranges) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] b = TestHelper.randomBoundaries(rng, n, ranges);
+        final double[] values = rng.doubles(n).toArray();
+        for (int i = 0; i < n; i += 7) {
+            values[i] = Double.NaN;
+        }
+        final int[] ints = rng.ints(n, -100, 100).toArray();
+        final long[] longs = rng.longs(n, -100, 100).toArray();
+        for (final NaNPolicy policy : new NaNPolicy[] {NaNPolicy.INCLUDE, NaNPolicy.EXCLUDE}) {
+            for (final boolean copy : new boolean[] {false, true}) {
+                final Supplier<String> msg = () -> String.format("%s, copy=%b", policy, copy);
+                final Median m = Median.withDefaults().with(policy).withCopy(copy);
+                // The same workspace is used for all data types and ranges of different lengths
+                final QuantileWorkspace w = QuantileWorkspace.create();
+                for (int i = 0; i < ranges; i++) {
+                    final int from = b[i];
+                    final int to = b[i + 1];
+                    final double[] x = values.clone();
+                    Assertions.assertEquals(m.evaluateRange(values.clone(), from, to),
+                        m.evaluateRange(x, from, to, w), msg);
+                    final int[] y = ints.clone();
+                    Assertions.assertEquals(m.evaluateRange(ints.clone(), from, to),
+                        m.evaluateRange(y, from, to, w), msg);
+                    final long[] z = longs.clone();
+                    Assertions.assertEquals(m.evaluateRange(longs.clone(), from, to).getAsDouble(),
+                        m.evaluateRange(z, from, to, w).getAsDouble(), msg);
+                    if (copy) {
+                        Assertions.assertArrayEquals(values, x, msg);
+                        Assertions.assertArrayEquals(ints, y, msg);
+                        Assertions.assertArrayEquals(longs, z, msg);
+                    }
+                }
+                final int len = Math.min(n, 50);
+                Assertions.assertEquals(m.evaluate(Arrays.copyOf(values, len)),
+                    m.evaluate(Arrays.copyOf(values, len), w), msg);
+                Assertions.assertEquals(m.evaluate(Arrays.copyOf(ints, len)),
+                    m.evaluate(Arrays.copyOf(ints, len), w), msg);
+                Assertions.assertEquals(m.evaluate(Arrays.copyOf(longs, len)).getAsDouble(),
+                    m.evaluate(Arrays.copyOf(longs, len), w).getAsDouble(), msg);
+            }
+        }
+    }
+
+    @Test
+    void testMedianWorkspaceThrows() {
+        final double[] x = {1, Double.NaN, 3};
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final Median m = Median.withDefaults().withCopy(true);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(x, 0, 4, w));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(new int[3], 2, 1, w));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(new long[3], -1, 1, w));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.with(NaNPolicy.ERROR).evaluate(x, w));
+        // Same workspace can be used after an error
+        Assertions.assertEquals(3, m.evaluate(x, w));
+        Assertions.assertEquals(2, m.with(NaNPolicy.EXCLUDE).evaluate(x, w));
+        Assertions.assertTrue(Double.isNaN(x[1]), "Values were modified");
+    }
 }
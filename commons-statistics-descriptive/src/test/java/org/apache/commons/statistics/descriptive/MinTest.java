@@ -16,10 +16,14 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link Min}.
@@ -74,4 +78,29 @@ final class MinTest extends BaseDoubleStatisticTest<Min> {
             addCase(1, 2, 3, 4, -Double.MAX_VALUE)
         );
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            Min.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final Min s = Min.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(Min.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(Min.of(1, 2, 3, 4, 5.5).combine(Min.of(7, 8.25)).getAsDouble(),
+                s.combine(Min.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            Min.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(Min.create().getAsDouble(), Min.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Min.readFrom(buffer));
+    }
 }
@@ -58,6 +58,7 @@ class NaNTransformersTest {
     void testNaNError(double[] a) {
         assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.ERROR, false), true, false);
         assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.ERROR, true), true, true);
+        assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.ERROR, new double[a.length]), true, true);
     }
 
     @ParameterizedTest
@@ -65,6 +66,7 @@ class NaNTransformersTest {
     void testNaNInclude(double[] a) {
         assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.INCLUDE, false), true, false);
         assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.INCLUDE, true), true, true);
+        assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.INCLUDE, new double[a.length]), true, true);
     }
 
     @ParameterizedTest
@@ -72,6 +74,25 @@ class NaNTransformersTest {
     void testNaNExclude(double[] a) {
         assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.EXCLUDE, false), false, false);
         assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.EXCLUDE, true), false, true);
+        assertNaNTransformer(a, NaNTransformers.createNaNTransformer(NaNPolicy.EXCLUDE, new double[a.length]), false, true);
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"nonNanData"})
+    void testNaNBuffer(double[] a) {
+        final double[] buffer = new double[a.length + 1];
+        final int[] bounds = new int[2];
+        for (final NaNPolicy p : NaNPolicy.values()) {
+            final NaNTransformer t = NaNTransformers.createNaNTransformer(p, buffer);
+            Assertions.assertSame(buffer, t.apply(a, 0, a.length, bounds));
+            Assertions.assertArrayEquals(new int[] {0, a.length}, bounds);
+            Assertions.assertArrayEquals(a, Arrays.copyOf(buffer, a.length));
+            // Buffer is reused
+            if (a.length > 0) {
+                Assertions.assertSame(buffer, t.apply(a, 1, a.length, bounds));
+                Assertions.assertArrayEquals(new int[] {0, a.length - 1}, bounds);
+            }
+        }
     }
 
     /**
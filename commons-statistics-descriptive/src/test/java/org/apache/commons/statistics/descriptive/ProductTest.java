@@ -16,10 +16,14 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link Product}.
@@ -74,4 +78,29 @@ final class ProductTest extends BaseDoubleStatisticTest<Product> {
         builder.accept(addReference(3081078000.0, DoubleTolerances.ulps(1), 5, 9, 13, 14, 10, 12, 11, 15, 19));
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            Product.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final Product s = Product.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(Product.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(Product.of(1, 2, 3, 4, 5.5).combine(Product.of(7, 8.25)).getAsDouble(),
+                s.combine(Product.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            Product.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(Product.create().getAsDouble(), Product.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Product.readFrom(buffer));
+    }
 }
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link QuantileSketch}.
+ */
+class QuantileSketchTest {
+    /** Probabilities used for testing. */
+    private static final double[] PROBABILITIES = {
+        0, 0.001, 0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1,
+    };
+
+    @Test
+    void testInvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> QuantileSketch.create(9));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> QuantileSketch.create(-1));
+        final QuantileSketch s = QuantileSketch.create();
+        Assertions.assertThrows(NullPointerException.class, () -> s.setEstimationMethod(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.getQuantile(-0.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.getQuantile(1.1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.getQuantile(Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.getQuantiles());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.getQuantiles(0.5, 2));
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"org.apache.commons.statistics.descriptive.TestData#arrayRangeTestData"})
+    void testArrayRangeThrows(int from, int to, int length) {
+        final double[] values = new double[length];
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> QuantileSketch.ofRange(values, from, to));
+    }
+
+    @Test
+    void testEmpty() {
+        final QuantileSketch s = QuantileSketch.create();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        Assertions.assertEquals(Double.NaN, s.getQuantile(0));
+        Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN}, s.getQuantiles(0, 1));
+        // Combine empty
+        Assertions.assertEquals(Double.NaN, s.combine(QuantileSketch.create()).getAsDouble());
+    }
+
+    /**
+     * Test the sketch is exact when no values have been merged into centroids.
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testExact(double[] values) {
+        final double[] x = values.clone();
+        for (final EstimationMethod m : EstimationMethod.values()) {
+            final Quantile q = Quantile.withDefaults().with(m);
+            final double[] expected = q.evaluate(x.clone(), PROBABILITIES);
+            final QuantileSketch s = QuantileSketch.of(x).setEstimationMethod(m);
+            Assertions.assertArrayEquals(expected, s.getQuantiles(PROBABILITIES), () -> m.toString());
+            for (int i = 0; i < PROBABILITIES.length; i++) {
+                Assertions.assertEquals(expected[i], s.getQuantile(PROBABILITIES[i]));
+            }
+            Assertions.assertEquals(q.evaluate(x.clone(), 0.5), s.getAsDouble());
+            // Range
+            final double[] y = new double[x.length + 3];
+            System.arraycopy(x, 0, y, 1, x.length);
+            Assertions.assertArrayEquals(expected,
+                QuantileSketch.ofRange(y, 1, 1 + x.length).setEstimationMethod(m).getQuantiles(PROBABILITIES));
+        }
+    }
+
+    static Stream<Arguments> testExact() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new double[] {42}));
+        builder.add(Arguments.of(new double[] {1, 2}));
+        builder.add(Arguments.of(new double[] {3, -1, 2}));
+        builder.add(Arguments.of(new double[] {0.0, -0.0, 1, -1}));
+        builder.add(Arguments.of(new double[] {Double.NEGATIVE_INFINITY, 1, 2, Double.POSITIVE_INFINITY}));
+        builder.add(Arguments.of(new double[] {Double.MAX_VALUE, -Double.MAX_VALUE, 0}));
+        builder.add(Arguments.of(new double[] {1, 2, Double.NaN}));
+        builder.add(Arguments.of(new double[] {Double.NaN, Double.NaN}));
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create();
+        for (final int n : new int[] {5, 10, 51, 100, 500}) {
+            builder.add(Arguments.of(rng.doubles(n).toArray()));
+            builder.add(Arguments.of(rng.ints(n, -10, 10).asDoubleStream().toArray()));
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testNaN() {
+        final QuantileSketch s = QuantileSketch.create();
+        for (int i = 0; i < 10000; i++) {
+            s.accept(i);
+        }
+        s.accept(Double.NaN);
+        Assertions.assertEquals(0, s.getQuantile(0));
+        // Upper position is the NaN
+        Assertions.assertEquals(Double.NaN, s.getQuantile(1));
+        Assertions.assertFalse(Double.isNaN(s.getAsDouble()));
+    }
+
+    /**
+     * Test the approximation error of the sketch is small.
+     * The error is measured as the difference between the rank of the estimated
+     * quantile and the target rank.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {50, 100, 200})
+    void testAccuracy(int compression) {
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create();
+        final int n = 100000;
+        final double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Skewed distribution
+            x[i] = -Math.log(rng.nextDouble());
+        }
+        final QuantileSketch s = QuantileSketch.create(compression);
+        Arrays.stream(x).forEach(s);
+        Assertions.assertTrue(s.getCentroidCount() <= 2 * compression);
+        assertAccuracy(x, s, compression);
+    }
+
+    /**
+     * Test the sketch created by combining is as accurate as a single sketch.
+     */
+    @Test
+    void testCombine() {
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create();
+        final int compression = 100;
+        final int n = 100000;
+        final double[] x = rng.doubles(n).map(Math::log).toArray();
+        final QuantileSketch s = QuantileSketch.create(compression);
+        // Unequal sized parts, including some that are exact
+        int from = 0;
+        for (final int size : new int[] {10, 30000, 200, 40000, 17, 25000}) {
+            final int to = from + size;
+            final QuantileSketch t = QuantileSketch.create(compression);
+            Arrays.stream(x, from, to).forEach(t);
+            Assertions.assertSame(s, s.combine(t));
+            from = to;
+        }
+        final QuantileSketch t = QuantileSketch.create(compression);
+        Arrays.stream(x, from, n).forEach(t);
+        s.combine(t);
+        assertAccuracy(x, s, compression);
+        // Stream collector
+        final QuantileSketch u = Arrays.stream(x).parallel()
+            .collect(QuantileSketch::create, QuantileSketch::accept, QuantileSketch::combine);
+        assertAccuracy(x, u, compression);
+    }
+
+    @Test
+    void testCombineWithSelf() {
+        final double[] x = RandomSource.XO_SHI_RO_128_PP.create().doubles(5000).toArray();
+        final QuantileSketch s = QuantileSketch.of(x);
+        s.combine(s);
+        final double[] y = new double[x.length * 2];
+        System.arraycopy(x, 0, y, 0, x.length);
+        System.arraycopy(x, 0, y, x.length, x.length);
+        assertAccuracy(y, s, 100);
+        Assertions.assertEquals(Arrays.stream(x).min().getAsDouble(), s.getQuantile(0));
+        Assertions.assertEquals(Arrays.stream(x).max().getAsDouble(), s.getQuantile(1));
+    }
+
+    /**
+     * Assert the rank error of the sketch quantiles. The t-digest has a small
+     * absolute rank error in the tails and a larger error in the centre.
+     *
+     * @param x Values.
+     * @param s Sketch.
+     * @param compression Compression.
+     */
+    private static void assertAccuracy(double[] x, QuantileSketch s, int compression) {
+        final double[] sorted = x.clone();
+        Arrays.sort(sorted);
+        final int n = sorted.length;
+        Assertions.assertEquals(sorted[0], s.getQuantile(0));
+        Assertions.assertEquals(sorted[n - 1], s.getQuantile(1));
+        for (final double p : PROBABILITIES) {
+            final double q = s.getQuantile(p);
+            // Empirical CDF of the estimate
+            final int lo = lowerBound(sorted, q);
+            final int hi = upperBound(sorted, q);
+            final double target = p * n;
+            final double error = target < lo ? lo - target : target > hi ? target - hi : 0;
+            // The k1 scale function limits a centroid size to approximately
+            // n * pi * sqrt(q(1-q)) / compression
+            final double bound = Math.max(5, 2 * Math.PI * n * Math.sqrt(p * (1 - p)) / compression);
+            Assertions.assertTrue(error <= bound,
+                () -> String.format("p=%s: rank error %s > %s", p, error, bound));
+        }
+    }
+
+    /**
+     * Find the number of values strictly below the key.
+     *
+     * @param a Sorted values.
+     * @param key Key.
+     * @return the count
+     */
+    private static int lowerBound(double[] a, double key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            final int m = (lo + hi) >>> 1;
+            if (a[m] < key) {
+                lo = m + 1;
+            } else {
+                hi = m;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Find the number of values below or equal to the key.
+     *
+     * @param a Sorted values.
+     * @param key Key.
+     * @return the count
+     */
+    private static int upperBound(double[] a, double key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            final int m = (lo + hi) >>> 1;
+            if (a[m] <= key) {
+                lo = m + 1;
+            } else {
+                hi = m;
+            }
+        }
+        return lo;
+    }
+}
@@ -17,8 +17,12 @@
 
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import org.apache.commons.rng.UniformRandomProvider;
@@ -191,6 +195,231 @@ class QuantileTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleQuantile"})
+    void testDoubleQuantileDirectBuffer(double[] values, double[] p, double[][] expected, double delta) {
+        assertQuantile(Quantile.withDefaults(), values, p, expected, delta,
+            (q, x, pp) -> q.evaluate(TestHelper.directBuffer(x), pp),
+            (q, x, pp) -> q.evaluate(TestHelper.directBuffer(x), pp));
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleQuantile"})
+    void testDoubleQuantileDirectBufferExcludeNaN(double[] values, double[] p, double[][] expected, double delta) {
+        // If NaN is present then the result will change from expected so ignore this
+        Assumptions.assumeTrue(Arrays.stream(values).filter(Double::isNaN).count() == 0);
+        final Quantile q = Quantile.withDefaults().with(NaNPolicy.EXCLUDE);
+        for (final int pos : new int[] {0, values.length >>> 1, values.length}) {
+            final double[] x = new double[values.length + 1];
+            System.arraycopy(values, 0, x, 0, pos);
+            x[pos] = Double.NaN;
+            System.arraycopy(values, pos, x, pos + 1, values.length - pos);
+            assertQuantile(q, x, p, expected, delta,
+                (qq, y, pp) -> qq.evaluate(TestHelper.directBuffer(y), pp),
+                (qq, y, pp) -> qq.evaluate(TestHelper.directBuffer(y), pp));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleQuantile"})
+    void testDoubleQuantileDirectBufferErrorNaN(double[] values, double[] p, double[][] expected, double delta) {
+        final Quantile q = Quantile.withDefaults().with(NaNPolicy.ERROR);
+        if (Arrays.stream(values).anyMatch(Double::isNaN)) {
+            final DoubleBuffer b = TestHelper.directBuffer(values);
+            final double[] y = TestHelper.contents(b);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(b, p));
+            TestHelper.assertContents(y, b, false);
+        } else {
+            assertQuantile(q, values, p, expected, delta,
+                (qq, x, pp) -> qq.evaluate(TestHelper.directBuffer(x), pp),
+                (qq, x, pp) -> qq.evaluate(TestHelper.directBuffer(x), pp));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleQuantile"})
+    void testDoubleQuantileStream(double[] values, double[] p, double[][] expected, double delta) {
+        assertQuantile(Quantile.withDefaults(), values, p, expected, delta,
+            (q, x, pp) -> q.evaluate(() -> Arrays.stream(x), pp),
+            (q, x, pp) -> q.evaluate(() -> Arrays.stream(x), pp));
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleQuantile"})
+    void testDoubleQuantileStreamExcludeNaN(double[] values, double[] p, double[][] expected, double delta) {
+        // If NaN is present then the result will change from expected so ignore this
+        Assumptions.assumeTrue(Arrays.stream(values).filter(Double::isNaN).count() == 0);
+        final Quantile q = Quantile.withDefaults().with(NaNPolicy.EXCLUDE);
+        for (final int pos : new int[] {0, values.length >>> 1, values.length}) {
+            final double[] x = new double[values.length + 1];
+            System.arraycopy(values, 0, x, 0, pos);
+            x[pos] = Double.NaN;
+            System.arraycopy(values, pos, x, pos + 1, values.length - pos);
+            assertQuantile(q, x, p, expected, delta,
+                (qq, y, pp) -> qq.evaluate(() -> Arrays.stream(y), pp),
+                (qq, y, pp) -> qq.evaluate(() -> Arrays.stream(y), pp));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleQuantile"})
+    void testDoubleQuantileStreamErrorNaN(double[] values, double[] p, double[][] expected, double delta) {
+        final Quantile q = Quantile.withDefaults().with(NaNPolicy.ERROR);
+        if (Arrays.stream(values).anyMatch(Double::isNaN)) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(() -> Arrays.stream(values), p));
+        } else {
+            assertQuantile(q, values, p, expected, delta,
+                (qq, x, pp) -> qq.evaluate(() -> Arrays.stream(x), pp),
+                (qq, x, pp) -> qq.evaluate(() -> Arrays.stream(x), pp));
+        }
+    }
+
+    @Test
+    void testDoubleQuantileStreamRandom() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] p = {0, 0.001, 0.1, 0.5, 0.75, 0.999, 1};
+        for (final int n : new int[] {1, 2, 5, 50, 1000, 10000}) {
+            // Wide range of magnitudes, signed zeros and repeats
+            final double[] values = rng.doubles(n).map(x -> {
+                final double y = Math.scalb(x - 0.5, rng.nextInt(-50, 50));
+                return rng.nextInt(10) == 0 ? Math.copySign(0.0, y) : y;
+            }).toArray();
+            for (final EstimationMethod type : TYPES) {
+                final Quantile q = Quantile.withDefaults().with(type);
+                final double[] expected = q.withCopy(true).evaluate(values, p);
+                Assertions.assertArrayEquals(expected, q.evaluate(() -> Arrays.stream(values).parallel(), p));
+            }
+        }
+    }
+
+    /**
+     * Test the quantiles of heap, sliced, read-only and direct buffers match the
+     * result of the array. The buffer position and limit must be unchanged and
+     * content outside the buffer range must not be modified.
+     */
+    @Test
+    void testDoubleQuantileBuffer() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] p = {0, 0.1, 0.5, 0.75, 1};
+        for (final int n : new int[] {0, 1, 2, 5, 50, 51, 1000}) {
+            // Repeated values, signed zeros and NaN
+            final double[] values = rng.ints(n, -10, 10).mapToDouble(i -> {
+                if (i == 0) {
+                    return rng.nextBoolean() ? -0.0 : 0.0;
+                }
+                return i == 9 ? Double.NaN : i;
+            }).toArray();
+            final double[] data = TestHelper.concatenate(new double[] {-1}, values, new double[] {-1});
+            for (final NaNPolicy policy : new NaNPolicy[] {NaNPolicy.INCLUDE, NaNPolicy.EXCLUDE}) {
+                final double[] expected = Quantile.withDefaults().with(policy).withCopy(true).evaluate(values, p);
+                for (final boolean copy : new boolean[] {true, false}) {
+                    final Quantile q = Quantile.withDefaults().with(policy).withCopy(copy);
+                    assertQuantile(q, DoubleBuffer.wrap(data.clone(), 1, n), p, expected, !copy);
+                    assertQuantile(q, DoubleBuffer.wrap(data.clone(), 1, n).slice(), p, expected, !copy);
+                    assertQuantile(q, DoubleBuffer.wrap(data.clone(), 1, n).asReadOnlyBuffer(), p, expected, false);
+                    assertQuantile(q, TestHelper.directBuffer(values), p, expected, !copy);
+                }
+            }
+        }
+    }
+
+    private static void assertQuantile(Quantile q, DoubleBuffer b, double[] p, double[] expected,
+        boolean modified) {
+        final int position = b.position();
+        final int limit = b.limit();
+        final double[] original = TestHelper.contents(b);
+        Assertions.assertArrayEquals(expected, q.evaluate(b, p));
+        for (int i = 0; i < p.length; i++) {
+            Assertions.assertEquals(expected[i], q.evaluate(b, p[i]));
+        }
+        Assertions.assertEquals(position, b.position(), "position");
+        Assertions.assertEquals(limit, b.limit(), "limit");
+        TestHelper.assertContents(original, b, modified);
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = {"testDoubleQuantile"})
+    void testDoubleQuantileWeighted(double[] values, double[] p, double[][] expected, double delta) {
+        // Unit weights
+        final double[] w = new double[values.length];
+        Arrays.fill(w, 1);
+        assertQuantile(Quantile.withDefaults(), values, p, expected, delta,
+            (q, x, pp) -> q.evaluateWeighted(x, w, pp),
+            (q, x, pp) -> q.evaluateWeighted(x, w, pp));
+        // Input is not modified
+        final double[] y = values.clone();
+        Quantile.withDefaults().evaluateWeighted(values, w, p);
+        Assertions.assertArrayEquals(y, values, "Input was modified");
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.apache.commons.statistics.descriptive.TestData#weightedTestData")
+    void testDoubleQuantileWeightedReplicated(double[] values, double[] weights) {
+        final double[] x = TestHelper.replicate(values, weights);
+        final double[] p = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+        for (final EstimationMethod type : EstimationMethod.values()) {
+            final Quantile q = Quantile.withDefaults().with(type);
+            final double[] expected = q.evaluate(x.clone(), p);
+            Assertions.assertArrayEquals(expected, q.evaluateWeighted(values, weights, p), type::toString);
+            for (int i = 0; i < p.length; i++) {
+                Assertions.assertEquals(expected[i], q.evaluateWeighted(values, weights, p[i]), type::toString);
+            }
+        }
+    }
+
+    @Test
+    void testDoubleQuantileWeightedNonInteger() {
+        final Quantile q = Quantile.withDefaults().with(EstimationMethod.HF7);
+        // Cumulative weights: 0.5, 2, 3
+        final double[] values = {3, 1, 2};
+        final double[] weights = {1, 0.5, 1.5};
+        Assertions.assertArrayEquals(new double[] {1, 1.5, 2, 2.5, 3},
+            q.evaluateWeighted(values, weights, 0, 0.25, 0.5, 0.75, 1));
+        // Sum of weights below 1 uses the first value
+        Assertions.assertArrayEquals(new double[] {5, 5, 5},
+            q.evaluateWeighted(new double[] {7, 5}, new double[] {0.25, 0.5}, 0, 0.5, 1));
+        // No weight
+        Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN},
+            q.evaluateWeighted(new double[] {7, 5}, new double[] {0, 0}, 0, 1));
+        Assertions.assertEquals(Double.NaN, q.evaluateWeighted(new double[0], new double[0], 0.5));
+    }
+
+    @Test
+    void testDoubleQuantileWeightedNaN() {
+        final double[] values = {1, Double.NaN, 3, 2};
+        final double[] weights = {1, 1, 1, 1};
+        final Quantile q = Quantile.withDefaults().with(EstimationMethod.HF7);
+        Assertions.assertArrayEquals(new double[] {1, 2.5, Double.NaN},
+            q.evaluateWeighted(values, weights, 0, 0.5, 1));
+        Assertions.assertArrayEquals(new double[] {1, 2, 3},
+            q.with(NaNPolicy.EXCLUDE).evaluateWeighted(values, weights, 0, 0.5, 1));
+        final Quantile q2 = q.with(NaNPolicy.ERROR);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q2.evaluateWeighted(values, weights, 0.5));
+        // NaN with zero weight is an error
+        weights[1] = 0;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q2.evaluateWeighted(values, weights, 0.5));
+        Assertions.assertEquals(3, q.evaluateWeighted(values, weights, 1));
+    }
+
+    @Test
+    void testDoubleQuantileWeightedThrows() {
+        final Quantile q = Quantile.withDefaults();
+        final double[] values = {1, 2};
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> q.evaluateWeighted(values, new double[] {1}, 0.5));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> q.evaluateWeighted(values, new double[] {1, 1}, 1.5));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> q.evaluateWeighted(values, new double[] {1, 1}, new double[0]));
+        for (final double w : new double[] {-1, Double.NaN, Double.POSITIVE_INFINITY}) {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                () -> q.evaluateWeighted(values, new double[] {1, w}, 0.5));
+        }
+        final double max = Double.MAX_VALUE;
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> q.evaluateWeighted(values, new double[] {max, max}, 0.5));
+    }
+
     @ParameterizedTest
     @MethodSource(value = {"testDoubleQuantile"})
     void testDoubleQuantileSorted(double[] values, double[] p, double[][] expected, double delta) {
@@ -432,6 +661,59 @@ class QuantileTest {
         Assertions.assertFalse(Arrays.equals(original, values));
     }
 
+    /**
+     * Test many probabilities evaluate the same as each single probability.
+     * When the probabilities are dense the data is partially sorted;
+     * otherwise each index is selected.
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testDenseQuantiles(int n, double[] p) {
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create();
+        // Data with repeated values
+        final double[] x = rng.ints(n, -10, 10).asDoubleStream().toArray();
+        final int[] y = Arrays.stream(x).mapToInt(v -> (int) v).toArray();
+        final long[] z = Arrays.stream(x).mapToLong(v -> (long) v).toArray();
+        for (final EstimationMethod type : TYPES) {
+            final Quantile q = Quantile.withDefaults().with(type).withCopy(true);
+            final double[] e1 = Arrays.stream(p).map(pp -> q.evaluate(x, pp)).toArray();
+            final double[] e2 = Arrays.stream(p).map(pp -> q.evaluate(y, pp)).toArray();
+            final double[] e3 = Arrays.stream(p).map(pp -> q.evaluate(z, pp).getAsDouble()).toArray();
+            Assertions.assertArrayEquals(e1, q.evaluate(x, p), type::toString);
+            Assertions.assertArrayEquals(e2, q.evaluate(y, p), type::toString);
+            Assertions.assertArrayEquals(e3,
+                Arrays.stream(q.evaluate(z, p)).mapToDouble(StatisticResult::getAsDouble).toArray(), type::toString);
+            // Range
+            final int from = n / 4;
+            final int to = n - from;
+            final double[] ex = Arrays.stream(p).map(pp -> q.evaluateRange(x, from, to, pp)).toArray();
+            final double[] xx = x.clone();
+            Assertions.assertArrayEquals(ex, q.withCopy(false).evaluateRange(xx, from, to, p), type::toString);
+            // Data outside the range is unchanged
+            Assertions.assertArrayEquals(Arrays.copyOf(x, from), Arrays.copyOf(xx, from));
+            Assertions.assertArrayEquals(Arrays.copyOfRange(x, to, n), Arrays.copyOfRange(xx, to, n));
+        }
+        // NaN data
+        x[rng.nextInt(n)] = Double.NaN;
+        for (final NaNPolicy policy : new NaNPolicy[] {NaNPolicy.INCLUDE, NaNPolicy.EXCLUDE}) {
+            final Quantile q = Quantile.withDefaults().with(policy).withCopy(true);
+            final double[] e1 = Arrays.stream(p).map(pp -> q.evaluate(x, pp)).toArray();
+            Assertions.assertArrayEquals(e1, q.evaluate(x, p), policy::toString);
+        }
+    }
+
+    static Stream<Arguments> testDenseQuantiles() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        for (final int n : new int[] {10, 50, 100, 1000, 5000}) {
+            builder.add(Arguments.of(n, Quantile.probabilities(100)));
+            builder.add(Arguments.of(n, Quantile.probabilities(20, 0.45, 0.55)));
+            builder.add(Arguments.of(n, Quantile.probabilities(10)));
+            builder.add(Arguments.of(n, new double[] {0, 1, 0.5, 0.25, 0.75}));
+            builder.add(Arguments.of(n, new double[] {0.5, 0.5, 0.5}));
+        }
+        return builder.build();
+    }
+
     @ParameterizedTest
     @MethodSource(value = {"org.apache.commons.statistics.descriptive.TestData#arrayRangeTestData"})
     final void testDoubleQuantileRangeThrows(int from, int to, int length) {
@@ -553,6 +835,51 @@ class QuantileTest {
             });
     }
 
+    @ParameterizedTest
+    @MethodSource(value = {"testIntQuantile"})
+    void testIntQuantileDirectBuffer(int[] values, double[] p, double[][] expected, double delta) {
+        assertQuantile(Quantile.withDefaults(), values, p, expected, delta,
+            (q, x, pp) -> q.evaluate(TestHelper.directBuffer(x), pp),
+            (q, x, pp) -> q.evaluate(TestHelper.directBuffer(x), pp));
+    }
+
+    /**
+     * Test the quantiles of heap, sliced, read-only and direct buffers match the
+     * result of the array. The buffer position and limit must be unchanged and
+     * content outside the buffer range must not be modified.
+     */
+    @Test
+    void testIntQuantileBuffer() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] p = {0, 0.1, 0.5, 0.75, 1};
+        for (final int n : new int[] {0, 1, 2, 5, 50, 51, 1000}) {
+            final int[] values = rng.ints(n, -10, 10).toArray();
+            final int[] data = TestHelper.concatenate(new int[] {-1}, values, new int[] {-1});
+            final double[] expected = Quantile.withDefaults().withCopy(true).evaluate(values, p);
+            for (final boolean copy : new boolean[] {true, false}) {
+                final Quantile q = Quantile.withDefaults().withCopy(copy);
+                assertQuantile(q, IntBuffer.wrap(data.clone(), 1, n), p, expected, !copy);
+                assertQuantile(q, IntBuffer.wrap(data.clone(), 1, n).slice(), p, expected, !copy);
+                assertQuantile(q, IntBuffer.wrap(data.clone(), 1, n).asReadOnlyBuffer(), p, expected, false);
+                assertQuantile(q, TestHelper.directBuffer(values), p, expected, !copy);
+            }
+        }
+    }
+
+    private static void assertQuantile(Quantile q, IntBuffer b, double[] p, double[] expected,
+        boolean modified) {
+        final int position = b.position();
+        final int limit = b.limit();
+        final int[] original = TestHelper.contents(b);
+        Assertions.assertArrayEquals(expected, q.evaluate(b, p));
+        for (int i = 0; i < p.length; i++) {
+            Assertions.assertEquals(expected[i], q.evaluate(b, p[i]));
+        }
+        Assertions.assertEquals(position, b.position(), "position");
+        Assertions.assertEquals(limit, b.limit(), "limit");
+        TestHelper.assertContents(original, b, modified);
+    }
+
     private static void assertQuantile(Quantile q, int[] values, double[] p,
         double[][] expected, double delta,
         IntQuantileFunction f1, IntQuantileFunctionN fn) {
@@ -721,6 +1048,49 @@ class QuantileTest {
         Assertions.assertFalse(Arrays.equals(original, values));
     }
 
+    /**
+     * Test data with a small span of values evaluates the same as the {@code double} data.
+     * This data is evaluated using a count of the values and the input is not modified.
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testIntQuantileSmallSpan(int n, int lower, int upper) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] x = rng.ints(n, lower, upper).toArray();
+        final double[] y = Arrays.stream(x).asDoubleStream().toArray();
+        final double[] p = {0, 0.001, 0.1, 0.25, 0.5, 0.75, 0.9, 0.999, 1};
+        for (final EstimationMethod type : TYPES) {
+            final Quantile q = Quantile.withDefaults().with(type);
+            final double[] expected = q.withCopy(true).evaluate(y, p);
+            final int[] values = x.clone();
+            for (int j = 0; j < p.length; j++) {
+                Assertions.assertEquals(expected[j], q.evaluate(values, p[j]), type::toString);
+            }
+            Assertions.assertArrayEquals(expected, q.evaluate(values, p), type::toString);
+            Assertions.assertArrayEquals(x, values, "Data is modified");
+            // Range
+            final int from = n / 4;
+            final int to = n - from;
+            Assertions.assertArrayEquals(q.withCopy(true).evaluateRange(y, from, to, p),
+                q.evaluateRange(values, from, to, p), type::toString);
+        }
+    }
+
+    static Stream<Arguments> testIntQuantileSmallSpan() {
+        return Stream.of(
+            // Byte data
+            Arguments.of(1000, -128, 128),
+            Arguments.of(300, 0, 256),
+            // Categorical codes
+            Arguments.of(100, 1, 6),
+            Arguments.of(5000, 200, 600),
+            Arguments.of(1000, 42, 43),
+            // Extreme values
+            Arguments.of(500, Integer.MIN_VALUE, Integer.MIN_VALUE + 300),
+            Arguments.of(500, Integer.MAX_VALUE - 300, Integer.MAX_VALUE)
+        );
+    }
+
     @ParameterizedTest
     @MethodSource(value = {"org.apache.commons.statistics.descriptive.TestData#arrayRangeTestData"})
     final void testIntQuantileRangeThrows(int from, int to, int length) {
@@ -835,6 +1205,53 @@ class QuantileTest {
             });
     }
 
+    @ParameterizedTest
+    @MethodSource(value = {"testLongQuantile"})
+    void testLongQuantileDirectBuffer(long[] values, double[] p, double[][] expected, double delta) {
+        assertQuantile(Quantile.withDefaults(), values, p, expected, delta,
+            (q, x, pp) -> q.evaluate(TestHelper.directBuffer(x), pp),
+            (q, x, pp) -> q.evaluate(TestHelper.directBuffer(x), pp));
+    }
+
+    /**
+     * Test the quantiles of heap, sliced, read-only and direct buffers match the
+     * result of the array. The buffer position and limit must be unchanged and
+     * content outside the buffer range must not be modified.
+     */
+    @Test
+    void testLongQuantileBuffer() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] p = {0, 0.1, 0.5, 0.75, 1};
+        for (final int n : new int[] {0, 1, 2, 5, 50, 51, 1000}) {
+            final long[] values = rng.longs(n, Long.MIN_VALUE >> 1, Long.MAX_VALUE).toArray();
+            final long[] data = TestHelper.concatenate(new long[] {-1}, values, new long[] {-1});
+            final StatisticResult[] expected = Quantile.withDefaults().withCopy(true).evaluate(values, p);
+            for (final boolean copy : new boolean[] {true, false}) {
+                final Quantile q = Quantile.withDefaults().withCopy(copy);
+                assertQuantile(q, LongBuffer.wrap(data.clone(), 1, n), p, expected, !copy);
+                assertQuantile(q, LongBuffer.wrap(data.clone(), 1, n).slice(), p, expected, !copy);
+                assertQuantile(q, LongBuffer.wrap(data.clone(), 1, n).asReadOnlyBuffer(), p, expected, false);
+                assertQuantile(q, TestHelper.directBuffer(values), p, expected, !copy);
+            }
+        }
+    }
+
+    private static void assertQuantile(Quantile q, LongBuffer b, double[] p, StatisticResult[] expected,
+        boolean modified) {
+        final int position = b.position();
+        final int limit = b.limit();
+        final long[] original = TestHelper.contents(b);
+        final StatisticResult[] actual = q.evaluate(b, p);
+        for (int i = 0; i < p.length; i++) {
+            final int j = i;
+            TestHelper.assertEquals(expected[i], actual[i], null, () -> "p=" + p[j]);
+            TestHelper.assertEquals(expected[i], q.evaluate(b, p[i]), null, () -> "p=" + p[j]);
+        }
+        Assertions.assertEquals(position, b.position(), "position");
+        Assertions.assertEquals(limit, b.limit(), "limit");
+        TestHelper.assertContents(original, b, modified);
+    }
+
     private static void assertQuantile(Quantile q, long[] values, double[] p,
         double[][] expected, double delta,
         LongQuantileFunction f1, LongQuantileFunctionN fn) {
@@ -1216,4 +1633,317 @@ class QuantileTest {
                               .toArray();
         Assertions.assertEquals(p.length, result.length);
     }
+
+    @ParameterizedTest
+    @MethodSource(value = "testQuantileRanges")
+    void testDoubleQuantileRanges(int n, int ranges, double[] p) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] b = TestHelper.randomBoundaries(rng, n, ranges);
+        final double[] values = rng.doubles(n).toArray();
+        for (final NaNPolicy policy : NaNPolicy.values()) {
+            assertQuantileRanges(values, b, p, policy);
+        }
+        // Add NaN
+        for (int i = 0; i < n; i += 7) {
+            values[i] = Double.NaN;
+        }
+        assertQuantileRanges(values, b, p, NaNPolicy.INCLUDE);
+        assertQuantileRanges(values, b, p, NaNPolicy.EXCLUDE);
+        if (IntStream.range(0, ranges).anyMatch(i -> b[i] < b[i + 1] &&
+                Arrays.stream(values, b[i], b[i + 1]).anyMatch(Double::isNaN))) {
+            final Quantile q = Quantile.withDefaults().with(NaNPolicy.ERROR);
+            final double[] result = new double[ranges * p.length];
+            Assertions.assertThrows(IllegalArgumentException.class,
+                () -> q.evaluateRanges(values.clone(), b, p[0], result));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                () -> q.evaluateRanges(values.clone(), b, p, result));
+        }
+    }
+
+    private static void assertQuantileRanges(double[] values, int[] b, double[] p, NaNPolicy policy) {
+        final int ranges = b.length - 1;
+        final Quantile q = Quantile.withDefaults().with(policy);
+        // Reference result on each range. The ranges do not overlap so can use the same copy.
+        final double[] e1 = new double[ranges];
+        final double[] e2 = new double[ranges * p.length];
+        final double[] x1 = values.clone();
+        final double[] x2 = values.clone();
+        for (int i = 0; i < ranges; i++) {
+            e1[i] = q.evaluateRange(x1, b[i], b[i + 1], p[0]);
+            System.arraycopy(q.evaluateRange(x2, b[i], b[i + 1], p), 0, e2, i * p.length, p.length);
+        }
+        for (final boolean copy : new boolean[] {false, true}) {
+            for (final boolean parallel : new boolean[] {false, true}) {
+                final Supplier<String> msg = () -> String.format("%s, copy=%b, parallel=%b", policy, copy, parallel);
+                final Quantile q2 = q.withCopy(copy).withParallel(parallel);
+                // Output may be larger than required
+                final double[] r1 = new double[ranges + 1];
+                r1[ranges] = 42;
+                double[] x = values.clone();
+                q2.evaluateRanges(x, b, p[0], r1);
+                Assertions.assertArrayEquals(e1, Arrays.copyOf(r1, ranges), msg);
+                Assertions.assertEquals(42, r1[ranges], msg);
+                assertRangesModified(values, x, b, copy);
+                final double[] r2 = new double[ranges * p.length];
+                x = values.clone();
+                q2.evaluateRanges(x, b, p, r2);
+                Assertions.assertArrayEquals(e2, r2, msg);
+                assertRangesModified(values, x, b, copy);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testQuantileRanges")
+    void testIntQuantileRanges(int n, int ranges, double[] p) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] b = TestHelper.randomBoundaries(rng, n, ranges);
+        final int[] values = rng.ints(n, -100, 100).toArray();
+        final Quantile q = Quantile.withDefaults();
+        // Reference result on each range. The ranges do not overlap so can use the same copy.
+        final double[] e1 = new double[ranges];
+        final double[] e2 = new double[ranges * p.length];
+        final int[] x1 = values.clone();
+        final int[] x2 = values.clone();
+        for (int i = 0; i < ranges; i++) {
+            e1[i] = q.evaluateRange(x1, b[i], b[i + 1], p[0]);
+            System.arraycopy(q.evaluateRange(x2, b[i], b[i + 1], p), 0, e2, i * p.length, p.length);
+        }
+        for (final boolean copy : new boolean[] {false, true}) {
+            for (final boolean parallel : new boolean[] {false, true}) {
+                final Supplier<String> msg = () -> String.format("copy=%b, parallel=%b", copy, parallel);
+                final Quantile q2 = q.withCopy(copy).withParallel(parallel);
+                final double[] r1 = new double[ranges];
+                int[] x = values.clone();
+                q2.evaluateRanges(x, b, p[0], r1);
+                Assertions.assertArrayEquals(e1, r1, msg);
+                assertRangesModified(values, x, b, copy);
+                final double[] r2 = new double[ranges * p.length];
+                x = values.clone();
+                q2.evaluateRanges(x, b, p, r2);
+                Assertions.assertArrayEquals(e2, r2, msg);
+                assertRangesModified(values, x, b, copy);
+            }
+        }
+    }
+
+    static Stream<Arguments> testQuantileRanges() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        for (final double[] p : new double[][] {{0.5}, {0.1, 0.5, 0.9}, {1, 0}}) {
+            builder.add(Arguments.of(0, 0, p));
+            builder.add(Arguments.of(0, 3, p));
+            builder.add(Arguments.of(10, 3, p));
+            builder.add(Arguments.of(100, 20, p));
+            builder.add(Arguments.of(1000, 50, p));
+            // Large enough to be split for parallel evaluation
+            builder.add(Arguments.of(20000, 100, p));
+            builder.add(Arguments.of(20000, 1000, p));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Assert the values were modified only within the ranges.
+     *
+     * @param expected Original values.
+     * @param actual Values after evaluation.
+     * @param b Boundaries of the ranges.
+     * @param copy True if the values should not be modified.
+     */
+    private static void assertRangesModified(double[] expected, double[] actual, int[] b, boolean copy) {
+        if (copy) {
+            Assertions.assertArrayEquals(expected, actual, "Values were modified");
+        } else {
+            final int from = b[0];
+            final int to = b[b.length - 1];
+            Assertions.assertArrayEquals(Arrays.copyOf(expected, from), Arrays.copyOf(actual, from));
+            Assertions.assertArrayEquals(Arrays.copyOfRange(expected, to, expected.length),
+                Arrays.copyOfRange(actual, to, actual.length));
+            for (int i = 1; i < b.length; i++) {
+                final double[] e = Arrays.copyOfRange(expected, b[i - 1], b[i]);
+                final double[] a = Arrays.copyOfRange(actual, b[i - 1], b[i]);
+                Arrays.sort(e);
+                Arrays.sort(a);
+                Assertions.assertArrayEquals(e, a, "Range values changed");
+            }
+        }
+    }
+
+    /**
+     * Assert the values were modified only within the ranges.
+     *
+     * @param expected Original values.
+     * @param actual Values after evaluation.
+     * @param b Boundaries of the ranges.
+     * @param copy True if the values should not be modified.
+     */
+    private static void assertRangesModified(int[] expected, int[] actual, int[] b, boolean copy) {
+        assertRangesModified(Arrays.stream(expected).asDoubleStream().toArray(),
+            Arrays.stream(actual).asDoubleStream().toArray(), b, copy);
+    }
+
+    @Test
+    void testQuantileRangesThrows() {
+        final double[] x = new double[10];
+        final int[] y = new int[10];
+        final double[] r = new double[2];
+        final double[] p = {0.5};
+        final Quantile q = Quantile.withDefaults();
+        // Invalid ranges
+        for (final int[] b : new int[][] {{-1, 2}, {0, 11}, {5, 4}, {0, 5, 4}}) {
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRanges(x, b, 0.5, r));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRanges(x, b, p, r));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRanges(y, b, 0.5, r));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRanges(y, b, p, r));
+        }
+        // Output too small
+        final int[] b = {0, 2, 4, 6};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRanges(x, b, 0.5, r));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRanges(y, b, 0.5, r));
+        final double[] p2 = {0.25, 0.75};
+        final double[] r2 = new double[5];
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRanges(x, b, p2, r2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRanges(y, b, p2, r2));
+        // Invalid probability
+        final double[] r3 = new double[3];
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRanges(x, b, -0.5, r3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRanges(y, b, 1.5, r3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRanges(x, b, new double[0], r3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRanges(y, b, new double[0], r3));
+        // No ranges
+        q.evaluateRanges(x, new int[0], 0.5, new double[0]);
+        q.evaluateRanges(y, new int[] {3}, p, new double[0]);
+    }
+
+    static Stream<Arguments> testQuantileWorkspace() {
+        // Exclude large data used for parallel evaluation
+        return testQuantileRanges().filter(a -> (int) a.get()[0] <= 1000);
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testQuantileWorkspace")
+    void testDoubleQuantileWorkspace(int n, int ranges, double[] p) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] b = TestHelper.randomBoundaries(rng, n, ranges);
+        final double[] values = rng.doubles(n).toArray();
+        for (int i = 0; i < n; i += 7) {
+            values[i] = Double.NaN;
+        }
+        for (final NaNPolicy policy : new NaNPolicy[] {NaNPolicy.INCLUDE, NaNPolicy.EXCLUDE}) {
+            for (final boolean copy : new boolean[] {false, true}) {
+                final Supplier<String> msg = () -> String.format("%s, copy=%b", policy, copy);
+                final Quantile q = Quantile.withDefaults().with(policy).withCopy(copy);
+                // The same workspace is used for ranges of different lengths
+                final QuantileWorkspace w = QuantileWorkspace.create();
+                final double[] r = new double[p.length + 1];
+                r[p.length] = 42;
+                for (int i = 0; i < ranges; i++) {
+                    final int from = b[i];
+                    final int to = b[i + 1];
+                    final double e1 = q.evaluateRange(values.clone(), from, to, p[0]);
+                    final double[] e2 = q.evaluateRange(values.clone(), from, to, p);
+                    double[] x = values.clone();
+                    Assertions.assertEquals(e1, q.evaluateRange(x, from, to, p[0], w), msg);
+                    assertRangesModified(values, x, new int[] {from, to}, copy);
+                    x = values.clone();
+                    q.evaluateRange(x, from, to, p, r, w);
+                    // Output may be larger than required
+                    Assertions.assertArrayEquals(e2, Arrays.copyOf(r, p.length), msg);
+                    Assertions.assertEquals(42, r[p.length], msg);
+                    assertRangesModified(values, x, new int[] {from, to}, copy);
+                }
+                final double[] x = Arrays.copyOf(values, Math.min(n, 50));
+                Assertions.assertEquals(q.evaluate(x.clone(), p[0]), q.evaluate(x.clone(), p[0], w), msg);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testQuantileWorkspace")
+    void testIntQuantileWorkspace(int n, int ranges, double[] p) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] b = TestHelper.randomBoundaries(rng, n, ranges);
+        final int[] values = rng.ints(n, -100, 100).toArray();
+        for (final boolean copy : new boolean[] {false, true}) {
+            final Supplier<String> msg = () -> String.format("copy=%b", copy);
+            final Quantile q = Quantile.withDefaults().withCopy(copy);
+            final QuantileWorkspace w = QuantileWorkspace.create();
+            final double[] r = new double[p.length];
+            for (int i = 0; i < ranges; i++) {
+                final int from = b[i];
+                final int to = b[i + 1];
+                final double e1 = q.evaluateRange(values.clone(), from, to, p[0]);
+                final double[] e2 = q.evaluateRange(values.clone(), from, to, p);
+                int[] x = values.clone();
+                Assertions.assertEquals(e1, q.evaluateRange(x, from, to, p[0], w), msg);
+                assertRangesModified(values, x, new int[] {from, to}, copy);
+                x = values.clone();
+                q.evaluateRange(x, from, to, p, r, w);
+                Assertions.assertArrayEquals(e2, r, msg);
+                assertRangesModified(values, x, new int[] {from, to}, copy);
+            }
+            final int[] x = Arrays.copyOf(values, Math.min(n, 50));
+            Assertions.assertEquals(q.evaluate(x.clone(), p[0]), q.evaluate(x.clone(), p[0], w), msg);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testQuantileWorkspace")
+    void testLongQuantileWorkspace(int n, int ranges, double[] p) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] b = TestHelper.randomBoundaries(rng, n, ranges);
+        final long[] values = rng.longs(n, -100, 100).toArray();
+        for (final boolean copy : new boolean[] {false, true}) {
+            final Supplier<String> msg = () -> String.format("copy=%b", copy);
+            final Quantile q = Quantile.withDefaults().withCopy(copy);
+            final QuantileWorkspace w = QuantileWorkspace.create();
+            for (int i = 0; i < ranges; i++) {
+                final int from = b[i];
+                final int to = b[i + 1];
+                final double e = q.evaluateRange(values.clone(), from, to, p[0]).getAsDouble();
+                final long[] x = values.clone();
+                Assertions.assertEquals(e, q.evaluateRange(x, from, to, p[0], w).getAsDouble(), msg);
+                if (copy) {
+                    Assertions.assertArrayEquals(values, x, "Values were modified");
+                }
+            }
+            final long[] x = Arrays.copyOf(values, Math.min(n, 50));
+            Assertions.assertEquals(q.evaluate(x.clone(), p[0]).getAsDouble(),
+                q.evaluate(x.clone(), p[0], w).getAsDouble(), msg);
+        }
+    }
+
+    @Test
+    void testQuantileWorkspaceThrows() {
+        final double[] x = {1, Double.NaN, 3};
+        final int[] y = new int[3];
+        final long[] z = new long[3];
+        final double[] p = {0.5};
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final Quantile q = Quantile.withDefaults().withCopy(true);
+        // Invalid range
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRange(x, 0, 4, 0.5, w));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRange(x, 2, 1, p, p, w));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRange(y, -1, 1, 0.5, w));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRange(y, 0, 4, p, p, w));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> q.evaluateRange(z, 0, 4, 0.5, w));
+        // Invalid probability
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(x, 1.5, w));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(y, -0.5, w));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(z, 1.5, w));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRange(x, 0, 3, new double[0], p, w));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRange(y, 0, 3, new double[0], p, w));
+        // Output too small
+        final double[] p2 = {0.25, 0.75};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRange(x, 0, 3, p2, p, w));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluateRange(y, 0, 3, p2, p, w));
+        // NaN
+        final Quantile q2 = q.with(NaNPolicy.ERROR);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q2.evaluate(x, 0.5, w));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q2.evaluateRange(x, 0, 3, p, p, w));
+        // Same workspace can be used after an error
+        Assertions.assertEquals(3, q.evaluate(x, 0.5, w));
+        Assertions.assertEquals(2, q.with(NaNPolicy.EXCLUDE).evaluate(x, 0.5, w));
+        Assertions.assertTrue(Double.isNaN(x[1]), "Values were modified");
+    }
 }
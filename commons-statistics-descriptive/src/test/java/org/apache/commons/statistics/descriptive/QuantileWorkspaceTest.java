@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link QuantileWorkspace}.
+ */
+class QuantileWorkspaceTest {
+    @Test
+    void testBounds() {
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final int[] b = w.bounds();
+        Assertions.assertEquals(2, b.length);
+        Assertions.assertSame(b, w.bounds());
+    }
+
+    @Test
+    void testIndices() {
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final int[] k = w.indices(3, 4);
+        Assertions.assertArrayEquals(new int[] {3, 4}, k);
+        Assertions.assertSame(k, w.indices(5, 7));
+        Assertions.assertArrayEquals(new int[] {5, 7}, k);
+        // Exact length arrays are reused
+        for (final int n : new int[] {1, 5, 3, 10}) {
+            final int[] a = w.indices(n);
+            Assertions.assertEquals(n, a.length);
+            Assertions.assertSame(a, w.indices(n));
+        }
+        Assertions.assertEquals(0, w.indices(0).length);
+    }
+
+    @Test
+    void testQuantileIndicesAreBounded() {
+        // The quantile indices have a fixed length for any size of data.
+        // A single working array is used and the memory is bounded.
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final double[] p = {0, 0.1, 0.25, 0.5, 0.75, 0.99, 1};
+        final double[] q = new double[p.length];
+        final int[] k = QuantileSelection.indices(EstimationMethod.HF1, 1, p, q, 0, w);
+        Assertions.assertEquals(2 * p.length, k.length);
+        for (final EstimationMethod method : EstimationMethod.values()) {
+            for (int n = 1; n <= 200; n++) {
+                Assertions.assertSame(k, QuantileSelection.indices(method, n, p, q, 10, w));
+                for (int i = 0; i < p.length; i++) {
+                    final int ip = (int) q[i];
+                    Assertions.assertEquals(10 + ip, k[2 * i]);
+                    Assertions.assertEquals(10 + (q[i] > ip ? ip + 1 : ip), k[2 * i + 1]);
+                    Assertions.assertTrue(k[2 * i + 1] < 10 + n);
+                }
+            }
+        }
+        // A different length replaces the working array
+        final int[] k2 = QuantileSelection.indices(EstimationMethod.HF1, 10, new double[2], q, 0, w);
+        Assertions.assertEquals(4, k2.length);
+        Assertions.assertNotSame(k, k2);
+        Assertions.assertSame(k2, w.indices(4));
+    }
+
+    @Test
+    void testCopyInt() {
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final int[] data = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        final int[] x = w.copy(data, 2, 6);
+        Assertions.assertTrue(x.length >= 4);
+        Assertions.assertArrayEquals(new int[] {3, 4, 5, 6}, Arrays.copyOf(x, 4));
+        // Smaller copy reuses the buffer
+        Assertions.assertSame(x, w.copy(data, 0, 3));
+        Assertions.assertArrayEquals(new int[] {1, 2, 3}, Arrays.copyOf(x, 3));
+        // Larger copy grows the buffer
+        final int[] y = w.copy(data, 0, 10);
+        Assertions.assertTrue(y.length >= 10);
+        Assertions.assertArrayEquals(data, Arrays.copyOf(y, 10));
+        Assertions.assertSame(y, w.copy(data, 0, 10));
+    }
+
+    @Test
+    void testCounts() {
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final int[] c = w.counts(5);
+        Assertions.assertTrue(c.length >= 5);
+        Arrays.fill(c, 42);
+        // Smaller counts reuse the buffer and are zero
+        Assertions.assertSame(c, w.counts(3));
+        Assertions.assertArrayEquals(new int[3], Arrays.copyOf(c, 3));
+        Arrays.fill(c, 42);
+        Assertions.assertSame(c, w.counts(c.length));
+        Assertions.assertArrayEquals(new int[c.length], c);
+        // Larger counts grow the buffer
+        final int[] d = w.counts(c.length + 1);
+        Assertions.assertTrue(d.length > c.length);
+        Assertions.assertArrayEquals(new int[d.length], d);
+    }
+
+    @Test
+    void testNullWorkspace() {
+        Assertions.assertArrayEquals(new int[2], QuantileWorkspace.bounds(null));
+        Assertions.assertArrayEquals(new int[] {3, 4}, QuantileWorkspace.indices(null, 3, 4));
+        Assertions.assertArrayEquals(new int[5], QuantileWorkspace.indices(null, 5));
+        Assertions.assertArrayEquals(new int[7], QuantileWorkspace.counts(null, 7));
+        final int[] a = {1, 2, 3, 4, 5};
+        Assertions.assertArrayEquals(new int[] {2, 3}, QuantileWorkspace.copy(null, a, 1, 3));
+        final long[] b = {1, 2, 3, 4, 5};
+        Assertions.assertArrayEquals(new long[] {2, 3}, QuantileWorkspace.copy(null, b, 1, 3));
+        // Workspace arrays are used if present
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        Assertions.assertSame(w.bounds(), QuantileWorkspace.bounds(w));
+        Assertions.assertSame(w.indices(1, 2), QuantileWorkspace.indices(w, 3, 4));
+        Assertions.assertSame(w.indices(5), QuantileWorkspace.indices(w, 5));
+    }
+
+    @Test
+    void testCopyLong() {
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final long[] data = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        final long[] x = w.copy(data, 2, 6);
+        Assertions.assertTrue(x.length >= 4);
+        Assertions.assertArrayEquals(new long[] {3, 4, 5, 6}, Arrays.copyOf(x, 4));
+        Assertions.assertSame(x, w.copy(data, 0, 3));
+        final long[] y = w.copy(data, 0, 10);
+        Assertions.assertTrue(y.length >= 10);
+        Assertions.assertArrayEquals(data, Arrays.copyOf(y, 10));
+        Assertions.assertSame(y, w.copy(data, 0, 10));
+    }
+
+    @Test
+    void testNaNTransformer() {
+        final QuantileWorkspace w = QuantileWorkspace.create();
+        final NaNTransformer t1 = w.nanTransformer(NaNPolicy.INCLUDE, 10);
+        Assertions.assertSame(t1, w.nanTransformer(NaNPolicy.INCLUDE, 5));
+        // Change of policy
+        final NaNTransformer t2 = w.nanTransformer(NaNPolicy.EXCLUDE, 5);
+        Assertions.assertNotSame(t1, t2);
+        Assertions.assertSame(t2, w.nanTransformer(NaNPolicy.EXCLUDE, 10));
+        // Growth of the buffer
+        final NaNTransformer t3 = w.nanTransformer(NaNPolicy.EXCLUDE, 100);
+        Assertions.assertNotSame(t2, t3);
+        Assertions.assertSame(t3, w.nanTransformer(NaNPolicy.EXCLUDE, 50));
+
+        // The data is copied to the same working array
+        final double[] data = {5, Double.NaN, 3, 1, Double.NaN, 2};
+        final int[] bounds = w.bounds();
+        final double[] x = t3.apply(data, 0, data.length, bounds);
+        Assertions.assertNotSame(data, x);
+        Assertions.assertEquals(0, bounds[0]);
+        Assertions.assertEquals(4, bounds[1]);
+        Assertions.assertSame(x, t3.apply(data, 2, 4, bounds));
+        Assertions.assertEquals(0, bounds[0]);
+        Assertions.assertEquals(2, bounds[1]);
+        Assertions.assertArrayEquals(new double[] {3, 1}, Arrays.copyOf(x, 2));
+    }
+}
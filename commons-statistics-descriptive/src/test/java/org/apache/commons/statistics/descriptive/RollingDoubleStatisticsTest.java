@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link RollingDoubleStatistics}.
+ */
+class RollingDoubleStatisticsTest {
+    /** The statistics to compute. */
+    private static final Statistic[] STATISTICS = {
+        Statistic.MIN, Statistic.MAX, Statistic.MEAN, Statistic.VARIANCE,
+    };
+
+    @Test
+    void testInvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RollingDoubleStatistics.ofCount(0, 1, STATISTICS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RollingDoubleStatistics.ofCount(1, 0, STATISTICS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RollingDoubleStatistics.ofCount(1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> RollingDoubleStatistics.ofTime(0, 1, System::nanoTime, STATISTICS));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> RollingDoubleStatistics.ofTime(1, -1, System::nanoTime, STATISTICS));
+        Assertions.assertThrows(NullPointerException.class, () -> RollingDoubleStatistics.ofTime(1, 1, null, STATISTICS));
+        final RollingDoubleStatistics s = RollingDoubleStatistics.ofCount(1, 1, STATISTICS);
+        Assertions.assertThrows(NullPointerException.class, () -> s.setConfiguration(null));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1",
+        "1, 10",
+        "3, 1",
+        "3, 7",
+        "10, 4",
+    })
+    void testCountWindow(int buckets, int size) {
+        final double[] values = TestHelper.createRNG().doubles(100).toArray();
+        final RollingDoubleStatistics stats = RollingDoubleStatistics.ofCount(buckets, size, STATISTICS);
+        assertStatistics(DoubleStatistics.of(STATISTICS), stats.snapshot());
+        for (int i = 0; i < values.length; i++) {
+            stats.accept(values[i]);
+            final int count = i + 1;
+            // Window is the current bucket and the previous (buckets - 1) buckets
+            final int from = Math.max(0, ((count - 1) / size - buckets + 1) * size);
+            final DoubleStatistics expected = DoubleStatistics.builder(STATISTICS).build(values, from, count);
+            Assertions.assertTrue(expected.getCount() > (long) (buckets - 1) * size ||
+                                  expected.getCount() == count);
+            Assertions.assertTrue(expected.getCount() <= (long) buckets * size);
+            assertStatistics(expected, stats.snapshot());
+        }
+    }
+
+    @Test
+    void testTimeWindow() {
+        final long[] time = {-25};
+        final RollingDoubleStatistics stats = RollingDoubleStatistics.ofTime(3, 10, () -> time[0], STATISTICS);
+        assertStatistics(DoubleStatistics.of(STATISTICS), stats.snapshot());
+        // Time -25 in bucket [-30, -20)
+        stats.accept(1);
+        time[0] = -20;
+        stats.accept(2);
+        stats.accept(3);
+        time[0] = -1;
+        stats.accept(4);
+        assertStatistics(expected(1, 2, 3, 4), stats.snapshot());
+        time[0] = 0;
+        stats.accept(5);
+        // Window is [-20, 10)
+        assertStatistics(expected(2, 3, 4, 5), stats.snapshot());
+        // Expire data without recording values
+        time[0] = 19;
+        assertStatistics(expected(4, 5), stats.snapshot());
+        time[0] = 29;
+        assertStatistics(expected(5), stats.snapshot());
+        time[0] = 30;
+        assertStatistics(DoubleStatistics.of(STATISTICS), stats.snapshot());
+        stats.accept(6);
+        // A gap larger than the window
+        time[0] = 1000;
+        stats.accept(7);
+        assertStatistics(expected(7), stats.snapshot());
+    }
+
+    @Test
+    void testTimeWindowIgnoresExpiredValues() {
+        final long[] time = {100};
+        final RollingDoubleStatistics stats = RollingDoubleStatistics.ofTime(2, 10, () -> time[0], STATISTICS);
+        stats.accept(1);
+        time[0] = 85;
+        // Expired bucket [80, 90) is reused by [100, 110)
+        stats.accept(2);
+        time[0] = 95;
+        // Bucket [90, 100) is within the window
+        stats.accept(3);
+        time[0] = 100;
+        assertStatistics(expected(1, 3), stats.snapshot());
+    }
+
+    @Test
+    void testConfiguration() {
+        final double[] values = {1, 2, 3, 4, 5};
+        final RollingDoubleStatistics stats = RollingDoubleStatistics.ofCount(2, 10, STATISTICS);
+        for (final double x : values) {
+            stats.accept(x);
+        }
+        Assertions.assertEquals(Variance.of(values).getAsDouble(), stats.snapshot().getAsDouble(Statistic.VARIANCE));
+        final StatisticsConfiguration c = StatisticsConfiguration.withDefaults().withBiased(true);
+        Assertions.assertSame(stats, stats.setConfiguration(c));
+        Assertions.assertEquals(Variance.of(values).setBiased(true).getAsDouble(),
+            stats.snapshot().getAsDouble(Statistic.VARIANCE));
+    }
+
+    private static DoubleStatistics expected(double... values) {
+        return DoubleStatistics.builder(STATISTICS).build(values);
+    }
+
+    private static void assertStatistics(DoubleStatistics expected, DoubleStatistics actual) {
+        Assertions.assertEquals(expected.getCount(), actual.getCount());
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MIN), actual.getAsDouble(Statistic.MIN));
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MAX), actual.getAsDouble(Statistic.MAX));
+        for (final Statistic s : STATISTICS) {
+            final double e = expected.getAsDouble(s);
+            if (Double.isNaN(e)) {
+                Assertions.assertEquals(e, actual.getAsDouble(s), s::toString);
+            } else {
+                Assertions.assertEquals(e, actual.getAsDouble(s), Math.abs(e) * 1e-12, s::toString);
+            }
+        }
+    }
+}
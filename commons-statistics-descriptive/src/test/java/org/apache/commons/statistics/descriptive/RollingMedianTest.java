@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link RollingMedian}.
+ */
+class RollingMedianTest {
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void testInvalidSizeThrows(int size) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RollingMedian.of(size));
+    }
+
+    @Test
+    void testEmpty() {
+        final RollingMedian m = RollingMedian.of(3);
+        Assertions.assertEquals(Double.NaN, m.getAsDouble());
+        Assertions.assertEquals(0, m.getN());
+        Assertions.assertEquals(0, m.getCount());
+        Assertions.assertEquals(3, m.getWindowSize());
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testAccept(int size, double[] values) {
+        final RollingMedian m = RollingMedian.of(size);
+        for (int i = 0; i < values.length; i++) {
+            m.accept(values[i]);
+            final int from = Math.max(0, i + 1 - size);
+            Assertions.assertEquals(i + 1 - from, m.getN());
+            Assertions.assertEquals(i + 1, m.getCount());
+            final double expected = Median.withDefaults().evaluateRange(values.clone(), from, i + 1);
+            // Median does not order signed zeros: use a delta of 0 so -0.0 == 0.0
+            Assertions.assertEquals(expected, m.getAsDouble(), 0.0, () -> "window from " + from);
+        }
+    }
+
+    static Stream<Arguments> testAccept() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double nan = Double.NaN;
+        for (final int size : new int[] {1, 2, 3, 4, 7, 16, 33}) {
+            builder.add(Arguments.of(size, new double[] {1, 2, 3, 4, 5, 6, 5, 4, 3, 2, 1}));
+            builder.add(Arguments.of(size, new double[] {0.0, -0.0, 0.0, -0.0, 0.0, 1, -0.0}));
+            builder.add(Arguments.of(size, new double[] {nan, 1, 2, nan, 3, nan, nan, 4, 5, 6, 7}));
+            builder.add(Arguments.of(size, rng.doubles(100).toArray()));
+            builder.add(Arguments.of(size, rng.ints(100, 0, 5).asDoubleStream().toArray()));
+            // Trend
+            builder.add(Arguments.of(size, rng.doubles(100).map(x -> x * 3).toArray()));
+        }
+        final double[] trend = new double[200];
+        Arrays.setAll(trend, i -> i * 0.5 + rng.nextDouble() * 10);
+        builder.add(Arguments.of(10, trend));
+        return builder.build();
+    }
+
+    @Test
+    void testClear() {
+        final RollingMedian m = RollingMedian.of(2);
+        m.accept(1);
+        m.accept(2);
+        m.accept(3);
+        Assertions.assertEquals(2.5, m.getAsDouble());
+        m.clear();
+        Assertions.assertEquals(0, m.getN());
+        Assertions.assertEquals(0, m.getCount());
+        Assertions.assertEquals(Double.NaN, m.getAsDouble());
+        m.accept(4);
+        m.accept(6);
+        m.accept(7);
+        Assertions.assertEquals(6.5, m.getAsDouble());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link RunningMedian}.
+ */
+class RunningMedianTest {
+    @Test
+    void testEmpty() {
+        final RunningMedian m = RunningMedian.create();
+        Assertions.assertEquals(Double.NaN, m.getAsDouble());
+        Assertions.assertEquals(0, m.getN());
+        Assertions.assertFalse(m.remove(1));
+        Assertions.assertEquals(Double.NaN, RunningMedian.of().getAsDouble());
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testAccept(double[] values) {
+        final RunningMedian m = RunningMedian.create();
+        for (int i = 0; i < values.length; i++) {
+            m.accept(values[i]);
+            Assertions.assertEquals(i + 1, m.getN());
+            assertMedian(Arrays.copyOf(values, i + 1), m);
+        }
+        assertMedian(values, RunningMedian.of(values));
+    }
+
+    static Stream<Arguments> testAccept() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double nan = Double.NaN;
+        builder.add(Arguments.of(new double[] {1}));
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4, 5, 6}));
+        builder.add(Arguments.of(new double[] {6, 5, 4, 3, 2, 1}));
+        builder.add(Arguments.of(new double[] {0.0, -0.0, 0.0, -0.0, 0.0}));
+        builder.add(Arguments.of(new double[] {nan, 1, 2, nan, 3, nan, nan}));
+        builder.add(Arguments.of(new double[] {Double.MAX_VALUE, Double.MAX_VALUE, 1}));
+        builder.add(Arguments.of(new double[] {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY}));
+        for (final int n : new int[] {10, 50, 200}) {
+            builder.add(Arguments.of(rng.doubles(n).toArray()));
+            builder.add(Arguments.of(rng.ints(n, 0, 5).asDoubleStream().toArray()));
+        }
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testAccept")
+    void testRemove(double[] values) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final RunningMedian m = RunningMedian.of(values);
+        final List<Double> list = new ArrayList<>();
+        Arrays.stream(values).forEach(list::add);
+        while (!list.isEmpty()) {
+            final double v = list.remove(rng.nextInt(list.size()));
+            Assertions.assertTrue(m.remove(v));
+            assertMedian(list.stream().mapToDouble(Double::doubleValue).toArray(), m);
+            // Interleave additions
+            if (rng.nextInt(4) == 0) {
+                final double x = values[rng.nextInt(values.length)];
+                m.accept(x);
+                list.add(x);
+                assertMedian(list.stream().mapToDouble(Double::doubleValue).toArray(), m);
+            }
+        }
+        Assertions.assertEquals(0, m.getN());
+        Assertions.assertEquals(Double.NaN, m.getAsDouble());
+    }
+
+    @Test
+    void testRemoveMatching() {
+        final RunningMedian m = RunningMedian.of(0.0, 1, Double.NaN, 1);
+        Assertions.assertFalse(m.remove(-0.0));
+        Assertions.assertFalse(m.remove(2));
+        Assertions.assertEquals(4, m.getN());
+        Assertions.assertTrue(m.remove(Double.NaN));
+        Assertions.assertFalse(m.remove(Double.NaN));
+        Assertions.assertEquals(1, m.getAsDouble());
+        Assertions.assertTrue(m.remove(1));
+        Assertions.assertEquals(0.5, m.getAsDouble());
+        Assertions.assertTrue(m.remove(1));
+        Assertions.assertFalse(m.remove(1));
+        Assertions.assertTrue(m.remove(0.0));
+        Assertions.assertEquals(0, m.getN());
+    }
+
+    @Test
+    void testClear() {
+        final RunningMedian m = RunningMedian.of(1, 2, 3);
+        m.clear();
+        Assertions.assertEquals(0, m.getN());
+        Assertions.assertEquals(Double.NaN, m.getAsDouble());
+        m.accept(4);
+        Assertions.assertEquals(4, m.getAsDouble());
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testAccept")
+    void testCombine(double[] values) {
+        for (final int i : new int[] {0, values.length / 3, values.length}) {
+            final RunningMedian m1 = RunningMedian.of(Arrays.copyOf(values, i));
+            final RunningMedian m2 = RunningMedian.of(Arrays.copyOfRange(values, i, values.length));
+            Assertions.assertSame(m1, m1.combine(m2));
+            assertMedian(values, m1);
+        }
+        // Combine with self
+        final RunningMedian m = RunningMedian.of(values);
+        m.combine(m);
+        assertMedian(TestHelper.concatenate(values, values), m);
+    }
+
+    /**
+     * Assert the median matches the median of the values.
+     *
+     * @param values Values.
+     * @param m Median.
+     */
+    private static void assertMedian(double[] values, RunningMedian m) {
+        final double expected = Median.withDefaults().evaluate(values.clone());
+        // Median does not order signed zeros: use a delta of 0 so -0.0 == 0.0
+        Assertions.assertEquals(expected, m.getAsDouble(), 0.0, () -> Arrays.toString(values));
+    }
+}
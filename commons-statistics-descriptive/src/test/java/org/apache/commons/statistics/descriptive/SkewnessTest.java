@@ -18,11 +18,14 @@ package org.apache.commons.statistics.descriptive;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.apache.commons.statistics.distribution.TestUtils;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -175,4 +178,29 @@ final class SkewnessTest extends BaseDoubleStatisticTest<Skewness> {
             DoubleTolerances.ulps(4)));
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            Skewness.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final Skewness s = Skewness.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(Skewness.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(Skewness.of(1, 2, 3, 4, 5.5).combine(Skewness.of(7, 8.25)).getAsDouble(),
+                s.combine(Skewness.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            Skewness.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(Skewness.create().getAsDouble(), Skewness.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Skewness.readFrom(buffer));
+    }
 }
@@ -16,12 +16,15 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
 import org.apache.commons.statistics.distribution.TestUtils;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -191,4 +194,31 @@ final class StandardDeviationTest extends BaseDoubleStatisticTest<StandardDeviat
         });
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            StandardDeviation.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final StandardDeviation s = StandardDeviation.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(StandardDeviation.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(
+                StandardDeviation.of(1, 2, 3, 4, 5.5).combine(StandardDeviation.of(7, 8.25)).getAsDouble(),
+                s.combine(StandardDeviation.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            StandardDeviation.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(StandardDeviation.create().getAsDouble(),
+                StandardDeviation.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StandardDeviation.readFrom(buffer));
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link StreamSelection}.
+ */
+class StreamSelectionTest {
+    /** Size of the data that exceeds the limit for collecting values after the first pass. */
+    private static final int LARGE = 5_000_000;
+
+    @Test
+    void testKeyOrdering() {
+        final double[] values = {Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.5, -1, -Double.MIN_NORMAL,
+            -Double.MIN_VALUE, -0.0, 0.0, Double.MIN_VALUE, Double.MIN_NORMAL, 1, 1.5, Double.MAX_VALUE,
+            Double.POSITIVE_INFINITY};
+        for (int i = 0; i < values.length; i++) {
+            final long k = StreamSelection.toKey(values[i]);
+            Assertions.assertEquals(Double.doubleToLongBits(values[i]),
+                Double.doubleToLongBits(StreamSelection.fromKey(k)));
+            if (i > 0) {
+                Assertions.assertTrue(Long.compareUnsigned(StreamSelection.toKey(values[i - 1]), k) < 0);
+            }
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        final StreamSelection s = StreamSelection.of(DoubleStream::empty, NaNPolicy.INCLUDE);
+        Assertions.assertEquals(0, s.size());
+        Assertions.assertTrue(Double.isNaN(s.select(0)[0]));
+    }
+
+    @Test
+    void testNaN() {
+        final double[] values = {3, Double.NaN, 1, 2, Double.NaN};
+        final Supplier<DoubleStream> source = () -> Arrays.stream(values);
+        final StreamSelection s1 = StreamSelection.of(source, NaNPolicy.INCLUDE);
+        Assertions.assertEquals(5, s1.size());
+        Assertions.assertArrayEquals(new double[] {1, 2, 3, Double.NaN, Double.NaN}, s1.select(0, 1, 2, 3, 4));
+        final StreamSelection s2 = StreamSelection.of(source, NaNPolicy.EXCLUDE);
+        Assertions.assertEquals(3, s2.size());
+        Assertions.assertArrayEquals(new double[] {3, 1, 2}, s2.select(2, 0, 1));
+        final IllegalArgumentException ex = Assertions.assertThrows(IllegalArgumentException.class,
+            () -> StreamSelection.of(source, NaNPolicy.ERROR));
+        Assertions.assertTrue(ex.getMessage().contains("NaN at 1"), ex::getMessage);
+    }
+
+    @Test
+    void testStreamIsClosed() {
+        final AtomicInteger opened = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final StreamSelection s = StreamSelection.of(() -> {
+            opened.incrementAndGet();
+            return DoubleStream.of(3, 1, 2).onClose(closed::incrementAndGet);
+        }, NaNPolicy.INCLUDE);
+        Assertions.assertArrayEquals(new double[] {2}, s.select(1));
+        Assertions.assertEquals(2, opened.get());
+        Assertions.assertEquals(2, closed.get());
+    }
+
+    @Test
+    void testInconsistentStreamThrows() {
+        final AtomicInteger calls = new AtomicInteger();
+        // Each pass has an additional value
+        final StreamSelection s = StreamSelection.of(
+            () -> IntStream.rangeClosed(0, calls.getAndIncrement()).asDoubleStream(), NaNPolicy.INCLUDE);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.select(0));
+        // Constant count but different values
+        final int first = calls.get();
+        final StreamSelection s2 = StreamSelection.of(
+            () -> DoubleStream.of(calls.getAndIncrement() == first ? 1 : 100, 1), NaNPolicy.INCLUDE);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s2.select(0));
+    }
+
+    /**
+     * Test data that cannot be collected after the first pass. This requires
+     * further histogram passes.
+     *
+     * @param distinct Number of distinct values.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 1000, 1 << 20})
+    void testLargeData(int distinct) {
+        // Values in [1, 2) with a small separation in the lower bits of the mantissa.
+        // These have the same upper bits and are within a single first pass histogram bucket.
+        // Each distinct value is repeated an equal number of times (size must be a multiple
+        // of the number of distinct values).
+        final int size = LARGE - LARGE % distinct;
+        final int repeats = size / distinct;
+        final double delta = 0x1.0p-40;
+        // Scrambled order. Requires the multiplier is co-prime with the size.
+        final long multiplier = 7919;
+        Assertions.assertNotEquals(0, size % multiplier);
+        final Supplier<DoubleStream> source = () -> IntStream.range(0, size)
+            .mapToDouble(i -> 1 + ((i * multiplier) % size) % distinct * delta);
+        final StreamSelection s = StreamSelection.of(source, NaNPolicy.INCLUDE);
+        Assertions.assertEquals(size, s.size());
+        final long[] k = {0, 1, size / 3, size / 2, size - 2, size - 1};
+        final double[] expected = Arrays.stream(k).mapToDouble(i -> 1 + (i / repeats) * delta).toArray();
+        Assertions.assertArrayEquals(expected, s.select(k));
+    }
+}
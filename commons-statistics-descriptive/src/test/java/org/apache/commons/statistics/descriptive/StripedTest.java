@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link Striped}.
+ */
+class StripedTest {
+    @ParameterizedTest
+    @CsvSource({
+        "-1, 2",
+        "0, 2",
+        "1, 2",
+        "2, 4",
+        "3, 8",
+        "4, 8",
+        "5, 16",
+        "64, 128",
+        "100000, 65536",
+        "2147483647, 65536",
+    })
+    void testCellCount(int processors, int expected) {
+        Assertions.assertEquals(expected, Striped.cellCount(processors));
+    }
+
+    @Test
+    void testLock() {
+        final AtomicInteger created = new AtomicInteger();
+        final Striped<int[]> striped = new Striped<>(() -> {
+            created.incrementAndGet();
+            return new int[1];
+        });
+        // Empty
+        striped.forEach(x -> Assertions.fail());
+        Assertions.assertEquals(0, created.get());
+        // A single thread reuses the same cell
+        for (int i = 0; i < 10; i++) {
+            final Striped.Cell<int[]> c = striped.lock();
+            Assertions.assertTrue(c.isHeldByCurrentThread());
+            c.get()[0]++;
+            c.unlock();
+        }
+        Assertions.assertEquals(1, created.get());
+        final int[] sum = {0};
+        striped.forEach(x -> sum[0] += x[0]);
+        Assertions.assertEquals(10, sum[0]);
+    }
+
+    @Test
+    void testConcurrentUpdates() throws InterruptedException {
+        final Striped<int[]> striped = new Striped<>(() -> new int[1]);
+        final int threads = 8;
+        final int updates = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] t = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            t[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < updates; j++) {
+                    final Striped.Cell<int[]> c = striped.lock();
+                    try {
+                        // Non-atomic update is safe under the lock
+                        c.get()[0]++;
+                    } finally {
+                        c.unlock();
+                    }
+                }
+            });
+            t[i].start();
+        }
+        start.countDown();
+        for (final Thread thread : t) {
+            thread.join();
+        }
+        final int[] sum = {0};
+        striped.forEach(x -> sum[0] += x[0]);
+        Assertions.assertEquals(threads * updates, sum[0]);
+    }
+}
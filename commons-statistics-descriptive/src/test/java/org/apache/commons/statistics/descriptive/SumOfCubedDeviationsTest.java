@@ -83,6 +83,7 @@ final class SumOfCubedDeviationsTest extends BaseDoubleStatisticTest<SumOfCubedD
     protected Stream<StatisticTestData> streamTestData() {
         final Stream.Builder<StatisticTestData> builder = Stream.builder();
         TestData.momentTestData().forEach(x -> builder.accept(addCase(x)));
+        TestData.longMomentTestData().forEach(x -> builder.accept(addCase(x)));
         // The value 2^1023 will overflow the sum of squared deviations
         builder.accept(addCase(0, 0, 0x1.0p1023));
         // The value 2^500 will overflow the sum of cubed deviations but not
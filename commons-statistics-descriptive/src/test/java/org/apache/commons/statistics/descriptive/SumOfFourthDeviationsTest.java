@@ -105,6 +105,7 @@ final class SumOfFourthDeviationsTest extends BaseDoubleStatisticTest<SumOfFourt
     protected Stream<StatisticTestData> streamTestData() {
         final Stream.Builder<StatisticTestData> builder = Stream.builder();
         TestData.momentTestData().forEach(x -> builder.accept(addCase(x)));
+        TestData.longMomentTestData().forEach(x -> builder.accept(addCase(x)));
         // The value 2^1023 will overflow the sum of squared deviations
         builder.accept(addCase(0, 0, 0, 0x1.0p1023));
         // The value 2^500 will overflow the sum of Fourth deviations but not
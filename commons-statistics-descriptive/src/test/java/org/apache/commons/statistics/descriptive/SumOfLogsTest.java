@@ -17,10 +17,14 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link SumOfLogs}.
@@ -106,4 +110,29 @@ final class SumOfLogsTest extends BaseDoubleStatisticTest<SumOfLogs> {
         builder.accept(addReference(21.848545372696186, DoubleTolerances.ulps(1), 5, 9, 13, 14, 10, 12, 11, 15, 19));
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            SumOfLogs.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final SumOfLogs s = SumOfLogs.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(SumOfLogs.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(SumOfLogs.of(1, 2, 3, 4, 5.5).combine(SumOfLogs.of(7, 8.25)).getAsDouble(),
+                s.combine(SumOfLogs.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            SumOfLogs.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(SumOfLogs.create().getAsDouble(), SumOfLogs.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SumOfLogs.readFrom(buffer));
+    }
 }
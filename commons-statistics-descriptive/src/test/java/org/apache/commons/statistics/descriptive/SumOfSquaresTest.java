@@ -16,10 +16,14 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link SumOfSquares}.
@@ -83,4 +87,29 @@ final class SumOfSquaresTest extends BaseDoubleStatisticTest<SumOfSquares> {
         builder.accept(addReference(2.9999999999999997e-05, DoubleTolerances.ulps(3), 0.001, 0.002, 0.003, 0.004));
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            SumOfSquares.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final SumOfSquares s = SumOfSquares.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(SumOfSquares.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(SumOfSquares.of(1, 2, 3, 4, 5.5).combine(SumOfSquares.of(7, 8.25)).getAsDouble(),
+                s.combine(SumOfSquares.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            SumOfSquares.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(SumOfSquares.create().getAsDouble(), SumOfSquares.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SumOfSquares.readFrom(buffer));
+    }
 }
@@ -17,10 +17,14 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
 import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * Test for {@link Sum}.
@@ -91,4 +95,29 @@ final class SumTest extends BaseDoubleStatisticTest<Sum> {
         builder.accept(addReference(288358.4000000004, DoubleTolerances.ulps(10), a));
         return builder.build();
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            Sum.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final Sum s = Sum.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(Sum.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(Sum.of(1, 2, 3, 4, 5.5).combine(Sum.of(7, 8.25)).getAsDouble(),
+                s.combine(Sum.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            Sum.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(Sum.create().getAsDouble(), Sum.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Variance.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Sum.readFrom(buffer));
+    }
 }
@@ -17,6 +17,8 @@
 package org.apache.commons.statistics.descriptive;
 
 import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
 import org.junit.jupiter.params.provider.Arguments;
 
 /**
@@ -54,6 +56,36 @@ final class TestData {
         );
     }
 
+    /**
+     * A stream of test data for the moments using long arrays. The data is long enough
+     * to use the unrolled array kernels (with a partial final block). The error of the
+     * rolling algorithm used by the {@code accept} method is larger for long arrays.
+     *
+     * @return the stream of test data
+     */
+    static Stream<double[]> longMomentTestData() {
+        return Stream.of(
+            createLongData(1),
+            // Overflow of the sum.
+            // The scale ensures the sum of the deviations from the mean is finite.
+            createLongData(Double.MAX_VALUE / 64)
+        );
+    }
+
+    /**
+     * Creates data long enough to use the unrolled array kernels for the moments.
+     * The values are a skewed distribution of positive values scaled by the
+     * specified factor.
+     *
+     * @param scale Scale factor.
+     * @return the data
+     */
+    private static double[] createLongData(double scale) {
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create(12345L);
+        return rng.doubles(FirstMoment.UNROLL_LENGTH * 2 + 3)
+            .map(x -> x * x * scale).toArray();
+    }
+
 
     /**
      * Stream the arguments to test creation methods with an invalid array range.
@@ -75,4 +107,28 @@ final class TestData {
         builder.add(Arguments.of(0, 1, 0));
         return builder.build();
     }
+
+    /**
+     * Stream the arguments to test weighted statistics. The weights are integers
+     * (including zero) so the statistic can be compared to the values replicated by
+     * their weights. Arguments are [values, weights].
+     *
+     * @return the stream
+     * @see TestHelper#replicate(double[], double[])
+     */
+    static Stream<Arguments> weightedTestData() {
+        final UniformRandomProvider rng = RandomSource.XO_SHI_RO_128_PP.create(6789L);
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4, 5}, new double[] {1, 1, 1, 1, 1}));
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4, 5}, new double[] {5, 4, 3, 2, 1}));
+        builder.add(Arguments.of(new double[] {1.5, -2.25, 3}, new double[] {0, 7, 2}));
+        builder.add(Arguments.of(new double[] {3, 1, 2, 1, 3}, new double[] {2, 3, 1, 0, 4}));
+        for (final int n : new int[] {2, 5, 10, 50}) {
+            builder.add(Arguments.of(rng.doubles(n, -5, 5).toArray(),
+                rng.ints(n, 1, 6).asDoubleStream().toArray()));
+            builder.add(Arguments.of(rng.doubles(n, 100, 101).toArray(),
+                rng.ints(n, 0, 20).asDoubleStream().toArray()));
+        }
+        return builder.build();
+    }
 }
@@ -20,11 +20,18 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
 import java.util.function.DoubleSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 import org.apache.commons.numbers.core.DD;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.rng.simple.RandomSource;
@@ -160,6 +167,20 @@ final class TestHelper {
         }
     }
 
+    /**
+     * Replicate each value by its integer weight.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return the replicated values
+     */
+    static double[] replicate(double[] values, double[] weights) {
+        return IntStream.range(0, values.length)
+            .mapToObj(i -> DoubleStream.generate(() -> values[i]).limit((long) weights[i]))
+            .flatMapToDouble(s -> s)
+            .toArray();
+    }
+
     /**
      * Helper function to compute the expected value of Mean using BigDecimal.
      * @param values Values.
@@ -577,4 +598,231 @@ final class TestHelper {
     static String prefix(Supplier<String> msg) {
         return msg == null ? "" : msg.get() + ": ";
     }
+
+    /**
+     * Create a direct buffer containing the values. The buffer has one additional element
+     * before and after the values; the position and limit are set to the range of the values.
+     *
+     * @param values Values.
+     * @return the buffer
+     */
+    static DoubleBuffer directBuffer(double[] values) {
+        final DoubleBuffer b = ByteBuffer.allocateDirect((values.length + 2) * Double.BYTES)
+            .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        b.put(-1).put(values).put(-1);
+        b.limit(values.length + 1).position(1);
+        return b;
+    }
+
+    /**
+     * Create a direct buffer containing the values. The buffer has one additional element
+     * before and after the values; the position and limit are set to the range of the values.
+     *
+     * @param values Values.
+     * @return the buffer
+     */
+    static IntBuffer directBuffer(int[] values) {
+        final IntBuffer b = ByteBuffer.allocateDirect((values.length + 2) * Integer.BYTES)
+            .order(ByteOrder.nativeOrder()).asIntBuffer();
+        b.put(-1).put(values).put(-1);
+        b.limit(values.length + 1).position(1);
+        return b;
+    }
+
+    /**
+     * Create a direct buffer containing the values. The buffer has one additional element
+     * before and after the values; the position and limit are set to the range of the values.
+     *
+     * @param values Values.
+     * @return the buffer
+     */
+    static LongBuffer directBuffer(long[] values) {
+        final LongBuffer b = ByteBuffer.allocateDirect((values.length + 2) * Long.BYTES)
+            .order(ByteOrder.nativeOrder()).asLongBuffer();
+        b.put(-1).put(values).put(-1);
+        b.limit(values.length + 1).position(1);
+        return b;
+    }
+
+    /**
+     * Gets the entire content of the buffer, ignoring the position and limit.
+     *
+     * @param b Buffer.
+     * @return the content
+     */
+    static double[] contents(DoubleBuffer b) {
+        final DoubleBuffer d = b.duplicate();
+        d.clear();
+        final double[] x = new double[d.capacity()];
+        d.get(x);
+        return x;
+    }
+
+    /**
+     * Gets the entire content of the buffer, ignoring the position and limit.
+     *
+     * @param b Buffer.
+     * @return the content
+     */
+    static int[] contents(IntBuffer b) {
+        final IntBuffer d = b.duplicate();
+        d.clear();
+        final int[] x = new int[d.capacity()];
+        d.get(x);
+        return x;
+    }
+
+    /**
+     * Gets the entire content of the buffer, ignoring the position and limit.
+     *
+     * @param b Buffer.
+     * @return the content
+     */
+    static long[] contents(LongBuffer b) {
+        final LongBuffer d = b.duplicate();
+        d.clear();
+        final long[] x = new long[d.capacity()];
+        d.get(x);
+        return x;
+    }
+
+    /**
+     * Assert the buffer content matches the expected content. If the buffer may be
+     * modified then the content between the buffer position and limit must be a
+     * permutation of the expected content; all other content must be unchanged.
+     *
+     * @param expected Expected content.
+     * @param b Buffer.
+     * @param modified Set to {@code true} if the buffer may be modified.
+     */
+    static void assertContents(double[] expected, DoubleBuffer b, boolean modified) {
+        final double[] actual = contents(b);
+        if (modified) {
+            final int from = b.position();
+            final int to = b.limit();
+            final double[] x = expected.clone();
+            Arrays.sort(x, from, to);
+            Arrays.sort(actual, from, to);
+            Assertions.assertArrayEquals(x, actual, "Buffer content is not a permutation");
+        } else {
+            Assertions.assertArrayEquals(expected, actual, "Buffer was modified");
+        }
+    }
+
+    /**
+     * Assert the buffer content matches the expected content. If the buffer may be
+     * modified then the content between the buffer position and limit must be a
+     * permutation of the expected content; all other content must be unchanged.
+     *
+     * @param expected Expected content.
+     * @param b Buffer.
+     * @param modified Set to {@code true} if the buffer may be modified.
+     */
+    static void assertContents(int[] expected, IntBuffer b, boolean modified) {
+        final int[] actual = contents(b);
+        if (modified) {
+            final int from = b.position();
+            final int to = b.limit();
+            final int[] x = expected.clone();
+            Arrays.sort(x, from, to);
+            Arrays.sort(actual, from, to);
+            Assertions.assertArrayEquals(x, actual, "Buffer content is not a permutation");
+        } else {
+            Assertions.assertArrayEquals(expected, actual, "Buffer was modified");
+        }
+    }
+
+    /**
+     * Assert the buffer content matches the expected content. If the buffer may be
+     * modified then the content between the buffer position and limit must be a
+     * permutation of the expected content; all other content must be unchanged.
+     *
+     * @param expected Expected content.
+     * @param b Buffer.
+     * @param modified Set to {@code true} if the buffer may be modified.
+     */
+    static void assertContents(long[] expected, LongBuffer b, boolean modified) {
+        final long[] actual = contents(b);
+        if (modified) {
+            final int from = b.position();
+            final int to = b.limit();
+            final long[] x = expected.clone();
+            Arrays.sort(x, from, to);
+            Arrays.sort(actual, from, to);
+            Assertions.assertArrayEquals(x, actual, "Buffer content is not a permutation");
+        } else {
+            Assertions.assertArrayEquals(expected, actual, "Buffer was modified");
+        }
+    }
+
+    /**
+     * Create random boundaries for contiguous ranges of an array of length {@code n}.
+     * The boundaries are non-decreasing and may define empty ranges.
+     *
+     * @param rng Source of randomness.
+     * @param n Length of the array.
+     * @param ranges Number of ranges.
+     * @return the boundaries
+     */
+    static int[] randomBoundaries(UniformRandomProvider rng, int n, int ranges) {
+        final int[] b = rng.ints(ranges + 1, 0, n + 1).toArray();
+        Arrays.sort(b);
+        return b;
+    }
+
+    /**
+     * Compute the expected sum of the products of the deviations from the mean
+     * multiplied by the count: {@code n * sum(xy) - sum(x) * sum(y)}.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @return the precursor
+     */
+    static BigDecimal computeExpectedSumOfProductsN(BigDecimal[] x, BigDecimal[] y) {
+        BigDecimal sx = BigDecimal.ZERO;
+        BigDecimal sy = BigDecimal.ZERO;
+        BigDecimal sxy = BigDecimal.ZERO;
+        for (int i = 0; i < x.length; i++) {
+            sx = sx.add(x[i]);
+            sy = sy.add(y[i]);
+            sxy = sxy.add(x[i].multiply(y[i]));
+        }
+        return sxy.multiply(BigDecimal.valueOf(x.length)).subtract(sx.multiply(sy));
+    }
+
+    /**
+     * Compute the expected covariance of the paired values.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @param biased Set to {@code true} to compute the biased covariance.
+     * @return the covariance
+     */
+    static double computeExpectedCovariance(BigDecimal[] x, BigDecimal[] y, boolean biased) {
+        final long n = x.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (n == 1) {
+            return 0;
+        }
+        return computeExpectedSumOfProductsN(x, y)
+            .divide(BigDecimal.valueOf(n).multiply(BigDecimal.valueOf(biased ? n : n - 1)), MathContext.DECIMAL128)
+            .doubleValue();
+    }
+
+    /**
+     * Compute the expected Pearson correlation of the paired values.
+     *
+     * @param x Values of the first variable.
+     * @param y Values of the second variable.
+     * @return the correlation
+     */
+    static double computeExpectedCorrelation(BigDecimal[] x, BigDecimal[] y) {
+        final double sxy = computeExpectedSumOfProductsN(x, y).doubleValue();
+        final double sxx = computeExpectedSumOfProductsN(x, x).doubleValue();
+        final double syy = computeExpectedSumOfProductsN(y, y).doubleValue();
+        final double r = sxy / (Math.sqrt(sxx) * Math.sqrt(syy));
+        return Double.isFinite(r) ? Math.max(-1, Math.min(1, r)) : Double.NaN;
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link TrimmedMean}.
+ */
+class TrimmedMeanTest {
+    @Test
+    void testNullPropertyThrows() {
+        final TrimmedMean m = TrimmedMean.withDefaults();
+        Assertions.assertThrows(NullPointerException.class, () -> m.with((NaNPolicy) null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 0.5, 1, Double.NaN})
+    void testInvalidProportionThrows(double p) {
+        final TrimmedMean m = TrimmedMean.withDefaults();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.withProportion(p));
+    }
+
+    @Test
+    void testEmpty() {
+        final TrimmedMean m = TrimmedMean.withDefaults();
+        Assertions.assertEquals(Double.NaN, m.evaluate(new double[0]));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new int[0]));
+        Assertions.assertEquals(Double.NaN, m.with(NaNPolicy.EXCLUDE).evaluate(new double[] {Double.NaN}));
+    }
+
+    @Test
+    void testInterquartileMean() {
+        // Default proportion of 0.25 removes 2 values from each end
+        final double[] x = {9, 1, 8, 2, 7, 3, 6, 4};
+        Assertions.assertEquals(5.5, TrimmedMean.withDefaults().evaluate(x.clone()));
+        Assertions.assertEquals(5.5, TrimmedMean.withDefaults().evaluate(new int[] {9, 1, 8, 2, 7, 3, 6, 4}));
+        // No trimming is the mean
+        Assertions.assertEquals(5, TrimmedMean.withDefaults().withProportion(0).evaluate(x.clone()));
+    }
+
+    @Test
+    void testNaN() {
+        final double[] x = {1, 2, 3, Double.NaN};
+        // NaN is trimmed from the upper tail
+        Assertions.assertEquals(2.5, TrimmedMean.withDefaults().evaluate(x.clone()));
+        Assertions.assertEquals(Double.NaN, TrimmedMean.withDefaults().withProportion(0.1).evaluate(x.clone()));
+        Assertions.assertEquals(2, TrimmedMean.withDefaults().withProportion(0.1)
+            .with(NaNPolicy.EXCLUDE).evaluate(x.clone()));
+        final TrimmedMean m = TrimmedMean.withDefaults().with(NaNPolicy.ERROR);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.evaluate(x));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testTrimmedMean(double[] values, double p) {
+        final double expected = expected(values, p);
+        final TrimmedMean m = TrimmedMean.withDefaults().withProportion(p);
+        final double[] x = values.clone();
+        Assertions.assertEquals(expected, m.withCopy(true).evaluate(x), Math.ulp(expected) * 4);
+        Assertions.assertArrayEquals(values, x, "Copy modified the input");
+        Assertions.assertEquals(expected, m.evaluate(x), Math.ulp(expected) * 4);
+        // Range
+        final int n = values.length;
+        final double[] y = TestHelper.concatenate(new double[] {-1e300}, values, new double[] {1e300});
+        Assertions.assertEquals(expected, m.evaluateRange(y, 1, n + 1), Math.ulp(expected) * 4);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(y, 1, n + 3));
+        // Integer values
+        final int[] z = Arrays.stream(values).mapToInt(v -> (int) Math.floor(v * 100)).toArray();
+        final double ez = expected(Arrays.stream(z).asDoubleStream().toArray(), p);
+        Assertions.assertEquals(ez, m.evaluate(z.clone()), Math.ulp(ez) * 4);
+        Assertions.assertEquals(ez, m.withCopy(true).evaluateRange(z, 0, n), Math.ulp(ez) * 4);
+    }
+
+    static Stream<Arguments> testTrimmedMean() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {1, 2, 3, 5, 10, 51, 200}) {
+            for (final double p : new double[] {0, 0.05, 0.1, 0.25, 0.4, 0.49}) {
+                builder.add(Arguments.of(rng.doubles(n, -10, 10).toArray(), p));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compute the expected trimmed mean using a full sort.
+     *
+     * @param values Values.
+     * @param p Proportion.
+     * @return the trimmed mean
+     */
+    private static double expected(double[] values, double p) {
+        final double[] x = values.clone();
+        Arrays.sort(x);
+        final int g = (int) (p * x.length);
+        return TestHelper.computeExpectedMean(Arrays.copyOfRange(x, g, x.length - g)).doubleValue();
+    }
+}
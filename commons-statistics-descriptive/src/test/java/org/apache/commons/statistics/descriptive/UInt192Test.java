@@ -87,6 +87,35 @@ class UInt192Test {
         return builder.build();
     }
 
+    @Test
+    void testAddUnsignedProduct() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final long[] x = {0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 42};
+        for (final long a : x) {
+            for (final long b : x) {
+                assertAddUnsignedProduct(new long[] {a}, new long[] {b});
+            }
+        }
+        for (int i = 0; i < 20; i++) {
+            assertAddUnsignedProduct(rng.longs(100).toArray(), rng.longs(100).toArray());
+        }
+    }
+
+    private static void assertAddUnsignedProduct(long[] a, long[] b) {
+        BigInteger expected = BigInteger.ZERO;
+        final UInt192 v = UInt192.create();
+        for (int i = 0; i < a.length; i++) {
+            expected = expected.add(toUnsignedBigInteger(a[i]).multiply(toUnsignedBigInteger(b[i])));
+            v.addUnsignedProduct(a[i], b[i]);
+        }
+        Assertions.assertEquals(expected, v.toBigInteger());
+    }
+
+    private static BigInteger toUnsignedBigInteger(long x) {
+        final BigInteger v = BigInteger.valueOf(x);
+        return x < 0 ? v.add(BigInteger.ONE.shiftLeft(64)) : v;
+    }
+
     @ParameterizedTest
     @MethodSource
     void testAddInt192(long a, long b, long c, long d, long e, long f) {
@@ -18,6 +18,8 @@ package org.apache.commons.statistics.descriptive;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import org.apache.commons.statistics.distribution.DoubleTolerance;
@@ -92,6 +94,10 @@ final class VarianceTest extends BaseDoubleStatisticTest<Variance> {
     protected Stream<StatisticTestData> streamTestData() {
         final Stream.Builder<StatisticTestData> builder = Stream.builder();
         TestData.momentTestData().forEach(x -> builder.accept(addCase(x)));
+        // The accept method uses a rolling algorithm with a larger error on long arrays
+        final DoubleTolerance tol = TestHelper.equalsOrNonFinite(createRelTolerance(1e-13));
+        TestData.longMomentTestData().forEach(x -> builder.accept(addCase(
+            tol, getToleranceArray(), tol, getToleranceArrayAndCombine(), x)));
         // Non-finite sum-of-squared deviations
         builder.accept(addReference(Double.NaN, DoubleTolerances.equals(), 0, 0x1.0p1023));
         // Python Numpy v1.25.1: numpy.var(x, ddof=1)
@@ -211,4 +217,29 @@ final class VarianceTest extends BaseDoubleStatisticTest<Variance> {
             .divide(BigDecimal.valueOf(values.length - 1), mc).doubleValue();
         Assertions.assertEquals(variance, v, "256-digit precision result");
     }
+
+    @Test
+    void testWriteReadState() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64).order(order);
+            Variance.of(1, 2, 3, 4, 5.5).writeTo(buffer);
+            buffer.flip();
+            final Variance s = Variance.readFrom(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals(Variance.of(1, 2, 3, 4, 5.5).getAsDouble(), s.getAsDouble());
+            // The restored state can be updated
+            Assertions.assertEquals(Variance.of(1, 2, 3, 4, 5.5).combine(Variance.of(7, 8.25)).getAsDouble(),
+                s.combine(Variance.of(7, 8.25)).getAsDouble());
+            // Empty
+            buffer.clear();
+            Variance.create().writeTo(buffer);
+            buffer.flip();
+            Assertions.assertEquals(Variance.create().getAsDouble(), Variance.readFrom(buffer).getAsDouble());
+        }
+        // Wrong type
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        Product.create().writeTo(buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Variance.readFrom(buffer));
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link WeightedSkewness}.
+ */
+class WeightedSkewnessTest {
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.create().getAsDouble());
+        Assertions.assertEquals(0, WeightedSkewness.create().getSumOfWeights());
+        final WeightedSkewness s = WeightedSkewness.of(new double[] {1, 2}, new double[] {0, 0});
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        Assertions.assertEquals(0, s.getSumOfWeights());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-1, -Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY})
+    void testInvalidWeightThrows(double w) {
+        final WeightedSkewness s = WeightedSkewness.create();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.accept(1, w));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> WeightedSkewness.of(new double[] {1}, new double[] {w}));
+    }
+
+    @Test
+    void testLengthMismatchThrows() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> WeightedSkewness.of(new double[] {1, 2}, new double[] {1}));
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.apache.commons.statistics.descriptive.TestData#weightedTestData")
+    void testIntegerWeights(double[] values, double[] weights) {
+        final double[] x = TestHelper.replicate(values, weights);
+        final double sumOfWeights = Arrays.stream(weights).sum();
+        for (final boolean biased : new boolean[] {false, true}) {
+            final double expected = Skewness.of(x).setBiased(biased).getAsDouble();
+            final WeightedSkewness s1 = WeightedSkewness.of(values, weights).setBiased(biased);
+            assertWeighted(expected, s1.getAsDouble());
+            Assertions.assertEquals(sumOfWeights, s1.getSumOfWeights());
+            final WeightedSkewness s2 = WeightedSkewness.create().setBiased(biased);
+            for (int i = 0; i < values.length; i++) {
+                s2.accept(values[i], weights[i]);
+            }
+            assertWeighted(expected, s2.getAsDouble());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.apache.commons.statistics.descriptive.TestData#weightedTestData")
+    void testNonIntegerWeights(double[] values, double[] weights) {
+        // The biased statistic is invariant to the scale of the weights
+        final double expected = WeightedSkewness.of(values, weights).setBiased(true).getAsDouble();
+        for (final double scale : new double[] {0.125, 0.3, 1.75}) {
+            final double[] w = Arrays.stream(weights).map(x -> x * scale).toArray();
+            assertWeighted(expected, WeightedSkewness.of(values, w).setBiased(true).getAsDouble());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.apache.commons.statistics.descriptive.TestData#weightedTestData")
+    void testUnitWeights(double[] values, double[] weights) {
+        for (final boolean biased : new boolean[] {false, true}) {
+            final Skewness expected = Skewness.create().setBiased(biased);
+            final WeightedSkewness s = WeightedSkewness.create().setBiased(biased);
+            for (final double x : values) {
+                expected.accept(x);
+                s.accept(x);
+            }
+            assertWeighted(expected.getAsDouble(), s.getAsDouble());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.apache.commons.statistics.descriptive.TestData#weightedTestData")
+    void testCombine(double[] values, double[] weights) {
+        final int n = values.length;
+        for (final boolean biased : new boolean[] {false, true}) {
+            final double expected = WeightedSkewness.of(values, weights).setBiased(biased).getAsDouble();
+            for (final int split : new int[] {0, 1, n / 2, n}) {
+                final WeightedSkewness s1 = WeightedSkewness.of(Arrays.copyOf(values, split), Arrays.copyOf(weights, split)).setBiased(biased);
+                final WeightedSkewness s2 = WeightedSkewness.of(Arrays.copyOfRange(values, split, n), Arrays.copyOfRange(weights, split, n));
+                Assertions.assertSame(s1, s1.combine(s2));
+                assertWeighted(expected, s1.getAsDouble());
+            }
+        }
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        for (final double x : new double[] {inf, -inf, Double.NaN}) {
+            final WeightedSkewness s = WeightedSkewness.of(new double[] {1, 2, 3, x, 4}, new double[] {1, 2, 3, 4, 5});
+            Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        }
+        // Non-finite value with zero weight is ignored
+        Assertions.assertEquals(WeightedSkewness.of(new double[] {1, 2, 3, 4}, new double[] {1, 2, 3, 5}).getAsDouble(),
+            WeightedSkewness.of(new double[] {1, 2, 3, inf, 4}, new double[] {1, 2, 3, 0, 5}).getAsDouble());
+    }
+
+    private static void assertWeighted(double expected, double actual) {
+        if (Double.isNaN(expected)) {
+            Assertions.assertEquals(expected, actual);
+        } else {
+            Assertions.assertEquals(expected, actual, Math.abs(expected) * 1e-10 + 1e-13);
+        }
+    }
+}
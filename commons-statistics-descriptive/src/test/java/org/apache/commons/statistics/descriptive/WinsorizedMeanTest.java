@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link WinsorizedMean}.
+ */
+class WinsorizedMeanTest {
+    @Test
+    void testNullPropertyThrows() {
+        final WinsorizedMean m = WinsorizedMean.withDefaults();
+        Assertions.assertThrows(NullPointerException.class, () -> m.with((NaNPolicy) null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 0.5, 1, Double.NaN})
+    void testInvalidProportionThrows(double p) {
+        final WinsorizedMean m = WinsorizedMean.withDefaults();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.withProportion(p));
+    }
+
+    @Test
+    void testEmpty() {
+        final WinsorizedMean m = WinsorizedMean.withDefaults();
+        Assertions.assertEquals(Double.NaN, m.evaluate(new double[0]));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new int[0]));
+        Assertions.assertEquals(Double.NaN, m.with(NaNPolicy.EXCLUDE).evaluate(new double[] {Double.NaN}));
+    }
+
+    @Test
+    void testExample() {
+        // Default proportion of 0.2 replaces 2 values at each end
+        final double[] x = {100, 1, 8, 2, 7, 3, 6, 4, 5, -50};
+        // {2, 2, 2, 3, 4, 5, 6, 7, 8, 8}
+        Assertions.assertEquals(4.7, WinsorizedMean.withDefaults().evaluate(x.clone()), 1e-15);
+        Assertions.assertEquals(4.7, WinsorizedMean.withDefaults().evaluate(new int[] {100, 1, 8, 2, 7, 3, 6, 4, 5, -50}));
+        // No replacement is the mean
+        Assertions.assertEquals(8.6, WinsorizedMean.withDefaults().withProportion(0).evaluate(x.clone()), 1e-14);
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final WinsorizedMean m = WinsorizedMean.withDefaults().withProportion(0.25);
+        // Infinite values are replaced
+        Assertions.assertEquals(2.5, m.evaluate(new double[] {-inf, 2, 3, inf}));
+        Assertions.assertEquals(inf, m.evaluate(new double[] {1, 2, inf, inf}));
+        // NaN is replaced by the upper boundary
+        Assertions.assertEquals(2.5, m.evaluate(new double[] {1, 2, 3, Double.NaN}));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new double[] {1, 2, Double.NaN, Double.NaN}));
+        Assertions.assertEquals(1.5, m.with(NaNPolicy.EXCLUDE).evaluate(new double[] {1, 2, Double.NaN, Double.NaN}));
+        final WinsorizedMean m2 = m.with(NaNPolicy.ERROR);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m2.evaluate(new double[] {1, Double.NaN}));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testWinsorizedMean(double[] values, double p) {
+        final double expected = expected(values, p);
+        final WinsorizedMean m = WinsorizedMean.withDefaults().withProportion(p);
+        final double[] x = values.clone();
+        Assertions.assertEquals(expected, m.withCopy(true).evaluate(x), Math.ulp(expected) * 8);
+        Assertions.assertArrayEquals(values, x, "Copy modified the input");
+        Assertions.assertEquals(expected, m.evaluate(x), Math.ulp(expected) * 8);
+        // Range
+        final int n = values.length;
+        final double[] y = TestHelper.concatenate(new double[] {-1e300}, values, new double[] {1e300});
+        Assertions.assertEquals(expected, m.evaluateRange(y, 1, n + 1), Math.ulp(expected) * 8);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(y, 1, n + 3));
+        // Integer values
+        final int[] z = Arrays.stream(values).mapToInt(v -> (int) Math.floor(v * 100)).toArray();
+        final double ez = expected(Arrays.stream(z).asDoubleStream().toArray(), p);
+        Assertions.assertEquals(ez, m.evaluate(z.clone()), Math.ulp(ez) * 8);
+        Assertions.assertEquals(ez, m.withCopy(true).evaluateRange(z, 0, n), Math.ulp(ez) * 8);
+    }
+
+    static Stream<Arguments> testWinsorizedMean() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {1, 2, 3, 5, 10, 51, 200}) {
+            for (final double p : new double[] {0, 0.05, 0.1, 0.25, 0.4, 0.49}) {
+                builder.add(Arguments.of(rng.doubles(n, -10, 10).toArray(), p));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compute the expected winsorized mean using a full sort.
+     *
+     * @param values Values.
+     * @param p Proportion.
+     * @return the winsorized mean
+     */
+    private static double expected(double[] values, double p) {
+        return TestHelper.computeExpectedMean(winsorize(values, p)).doubleValue();
+    }
+
+    /**
+     * Compute the winsorized values using a full sort.
+     *
+     * @param values Values.
+     * @param p Proportion.
+     * @return the winsorized values
+     */
+    static double[] winsorize(double[] values, double p) {
+        final double[] x = values.clone();
+        Arrays.sort(x);
+        final int n = x.length;
+        final int g = (int) (p * n);
+        if (g != 0) {
+            Arrays.fill(x, 0, g, x[g]);
+            Arrays.fill(x, n - g, n, x[n - g - 1]);
+        }
+        return x;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link WinsorizedVariance}.
+ */
+class WinsorizedVarianceTest {
+    @Test
+    void testNullPropertyThrows() {
+        final WinsorizedVariance m = WinsorizedVariance.withDefaults();
+        Assertions.assertThrows(NullPointerException.class, () -> m.with((NaNPolicy) null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 0.5, 1, Double.NaN})
+    void testInvalidProportionThrows(double p) {
+        final WinsorizedVariance m = WinsorizedVariance.withDefaults();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.withProportion(p));
+    }
+
+    @Test
+    void testEmpty() {
+        final WinsorizedVariance m = WinsorizedVariance.withDefaults();
+        Assertions.assertEquals(Double.NaN, m.evaluate(new double[0]));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new int[0]));
+        Assertions.assertEquals(0, m.evaluate(new double[] {42}));
+        Assertions.assertEquals(0, m.evaluate(new int[] {42}));
+    }
+
+    @Test
+    void testExample() {
+        // Default proportion of 0.2 replaces 2 values at each end
+        final double[] x = {100, 1, 8, 2, 7, 3, 6, 4, 5, -50};
+        final double expected = Variance.of(2, 2, 2, 3, 4, 5, 6, 7, 8, 8).getAsDouble();
+        Assertions.assertEquals(expected, WinsorizedVariance.withDefaults().evaluate(x.clone()), 1e-14);
+        Assertions.assertEquals(expected,
+            WinsorizedVariance.withDefaults().evaluate(new int[] {100, 1, 8, 2, 7, 3, 6, 4, 5, -50}), 1e-14);
+        // No replacement is the variance
+        Assertions.assertEquals(Variance.of(x).getAsDouble(),
+            WinsorizedVariance.withDefaults().withProportion(0).evaluate(x.clone()), 1e-12);
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final WinsorizedVariance m = WinsorizedVariance.withDefaults().withProportion(0.25);
+        // Infinite values are replaced
+        Assertions.assertEquals(1.0 / 3, m.evaluate(new double[] {-inf, 2, 3, inf}), 1e-15);
+        Assertions.assertEquals(Double.NaN, m.evaluate(new double[] {1, 2, inf, inf}));
+        Assertions.assertEquals(Double.NaN, m.evaluate(new double[] {1, 2, Double.NaN, Double.NaN}));
+        Assertions.assertEquals(0.5, m.with(NaNPolicy.EXCLUDE).evaluate(new double[] {1, 2, Double.NaN, Double.NaN}));
+    }
+
+    @Test
+    void testExtremeIntValues() {
+        final int[] x = new int[100];
+        Arrays.fill(x, 0, 50, Integer.MIN_VALUE);
+        Arrays.fill(x, 50, 100, Integer.MAX_VALUE);
+        final double expected = IntVariance.of(x).getAsDouble();
+        Assertions.assertEquals(expected, WinsorizedVariance.withDefaults().evaluate(x), Math.ulp(expected));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testWinsorizedVariance(double[] values, double p) {
+        final double expected = expected(values, p);
+        final WinsorizedVariance m = WinsorizedVariance.withDefaults().withProportion(p);
+        final double[] x = values.clone();
+        Assertions.assertEquals(expected, m.withCopy(true).evaluate(x), Math.abs(expected) * 1e-14);
+        Assertions.assertArrayEquals(values, x, "Copy modified the input");
+        Assertions.assertEquals(expected, m.evaluate(x), Math.abs(expected) * 1e-14);
+        // Range
+        final int n = values.length;
+        final double[] y = TestHelper.concatenate(new double[] {-1e300}, values, new double[] {1e300});
+        Assertions.assertEquals(expected, m.evaluateRange(y, 1, n + 1), Math.abs(expected) * 1e-14);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.evaluateRange(y, 1, n + 3));
+        // Integer values
+        final int[] z = Arrays.stream(values).mapToInt(v -> (int) Math.floor(v * 100)).toArray();
+        final double ez = expected(Arrays.stream(z).asDoubleStream().toArray(), p);
+        Assertions.assertEquals(ez, m.evaluate(z.clone()), Math.abs(ez) * 1e-14);
+        Assertions.assertEquals(ez, m.withCopy(true).evaluateRange(z, 0, n), Math.abs(ez) * 1e-14);
+    }
+
+    static Stream<Arguments> testWinsorizedVariance() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {1, 2, 3, 5, 10, 51, 200}) {
+            for (final double p : new double[] {0, 0.05, 0.1, 0.25, 0.4, 0.49}) {
+                builder.add(Arguments.of(rng.doubles(n, -10, 10).toArray(), p));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compute the expected winsorized variance using a full sort.
+     *
+     * @param values Values.
+     * @param p Proportion.
+     * @return the winsorized variance
+     */
+    private static double expected(double[] values, double p) {
+        final double[] x = WinsorizedMeanTest.winsorize(values, p);
+        if (x.length == 1) {
+            return 0;
+        }
+        return TestHelper.computeExpectedSumOfSquaredDeviations(x, null)
+            .divide(BigDecimal.valueOf(x.length - 1), MathContext.DECIMAL128).doubleValue();
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.examples.jmh.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.apache.commons.statistics.descriptive.InterquartileRange;
+import org.apache.commons.statistics.descriptive.Median;
+import org.apache.commons.statistics.descriptive.MedianAbsoluteDeviation;
+import org.apache.commons.statistics.descriptive.Quantile;
+import org.apache.commons.statistics.examples.jmh.descriptive.QuantilePerformance.AbstractDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes a benchmark of the median absolute deviation (MAD) and interquartile
+ * range (IQR) from array data.
+ *
+ * <p>The dedicated statistics are compared to a computation using a full sort, and
+ * to a computation using the existing {@link Median} and {@link Quantile} statistics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx8192M"})
+public class DispersionPerformance {
+    /** Use the JDK sort function. */
+    private static final String JDK = "JDK";
+    /** Use the Median or Quantile statistics. */
+    private static final String QUANTILE = "Quantile";
+    /** Commons Statistics implementation. */
+    private static final String STATISTICS = "Statistics";
+
+    /**
+     * Source of {@code double} array data.
+     *
+     * <p>This uses the same data class as {@link QuantilePerformance}.
+     * This enables reuse of the various data distributions provided.
+     */
+    @State(Scope.Benchmark)
+    public static class DataSource extends AbstractDataSource {
+        /** Data length. */
+        @Param({"1000", "100000"})
+        private int length;
+
+        /** {@inheritDoc} */
+        @Override
+        protected int getLength() {
+            return length;
+        }
+    }
+
+    /**
+     * Source of a {@link ToDoubleFunction} for the MAD of a {@code double[]}.
+     */
+    @State(Scope.Benchmark)
+    public static class DoubleMADSource {
+        /** Name of the source. */
+        @Param({JDK, QUANTILE, STATISTICS})
+        private String name;
+
+        /** The action. */
+        private ToDoubleFunction<double[]> function;
+
+        /**
+         * @return the function
+         */
+        public ToDoubleFunction<double[]> getFunction() {
+            return function;
+        }
+
+        /**
+         * Create the function.
+         */
+        @Setup
+        public void setup() {
+            Objects.requireNonNull(name);
+            if (JDK.equals(name)) {
+                function = DoubleMADSource::sortMAD;
+            } else if (QUANTILE.equals(name)) {
+                final Median m = Median.withDefaults();
+                function = values -> {
+                    final double median = m.evaluate(values);
+                    final double[] d = new double[values.length];
+                    for (int i = 0; i < d.length; i++) {
+                        d[i] = Math.abs(values[i] - median);
+                    }
+                    return m.evaluate(d);
+                };
+            } else if (STATISTICS.equals(name)) {
+                function = MedianAbsoluteDeviation.withDefaults()::evaluate;
+            } else {
+                throw new IllegalStateException("Unknown double[] function: " + name);
+            }
+        }
+
+        /**
+         * Sort the values and compute the MAD.
+         *
+         * @param values Values.
+         * @return the MAD
+         */
+        private static double sortMAD(double[] values) {
+            final double median = sortMedian(values);
+            final double[] d = new double[values.length];
+            for (int i = 0; i < d.length; i++) {
+                d[i] = Math.abs(values[i] - median);
+            }
+            return sortMedian(d);
+        }
+
+        /**
+         * Sort the values and compute the median.
+         *
+         * @param values Values.
+         * @return the median
+         */
+        private static double sortMedian(double[] values) {
+            final int n = values.length;
+            if (n == 0) {
+                return Double.NaN;
+            }
+            Arrays.sort(values);
+            final int k = n >>> 1;
+            // Odd
+            if ((n & 0x1) == 0x1) {
+                return values[k];
+            }
+            // Even
+            return (values[k - 1] + values[k]) * 0.5;
+        }
+    }
+
+    /**
+     * Source of a {@link ToDoubleFunction} for the MAD of an {@code int[]}.
+     */
+    @State(Scope.Benchmark)
+    public static class IntMADSource {
+        /** Name of the source. */
+        @Param({JDK, QUANTILE, STATISTICS})
+        private String name;
+
+        /** The action. */
+        private ToDoubleFunction<int[]> function;
+
+        /**
+         * @return the function
+         */
+        public ToDoubleFunction<int[]> getFunction() {
+            return function;
+        }
+
+        /**
+         * Create the function.
+         */
+        @Setup
+        public void setup() {
+            Objects.requireNonNull(name);
+            if (JDK.equals(name)) {
+                function = values -> DoubleMADSource.sortMAD(Arrays.stream(values).asDoubleStream().toArray());
+            } else if (QUANTILE.equals(name)) {
+                final Median m = Median.withDefaults();
+                function = values -> {
+                    final double median = m.evaluate(values);
+                    final double[] d = new double[values.length];
+                    for (int i = 0; i < d.length; i++) {
+                        d[i] = Math.abs(values[i] - median);
+                    }
+                    return m.evaluate(d);
+                };
+            } else if (STATISTICS.equals(name)) {
+                function = MedianAbsoluteDeviation.withDefaults()::evaluate;
+            } else {
+                throw new IllegalStateException("Unknown int[] function: " + name);
+            }
+        }
+    }
+
+    /**
+     * Source of a {@link ToDoubleFunction} for the IQR of a {@code double[]}.
+     */
+    @State(Scope.Benchmark)
+    public static class DoubleIQRSource {
+        /** Name of the source. */
+        @Param({JDK, QUANTILE, STATISTICS})
+        private String name;
+
+        /** The action. */
+        private ToDoubleFunction<double[]> function;
+
+        /**
+         * @return the function
+         */
+        public ToDoubleFunction<double[]> getFunction() {
+            return function;
+        }
+
+        /**
+         * Create the function.
+         */
+        @Setup
+        public void setup() {
+            Objects.requireNonNull(name);
+            if (JDK.equals(name)) {
+                final Quantile q = Quantile.withDefaults();
+                function = values -> {
+                    // Quantile of sorted data uses the minimum of partitioning
+                    Arrays.sort(values);
+                    return q.evaluate(values, 0.75) - q.evaluate(values, 0.25);
+                };
+            } else if (QUANTILE.equals(name)) {
+                final Quantile q = Quantile.withDefaults();
+                function = values -> q.evaluate(values, 0.75) - q.evaluate(values, 0.25);
+            } else if (STATISTICS.equals(name)) {
+                function = InterquartileRange.withDefaults()::evaluate;
+            } else {
+                throw new IllegalStateException("Unknown double[] function: " + name);
+            }
+        }
+    }
+
+    /**
+     * Create the MAD statistic using an array.
+     *
+     * @param function Source of the function.
+     * @param source Source of the data.
+     * @param bh Data sink.
+     */
+    @Benchmark
+    public void doubleMAD(DoubleMADSource function, DataSource source, Blackhole bh) {
+        final int size = source.size();
+        final ToDoubleFunction<double[]> fun = function.getFunction();
+        for (int j = -1; ++j < size;) {
+            bh.consume(fun.applyAsDouble(source.getData(j)));
+        }
+    }
+
+    /**
+     * Create the MAD statistic using an array.
+     *
+     * @param function Source of the function.
+     * @param source Source of the data.
+     * @param bh Data sink.
+     */
+    @Benchmark
+    public void intMAD(IntMADSource function, DataSource source, Blackhole bh) {
+        final int size = source.size();
+        final ToDoubleFunction<int[]> fun = function.getFunction();
+        for (int j = -1; ++j < size;) {
+            bh.consume(fun.applyAsDouble(source.getIntData(j)));
+        }
+    }
+
+    /**
+     * Create the IQR statistic using an array.
+     *
+     * @param function Source of the function.
+     * @param source Source of the data.
+     * @param bh Data sink.
+     */
+    @Benchmark
+    public void doubleIQR(DoubleIQRSource function, DataSource source, Blackhole bh) {
+        final int size = source.size();
+        final ToDoubleFunction<double[]> fun = function.getFunction();
+        for (int j = -1; ++j < size;) {
+            bh.consume(fun.applyAsDouble(source.getData(j)));
+        }
+    }
+}
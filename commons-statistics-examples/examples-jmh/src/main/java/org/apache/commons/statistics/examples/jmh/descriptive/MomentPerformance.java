@@ -26,7 +26,9 @@ import java.util.function.Supplier;
 import org.apache.commons.numbers.core.DD;
 import org.apache.commons.numbers.core.Sum;
 import org.apache.commons.rng.simple.RandomSource;
+import org.apache.commons.statistics.descriptive.Kurtosis;
 import org.apache.commons.statistics.descriptive.Mean;
+import org.apache.commons.statistics.descriptive.Variance;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -76,6 +78,10 @@ public class MomentPerformance {
     private static final String INLINE_SAFE_ROLLING_MEAN = "InlineSafeRollingMean";
     /** Inline safe rolling mean implementation with extended precision for array-based creation. */
     private static final String INLINE_SAFE_ROLLING_MEAN_EXT = "InlineSafeRollingMeanExt";
+    /** Inline safe rolling mean implementation using blocks of values for array-based creation. */
+    private static final String INLINE_SAFE_BLOCK_ROLLING_MEAN = "InlineSafeBlockRollingMean";
+    /** Number of independent accumulators for the unrolled array kernels. */
+    private static final int UNROLL = 4;
 
     /**
      * Source of {@code double} array data.
@@ -83,7 +89,7 @@ public class MomentPerformance {
     @State(Scope.Benchmark)
     public static class DataSource {
         /** Data length. */
-        @Param({"1", "10", "1000"})
+        @Param({"1", "10", "1000", "100000"})
         private int length;
 
         /** Data. */
@@ -164,13 +170,16 @@ public class MomentPerformance {
     public static class FunctionSource {
         /** Name of the source. */
         @Param({MEAN, ROLLING_MEAN, SAFE_ROLLING_MEAN, SCALED_ROLLING_MEAN,
-            INLINE_SAFE_ROLLING_MEAN, INLINE_SAFE_ROLLING_MEAN_EXT,
+            INLINE_SAFE_ROLLING_MEAN, INLINE_SAFE_ROLLING_MEAN_EXT, INLINE_SAFE_BLOCK_ROLLING_MEAN,
             SUM_MEAN, EXTENDED_SUM_MEAN, "DDMean",
             // Same speed as the ROLLING_MEAN, i.e. the DoubleConsumer is not an overhead
             //INLINE_ROLLING_MEAN
             // Higher moments
-            "SumOfCubed", "SumOfCubedPow",
-            "SumOfFourth", "SumOfFourthPow",
+            "SumOfSquared", "SumOfSquaredUnrolled",
+            "SumOfCubed", "SumOfCubedPow", "SumOfCubedUnrolled",
+            "SumOfFourth", "SumOfFourthPow", "SumOfFourthUnrolled",
+            // Commons Statistics implementations of the higher moments
+            "Variance", "Kurtosis",
         })
         private String name;
 
@@ -203,6 +212,8 @@ public class MomentPerformance {
                 function = MomentPerformance::arrayInlineSafeRollingFirstMoment;
             } else if (INLINE_SAFE_ROLLING_MEAN_EXT.equals(name)) {
                 function = MomentPerformance::arrayInlineSafeRollingFirstMomentExt;
+            } else if (INLINE_SAFE_BLOCK_ROLLING_MEAN.equals(name)) {
+                function = MomentPerformance::arrayInlineSafeBlockRollingFirstMoment;
             } else if (SUM_MEAN.equals(name)) {
                 function = MomentPerformance::arraySumMean;
             } else if (EXTENDED_SUM_MEAN.equals(name)) {
@@ -210,14 +221,26 @@ public class MomentPerformance {
                 function = x -> Sum.of(x).getAsDouble() / x.length;
             } else if ("DDMean".equals(name)) {
                 function = MomentPerformance::arrayDDSumMean;
+            } else if ("SumOfSquared".equals(name)) {
+                function = MomentPerformance::arraySumOfSquared;
+            } else if ("SumOfSquaredUnrolled".equals(name)) {
+                function = MomentPerformance::arraySumOfSquaredUnrolled;
             } else if ("SumOfCubed".equals(name)) {
                 function = MomentPerformance::arraySumOfCubed;
             } else if ("SumOfCubedPow".equals(name)) {
                 function = MomentPerformance::arraySumOfCubedPow;
+            } else if ("SumOfCubedUnrolled".equals(name)) {
+                function = MomentPerformance::arraySumOfCubedUnrolled;
             } else if ("SumOfFourth".equals(name)) {
                 function = MomentPerformance::arraySumOfFourth;
             } else if ("SumOfFourthPow".equals(name)) {
                 function = MomentPerformance::arraySumOfFourthPow;
+            } else if ("SumOfFourthUnrolled".equals(name)) {
+                function = MomentPerformance::arraySumOfFourthUnrolled;
+            } else if ("Variance".equals(name)) {
+                function = Variance::of;
+            } else if ("Kurtosis".equals(name)) {
+                function = Kurtosis::of;
             } else {
                 throw new IllegalStateException("Unknown function: " + name);
             }
@@ -644,6 +667,37 @@ public class MomentPerformance {
         return correctMeanKahan(data, m1);
     }
 
+    /**
+     * Create the two-pass mean using a rolling first moment inline.
+     * The moment is updated using the mean of blocks of values to reduce
+     * the number of divisions.
+     * The result is safe for all finite input by using downscaling.
+     * Upscaling is applied to the end result.
+     *
+     * @param data Data.
+     * @return the statistic
+     */
+    static double arrayInlineSafeBlockRollingFirstMoment(double[] data) {
+        double m1 = 0;
+        int n = 0;
+        int i = 0;
+        final double scale = 0.5 / UNROLL;
+        for (final int end = data.length - UNROLL + 1; i < end; i += UNROLL) {
+            final double b = data[i] * scale + data[i + 1] * scale +
+                data[i + 2] * scale + data[i + 3] * scale;
+            n += UNROLL;
+            m1 += (b - m1) / n * UNROLL;
+        }
+        for (; i < data.length; i++) {
+            m1 += (data[i] * 0.5 - m1) / ++n;
+        }
+        m1 *= 2;
+        if (!Double.isFinite(m1) || n == 0) {
+            return Double.NaN;
+        }
+        return correctMean(data, m1);
+    }
+
     /**
      * Create the mean using a single pass sum.
      * The mean is not safe against overflow.
@@ -674,6 +728,68 @@ public class MomentPerformance {
         return s.doubleValue() / data.length;
     }
 
+    /**
+     * Create the sum-of-squared deviations from the mean using the
+     * corrected two-pass algorithm.
+     *
+     * @param data Data.
+     * @return the statistic
+     */
+    static double arraySumOfSquared(double[] data) {
+        final double m = arraySumMean(data);
+        double s = 0;
+        double ss = 0;
+        for (final double x : data) {
+            final double dx = x - m;
+            s += dx;
+            ss += dx * dx;
+        }
+        return ss - s * s / data.length;
+    }
+
+    /**
+     * Create the sum-of-squared deviations from the mean using the
+     * corrected two-pass algorithm. The summation uses independent
+     * accumulators for blocks of values.
+     *
+     * @param data Data.
+     * @return the statistic
+     */
+    static double arraySumOfSquaredUnrolled(double[] data) {
+        final double m = arraySumMean(data);
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        double ss0 = 0;
+        double ss1 = 0;
+        double ss2 = 0;
+        double ss3 = 0;
+        int i = 0;
+        for (final int end = data.length - UNROLL + 1; i < end; i += UNROLL) {
+            final double dx0 = data[i] - m;
+            final double dx1 = data[i + 1] - m;
+            final double dx2 = data[i + 2] - m;
+            final double dx3 = data[i + 3] - m;
+            s0 += dx0;
+            s1 += dx1;
+            s2 += dx2;
+            s3 += dx3;
+            ss0 += dx0 * dx0;
+            ss1 += dx1 * dx1;
+            ss2 += dx2 * dx2;
+            ss3 += dx3 * dx3;
+        }
+        for (; i < data.length; i++) {
+            final double dx = data[i] - m;
+            s0 += dx;
+            ss0 += dx * dx;
+        }
+        final double s = (s0 + s1) + (s2 + s3);
+        final double ss = (ss0 + ss1) + (ss2 + ss3);
+        return ss - s * s / data.length;
+    }
+
     /**
      * Create the sum-of-cubed deviations from the mean.
      *
@@ -706,6 +822,37 @@ public class MomentPerformance {
         return s;
     }
 
+    /**
+     * Create the sum-of-cubed deviations from the mean. The summation uses
+     * independent accumulators for blocks of values.
+     *
+     * @param data Data.
+     * @return the statistic
+     */
+    static double arraySumOfCubedUnrolled(double[] data) {
+        final double m = arrayInlineSafeRollingFirstMoment(data);
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = 0;
+        for (final int end = data.length - UNROLL + 1; i < end; i += UNROLL) {
+            final double dx0 = data[i] - m;
+            final double dx1 = data[i + 1] - m;
+            final double dx2 = data[i + 2] - m;
+            final double dx3 = data[i + 3] - m;
+            s0 += dx0 * dx0 * dx0;
+            s1 += dx1 * dx1 * dx1;
+            s2 += dx2 * dx2 * dx2;
+            s3 += dx3 * dx3 * dx3;
+        }
+        for (; i < data.length; i++) {
+            final double dx = data[i] - m;
+            s0 += dx * dx * dx;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
     /**
      * Create the sum-of-fourth deviations from the mean.
      *
@@ -739,6 +886,42 @@ public class MomentPerformance {
         return s;
     }
 
+    /**
+     * Create the sum-of-fourth deviations from the mean. The summation uses
+     * independent accumulators for blocks of values.
+     *
+     * @param data Data.
+     * @return the statistic
+     */
+    static double arraySumOfFourthUnrolled(double[] data) {
+        final double m = arrayInlineSafeRollingFirstMoment(data);
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = 0;
+        for (final int end = data.length - UNROLL + 1; i < end; i += UNROLL) {
+            double dx0 = data[i] - m;
+            double dx1 = data[i + 1] - m;
+            double dx2 = data[i + 2] - m;
+            double dx3 = data[i + 3] - m;
+            dx0 *= dx0;
+            dx1 *= dx1;
+            dx2 *= dx2;
+            dx3 *= dx3;
+            s0 += dx0 * dx0;
+            s1 += dx1 * dx1;
+            s2 += dx2 * dx2;
+            s3 += dx3 * dx3;
+        }
+        for (; i < data.length; i++) {
+            double dx = data[i] - m;
+            dx *= dx;
+            s0 += dx * dx;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
     /**
      * Create the mean from a stream of {@code double} values.
      *
@@ -25,9 +25,11 @@ import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.logging.Logger;
+import org.apache.commons.numbers.arrays.Selection;
 import org.apache.commons.rng.UniformRandomProvider;
 import org.apache.commons.rng.sampling.ArraySampler;
 import org.apache.commons.rng.sampling.PermutationSampler;
@@ -1206,6 +1208,116 @@ public class QuantilePerformance {
         }
     }
 
+    /**
+     * Source of a {@link BinaryOperator} for a {@code double[]} and quantiles that
+     * uses a fixed strategy to partition the data for multiple quantiles.
+     *
+     * <p>This is used to identify when it is faster to sort the data than to select
+     * all the indices required for the quantiles. The {@code STATISTICS} implementation
+     * chooses the strategy using the number and spread of the indices.
+     */
+    @State(Scope.Benchmark)
+    public static class DoubleQuantileStrategySource {
+        /** Select all indices. */
+        private static final String SELECT = "Select";
+        /** Sort all the data. */
+        private static final String SORT = "Sort";
+        /** Select the bounds of the indices and sort between them. */
+        private static final String PARTIAL_SORT = "PartialSort";
+
+        /** Name of the source. */
+        @Param({SELECT, SORT, PARTIAL_SORT, STATISTICS})
+        private String name;
+
+        /** The action. */
+        private BinaryOperator<double[]> function;
+
+        /**
+         * @return the function
+         */
+        public BinaryOperator<double[]> getFunction() {
+            return function;
+        }
+
+        /**
+         * Create the function.
+         */
+        @Setup
+        public void setup() {
+            // Note: Functions should not defensively copy the data
+            // as a clone is passed in from the data source.
+            if (SELECT.equals(name)) {
+                function = (x, p) -> quantiles(x, p, (data, k) -> Selection.select(data, 0, data.length, k));
+            } else if (SORT.equals(name)) {
+                function = (x, p) -> quantiles(x, p, (data, k) -> Arrays.sort(data));
+            } else if (PARTIAL_SORT.equals(name)) {
+                function = (x, p) -> quantiles(x, p, DoubleQuantileStrategySource::partialSort);
+            } else if (STATISTICS.equals(name)) {
+                function = Quantile.withDefaults()::evaluate;
+            } else {
+                throw new IllegalStateException("Unknown double[] strategy: " + name);
+            }
+        }
+
+        /**
+         * Compute the quantiles after partitioning the data with the strategy.
+         *
+         * <p>This uses the position {@code p * (n - 1)} (EstimationMethod.HF7).
+         * The cost of computing the position is negligible compared to the partitioning
+         * and the difference to the default method used by the {@code STATISTICS}
+         * implementation does not change the number of indices.
+         *
+         * @param values Values.
+         * @param p p-th quantiles to compute.
+         * @param strategy Partition strategy.
+         * @return the quantiles
+         */
+        private static double[] quantiles(double[] values, double[] p, BiConsumer<double[], int[]> strategy) {
+            final int n = values.length;
+            final double[] q = new double[p.length];
+            if (n <= 1) {
+                Arrays.fill(q, n == 0 ? Double.NaN : values[0]);
+                return q;
+            }
+            final int[] k = new int[p.length << 1];
+            int count = 0;
+            for (int i = 0; i < p.length; i++) {
+                checkQuantile(p[i]);
+                final double pos = p[i] * (n - 1);
+                q[i] = pos;
+                final int j = (int) pos;
+                k[count++] = j;
+                if (pos > j) {
+                    k[count++] = j + 1;
+                }
+            }
+            strategy.accept(values, Arrays.copyOf(k, count));
+            for (int i = 0; i < p.length; i++) {
+                final int j = (int) q[i];
+                final double g = q[i] - j;
+                q[i] = g > 0 ? (1 - g) * values[j] + g * values[j + 1] : values[j];
+            }
+            return q;
+        }
+
+        /**
+         * Select the lowest and highest indices, then sort the values between them.
+         *
+         * @param values Values.
+         * @param k Indices.
+         */
+        private static void partialSort(double[] values, int[] k) {
+            int lo = values.length;
+            int hi = -1;
+            for (final int i : k) {
+                lo = Math.min(lo, i);
+                hi = Math.max(hi, i);
+            }
+            Selection.select(values, 0, values.length, new int[] {lo, hi});
+            Arrays.sort(values, lo + 1, hi);
+        }
+    }
+
     /**
      * Check the quantile {@code p} is in the range {@code [0, 1]}.
      *
@@ -1331,4 +1443,28 @@ public class QuantilePerformance {
             bh.consume(fun.apply(source.getLongData(j), p));
         }
     }
+
+    /**
+     * Create the statistic using an array and quantiles uniformly spaced within a range
+     * using a fixed strategy to partition the data.
+     *
+     * <p>Vary the number of quantiles and the range to identify the cross-over between
+     * selection of each index and sorting the data, e.g.
+     * {@code -p quantiles=2,10,100,1000 -p lowerQ=0.01,0.25 -p upperQ=0.75,0.99}.
+     *
+     * @param function Source of the function.
+     * @param source Source of the data.
+     * @param quantiles Source of the quantiles.
+     * @param bh Data sink.
+     */
+    @Benchmark
+    public void doubleQuantileStrategy(DoubleQuantileStrategySource function, DataSource source,
+            QuantileRangeSource quantiles, Blackhole bh) {
+        final int size = source.size();
+        final double[] p = quantiles.getData();
+        final BinaryOperator<double[]> fun = function.getFunction();
+        for (int j = -1; ++j < size;) {
+            bh.consume(fun.apply(source.getData(j), p));
+        }
+    }
 }